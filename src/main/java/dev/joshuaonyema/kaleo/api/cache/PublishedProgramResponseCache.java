@@ -0,0 +1,131 @@
+package dev.joshuaonyema.kaleo.api.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.joshuaonyema.kaleo.api.dto.response.GetPublishedProgramDetailsResponseDto;
+import dev.joshuaonyema.kaleo.api.dto.response.ListPublishedProgramResponseDto;
+import dev.joshuaonyema.kaleo.application.event.ProgramChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PagedModel;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Holds the responses of the anonymous published program endpoints already rendered to bytes: program details
+ * by id, and the first few pages of the unfiltered listing. A hit costs no query, no mapping and no
+ * serialization, and a matching {@code If-None-Match} costs nothing beyond the lookup.
+ * <p>
+ * Entries are dropped once a program change commits and rendered again on the next request. Any change can
+ * move programs between listing pages, so it clears every cached page, while details only lose the program
+ * that changed. Each node drops what it holds itself; the TTL bounds how long another node's change can go
+ * unseen. Hit rates are published as the {@code cache.gets} metric with {@code cache=publishedProgramDetails}
+ * and {@code cache=publishedProgramPages}.
+ */
+@Component
+public class PublishedProgramResponseCache {
+
+    private final JsonMapper jsonMapper;
+    private final Cache<UUID, RenderedResponse> details;
+    private final Cache<Pageable, RenderedResponse> pages;
+    private final int cachedPages;
+
+    // Bumped before every invalidation, so a response rendered from data read before the change is never kept
+    private final AtomicLong detailsGeneration = new AtomicLong();
+    private final AtomicLong pagesGeneration = new AtomicLong();
+
+    public PublishedProgramResponseCache(JsonMapper jsonMapper,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${kaleo.published-programs.cache.max-details:10000}") long maxDetails,
+                                         @Value("${kaleo.published-programs.cache.pages:5}") int cachedPages,
+                                         @Value("${kaleo.published-programs.cache.max-pages:500}") long maxPages,
+                                         @Value("${kaleo.published-programs.cache.ttl:PT5M}") Duration ttl) {
+        this.jsonMapper = jsonMapper;
+        this.details = Caffeine.newBuilder()
+                .maximumSize(maxDetails)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maxPages)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.cachedPages = cachedPages;
+        CaffeineCacheMetrics.monitor(meterRegistry, details, "publishedProgramDetails");
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "publishedProgramPages");
+    }
+
+    /**
+     * Returns the rendered details of a program, loading and rendering them on a miss.
+     * Programs that are not found are not remembered.
+     */
+    public Optional<RenderedResponse> getDetails(
+            UUID programId, Supplier<Optional<GetPublishedProgramDetailsResponseDto>> loader) {
+        RenderedResponse cached = details.getIfPresent(programId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long generation = detailsGeneration.get();
+        Optional<RenderedResponse> rendered = loader.get().map(this::render);
+        rendered.ifPresent(response -> put(details, detailsGeneration, generation, programId, response));
+        return rendered;
+    }
+
+    /**
+     * Returns the rendered listing page, loading and rendering it on a miss.
+     * Only the first few pages are cached; deeper ones are rendered on every request.
+     */
+    public RenderedResponse getPage(Pageable pageable, Supplier<Page<ListPublishedProgramResponseDto>> loader) {
+        if (pageable.isUnpaged() || pageable.getPageNumber() >= cachedPages) {
+            return renderPage(loader.get());
+        }
+        RenderedResponse cached = pages.getIfPresent(pageable);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = pagesGeneration.get();
+        RenderedResponse rendered = renderPage(loader.get());
+        put(pages, pagesGeneration, generation, pageable, rendered);
+        return rendered;
+    }
+
+    /**
+     * Renders a page the same way the listing is cached, for results that are never cached such as searches.
+     */
+    public RenderedResponse renderPage(Page<ListPublishedProgramResponseDto> page) {
+        // The same shape Spring Data writes for a Page with VIA_DTO serialization
+        return render(new PagedModel<>(page));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProgramChanged(ProgramChangedEvent event) {
+        detailsGeneration.incrementAndGet();
+        details.invalidate(event.programId());
+        pagesGeneration.incrementAndGet();
+        pages.invalidateAll();
+    }
+
+    private RenderedResponse render(Object body) {
+        return RenderedResponse.of(jsonMapper.writeValueAsBytes(body));
+    }
+
+    private static <K> void put(Cache<K, RenderedResponse> cache, AtomicLong generation, long loadedAt,
+                                K key, RenderedResponse value) {
+        cache.put(key, value);
+        // A change committed while this was loading; its invalidation may have run before the put
+        if (generation.get() != loadedAt) {
+            cache.invalidate(key);
+        }
+    }
+}
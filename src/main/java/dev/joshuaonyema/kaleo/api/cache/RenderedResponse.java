@@ -0,0 +1,67 @@
+package dev.joshuaonyema.kaleo.api.cache;
+
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A JSON response body serialized once, kept as UTF-8 bytes and gzip bytes together with a strong validator
+ * for each encoding, so it can be written out as many times as needed without mapping or serializing again.
+ */
+public record RenderedResponse(byte[] json, byte[] gzip, String etag) {
+
+    private static final String GZIP_SUFFIX = "-gzip";
+
+    public static RenderedResponse of(byte[] json) {
+        return new RenderedResponse(json, gzip(json), DigestUtils.md5DigestAsHex(json));
+    }
+
+    public byte[] body(boolean gzipped) {
+        return gzipped ? gzip : json;
+    }
+
+    // The two encodings are different representations, so they get different strong validators
+    public String etag(boolean gzipped) {
+        return gzipped ? etag + GZIP_SUFFIX : etag;
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header names either encoding of this body. Uses the weak comparison
+     * that RFC 9110 asks for on {@code If-None-Match}.
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+                tag = tag.substring(1, tag.length() - 1);
+            }
+            if (tag.equals(etag) || tag.equals(etag + GZIP_SUFFIX)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, content.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(content);
+        } catch (IOException exception) {
+            // Only reachable if writing to memory fails
+            throw new UncheckedIOException(exception);
+        }
+        return compressed.toByteArray();
+    }
+}
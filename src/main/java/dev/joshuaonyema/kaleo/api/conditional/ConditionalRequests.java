@@ -0,0 +1,53 @@
+package dev.joshuaonyema.kaleo.api.conditional;
+
+import dev.joshuaonyema.kaleo.repository.projection.ResourceVersion;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Answers conditional GETs for authenticated resources from a {@link ResourceVersion}, before the resource
+ * itself is loaded. The version is read ahead of the body, so a write landing in between can only make the
+ * client download again next time; it never makes a stale copy look current.
+ */
+public final class ConditionalRequests {
+
+    // Clients may keep the copy but must revalidate it, and shared caches must not keep it at all
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Checks the resource against {@code If-None-Match}, writing the {@code ETag} and {@code Cache-Control}
+     * headers to the response. Returns {@code true} when the client's copy is current.
+     * <p>
+     * No {@code Last-Modified} is sent: deleting a row, such as a pass type of a program, does not move any
+     * update time, so {@code If-Modified-Since} would keep answering 304 for a copy that is out of date.
+     */
+    public static boolean checkNotModified(ServletWebRequest request, ResourceVersion version) {
+        if (version == null) {
+            return false;
+        }
+        setCacheControl(request);
+        return request.checkNotModified(etag(version));
+    }
+
+    static String etag(ResourceVersion version) {
+        String key = version.rows() + "|" + version.lastModified() + "|"
+                + version.relatedRows() + "|" + version.relatedLastModified();
+        return DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Spring Security only writes its no-store headers when the response has not set Cache-Control itself
+    private static void setCacheControl(ServletWebRequest request) {
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        }
+    }
+}
@@ -1,21 +1,38 @@
 package dev.joshuaonyema.kaleo.api.controller;
 
+import dev.joshuaonyema.kaleo.api.conditional.ConditionalRequests;
 import dev.joshuaonyema.kaleo.api.dto.response.GetPassResponseDto;
 import dev.joshuaonyema.kaleo.api.dto.response.ListPassResponseDto;
+import dev.joshuaonyema.kaleo.api.dto.response.ScrollResponseDto;
+import dev.joshuaonyema.kaleo.api.pagination.ContinuationTokens;
+import dev.joshuaonyema.kaleo.application.qrcode.QrCodeImage;
+import dev.joshuaonyema.kaleo.application.qrcode.QrCodeImageFormat;
 import dev.joshuaonyema.kaleo.application.service.PassService;
 import dev.joshuaonyema.kaleo.application.service.QrCodeService;
+import dev.joshuaonyema.kaleo.domain.entity.Pass;
 import dev.joshuaonyema.kaleo.mapper.PassMapper;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -23,33 +40,95 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class PassController {
 
+    private static final String IMAGE_SVG_VALUE = "image/svg+xml";
+    private static final MediaType IMAGE_SVG = MediaType.parseMediaType(IMAGE_SVG_VALUE);
+
     private final PassService passService;
     private final PassMapper passMapper;
     private final QrCodeService qrCodeService;
 
     @GetMapping
-    public Page<ListPassResponseDto> listPasses(Pageable pageable){
-        return passService.listPassesForUser(pageable).map(passMapper::toListPassResponseDto);
+    public ResponseEntity<Page<ListPassResponseDto>> listPasses(Pageable pageable, ServletWebRequest request){
+        if (ConditionalRequests.checkNotModified(request, passService.getPassesVersionForUser())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok(passService.listPassesForUser(pageable).map(passMapper::toListPassResponseDto));
+    }
+
+    @GetMapping("/scroll")
+    public ScrollResponseDto<ListPassResponseDto> scrollPasses(
+            @RequestParam(required = false) String token,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size){
+        Window<Pass> passes = passService.scrollPassesForUser(ContinuationTokens.decode(token), size);
+        return new ScrollResponseDto<>(passes.map(passMapper::toListPassResponseDto).getContent(),
+                ContinuationTokens.nextToken(passes));
     }
 
     @GetMapping("/{passId}")
     public ResponseEntity<GetPassResponseDto> getPass(
-            @PathVariable UUID passId){
+            @PathVariable UUID passId, ServletWebRequest request){
+        if (ConditionalRequests.checkNotModified(request, passService.getPassVersionForUser(passId).orElse(null))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         return passService.getPassForUser(passId)
                 .map(passMapper::toGetPassResponseDto)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
-    @GetMapping("/{passId}/qr-codes")
+    @GetMapping(value = "/{passId}/qr-codes", produces = {MediaType.IMAGE_PNG_VALUE, IMAGE_SVG_VALUE})
     public ResponseEntity<byte[]> getPassQrCode(
-            @PathVariable UUID passId){
-        byte[] qrCodeImage = qrCodeService.getQrCodeImageForUserAndPass(passId);
+            @PathVariable UUID passId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestParam(defaultValue = "300") @Min(64) @Max(2048) int size)
+            throws HttpMediaTypeNotAcceptableException {
+        QrCodeImageFormat format = negotiateFormat(MediaType.parseMediaTypes(accept));
+        QrCodeImage qrCodeImage = qrCodeService.getQrCodeImageForUserAndPass(passId, format, size);
 
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.IMAGE_PNG);
-        headers.setContentLength(qrCodeImage.length);
+        headers.setContentType(MediaType.parseMediaType(format.getMediaType()));
+        headers.setContentLength(qrCodeImage.content().length);
+
+        // The image for a given QR code, format and size never changes, but it belongs to one user
+        return ResponseEntity.ok()
+                .headers(headers)
+                .eTag(qrCodeImage.etag())
+                .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(qrCodeImage.content());
+    }
+
+    // Picks the format the client rates highest, preferring PNG on a tie such as a wildcard. A format is rated by
+    // the most specific media range that covers it, so "image/svg+xml;q=0" refuses SVG even next to "*/*"
+    private static QrCodeImageFormat negotiateFormat(List<MediaType> acceptedTypes)
+            throws HttpMediaTypeNotAcceptableException {
+        if (acceptedTypes.isEmpty()) {
+            return QrCodeImageFormat.PNG;
+        }
+        double pngQuality = quality(acceptedTypes, MediaType.IMAGE_PNG);
+        double svgQuality = quality(acceptedTypes, IMAGE_SVG);
+        if (pngQuality == 0 && svgQuality == 0) {
+            throw new HttpMediaTypeNotAcceptableException(List.of(MediaType.IMAGE_PNG, IMAGE_SVG));
+        }
+        return svgQuality > pngQuality ? QrCodeImageFormat.SVG : QrCodeImageFormat.PNG;
+    }
 
-        return ResponseEntity.ok().headers(headers).body(qrCodeImage);
+    // Zero when no range covers the type or the most specific one refuses it with q=0
+    private static double quality(List<MediaType> acceptedTypes, MediaType mediaType) {
+        int bestSpecificity = -1;
+        double quality = 0;
+        for (MediaType acceptedType : acceptedTypes) {
+            if (!acceptedType.includes(mediaType)) {
+                continue;
+            }
+            int specificity = acceptedType.isWildcardType() ? 0 : acceptedType.isWildcardSubtype() ? 1 : 2;
+            if (specificity > bestSpecificity) {
+                bestSpecificity = specificity;
+                quality = acceptedType.getQualityValue();
+            } else if (specificity == bestSpecificity) {
+                quality = Math.max(quality, acceptedType.getQualityValue());
+            }
+        }
+        return quality;
     }
  }
@@ -1,14 +1,16 @@
 package dev.joshuaonyema.kaleo.api.controller;
 
+import dev.joshuaonyema.kaleo.api.dto.request.PurchasePassesRequestDto;
+import dev.joshuaonyema.kaleo.api.dto.response.PurchasePassesResponseDto;
 import dev.joshuaonyema.kaleo.application.service.PassService;
+import dev.joshuaonyema.kaleo.domain.entity.Pass;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -26,4 +28,15 @@ public class PassTypeController {
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
+    @PostMapping("/{passTypeId}/passes:batch")
+    public ResponseEntity<PurchasePassesResponseDto> purchasePasses(
+            @PathVariable UUID programId,
+            @PathVariable UUID passTypeId,
+            @Valid @RequestBody PurchasePassesRequestDto request){
+        List<UUID> passIds = passService.purchasePasses(passTypeId, request.getQuantity()).stream()
+                .map(Pass::getId)
+                .toList();
+        return new ResponseEntity<>(new PurchasePassesResponseDto(passIds), HttpStatus.CREATED);
+    }
+
 }
@@ -1,8 +1,15 @@
 package dev.joshuaonyema.kaleo.api.controller;
 
+import dev.joshuaonyema.kaleo.api.dto.request.PassValidationBatchRequestDto;
 import dev.joshuaonyema.kaleo.api.dto.request.PassValidationRequestDto;
+import dev.joshuaonyema.kaleo.api.dto.response.PassValidationBatchResponseDto;
 import dev.joshuaonyema.kaleo.api.dto.response.PassValidationResponseDto;
+import dev.joshuaonyema.kaleo.api.dto.response.ScrollResponseDto;
 import dev.joshuaonyema.kaleo.api.dto.response.StaffProgramResponseDto;
+import dev.joshuaonyema.kaleo.api.pagination.ContinuationTokens;
+import dev.joshuaonyema.kaleo.application.checkin.CheckInManifest;
+import dev.joshuaonyema.kaleo.application.checkin.CheckInManifestEncoder;
+import dev.joshuaonyema.kaleo.application.checkin.ScanResult;
 import dev.joshuaonyema.kaleo.application.service.PassValidationService;
 import dev.joshuaonyema.kaleo.application.service.ProgramService;
 import dev.joshuaonyema.kaleo.domain.entity.PassValidation;
@@ -10,18 +17,30 @@ import dev.joshuaonyema.kaleo.domain.entity.PassValidationMethod;
 import dev.joshuaonyema.kaleo.domain.entity.Program;
 import dev.joshuaonyema.kaleo.mapper.PassValidationMapper;
 import dev.joshuaonyema.kaleo.mapper.ProgramMapper;
+import dev.joshuaonyema.kaleo.repository.projection.ProgramSummary;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.UUID;
 
 
 @RestController
 @RequestMapping("/api/v1/pass-validations")
 @RequiredArgsConstructor
 public class PassValidationController {
+    public static final String MANIFEST_VERSION_HEADER = "X-Manifest-Version";
+
     private final PassValidationService passValidationService;
     private final PassValidationMapper passValidationMapper;
     private final ProgramService programService;
@@ -29,10 +48,20 @@ public class PassValidationController {
 
     @GetMapping
     public ResponseEntity<Page<StaffProgramResponseDto>> listPrograms(Pageable pageable) {
-        Page<Program> programs = programService.listProgramsForStaff(pageable);
+        Page<ProgramSummary> programs = programService.listProgramsForStaff(pageable);
         return ResponseEntity.ok(programs.map(programMapper::toStaffProgramResponseDto));
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<ScrollResponseDto<StaffProgramResponseDto>> scrollPrograms(
+            @RequestParam(required = false) String token,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        Window<Program> programs = programService.scrollProgramsForStaff(ContinuationTokens.decode(token), size);
+        return ResponseEntity.ok(new ScrollResponseDto<>(
+                programs.map(programMapper::toStaffProgramResponseDto).getContent(),
+                ContinuationTokens.nextToken(programs)));
+    }
+
     @PostMapping
     public ResponseEntity<PassValidationResponseDto> validatePass(
             @Valid @RequestBody PassValidationRequestDto request
@@ -53,4 +82,37 @@ public class PassValidationController {
 
         return ResponseEntity.ok(passValidationMapper.toDto(passValidation));
     }
+
+    @PostMapping("/{programId}/open")
+    public ResponseEntity<Void> openCheckIn(@PathVariable UUID programId) {
+        passValidationService.openCheckIn(programId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping(path = "/{programId}/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamCheckInCounts(@PathVariable UUID programId) {
+        return ResponseEntity.ok(passValidationService.streamCheckInCounts(programId));
+    }
+
+    @GetMapping(path = "/{programId}/manifest", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> getCheckInManifest(
+            @PathVariable UUID programId,
+            @RequestParam(required = false) Long since
+    ) {
+        CheckInManifest manifest = passValidationService.getCheckInManifest(programId, since);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(MANIFEST_VERSION_HEADER, String.valueOf(manifest.version()))
+                .body(out -> CheckInManifestEncoder.write(manifest, out));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<PassValidationBatchResponseDto> validatePasses(
+            @Valid @RequestBody PassValidationBatchRequestDto request
+    ) {
+        List<ScanResult> results = passValidationService.validatePasses(
+                passValidationMapper.fromDtos(request.getScans())
+        );
+        return ResponseEntity.ok(new PassValidationBatchResponseDto(passValidationMapper.toScanResultDtos(results)));
+    }
 }
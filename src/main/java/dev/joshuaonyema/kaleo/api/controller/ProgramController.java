@@ -1,23 +1,30 @@
 package dev.joshuaonyema.kaleo.api.controller;
 
+import dev.joshuaonyema.kaleo.api.conditional.ConditionalRequests;
 import dev.joshuaonyema.kaleo.api.dto.request.CreateProgramRequestDto;
 import dev.joshuaonyema.kaleo.api.dto.request.UpdateProgramRequestDto;
 import dev.joshuaonyema.kaleo.api.dto.response.CreateProgramResponseDto;
 import dev.joshuaonyema.kaleo.api.dto.response.GetProgramDetailsResponseDto;
 import dev.joshuaonyema.kaleo.api.dto.response.ListProgramResponseDto;
+import dev.joshuaonyema.kaleo.api.dto.response.ScrollResponseDto;
 import dev.joshuaonyema.kaleo.api.dto.response.UpdateProgramResponseDto;
+import dev.joshuaonyema.kaleo.api.pagination.ContinuationTokens;
 import dev.joshuaonyema.kaleo.application.command.CreateProgramCommand;
 import dev.joshuaonyema.kaleo.application.command.UpdateProgramCommand;
 import dev.joshuaonyema.kaleo.application.service.ProgramService;
 import dev.joshuaonyema.kaleo.domain.entity.Program;
 import dev.joshuaonyema.kaleo.mapper.ProgramMapper;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.UUID;
 
@@ -53,13 +60,31 @@ public class ProgramController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<ListProgramResponseDto>> listPrograms(Pageable pageable) {
+    public ResponseEntity<Page<ListProgramResponseDto>> listPrograms(Pageable pageable, ServletWebRequest request) {
+        if (ConditionalRequests.checkNotModified(request, programService.getProgramsVersionForOrganizer())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         Page<Program> programs = programService.listProgramsForOrganizer(pageable);
         return ResponseEntity.ok(programs.map(programMapper::toListProgramResponseDto));
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<ScrollResponseDto<ListProgramResponseDto>> scrollPrograms(
+            @RequestParam(required = false) String token,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        Window<Program> programs = programService.scrollProgramsForOrganizer(ContinuationTokens.decode(token), size);
+        return ResponseEntity.ok(new ScrollResponseDto<>(
+                programs.map(programMapper::toListProgramResponseDto).getContent(),
+                ContinuationTokens.nextToken(programs)));
+    }
+
     @GetMapping("/{programId}")
-    public ResponseEntity<GetProgramDetailsResponseDto> getProgram(@PathVariable UUID programId) {
+    public ResponseEntity<GetProgramDetailsResponseDto> getProgram(
+            @PathVariable UUID programId, ServletWebRequest request) {
+        if (ConditionalRequests.checkNotModified(
+                request, programService.getProgramVersionForOrganizer(programId).orElse(null))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         return programService.getProgramForOrganizer(programId)
                 .map(programMapper::toGetProgramDetailsResponseDto)
                 .map(ResponseEntity::ok)
@@ -1,16 +1,29 @@
 package dev.joshuaonyema.kaleo.api.controller;
 
-import dev.joshuaonyema.kaleo.api.dto.response.GetPublishedProgramDetailsResponseDto;
+import dev.joshuaonyema.kaleo.api.cache.PublishedProgramResponseCache;
+import dev.joshuaonyema.kaleo.api.cache.RenderedResponse;
 import dev.joshuaonyema.kaleo.api.dto.response.ListPublishedProgramResponseDto;
+import dev.joshuaonyema.kaleo.api.dto.response.ProgramSuggestionResponseDto;
+import dev.joshuaonyema.kaleo.api.dto.response.ScrollResponseDto;
+import dev.joshuaonyema.kaleo.api.pagination.ContinuationTokens;
 import dev.joshuaonyema.kaleo.application.service.ProgramService;
 import dev.joshuaonyema.kaleo.domain.entity.Program;
 import dev.joshuaonyema.kaleo.mapper.ProgramMapper;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
 
@@ -21,31 +34,113 @@ public class PublishedProgramController {
 
     private final ProgramMapper programMapper;
     private final ProgramService programService;
+    private final PublishedProgramResponseCache responseCache;
 
+    // Listings and details are written as pre-rendered JSON bytes; see PublishedProgramResponseCache
     @GetMapping
-    public ResponseEntity<Page<ListPublishedProgramResponseDto>> listPublishedPrograms(
+    public ResponseEntity<byte[]> listPublishedPrograms(
             @RequestParam(required = false) String q,
-            Pageable pageable){
+            Pageable pageable,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding){
 
-        Page<Program> programs;
+        RenderedResponse rendered;
 
         if(null != q && !q.trim().isEmpty()){
-            programs = programService.searchPublishedPrograms(q, pageable);
+            Page<Program> programs = programService.searchPublishedPrograms(q, pageable);
+            rendered = responseCache.renderPage(programs
+                    .map(programMapper::toListPublishedProgramResponseDto));
         }else {
-            programs = programService.listPublishedPrograms(pageable);
+            rendered = responseCache.getPage(pageable, () -> programService.listPublishedPrograms(pageable)
+                    .map(programMapper::toListPublishedProgramResponseDto));
         }
 
-        return ResponseEntity.ok(programs
-                .map(programMapper::toListPublishedProgramResponseDto));
+        return respond(rendered, ifNoneMatch, acceptEncoding);
+    }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<ScrollResponseDto<ListPublishedProgramResponseDto>> scrollPublishedPrograms(
+            @RequestParam(required = false) String token,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size){
+        Window<Program> programs = programService.scrollPublishedPrograms(ContinuationTokens.decode(token), size);
+        return ResponseEntity.ok(new ScrollResponseDto<>(
+                programs.map(programMapper::toListPublishedProgramResponseDto).getContent(),
+                ContinuationTokens.nextToken(programs)));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProgramSuggestionResponseDto>> suggestPublishedPrograms(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit){
+        return ResponseEntity.ok(programService.suggestPublishedPrograms(prefix, limit).stream()
+                .map(programMapper::toProgramSuggestionResponseDto)
+                .toList());
     }
 
 
     @GetMapping("/{programId}")
-    public  ResponseEntity<GetPublishedProgramDetailsResponseDto> getPublishedProgramDetails(
-            @PathVariable UUID programId){
-        return programService.getPublishedProgram(programId)
-                .map(programMapper::toGetPublishedProgramDetailsResponseDto)
-                .map(ResponseEntity::ok)
+    public  ResponseEntity<byte[]> getPublishedProgramDetails(
+            @PathVariable UUID programId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding){
+        return responseCache.getDetails(programId, () -> programService.getPublishedProgram(programId)
+                        .map(programMapper::toGetPublishedProgramDetailsResponseDto))
+                .map(rendered -> respond(rendered, ifNoneMatch, acceptEncoding))
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    private static ResponseEntity<byte[]> respond(RenderedResponse rendered, String ifNoneMatch, String acceptEncoding) {
+        boolean gzipped = acceptsGzip(acceptEncoding);
+        // Public data, but clients must check back each time so a change shows up at once
+        CacheControl cacheControl = CacheControl.noCache().cachePublic();
+
+        if (rendered.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(rendered.etag(gzipped))
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        byte[] body = rendered.body(gzipped);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.length)
+                .eTag(rendered.etag(gzipped))
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzipped) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    // True when gzip, or a wildcard, is listed without q=0
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (!name.equals("gzip") && !name.equals("*")) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        refused = Double.parseDouble(parameter.substring(2)) == 0;
+                    } catch (NumberFormatException exception) {
+                        refused = true;
+                    }
+                }
+            }
+            if (!refused) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
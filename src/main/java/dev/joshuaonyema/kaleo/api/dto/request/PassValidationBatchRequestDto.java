@@ -0,0 +1,21 @@
+package dev.joshuaonyema.kaleo.api.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PassValidationBatchRequestDto {
+
+    @NotEmpty(message = "At least one scan is required")
+    @Size(max = 500, message = "At most 500 scans can be sent at once")
+    private List<@Valid PassValidationRequestDto> scans = new ArrayList<>();
+}
@@ -0,0 +1,15 @@
+package dev.joshuaonyema.kaleo.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PassValidationBatchResponseDto {
+    private List<ScanResultResponseDto> results = new ArrayList<>();
+}
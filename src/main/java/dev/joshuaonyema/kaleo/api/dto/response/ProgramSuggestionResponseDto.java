@@ -0,0 +1,16 @@
+package dev.joshuaonyema.kaleo.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProgramSuggestionResponseDto {
+    private UUID id;
+    private String name;
+    private String venue;
+}
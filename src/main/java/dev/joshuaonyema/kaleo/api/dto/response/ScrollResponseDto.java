@@ -0,0 +1,17 @@
+package dev.joshuaonyema.kaleo.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScrollResponseDto<T> {
+    private List<T> content;
+
+    // Pass back as the token parameter for the next window; null on the last one
+    private String nextToken;
+}
@@ -0,0 +1,66 @@
+package dev.joshuaonyema.kaleo.api.pagination;
+
+import dev.joshuaonyema.kaleo.exception.InvalidContinuationTokenException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Turns keyset scroll positions over (createdAt, id) into opaque URL-safe tokens and back.
+ * <p>
+ * Clients only ever hand a token back, so its layout can change without touching the API.
+ */
+public final class ContinuationTokens {
+
+    private static final String CREATED_AT = "createdAt";
+    private static final String ID = "id";
+    private static final char SEPARATOR = '|';
+
+    private ContinuationTokens() {
+    }
+
+    /**
+     * Returns the token for the window after this one, or {@code null} when this is the last window.
+     */
+    public static String nextToken(Window<?> window) {
+        if (window.isEmpty() || !window.hasNext()) {
+            return null;
+        }
+        if (!(window.positionAt(window.size() - 1) instanceof KeysetScrollPosition position)) {
+            throw new IllegalArgumentException("Continuation tokens need a keyset window");
+        }
+        Map<String, Object> keys = position.getKeys();
+        String token = keys.get(CREATED_AT).toString() + SEPARATOR + keys.get(ID);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the position a token continues from; no token starts from the newest entry.
+     */
+    public static ScrollPosition decode(String token) {
+        if (token == null || token.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidContinuationTokenException("Malformed continuation token");
+            }
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(CREATED_AT, LocalDateTime.parse(decoded.substring(0, separator)));
+            keys.put(ID, UUID.fromString(decoded.substring(separator + 1)));
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | DateTimeParseException exception) {
+            throw new InvalidContinuationTokenException("Malformed continuation token", exception);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package dev.joshuaonyema.kaleo.application.checkin;
+
+import dev.joshuaonyema.kaleo.application.transaction.TransactionCallbacks;
+import dev.joshuaonyema.kaleo.repository.PassRepository;
+import dev.joshuaonyema.kaleo.repository.projection.AdmittedCode;
+import dev.joshuaonyema.kaleo.repository.projection.CheckInCandidate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which passes of a running program have already been admitted, keyed by the codes they were
+ * scanned with, so a re-scan is answered without reading the database.
+ * <p>
+ * A program is tracked once staff open it for check-in and dropped after its end time. Entries are only added
+ * from committed admissions or from the database, so a hit is always a duplicate; a miss simply falls back to
+ * the regular check-in lookup.
+ */
+@Component
+@RequiredArgsConstructor
+public class AdmissionCache {
+
+    private final PassRepository passRepository;
+
+    private final Map<UUID, ProgramAdmissions> programs = new ConcurrentHashMap<>();
+
+    public void warm(UUID programId, LocalDateTime endTime) {
+        evictExpired();
+        if (!endTime.isAfter(LocalDateTime.now())) {
+            return;
+        }
+
+        // Registered before loading so admissions committed during the load are not missed
+        ProgramAdmissions admissions = new ProgramAdmissions(endTime);
+        if (programs.putIfAbsent(programId, admissions) != null) {
+            return;
+        }
+        for (AdmittedCode code : passRepository.findAdmittedCodes(programId)) {
+            CheckInCandidate admitted = new CheckInCandidate(code.passId(), code.passTypeId(), programId, true);
+            if (code.qrCodeActive()) {
+                admissions.passByQrCode.put(code.qrCodeId(), admitted);
+            }
+            if (code.manualCode() != null) {
+                admissions.passByManualCode.put(code.manualCode(), admitted);
+            }
+        }
+    }
+
+    public boolean isWarm(UUID programId) {
+        return admissions(programId) != null;
+    }
+
+    /**
+     * Returns the admitted pass scanned with this QR code, or null when the scan has to be checked in the database.
+     */
+    public CheckInCandidate findAdmittedByQrCode(UUID programId, UUID qrCodeId) {
+        ProgramAdmissions admissions = admissions(programId);
+        return admissions == null ? null : admissions.passByQrCode.get(qrCodeId);
+    }
+
+    /**
+     * Returns the admitted pass with this manual code, or null when the scan has to be checked in the database.
+     */
+    public CheckInCandidate findAdmittedByManualCode(UUID programId, String manualCode) {
+        ProgramAdmissions admissions = admissions(programId);
+        return admissions == null ? null : admissions.passByManualCode.get(manualCode);
+    }
+
+    /**
+     * Records an admission once the transaction that wrote it commits. Either code may be null.
+     */
+    public void recordAdmissionAfterCommit(CheckInCandidate candidate, UUID qrCodeId, String manualCode) {
+        if (!isWarm(candidate.programId())) {
+            return;
+        }
+        CheckInCandidate admitted = new CheckInCandidate(
+                candidate.passId(), candidate.passTypeId(), candidate.programId(), true);
+        TransactionCallbacks.afterCommit(() -> recordAdmission(admitted, qrCodeId, manualCode));
+    }
+
+    private void recordAdmission(CheckInCandidate admitted, UUID qrCodeId, String manualCode) {
+        ProgramAdmissions admissions = admissions(admitted.programId());
+        if (admissions == null) {
+            return;
+        }
+        if (qrCodeId != null) {
+            admissions.passByQrCode.put(qrCodeId, admitted);
+        }
+        if (manualCode != null) {
+            admissions.passByManualCode.put(manualCode, admitted);
+        }
+    }
+
+    private ProgramAdmissions admissions(UUID programId) {
+        ProgramAdmissions admissions = programs.get(programId);
+        if (admissions != null && admissions.isExpired(LocalDateTime.now())) {
+            programs.remove(programId, admissions);
+            return null;
+        }
+        return admissions;
+    }
+
+    private void evictExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        programs.values().removeIf(admissions -> admissions.isExpired(now));
+    }
+
+    private static final class ProgramAdmissions {
+        private final LocalDateTime endTime;
+        private final Map<UUID, CheckInCandidate> passByQrCode = new ConcurrentHashMap<>();
+        private final Map<String, CheckInCandidate> passByManualCode = new ConcurrentHashMap<>();
+
+        private ProgramAdmissions(LocalDateTime endTime) {
+            this.endTime = endTime;
+        }
+
+        private boolean isExpired(LocalDateTime now) {
+            return now.isAfter(endTime);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package dev.joshuaonyema.kaleo.application.checkin;
+
+import dev.joshuaonyema.kaleo.application.transaction.TransactionCallbacks;
+import dev.joshuaonyema.kaleo.domain.entity.CheckInCounter;
+import dev.joshuaonyema.kaleo.domain.entity.PassValidationStatus;
+import dev.joshuaonyema.kaleo.repository.CheckInCounterRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Counts admitted and rejected scans per program and pass type in memory, so live attendance never needs a
+ * COUNT over the validation history.
+ * <p>
+ * Every scan is added to an unflushed delta that is added to {@code check_in_counters} on a fixed interval.
+ * Totals are only kept for programs someone is watching: their persisted counts are loaded once, and the
+ * deltas this node flushes afterwards are added to them. Deltas still unflushed when the process dies are lost.
+ */
+@Component
+@Slf4j
+public class CheckInCounters implements DisposableBean {
+
+    private final CheckInCounterRepository checkInCounterRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledExecutorService flusher;
+
+    private final Map<Key, Delta> unflushed = new ConcurrentHashMap<>();
+    // Persisted counts of the tracked programs, plus what this node flushed since loading them
+    private final Map<UUID, Map<UUID, long[]>> flushedTotals = new ConcurrentHashMap<>();
+    private final Set<UUID> changedPrograms = ConcurrentHashMap.newKeySet();
+    // Moves counts from the unflushed deltas to the flushed totals without a reader seeing them twice or not at all
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // Serializes flushes with each other and with loading persisted counts, which must never include a count
+    // that is written but not yet moved out of its delta. Readers never take it, so they never wait on the database
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public CheckInCounters(CheckInCounterRepository checkInCounterRepository,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${kaleo.check-in.counters.flush-interval:5s}") Duration flushInterval) {
+        this.checkInCounterRepository = checkInCounterRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("check-in-counter-flush").daemon().factory());
+        long intervalMillis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Counts a scan once the transaction that recorded it commits.
+     */
+    public void recordAfterCommit(UUID programId, UUID passTypeId, PassValidationStatus status) {
+        TransactionCallbacks.afterCommit(() -> record(programId, passTypeId, status));
+    }
+
+    void record(UUID programId, UUID passTypeId, PassValidationStatus status) {
+        Key key = new Key(programId, passTypeId);
+        Delta delta = unflushed.computeIfAbsent(key, k -> new Delta());
+        delta.recording.increment();
+        while (delta.retired) {
+            // A flush is dropping this delta as empty, so count the scan on the one replacing it
+            delta.recording.decrement();
+            delta = unflushed.computeIfAbsent(key, k -> new Delta());
+            delta.recording.increment();
+        }
+        if (PassValidationStatus.VALID.equals(status)) {
+            delta.admitted.increment();
+        } else {
+            delta.invalid.increment();
+        }
+        delta.recording.decrement();
+        if (flushedTotals.containsKey(programId)) {
+            changedPrograms.add(programId);
+        }
+    }
+
+    /**
+     * Starts keeping totals for a program, loading its persisted counts the first time.
+     */
+    public void track(UUID programId) {
+        if (flushedTotals.containsKey(programId)) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            if (flushedTotals.containsKey(programId)) {
+                return;
+            }
+            Map<UUID, long[]> totals = new HashMap<>();
+            for (CheckInCounter counter : checkInCounterRepository.findByIdProgramId(programId)) {
+                totals.put(counter.getId().getPassTypeId(), new long[]{counter.getAdmitted(), counter.getInvalid()});
+            }
+            flushedTotals.put(programId, totals);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void untrack(UUID programId) {
+        flushLock.lock();
+        try {
+            flushedTotals.remove(programId);
+            changedPrograms.remove(programId);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public CheckInCounts getCounts(UUID programId) {
+        Map<UUID, long[]> counts = new HashMap<>();
+        flushLock.lock();
+        try {
+            flushedTotals.getOrDefault(programId, Map.of())
+                    .forEach((passTypeId, totals) -> counts.put(passTypeId, totals.clone()));
+            unflushed.forEach((key, delta) -> {
+                if (key.programId().equals(programId)) {
+                    long[] totals = counts.computeIfAbsent(key.passTypeId(), id -> new long[2]);
+                    totals[0] += delta.admitted.sum();
+                    totals[1] += delta.invalid.sum();
+                }
+            });
+        } finally {
+            flushLock.unlock();
+        }
+
+        List<CheckInCounts.PassTypeCounts> passTypes = new ArrayList<>(counts.size());
+        long admitted = 0;
+        long invalid = 0;
+        for (Map.Entry<UUID, long[]> entry : counts.entrySet()) {
+            passTypes.add(new CheckInCounts.PassTypeCounts(entry.getKey(), entry.getValue()[0], entry.getValue()[1]));
+            admitted += entry.getValue()[0];
+            invalid += entry.getValue()[1];
+        }
+        passTypes.sort(Comparator.comparing(CheckInCounts.PassTypeCounts::passTypeId));
+        return new CheckInCounts(programId, admitted, invalid, passTypes);
+    }
+
+    /**
+     * Returns the tracked programs whose counts changed since the last call.
+     */
+    public Set<UUID> drainChangedPrograms() {
+        Set<UUID> changed = new HashSet<>();
+        for (Iterator<UUID> iterator = changedPrograms.iterator(); iterator.hasNext(); ) {
+            changed.add(iterator.next());
+            iterator.remove();
+        }
+        return changed;
+    }
+
+    void flush() {
+        writeLock.lock();
+        try {
+            for (Map.Entry<Key, Delta> entry : unflushed.entrySet()) {
+                Key key = entry.getKey();
+                Delta delta = entry.getValue();
+                // Subtracting what was read, rather than resetting, keeps scans counted during the flush
+                long admitted = delta.admitted.sum();
+                long invalid = delta.invalid.sum();
+                if (admitted == 0 && invalid == 0) {
+                    removeIfEmpty(key, delta);
+                    continue;
+                }
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        checkInCounterRepository.insertIfAbsent(key.programId(), key.passTypeId());
+                        checkInCounterRepository.addCounts(key.programId(), key.passTypeId(), admitted, invalid);
+                    });
+                } catch (RuntimeException exception) {
+                    log.warn("Failed to flush check-in counts for pass type {}, retrying on the next flush",
+                            key.passTypeId(), exception);
+                    continue;
+                }
+                // Until here readers still count the written scans in the delta, never in both places
+                flushLock.lock();
+                try {
+                    delta.admitted.add(-admitted);
+                    delta.invalid.add(-invalid);
+                    Map<UUID, long[]> totals = flushedTotals.get(key.programId());
+                    if (totals != null) {
+                        long[] passTypeTotals = totals.computeIfAbsent(key.passTypeId(), id -> new long[2]);
+                        passTypeTotals[0] += admitted;
+                        passTypeTotals[1] += invalid;
+                    }
+                } finally {
+                    flushLock.unlock();
+                }
+                removeIfEmpty(key, delta);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Pass types of programs that ended stop costing every flush. The delta is retired before anyone recording
+    // on it is checked for, so a concurrent scan either keeps it alive or sees it retired and moves on
+    private void removeIfEmpty(Key key, Delta delta) {
+        unflushed.computeIfPresent(key, (k, current) -> {
+            if (current != delta) {
+                return current;
+            }
+            current.retired = true;
+            if (current.recording.sum() == 0 && current.admitted.sum() == 0 && current.invalid.sum() == 0) {
+                return null;
+            }
+            current.retired = false;
+            return current;
+        });
+    }
+
+    int unflushedPassTypes() {
+        return unflushed.size();
+    }
+
+    @Override
+    public void destroy() {
+        flusher.shutdown();
+        flush();
+    }
+
+    private record Key(UUID programId, UUID passTypeId) {
+    }
+
+    private static final class Delta {
+        private final LongAdder admitted = new LongAdder();
+        private final LongAdder invalid = new LongAdder();
+        private final LongAdder recording = new LongAdder();
+        private volatile boolean retired;
+    }
+}
@@ -0,0 +1,13 @@
+package dev.joshuaonyema.kaleo.application.checkin;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Admitted and rejected scans of a program, in total and per pass type.
+ */
+public record CheckInCounts(UUID programId, long admitted, long invalid, List<PassTypeCounts> passTypes) {
+
+    public record PassTypeCounts(UUID passTypeId, long admitted, long invalid) {
+    }
+}
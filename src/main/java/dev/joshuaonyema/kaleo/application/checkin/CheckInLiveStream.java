@@ -0,0 +1,145 @@
+package dev.joshuaonyema.kaleo.application.checkin;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pushes live check-in counts to staff over server-sent events.
+ * <p>
+ * Subscribers hold no thread while idle. A single publisher thread collects the programs whose counts changed
+ * on a fixed interval and hands each subscriber the latest snapshot; sends run on virtual threads, at most one per
+ * subscriber at a time, and a slow subscriber only ever receives the newest snapshot instead of a backlog.
+ */
+@Component
+@Slf4j
+public class CheckInLiveStream implements DisposableBean {
+
+    static final String EVENT_NAME = "check-in-counts";
+
+    private final CheckInCounters checkInCounters;
+    private final long timeoutMillis;
+    private final ScheduledExecutorService publisher;
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<UUID, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    public CheckInLiveStream(CheckInCounters checkInCounters,
+                             @Value("${kaleo.check-in.live.publish-interval:1s}") Duration publishInterval,
+                             @Value("${kaleo.check-in.live.timeout:30m}") Duration timeout) {
+        this.checkInCounters = checkInCounters;
+        this.timeoutMillis = timeout.toMillis();
+        this.publisher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("check-in-live-publish").daemon().factory());
+        long intervalMillis = publishInterval.toMillis();
+        publisher.scheduleWithFixedDelay(this::publish, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(UUID programId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        // Tracking starts with the first subscriber and stops with the last, atomically with the subscriber list
+        subscribers.compute(programId, (id, current) -> {
+            if (current == null) {
+                checkInCounters.track(programId);
+                current = new CopyOnWriteArrayList<>();
+            }
+            current.add(subscriber);
+            return current;
+        });
+
+        emitter.onCompletion(() -> unsubscribe(programId, subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(exception -> unsubscribe(programId, subscriber));
+        subscriber.offer(checkInCounters.getCounts(programId));
+        return emitter;
+    }
+
+    int subscriberCount(UUID programId) {
+        List<Subscriber> current = subscribers.get(programId);
+        return current == null ? 0 : current.size();
+    }
+
+    void publish() {
+        try {
+            for (UUID programId : checkInCounters.drainChangedPrograms()) {
+                List<Subscriber> current = subscribers.get(programId);
+                if (current == null) {
+                    continue;
+                }
+                CheckInCounts counts = checkInCounters.getCounts(programId);
+                for (Subscriber subscriber : current) {
+                    subscriber.offer(counts);
+                }
+            }
+        } catch (RuntimeException exception) {
+            log.warn("Failed to publish live check-in counts", exception);
+        }
+    }
+
+    private void unsubscribe(UUID programId, Subscriber subscriber) {
+        subscribers.computeIfPresent(programId, (id, current) -> {
+            current.remove(subscriber);
+            if (!current.isEmpty()) {
+                return current;
+            }
+            checkInCounters.untrack(programId);
+            return null;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        publisher.shutdownNow();
+        subscribers.values().forEach(current -> current.forEach(subscriber -> subscriber.emitter.complete()));
+        senders.shutdownNow();
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicReference<CheckInCounts> latest = new AtomicReference<>();
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void offer(CheckInCounts counts) {
+            latest.set(counts);
+            if (sending.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                CheckInCounts counts = latest.getAndSet(null);
+                if (counts == null) {
+                    sending.set(false);
+                    // A snapshot offered after the read above but before the flag was cleared would otherwise wait for the next change
+                    if (latest.get() == null || !sending.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    emitter.send(SseEmitter.event().name(EVENT_NAME).data(counts));
+                } catch (IOException | IllegalStateException exception) {
+                    // The client went away; completing the emitter unsubscribes it, and the flag stays set so nothing more is sent
+                    emitter.completeWithError(exception);
+                    return;
+                }
+            }
+        }
+    }
+}
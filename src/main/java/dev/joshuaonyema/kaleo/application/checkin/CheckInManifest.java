@@ -0,0 +1,12 @@
+package dev.joshuaonyema.kaleo.application.checkin;
+
+import dev.joshuaonyema.kaleo.repository.projection.ManifestEntry;
+
+import java.util.List;
+
+/**
+ * Snapshot of a program's scannable codes. {@code version} is passed back as {@code since} to fetch only what
+ * changed afterwards; a delta carries the changed entries only and replaces them by QR code id.
+ */
+public record CheckInManifest(long version, boolean delta, List<ManifestEntry> entries) {
+}
@@ -0,0 +1,74 @@
+package dev.joshuaonyema.kaleo.application.checkin;
+
+import dev.joshuaonyema.kaleo.repository.projection.ManifestEntry;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes a {@link CheckInManifest} as a fixed-width binary table a scanner can binary search by QR code id.
+ * <p>
+ * Layout, big-endian: the magic {@code KCM1}, the version (8 bytes), a kind byte (0 full, 1 delta) and the
+ * entry count (4 bytes), followed by one 39-byte record per entry: QR code id (16), pass id (16), manual code
+ * (6 ASCII bytes, zero padded) and a flags byte. Records are ordered by QR code id compared as unsigned bytes.
+ */
+public final class CheckInManifestEncoder {
+
+    public static final byte[] MAGIC = {'K', 'C', 'M', '1'};
+    public static final int HEADER_BYTES = 17;
+    public static final int ENTRY_BYTES = 39;
+    public static final int MANUAL_CODE_BYTES = 6;
+    public static final int FLAG_ACTIVE = 1;
+    public static final int FLAG_VALIDATED = 1 << 1;
+
+    static final Comparator<UUID> UNSIGNED_ORDER = (a, b) -> {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    };
+
+    private CheckInManifestEncoder() {
+    }
+
+    public static void write(CheckInManifest manifest, OutputStream out) throws IOException {
+        List<ManifestEntry> entries = new ArrayList<>(manifest.entries());
+        entries.sort(Comparator.comparing(ManifestEntry::qrCodeId, UNSIGNED_ORDER));
+
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.write(MAGIC);
+        data.writeLong(manifest.version());
+        data.writeByte(manifest.delta() ? 1 : 0);
+        data.writeInt(entries.size());
+
+        byte[] manualCode = new byte[MANUAL_CODE_BYTES];
+        for (ManifestEntry entry : entries) {
+            writeUuid(data, entry.qrCodeId());
+            writeUuid(data, entry.passId());
+            fillManualCode(manualCode, entry.manualCode());
+            data.write(manualCode);
+            data.writeByte((entry.active() ? FLAG_ACTIVE : 0) | (entry.validated() ? FLAG_VALIDATED : 0));
+        }
+        data.flush();
+    }
+
+    private static void writeUuid(DataOutputStream data, UUID id) throws IOException {
+        data.writeLong(id.getMostSignificantBits());
+        data.writeLong(id.getLeastSignificantBits());
+    }
+
+    private static void fillManualCode(byte[] target, String manualCode) {
+        Arrays.fill(target, (byte) 0);
+        if (manualCode == null) {
+            return;
+        }
+        byte[] ascii = manualCode.getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(ascii, 0, target, 0, Math.min(ascii.length, target.length));
+    }
+}
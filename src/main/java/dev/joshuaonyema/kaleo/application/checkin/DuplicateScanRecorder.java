@@ -0,0 +1,110 @@
+package dev.joshuaonyema.kaleo.application.checkin;
+
+import dev.joshuaonyema.kaleo.domain.entity.PassValidation;
+import dev.joshuaonyema.kaleo.domain.entity.PassValidationMethod;
+import dev.joshuaonyema.kaleo.domain.entity.PassValidationStatus;
+import dev.joshuaonyema.kaleo.repository.PassRepository;
+import dev.joshuaonyema.kaleo.repository.PassValidationRepository;
+import dev.joshuaonyema.kaleo.repository.ProgramRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Writes the INVALID audit rows of duplicate scans in the background, in batches, so a re-scan answered from
+ * the {@link AdmissionCache} does not wait for an insert. Rows still queued when the process dies are lost;
+ * they only record a rejected re-scan, never an admission.
+ */
+@Component
+@Slf4j
+public class DuplicateScanRecorder implements DisposableBean {
+
+    static final int MAX_BATCH = 500;
+
+    private final PassValidationRepository passValidationRepository;
+    private final PassRepository passRepository;
+    private final ProgramRepository programRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<DuplicateScan> queue;
+    private final Thread writer;
+
+    public DuplicateScanRecorder(PassValidationRepository passValidationRepository,
+                                 PassRepository passRepository,
+                                 ProgramRepository programRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${kaleo.check-in.write-behind.queue-capacity:100000}") int queueCapacity) {
+        this.passValidationRepository = passValidationRepository;
+        this.passRepository = passRepository;
+        this.programRepository = programRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writer = Thread.ofPlatform().name("duplicate-scan-writer").daemon().start(this::run);
+    }
+
+    /**
+     * Queues the audit row, returning false when the queue is full and the caller has to write it itself.
+     */
+    public boolean enqueue(UUID passId, UUID programId, PassValidationMethod method) {
+        boolean queued = queue.offer(new DuplicateScan(passId, programId, method));
+        if (!queued) {
+            log.warn("Duplicate scan queue is full, writing the audit row for pass {} inline", passId);
+        }
+        return queued;
+    }
+
+    private void run() {
+        List<DuplicateScan> batch = new ArrayList<>(MAX_BATCH);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+            write(batch);
+            batch.clear();
+        }
+        // Flush what was queued before shutdown
+        while (queue.drainTo(batch, MAX_BATCH) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<DuplicateScan> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<PassValidation> passValidations = new ArrayList<>(batch.size());
+                for (DuplicateScan scan : batch) {
+                    PassValidation passValidation = new PassValidation();
+                    passValidation.setPass(passRepository.getReferenceById(scan.passId()));
+                    passValidation.setProgram(programRepository.getReferenceById(scan.programId()));
+                    passValidation.setValidationMethod(scan.method());
+                    passValidation.setPassStatus(PassValidationStatus.INVALID);
+                    passValidations.add(passValidation);
+                }
+                passValidationRepository.saveAll(passValidations);
+            });
+        } catch (RuntimeException exception) {
+            log.error("Failed to write {} duplicate scan audit rows", batch.size(), exception);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        writer.interrupt();
+        writer.join(5000);
+    }
+
+    private record DuplicateScan(UUID passId, UUID programId, PassValidationMethod method) {
+    }
+}
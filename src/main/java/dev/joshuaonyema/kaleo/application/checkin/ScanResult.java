@@ -0,0 +1,19 @@
+package dev.joshuaonyema.kaleo.application.checkin;
+
+import dev.joshuaonyema.kaleo.domain.entity.PassValidationStatus;
+
+import java.util.UUID;
+
+/**
+ * Outcome of one scan in a bulk upload. Rejected scans carry an error instead of a status.
+ */
+public record ScanResult(UUID passId, PassValidationStatus status, String error) {
+
+    public static ScanResult recorded(UUID passId, PassValidationStatus status) {
+        return new ScanResult(passId, status, null);
+    }
+
+    public static ScanResult rejected(String error) {
+        return new ScanResult(null, null, error);
+    }
+}
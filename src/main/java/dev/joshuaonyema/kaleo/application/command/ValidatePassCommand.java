@@ -0,0 +1,18 @@
+package dev.joshuaonyema.kaleo.application.command;
+
+import dev.joshuaonyema.kaleo.domain.entity.PassValidationMethod;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ValidatePassCommand {
+    private UUID programId;
+    private UUID qrCodeId;
+    private String manualCode;
+    private PassValidationMethod method;
+}
@@ -0,0 +1,9 @@
+package dev.joshuaonyema.kaleo.application.event;
+
+import java.util.UUID;
+
+/**
+ * Published when a program is created, updated or deleted, so caches of what it looks like can let go of it.
+ */
+public record ProgramChangedEvent(UUID programId) {
+}
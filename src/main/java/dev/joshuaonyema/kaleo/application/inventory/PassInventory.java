@@ -0,0 +1,114 @@
+package dev.joshuaonyema.kaleo.application.inventory;
+
+import dev.joshuaonyema.kaleo.application.transaction.TransactionCallbacks;
+import dev.joshuaonyema.kaleo.domain.entity.PassType;
+import dev.joshuaonyema.kaleo.repository.PassTypeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reserves seats on a pass type without a COUNT.
+ * An in-memory counter per pass type rejects sold-out purchases before touching the database;
+ * the conditional UPDATE on {@code pass_types.sold_count} remains the source of truth across nodes.
+ * A reservation made inside a transaction is handed back automatically if that transaction rolls back.
+ * <p>
+ * The UPDATE takes the pass type's row lock and keeps it until the purchase commits, so concurrent buyers of
+ * one pass type still queue for the rest of the purchase. Purchases reserve before inserting their passes and
+ * QR codes anyway: a sold-out purchase then fails without writing rows it would have to roll back or using up
+ * manual codes, and the lock only covers those few inserts and the commit.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PassInventory implements SmartInitializingSingleton {
+
+    private final PassTypeRepository passTypeRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ConcurrentMap<UUID, AtomicInteger> soldCounters = new ConcurrentHashMap<>();
+
+    // A one-time repair for pass types sold before sold_count was maintained, so it is off unless asked for
+    @Value("${kaleo.inventory.backfill-sold-counts:false}")
+    private boolean backfillSoldCounts;
+
+    public boolean tryReserve(PassType passType, int quantity) {
+        UUID passTypeId = passType.getId();
+        AtomicInteger sold = soldCounters.computeIfAbsent(passTypeId,
+                id -> new AtomicInteger(passType.getSoldCount()));
+
+        if (!reserveLocally(sold, passType.getTotalAvailable(), quantity)) {
+            return false;
+        }
+
+        int reserved;
+        try {
+            reserved = passTypeRepository.reserveSeats(passTypeId, quantity);
+        } catch (RuntimeException exception) {
+            sold.addAndGet(-quantity);
+            throw exception;
+        }
+
+        if (reserved == 0) {
+            // Another node sold the remaining seats, re-seed from the database next time
+            sold.addAndGet(-quantity);
+            soldCounters.remove(passTypeId, sold);
+            return false;
+        }
+
+        releaseOnRollback(passTypeId, sold, quantity);
+        evictOnCommit(passTypeId);
+        return true;
+    }
+
+    public int getSoldCount(UUID passTypeId) {
+        AtomicInteger sold = soldCounters.get(passTypeId);
+        return sold == null ? 0 : sold.get();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reconcile();
+    }
+
+    public void reconcile() {
+        if (backfillSoldCounts) {
+            int updated = passTypeRepository.backfillSoldCounts();
+            log.info("Backfilled sold counts for {} pass types", updated);
+        }
+        soldCounters.clear();
+    }
+
+    private boolean reserveLocally(AtomicInteger sold, Integer totalAvailable, int quantity) {
+        while (true) {
+            int current = sold.get();
+            if (totalAvailable != null && current + quantity > totalAvailable) {
+                return false;
+            }
+            if (sold.compareAndSet(current, current + quantity)) {
+                return true;
+            }
+        }
+    }
+
+    // Until the commit, the cached copy still matches the committed sold_count. A copy loaded just before the
+    // commit can land after this eviction; the region's expiry bounds how long it stays
+    private void evictOnCommit(UUID passTypeId) {
+        TransactionCallbacks.afterCommit(() -> entityManagerFactory.getCache().evict(PassType.class, passTypeId));
+    }
+
+    private void releaseOnRollback(UUID passTypeId, AtomicInteger sold, int quantity) {
+        TransactionCallbacks.afterRollback(() -> {
+            sold.addAndGet(-quantity);
+            log.debug("Released {} seats on pass type {}", quantity, passTypeId);
+        });
+    }
+}
@@ -0,0 +1,10 @@
+package dev.joshuaonyema.kaleo.application.manualcode;
+
+/**
+ * Hands out the six character manual codes printed on passes.
+ * The implementation is chosen with {@code kaleo.manual-code.strategy}.
+ */
+public interface ManualCodeAllocator {
+
+    String allocate();
+}
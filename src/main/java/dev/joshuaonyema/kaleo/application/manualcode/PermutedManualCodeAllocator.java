@@ -0,0 +1,63 @@
+package dev.joshuaonyema.kaleo.application.manualcode;
+
+import dev.joshuaonyema.kaleo.repository.PassRepository;
+import dev.joshuaonyema.kaleo.util.ManualCodeGenerator;
+import dev.joshuaonyema.kaleo.util.ManualCodePermutation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Allocates manual codes without any uniqueness lookup. Each node reserves a block of sequence numbers
+ * from the {@code manual_code_seq} database sequence and spells every number out through a keyed permutation,
+ * so codes from all nodes are distinct by construction and still look random.
+ */
+@Component
+@ConditionalOnProperty(name = "kaleo.manual-code.strategy", havingValue = "permuted", matchIfMissing = true)
+public class PermutedManualCodeAllocator implements ManualCodeAllocator {
+
+    // Must match the sequence increment, which SchemaMigrations creates from this constant
+    public static final int BLOCK_SIZE = 1024;
+
+    private static final long SEQUENCE_LIMIT = 1L << ManualCodePermutation.DOMAIN_BITS;
+
+    private final PassRepository passRepository;
+    private final ManualCodePermutation permutation;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long next;
+    private long blockEnd;
+
+    public PermutedManualCodeAllocator(PassRepository passRepository,
+                                       @Value("${kaleo.manual-code.key:}") String key) {
+        // A missing key would fall back to a known one and make every code predictable
+        if (key == null || key.isBlank()) {
+            throw new IllegalStateException("kaleo.manual-code.key must be set for the permuted manual code strategy");
+        }
+        this.passRepository = passRepository;
+        this.permutation = new ManualCodePermutation(key);
+    }
+
+    @Override
+    public String allocate() {
+        long sequenceValue;
+        lock.lock();
+        try {
+            if (next == blockEnd) {
+                long blockStart = passRepository.reserveManualCodeBlock();
+                next = blockStart;
+                blockEnd = blockStart + BLOCK_SIZE;
+            }
+            sequenceValue = next++;
+        } finally {
+            lock.unlock();
+        }
+
+        if (sequenceValue >= SEQUENCE_LIMIT) {
+            throw new IllegalStateException("Manual code space is exhausted");
+        }
+        return ManualCodeGenerator.encode(permutation.permute((int) sequenceValue));
+    }
+}
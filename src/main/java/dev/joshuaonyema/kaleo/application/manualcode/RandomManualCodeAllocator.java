@@ -0,0 +1,30 @@
+package dev.joshuaonyema.kaleo.application.manualcode;
+
+import dev.joshuaonyema.kaleo.repository.PassRepository;
+import dev.joshuaonyema.kaleo.util.ManualCodeGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws random codes until one is not in use yet. Costs at least one lookup per code.
+ */
+@Component
+@ConditionalOnProperty(name = "kaleo.manual-code.strategy", havingValue = "random")
+@RequiredArgsConstructor
+public class RandomManualCodeAllocator implements ManualCodeAllocator {
+
+    private final PassRepository passRepository;
+    private final RandomGenerator manualCodeRandom;
+
+    @Override
+    public String allocate() {
+        String code;
+        do {
+            code = ManualCodeGenerator.generate(manualCodeRandom);
+        } while (passRepository.findByManualCode(code).isPresent());
+        return code;
+    }
+}
@@ -0,0 +1,13 @@
+package dev.joshuaonyema.kaleo.application.qrcode;
+
+import org.springframework.util.DigestUtils;
+
+/**
+ * An encoded QR code image together with a strong validator computed from its bytes.
+ */
+public record QrCodeImage(QrCodeImageFormat format, byte[] content, String etag) {
+
+    public static QrCodeImage of(QrCodeImageFormat format, byte[] content) {
+        return new QrCodeImage(format, content, DigestUtils.md5DigestAsHex(content));
+    }
+}
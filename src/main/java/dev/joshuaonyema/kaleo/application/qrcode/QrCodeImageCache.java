@@ -0,0 +1,43 @@
+package dev.joshuaonyema.kaleo.application.qrcode;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Size-bounded cache of encoded QR code images keyed by QR code id, format and size.
+ * Images are deterministic for a given key, so entries never go stale and only need evicting for space.
+ * Hit and miss counts are published as the {@code cache.gets} metric with {@code cache=qrCodeImages}.
+ */
+@Component
+public class QrCodeImageCache {
+
+    private final QrCodeImageRenderer qrCodeImageRenderer;
+    private final Cache<Key, QrCodeImage> images;
+
+    public QrCodeImageCache(QrCodeImageRenderer qrCodeImageRenderer,
+                            MeterRegistry meterRegistry,
+                            @Value("${kaleo.qr-code.cache.max-bytes:67108864}") long maxBytes) {
+        this.qrCodeImageRenderer = qrCodeImageRenderer;
+        this.images = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, QrCodeImage image) -> image.content().length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, images, "qrCodeImages");
+    }
+
+    public QrCodeImage get(UUID qrCodeId, QrCodeImageFormat format, int size) {
+        // SVG output is scalable, so every requested size shares one entry
+        Key key = new Key(qrCodeId, format, format == QrCodeImageFormat.SVG ? 0 : size);
+        return images.get(key, k -> QrCodeImage.of(k.format(), qrCodeImageRenderer.render(k.qrCodeId(), k.format(), k.size())));
+    }
+
+    private record Key(UUID qrCodeId, QrCodeImageFormat format, int size) {
+    }
+}
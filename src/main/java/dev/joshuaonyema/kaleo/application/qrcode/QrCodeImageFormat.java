@@ -0,0 +1,13 @@
+package dev.joshuaonyema.kaleo.application.qrcode;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum QrCodeImageFormat {
+    PNG("image/png"),
+    SVG("image/svg+xml");
+
+    private final String mediaType;
+}
@@ -0,0 +1,58 @@
+package dev.joshuaonyema.kaleo.application.qrcode;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import dev.joshuaonyema.kaleo.exception.QrCodeGenerationException;
+import dev.joshuaonyema.kaleo.util.QrPngEncoder;
+import dev.joshuaonyema.kaleo.util.QrSvgEncoder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Renders the image for a QR code. The image only depends on the QR code id, the format and the size.
+ */
+@Component
+@RequiredArgsConstructor
+public class QrCodeImageRenderer {
+
+    public static final int DEFAULT_SIZE = 300;
+
+    private final QRCodeWriter qrCodeWriter;
+
+    public byte[] renderPng(UUID qrCodeId) {
+        return renderPng(qrCodeId, DEFAULT_SIZE);
+    }
+
+    public byte[] renderPng(UUID qrCodeId, int size) {
+        return QrPngEncoder.encode(encode(qrCodeId, size));
+    }
+
+    public byte[] renderSvg(UUID qrCodeId) {
+        // A zero size yields one pixel per module, the SVG viewBox does the scaling
+        return QrSvgEncoder.encode(encode(qrCodeId, 0));
+    }
+
+    public byte[] render(UUID qrCodeId, QrCodeImageFormat format, int size) {
+        return switch (format) {
+            case PNG -> renderPng(qrCodeId, size);
+            case SVG -> renderSvg(qrCodeId);
+        };
+    }
+
+    private BitMatrix encode(UUID qrCodeId, int size) {
+        try {
+            return qrCodeWriter.encode(
+                    qrCodeId.toString(),
+                    BarcodeFormat.QR_CODE,
+                    size,
+                    size
+            );
+        } catch (WriterException exception) {
+            throw new QrCodeGenerationException("Failed to generate QR Code", exception);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package dev.joshuaonyema.kaleo.application.qrcode;
+
+import dev.joshuaonyema.kaleo.application.transaction.TransactionCallbacks;
+import dev.joshuaonyema.kaleo.repository.QrCodeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders QR code images in the background once the transaction that issued them has committed,
+ * so image encoding never adds to purchase latency or lock hold time.
+ * Rendering is CPU-bound, so it runs on a small bounded pool; codes that cannot be queued
+ * simply stay PENDING and are rendered the first time they are read.
+ */
+@Component
+@Slf4j
+public class QrCodeRenderQueue implements DisposableBean {
+
+    private final QrCodeImageRenderer qrCodeImageRenderer;
+    private final QrCodeRepository qrCodeRepository;
+    private final ThreadPoolExecutor executor;
+
+    public QrCodeRenderQueue(QrCodeImageRenderer qrCodeImageRenderer,
+                             QrCodeRepository qrCodeRepository,
+                             @Value("${kaleo.qr-code.render.threads:2}") int threads,
+                             @Value("${kaleo.qr-code.render.queue-capacity:10000}") int queueCapacity) {
+        this.qrCodeImageRenderer = qrCodeImageRenderer;
+        this.qrCodeRepository = qrCodeRepository;
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("qr-render-", 0).daemon().factory()
+        );
+    }
+
+    public void submitAfterCommit(List<UUID> qrCodeIds) {
+        TransactionCallbacks.afterCommit(() -> submit(qrCodeIds));
+    }
+
+    private void submit(List<UUID> qrCodeIds) {
+        for (UUID qrCodeId : qrCodeIds) {
+            try {
+                executor.execute(() -> render(qrCodeId));
+            } catch (RejectedExecutionException exception) {
+                log.warn("QR Code render queue is full, QR Code {} stays pending", qrCodeId);
+            }
+        }
+    }
+
+    private void render(UUID qrCodeId) {
+        try {
+            byte[] image = qrCodeImageRenderer.renderPng(qrCodeId);
+            qrCodeRepository.storeRenderedImage(qrCodeId, Base64.getEncoder().encodeToString(image));
+        } catch (RuntimeException exception) {
+            log.error("Failed to render QR Code {}", qrCodeId, exception);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
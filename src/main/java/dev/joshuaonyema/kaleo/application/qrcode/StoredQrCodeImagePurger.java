@@ -0,0 +1,35 @@
+package dev.joshuaonyema.kaleo.application.qrcode;
+
+import dev.joshuaonyema.kaleo.repository.QrCodeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Migration path to on-demand QR images: once images are no longer stored,
+ * drops the Base64 blobs written by earlier versions so the qr_codes rows shrink back to the id.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StoredQrCodeImagePurger implements SmartInitializingSingleton {
+
+    private final QrCodeRepository qrCodeRepository;
+
+    @Value("${kaleo.qr-code.store-images:true}")
+    private boolean storeImages;
+
+    @Value("${kaleo.qr-code.purge-stored-images:false}")
+    private boolean purgeStoredImages;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (storeImages || !purgeStoredImages) {
+            return;
+        }
+        int purged = qrCodeRepository.clearStoredImages();
+        log.info("Purged {} stored QR Code images", purged);
+    }
+}
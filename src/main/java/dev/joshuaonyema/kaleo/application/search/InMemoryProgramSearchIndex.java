@@ -0,0 +1,219 @@
+package dev.joshuaonyema.kaleo.application.search;
+
+import dev.joshuaonyema.kaleo.application.transaction.TransactionCallbacks;
+import dev.joshuaonyema.kaleo.domain.entity.Program;
+import dev.joshuaonyema.kaleo.domain.entity.ProgramStatus;
+import dev.joshuaonyema.kaleo.repository.ProgramRepository;
+import dev.joshuaonyema.kaleo.repository.projection.ProgramSearchDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An inverted index over the names and venues of published programs, held in memory and loaded once the
+ * application is ready, after startup runners such as the dev data seed have written their programs.
+ * <p>
+ * Like {@code plainto_tsquery}, a program matches when it contains every term of the query. Matches are ranked
+ * with BM25, so rare terms and short texts count for more. Each node indexes the writes it commits itself;
+ * programs changed on another node only show up here after a restart, so deployments running more than one
+ * node should use the {@code postgres} engine.
+ */
+@Component
+@ConditionalOnProperty(name = "kaleo.search.engine", havingValue = "memory", matchIfMissing = true)
+@Slf4j
+public class InMemoryProgramSearchIndex implements ProgramSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "the", "to", "with"
+    );
+
+    private final ProgramRepository programRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<UUID, Integer>> postings = new HashMap<>();
+    private final Map<UUID, List<String>> documentTerms = new HashMap<>();
+    private long totalLength;
+
+    public InMemoryProgramSearchIndex(ProgramRepository programRepository) {
+        this.programRepository = programRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<ProgramSearchDocument> documents = programRepository.findPublishedSearchDocuments();
+        documents.forEach(this::index);
+        log.info("Indexed {} published programs for search in memory; programs changed on other nodes are not "
+                + "seen until restart, use kaleo.search.engine=postgres when running more than one node",
+                documents.size());
+    }
+
+    @Override
+    public Page<UUID> search(String query, Pageable pageable) {
+        List<String> terms = tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Map<UUID, Integer>> termPostings = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Map<UUID, Integer> termDocuments = postings.get(term);
+                if (termDocuments == null) {
+                    return Page.empty(pageable);
+                }
+                termPostings.add(termDocuments);
+            }
+            // Walking the rarest term's documents keeps the intersection as small as possible
+            termPostings.sort(Comparator.comparingInt(Map::size));
+
+            // Only the programs up to the end of the requested page are kept, in a bounded heap
+            long limit = pageable.isPaged() ? pageable.getOffset() + pageable.getPageSize() : Long.MAX_VALUE;
+            PriorityQueue<ScoredProgram> top = new PriorityQueue<>(ScoredProgram.BEST_FIRST.reversed());
+            long matches = 0;
+            double averageLength = (double) totalLength / documentTerms.size();
+            for (UUID programId : termPostings.getFirst().keySet()) {
+                double score = score(programId, termPostings, averageLength);
+                if (Double.isNaN(score)) {
+                    continue;
+                }
+                matches++;
+                top.add(new ScoredProgram(programId, score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<ScoredProgram> ranked = new ArrayList<>(top);
+            ranked.sort(ScoredProgram.BEST_FIRST);
+            int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), ranked.size()) : 0;
+            List<UUID> content = ranked.subList(from, ranked.size()).stream()
+                    .map(ScoredProgram::programId)
+                    .toList();
+            return new PageImpl<>(content, pageable, matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // NaN when the program is missing one of the terms
+    private double score(UUID programId, List<Map<UUID, Integer>> termPostings, double averageLength) {
+        int length = documentTerms.get(programId).size();
+        double score = 0;
+        for (Map<UUID, Integer> termDocuments : termPostings) {
+            Integer frequency = termDocuments.get(programId);
+            if (frequency == null) {
+                return Double.NaN;
+            }
+            int documentFrequency = termDocuments.size();
+            double idf = Math.log(1 + (documentTerms.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            score += idf * frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+        }
+        return score;
+    }
+
+    @Override
+    public void indexAfterCommit(Program program) {
+        UUID programId = program.getId();
+        ProgramSearchDocument document = ProgramStatus.PUBLISHED.equals(program.getStatus())
+                ? new ProgramSearchDocument(programId, program.getName(), program.getVenue())
+                : null;
+        TransactionCallbacks.afterCommit(() -> {
+            if (document == null) {
+                remove(programId);
+            } else {
+                index(document);
+            }
+        });
+    }
+
+    @Override
+    public void removeAfterCommit(UUID programId) {
+        TransactionCallbacks.afterCommit(() -> remove(programId));
+    }
+
+    void index(ProgramSearchDocument document) {
+        List<String> terms = tokenize(document.name() + " " + document.venue());
+        lock.writeLock().lock();
+        try {
+            removeTerms(document.id());
+            for (String term : terms) {
+                postings.computeIfAbsent(term, key -> new HashMap<>()).merge(document.id(), 1, Integer::sum);
+            }
+            documentTerms.put(document.id(), terms);
+            totalLength += terms.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(UUID programId) {
+        lock.writeLock().lock();
+        try {
+            removeTerms(programId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeTerms(UUID programId) {
+        List<String> terms = documentTerms.remove(programId);
+        if (terms == null) {
+            return;
+        }
+        totalLength -= terms.size();
+        for (String term : terms) {
+            Map<UUID, Integer> termDocuments = postings.get(term);
+            if (termDocuments != null && termDocuments.remove(programId) != null && termDocuments.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    /**
+     * Lower-cases the text, splits it into words, drops common English words and folds simple plurals,
+     * so "Youth Camps" and "youth camp" find each other.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty() || STOP_WORDS.contains(word)) {
+                continue;
+            }
+            terms.add(stem(word));
+        }
+        return terms;
+    }
+
+    private static String stem(String word) {
+        if (word.length() > 4 && word.endsWith("ies")) {
+            return word.substring(0, word.length() - 3) + "y";
+        }
+        if (word.length() > 3 && word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us")) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+
+    private record ScoredProgram(UUID programId, double score) {
+        private static final Comparator<ScoredProgram> BEST_FIRST = Comparator
+                .comparingDouble(ScoredProgram::score).reversed()
+                .thenComparing(ScoredProgram::programId);
+    }
+}
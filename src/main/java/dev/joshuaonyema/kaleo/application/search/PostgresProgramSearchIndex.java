@@ -0,0 +1,41 @@
+package dev.joshuaonyema.kaleo.application.search;
+
+import dev.joshuaonyema.kaleo.domain.entity.Program;
+import dev.joshuaonyema.kaleo.repository.ProgramRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Searches the generated {@code search_vector} column through its GIN index. The database keeps the column
+ * current on every write, so there is nothing to index here.
+ */
+@Component
+@ConditionalOnProperty(name = "kaleo.search.engine", havingValue = "postgres")
+@RequiredArgsConstructor
+public class PostgresProgramSearchIndex implements ProgramSearchIndex {
+
+    private final ProgramRepository programRepository;
+
+    @Override
+    public Page<UUID> search(String query, Pageable pageable) {
+        // Results come back by relevance, so any requested sort is dropped
+        Pageable page = pageable.isPaged()
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())
+                : pageable;
+        return programRepository.searchPublishedProgramIds(query, page);
+    }
+
+    @Override
+    public void indexAfterCommit(Program program) {
+    }
+
+    @Override
+    public void removeAfterCommit(UUID programId) {
+    }
+}
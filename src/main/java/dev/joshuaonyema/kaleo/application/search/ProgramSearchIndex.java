@@ -0,0 +1,26 @@
+package dev.joshuaonyema.kaleo.application.search;
+
+import dev.joshuaonyema.kaleo.domain.entity.Program;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.UUID;
+
+/**
+ * Full-text search over published programs by name and venue, most relevant first.
+ * The implementation is chosen with {@code kaleo.search.engine}.
+ */
+public interface ProgramSearchIndex {
+
+    Page<UUID> search(String query, Pageable pageable);
+
+    /**
+     * Picks up a created or updated program once the surrounding transaction commits.
+     */
+    void indexAfterCommit(Program program);
+
+    /**
+     * Forgets a deleted program once the surrounding transaction commits.
+     */
+    void removeAfterCommit(UUID programId);
+}
@@ -0,0 +1,247 @@
+package dev.joshuaonyema.kaleo.application.search;
+
+import dev.joshuaonyema.kaleo.application.transaction.TransactionCallbacks;
+import dev.joshuaonyema.kaleo.domain.entity.Program;
+import dev.joshuaonyema.kaleo.domain.entity.ProgramStatus;
+import dev.joshuaonyema.kaleo.repository.ProgramRepository;
+import dev.joshuaonyema.kaleo.repository.projection.ProgramSearchDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Typeahead suggestions for published programs, answered from memory.
+ * <p>
+ * Every word of a program's name and venue starts a completion, so "camp" and "youth camp" both lead to
+ * "Youth Camp". Completions sit in a sorted set and a prefix lookup is a range scan over it, so results come
+ * in alphabetical order of the completion and an exact word comes before longer ones.
+ * <p>
+ * Suggestions are loaded once the application is ready and follow the writes this node commits. Programs
+ * changed on another node are picked up by a full rebuild on a fixed interval, whichever search engine is
+ * in use, so that interval bounds how long they can be suggested wrongly.
+ */
+@Component
+@Slf4j
+public class ProgramSuggestions implements DisposableBean {
+
+    public static final int MAX_LIMIT = 20;
+
+    private final ProgramRepository programRepository;
+    private final ScheduledExecutorService refresher;
+
+    // Lookups read the current completions without locking; writers only serialize among themselves
+    private volatile Completions completions = new Completions();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Writes applied while a rebuild reads the database, replayed onto the rebuilt completions. Null values
+    // are removals. Guarded by writeLock, and null when no rebuild is running
+    private Map<UUID, ProgramSearchDocument> writesDuringRefresh;
+
+    public ProgramSuggestions(ProgramRepository programRepository,
+                              @Value("${kaleo.search.suggestions.refresh-interval:5m}") Duration refreshInterval) {
+        this.programRepository = programRepository;
+        this.refresher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("program-suggestions-refresh").daemon().factory());
+        long intervalMillis = refreshInterval.toMillis();
+        refresher.scheduleWithFixedDelay(this::refreshQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+    }
+
+    /**
+     * Rebuilds the suggestions from the published programs in the database and swaps them in at once.
+     */
+    public void refresh() {
+        writeLock.lock();
+        try {
+            writesDuringRefresh = new HashMap<>();
+        } finally {
+            writeLock.unlock();
+        }
+
+        Completions rebuilt = new Completions();
+        try {
+            for (ProgramSearchDocument document : programRepository.findPublishedSearchDocuments()) {
+                rebuilt.index(document, completionsOf(document));
+            }
+        } catch (RuntimeException exception) {
+            writeLock.lock();
+            try {
+                writesDuringRefresh = null;
+            } finally {
+                writeLock.unlock();
+            }
+            throw exception;
+        }
+
+        writeLock.lock();
+        try {
+            writesDuringRefresh.forEach((programId, document) -> {
+                if (document == null) {
+                    rebuilt.remove(programId);
+                } else {
+                    rebuilt.index(document, completionsOf(document));
+                }
+            });
+            writesDuringRefresh = null;
+            completions = rebuilt;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException exception) {
+            log.error("Failed to refresh program suggestions", exception);
+        }
+    }
+
+    public List<ProgramSearchDocument> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        int max = Math.min(limit, MAX_LIMIT);
+        if (key.isEmpty() || max <= 0) {
+            return List.of();
+        }
+
+        Map<UUID, ProgramSearchDocument> suggestions = new LinkedHashMap<>();
+        for (Completion completion : completions.sorted.tailSet(new Completion(key, null, null), true)) {
+            if (!completion.key().startsWith(key)) {
+                break;
+            }
+            suggestions.putIfAbsent(completion.programId(), completion.document());
+            if (suggestions.size() == max) {
+                break;
+            }
+        }
+        return List.copyOf(suggestions.values());
+    }
+
+    public void indexAfterCommit(Program program) {
+        UUID programId = program.getId();
+        ProgramSearchDocument document = ProgramStatus.PUBLISHED.equals(program.getStatus())
+                ? new ProgramSearchDocument(programId, program.getName(), program.getVenue())
+                : null;
+        TransactionCallbacks.afterCommit(() -> {
+            if (document == null) {
+                remove(programId);
+            } else {
+                index(document);
+            }
+        });
+    }
+
+    public void removeAfterCommit(UUID programId) {
+        TransactionCallbacks.afterCommit(() -> remove(programId));
+    }
+
+    void index(ProgramSearchDocument document) {
+        Set<Completion> programCompletions = completionsOf(document);
+
+        writeLock.lock();
+        try {
+            completions.index(document, programCompletions);
+            if (writesDuringRefresh != null) {
+                writesDuringRefresh.put(document.id(), document);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    void remove(UUID programId) {
+        writeLock.lock();
+        try {
+            completions.remove(programId);
+            if (writesDuringRefresh != null) {
+                writesDuringRefresh.put(programId, null);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        refresher.shutdownNow();
+    }
+
+    private static Set<Completion> completionsOf(ProgramSearchDocument document) {
+        Set<Completion> programCompletions = new HashSet<>();
+        addCompletions(programCompletions, document, document.name());
+        addCompletions(programCompletions, document, document.venue());
+        return programCompletions;
+    }
+
+    private static void addCompletions(Set<Completion> programCompletions, ProgramSearchDocument document, String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        int start = 0;
+        while (start >= 0) {
+            programCompletions.add(new Completion(normalized.substring(start), document.id(), document));
+            int space = normalized.indexOf(' ', start);
+            start = space < 0 ? -1 : space + 1;
+        }
+    }
+
+    // Lower case words separated by single spaces, so "Youth-Camp " and "youth camp" are the same key
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    // The sorted completions and each program's share of them, replaced as a whole by a rebuild
+    private static final class Completions {
+        private final NavigableSet<Completion> sorted = new ConcurrentSkipListSet<>(Completion.ORDER);
+        private final Map<UUID, Set<Completion>> byProgram = new ConcurrentHashMap<>();
+
+        private void index(ProgramSearchDocument document, Set<Completion> programCompletions) {
+            remove(document.id());
+            sorted.addAll(programCompletions);
+            byProgram.put(document.id(), programCompletions);
+        }
+
+        private void remove(UUID programId) {
+            Set<Completion> programCompletions = byProgram.remove(programId);
+            if (programCompletions != null) {
+                sorted.removeAll(programCompletions);
+            }
+        }
+    }
+
+    private record Completion(String key, UUID programId, ProgramSearchDocument document) {
+        private static final Comparator<Completion> ORDER = Comparator
+                .comparing(Completion::key)
+                // A null id sorts first, which lets a bare key mark where its range starts
+                .thenComparing(Completion::programId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Completion that && key.equals(that.key) && programId.equals(that.programId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(key, programId);
+        }
+    }
+}
@@ -9,6 +9,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.util.UUID;
 
@@ -16,6 +18,8 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class CurrentUserService {
 
+    private static final String CURRENT_USER_ID_ATTRIBUTE = CurrentUserService.class.getName() + ".userId";
+
     private final UserRepository userRepository;
 
     public User getCurrentUser() {
@@ -26,7 +30,29 @@ public class CurrentUserService {
                 ));
     }
 
+    /**
+     * Returns an uninitialised proxy for the current user, for use as a foreign key without a SELECT.
+     * The row is guaranteed to exist by {@code UserProvisioningFilter}.
+     */
+    public User getCurrentUserReference() {
+        return userRepository.getReferenceById(getCurrentUserId());
+    }
+
     public UUID getCurrentUserId() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null
+                && requestAttributes.getAttribute(CURRENT_USER_ID_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof UUID userId) {
+            return userId;
+        }
+
+        UUID userId = resolveCurrentUserId();
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(CURRENT_USER_ID_ATTRIBUTE, userId, RequestAttributes.SCOPE_REQUEST);
+        }
+        return userId;
+    }
+
+    private UUID resolveCurrentUserId() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
 
         if (auth == null || !auth.isAuthenticated() || !(auth.getPrincipal() instanceof Jwt jwt)) {
@@ -39,4 +65,4 @@ public class CurrentUserService {
             throw new AuthenticationCredentialsNotFoundException("Invalid token subject (expected UUID)");
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,41 @@
+package dev.joshuaonyema.kaleo.application.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Remembers which Keycloak subjects already have a local user row, so authenticated requests
+ * can skip the provisioning check. Entries expire after a TTL and only cost a no-op upsert to re-learn.
+ * The hit rate is published as the {@code cache.gets} metric with {@code cache=provisionedUsers}.
+ */
+@Component
+public class ProvisionedUserCache {
+
+    private final Cache<UUID, Boolean> provisionedUsers;
+
+    public ProvisionedUserCache(MeterRegistry meterRegistry,
+                                @Value("${kaleo.user-provisioning.cache.max-size:100000}") long maxSize,
+                                @Value("${kaleo.user-provisioning.cache.ttl:PT30M}") Duration ttl) {
+        this.provisionedUsers = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, provisionedUsers, "provisionedUsers");
+    }
+
+    public boolean isProvisioned(UUID userId) {
+        return provisionedUsers.getIfPresent(userId) != null;
+    }
+
+    public void markProvisioned(UUID userId) {
+        provisionedUsers.put(userId, Boolean.TRUE);
+    }
+}
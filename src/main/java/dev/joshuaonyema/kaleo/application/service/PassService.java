@@ -1,14 +1,24 @@
 package dev.joshuaonyema.kaleo.application.service;
 
 import dev.joshuaonyema.kaleo.domain.entity.Pass;
+import dev.joshuaonyema.kaleo.repository.projection.PassDetails;
+import dev.joshuaonyema.kaleo.repository.projection.PassSummary;
+import dev.joshuaonyema.kaleo.repository.projection.ResourceVersion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface PassService {
     void purchasePass(UUID passTypeId);
-    Page<Pass> listPassesForUser(Pageable pageable);
-    Optional<Pass> getPassForUser(UUID passID);
+    List<Pass> purchasePasses(UUID passTypeId, int quantity);
+    Page<PassSummary> listPassesForUser(Pageable pageable);
+    Window<Pass> scrollPassesForUser(ScrollPosition position, int size);
+    Optional<PassDetails> getPassForUser(UUID passID);
+    ResourceVersion getPassesVersionForUser();
+    Optional<ResourceVersion> getPassVersionForUser(UUID passId);
 }
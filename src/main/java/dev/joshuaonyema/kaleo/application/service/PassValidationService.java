@@ -1,10 +1,19 @@
 package dev.joshuaonyema.kaleo.application.service;
 
+import dev.joshuaonyema.kaleo.application.checkin.CheckInManifest;
+import dev.joshuaonyema.kaleo.application.checkin.ScanResult;
+import dev.joshuaonyema.kaleo.application.command.ValidatePassCommand;
 import dev.joshuaonyema.kaleo.domain.entity.PassValidation;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface PassValidationService {
     PassValidation validatePassByQrCode(UUID programId, UUID qrCodeId);
     PassValidation validatePassByManualCode(UUID programId, String manualCode);
+    void openCheckIn(UUID programId);
+    SseEmitter streamCheckInCounts(UUID programId);
+    CheckInManifest getCheckInManifest(UUID programId, Long sinceVersion);
+    List<ScanResult> validatePasses(List<ValidatePassCommand> scans);
 }
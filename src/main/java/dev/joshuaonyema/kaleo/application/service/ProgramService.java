@@ -4,20 +4,32 @@ package dev.joshuaonyema.kaleo.application.service;
 import dev.joshuaonyema.kaleo.application.command.CreateProgramCommand;
 import dev.joshuaonyema.kaleo.application.command.UpdateProgramCommand;
 import dev.joshuaonyema.kaleo.domain.entity.Program;
+import dev.joshuaonyema.kaleo.repository.projection.ProgramSearchDocument;
+import dev.joshuaonyema.kaleo.repository.projection.ProgramSummary;
+import dev.joshuaonyema.kaleo.repository.projection.ResourceVersion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface ProgramService {
     Program createProgram(CreateProgramCommand program);
     Page<Program> listProgramsForOrganizer(Pageable pageable);
+    Window<Program> scrollProgramsForOrganizer(ScrollPosition position, int size);
     Optional<Program> getProgramForOrganizer(UUID id);
+    ResourceVersion getProgramsVersionForOrganizer();
+    Optional<ResourceVersion> getProgramVersionForOrganizer(UUID id);
     Program updateProgramForOrganizer(UUID id, UpdateProgramCommand program);
     void deleteProgramForOrganizer(UUID id);
     Page<Program> listPublishedPrograms(Pageable pageable);
+    Window<Program> scrollPublishedPrograms(ScrollPosition position, int size);
     Page<Program> searchPublishedPrograms(String query, Pageable pageable);
+    List<ProgramSearchDocument> suggestPublishedPrograms(String prefix, int limit);
     Optional<Program> getPublishedProgram(UUID id);
-    Page<Program> listProgramsForStaff(Pageable pageable);
+    Page<ProgramSummary> listProgramsForStaff(Pageable pageable);
+    Window<Program> scrollProgramsForStaff(ScrollPosition position, int size);
 }
@@ -1,13 +1,18 @@
 package dev.joshuaonyema.kaleo.application.service;
 
+import dev.joshuaonyema.kaleo.application.qrcode.QrCodeImage;
+import dev.joshuaonyema.kaleo.application.qrcode.QrCodeImageFormat;
 import dev.joshuaonyema.kaleo.domain.entity.Pass;
 import dev.joshuaonyema.kaleo.domain.entity.QrCode;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface QrCodeService {
 
     QrCode generateQrCode(Pass pass);
 
-    byte[] getQrCodeImageForUserAndPass(UUID passId);
+    List<QrCode> generateQrCodes(List<Pass> passes);
+
+    QrCodeImage getQrCodeImageForUserAndPass(UUID passId, QrCodeImageFormat format, int size);
 }
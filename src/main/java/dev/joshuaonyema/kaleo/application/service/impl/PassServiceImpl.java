@@ -1,5 +1,7 @@
 package dev.joshuaonyema.kaleo.application.service.impl;
 
+import dev.joshuaonyema.kaleo.application.inventory.PassInventory;
+import dev.joshuaonyema.kaleo.application.manualcode.ManualCodeAllocator;
 import dev.joshuaonyema.kaleo.application.security.CurrentUserService;
 import dev.joshuaonyema.kaleo.application.service.PassService;
 import dev.joshuaonyema.kaleo.application.service.QrCodeService;
@@ -11,15 +13,22 @@ import dev.joshuaonyema.kaleo.exception.PassSoldOutException;
 import dev.joshuaonyema.kaleo.exception.PassTypeNotFoundException;
 import dev.joshuaonyema.kaleo.repository.PassRepository;
 import dev.joshuaonyema.kaleo.repository.PassTypeRepository;
-import dev.joshuaonyema.kaleo.util.ManualCodeGenerator;
+import dev.joshuaonyema.kaleo.repository.projection.PassDetails;
+import dev.joshuaonyema.kaleo.repository.projection.PassSummary;
+import dev.joshuaonyema.kaleo.repository.projection.ResourceVersion;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
@@ -29,54 +38,87 @@ public class PassServiceImpl implements PassService {
     private final PassTypeRepository passTypeRepository;
     private final QrCodeService qrCodeService;
     private final CurrentUserService currentUserService;
+    private final PassInventory passInventory;
+    private final ManualCodeAllocator manualCodeAllocator;
 
     @Override
     @Transactional
     public void purchasePass(UUID passTypeId) {
-        User user = currentUserService.getCurrentUser();
+        User user = currentUserService.getCurrentUserReference();
+        PassType passType = getPassType(passTypeId);
 
-        PassType passType = passTypeRepository.findByIdWithLock(passTypeId)
-                .orElseThrow(() -> new PassTypeNotFoundException(
-                String.format("Pass type with ID '%s' not found", passTypeId)
-        ));
+        if (!passInventory.tryReserve(passType, 1)) {
+            throw new PassSoldOutException();
+        }
 
-        int purchasedPasses = passRepository.countByPassTypeId(passTypeId);
+        Pass savedPass = passRepository.save(newPass(passType, user));
+        qrCodeService.generateQrCode(savedPass);
+    }
 
-        Integer totalAvailable = passType.getTotalAvailable();
+    @Override
+    @Transactional
+    public List<Pass> purchasePasses(UUID passTypeId, int quantity) {
+        User user = currentUserService.getCurrentUserReference();
+        PassType passType = getPassType(passTypeId);
 
-        if(purchasedPasses + 1 > totalAvailable){
+        if (!passInventory.tryReserve(passType, quantity)) {
             throw new PassSoldOutException();
         }
 
-        Pass pass = new Pass();
-        pass.setStatus(PassStatus.ACTIVE);
-        pass.setManualCode(generateUniqueManualCode());
-        pass.setPassType(passType);
-        pass.setRegistrant(user);
+        List<Pass> passes = IntStream.range(0, quantity)
+                .mapToObj(i -> newPass(passType, user))
+                .toList();
 
-        Pass savedPass = passRepository.save(pass);
-        qrCodeService.generateQrCode(savedPass);
+        List<Pass> savedPasses = passRepository.saveAll(passes);
+        qrCodeService.generateQrCodes(savedPasses);
+        return savedPasses;
+    }
+
+    @Override
+    public Page<PassSummary> listPassesForUser(Pageable pageable) {
+        UUID userId = currentUserService.getCurrentUserId();
+        return passRepository.findSummariesByRegistrantId(userId, pageable);
+    }
+
+    @Override
+    public Window<Pass> scrollPassesForUser(ScrollPosition position, int size) {
+        UUID userId = currentUserService.getCurrentUserId();
+        return passRepository.findByRegistrantIdOrderByCreatedAtDescIdDesc(userId, position, Limit.of(size));
+    }
 
-        passRepository.save(savedPass);
+    @Override
+    public Optional<PassDetails> getPassForUser(UUID passID) {
+        UUID userId = currentUserService.getCurrentUserId();
+        return passRepository.findDetailsByIdAndRegistrantId(passID, userId);
     }
 
     @Override
-    public Page<Pass> listPassesForUser(Pageable pageable) {
+    public ResourceVersion getPassesVersionForUser() {
         UUID userId = currentUserService.getCurrentUserId();
-        return passRepository.findByRegistrantId(userId, pageable);
+        return passRepository.findVersionByRegistrantId(userId);
     }
 
     @Override
-    public Optional<Pass> getPassForUser(UUID passID) {
+    public Optional<ResourceVersion> getPassVersionForUser(UUID passId) {
         UUID userId = currentUserService.getCurrentUserId();
-        return passRepository.findByIdAndRegistrantId(passID, userId);
+        // The aggregate always returns a row; no rows counted means no such pass for this user
+        return Optional.of(passRepository.findVersionByIdAndRegistrantId(passId, userId))
+                .filter(version -> version.rows() > 0);
     }
 
-    private String generateUniqueManualCode() {
-        String code;
-        do {
-            code = ManualCodeGenerator.generate();
-        } while (passRepository.findByManualCode(code).isPresent());
-        return code;
+    private PassType getPassType(UUID passTypeId) {
+        return passTypeRepository.findById(passTypeId)
+                .orElseThrow(() -> new PassTypeNotFoundException(
+                        String.format("Pass type with ID '%s' not found", passTypeId)
+                ));
+    }
+
+    private Pass newPass(PassType passType, User user) {
+        Pass pass = new Pass();
+        pass.setStatus(PassStatus.ACTIVE);
+        pass.setManualCode(manualCodeAllocator.allocate());
+        pass.setPassType(passType);
+        pass.setRegistrant(user);
+        return pass;
     }
 }
@@ -1,5 +1,12 @@
 package dev.joshuaonyema.kaleo.application.service.impl;
 
+import dev.joshuaonyema.kaleo.application.checkin.AdmissionCache;
+import dev.joshuaonyema.kaleo.application.checkin.CheckInCounters;
+import dev.joshuaonyema.kaleo.application.checkin.CheckInLiveStream;
+import dev.joshuaonyema.kaleo.application.checkin.CheckInManifest;
+import dev.joshuaonyema.kaleo.application.checkin.DuplicateScanRecorder;
+import dev.joshuaonyema.kaleo.application.checkin.ScanResult;
+import dev.joshuaonyema.kaleo.application.command.ValidatePassCommand;
 import dev.joshuaonyema.kaleo.application.service.PassValidationService;
 import dev.joshuaonyema.kaleo.domain.entity.*;
 import dev.joshuaonyema.kaleo.exception.CodeNotFoundException;
@@ -9,75 +16,279 @@ import dev.joshuaonyema.kaleo.exception.QrCodeNotFoundException;
 import dev.joshuaonyema.kaleo.repository.PassRepository;
 import dev.joshuaonyema.kaleo.repository.PassValidationRepository;
 import dev.joshuaonyema.kaleo.repository.ProgramRepository;
-import dev.joshuaonyema.kaleo.repository.QrCodeRepository;
+import dev.joshuaonyema.kaleo.repository.projection.CheckInCandidate;
+import dev.joshuaonyema.kaleo.repository.projection.ManifestEntry;
+import dev.joshuaonyema.kaleo.repository.projection.ManualCodeCheckInCandidate;
+import dev.joshuaonyema.kaleo.repository.projection.QrCodeCheckInCandidate;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.NonNull;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.UUID;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class PassValidationServiceImpl implements PassValidationService {
 
-    private final QrCodeRepository qrCodeRepository;
+    // Deltas re-read a little before the requested version so rows stamped just before it but committed after it are not missed
+    static final Duration DELTA_OVERLAP = Duration.ofSeconds(30);
+
     private final PassValidationRepository passValidationRepository;
     private final PassRepository passRepository;
     private final ProgramRepository programRepository;
+    private final AdmissionCache admissionCache;
+    private final DuplicateScanRecorder duplicateScanRecorder;
+    private final CheckInCounters checkInCounters;
+    private final CheckInLiveStream checkInLiveStream;
+    private final TransactionTemplate transactionTemplate;
 
 
+    // Re-scans answered from memory never open a transaction; only a cache miss starts one
     @Override
+    @Transactional(Transactional.TxType.SUPPORTS)
     public PassValidation validatePassByQrCode(UUID programId, UUID qrCodeId) {
-        Program program = getProgram(programId);
-        QrCode qrCode = qrCodeRepository.findByIdAndStatus(qrCodeId, QrCodeStatus.ACTIVE)
-                .orElseThrow(() -> new QrCodeNotFoundException(
-                        String.format("QR Code with ID %s was not found", qrCodeId)
-                ));
-        Pass pass = qrCode.getPass();
-        validatePassBelongsToProgram(pass, programId);
-        return getPassValidation(pass, program, PassValidationMethod.QR_SCAN);
+        CheckInCandidate admitted = admissionCache.findAdmittedByQrCode(programId, qrCodeId);
+        if (admitted != null) {
+            return recordDuplicateScan(admitted, PassValidationMethod.QR_SCAN);
+        }
+
+        return transactionTemplate.execute(status -> {
+            CheckInCandidate candidate = passRepository.findCheckInCandidateByQrCodeId(qrCodeId)
+                    .orElseThrow(() -> new QrCodeNotFoundException(
+                            String.format("QR Code with ID %s was not found", qrCodeId)
+                    ));
+            validatePassBelongsToProgram(candidate, programId);
+            return getPassValidation(candidate, PassValidationMethod.QR_SCAN, qrCodeId, null);
+        });
     }
 
     @Override
+    @Transactional(Transactional.TxType.SUPPORTS)
     public PassValidation validatePassByManualCode(UUID programId, String manualCode) {
-        Program program = getProgram(programId);
-        Pass pass = passRepository.findByManualCode(manualCode)
-                .orElseThrow(CodeNotFoundException::new);
-        validatePassBelongsToProgram(pass, programId);
-        return getPassValidation(pass, program, PassValidationMethod.MANUAL);
+        CheckInCandidate admitted = admissionCache.findAdmittedByManualCode(programId, manualCode);
+        if (admitted != null) {
+            return recordDuplicateScan(admitted, PassValidationMethod.MANUAL);
+        }
+
+        return transactionTemplate.execute(status -> {
+            CheckInCandidate candidate = passRepository.findCheckInCandidateByManualCode(manualCode)
+                    .orElseThrow(CodeNotFoundException::new);
+            validatePassBelongsToProgram(candidate, programId);
+            return getPassValidation(candidate, PassValidationMethod.MANUAL, null, manualCode);
+        });
     }
 
-    private Program getProgram(UUID programId) {
-        return programRepository.findById(programId)
+    @Override
+    public void openCheckIn(UUID programId) {
+        Program program = programRepository.findById(programId)
                 .orElseThrow(() -> new ProgramNotFoundException(
                         String.format("Program with ID %s was not found", programId)
                 ));
+        admissionCache.warm(programId, program.getEndTime());
     }
 
-    private void validatePassBelongsToProgram(Pass pass, UUID programId) {
-        UUID passProgramId = pass.getPassType().getProgram().getId();
-        if (!passProgramId.equals(programId)) {
-            throw new ProgramPassException(
-                    String.format("Pass does not belong to program with ID %s", programId)
+    @Override
+    public SseEmitter streamCheckInCounts(UUID programId) {
+        if (!programRepository.existsById(programId)) {
+            throw new ProgramNotFoundException(
+                    String.format("Program with ID %s was not found", programId)
             );
         }
+        return checkInLiveStream.subscribe(programId);
     }
 
-    private @NonNull PassValidation getPassValidation(Pass pass, Program program, PassValidationMethod passValidationMethod) {
-        PassValidation passValidation = new PassValidation();
-        passValidation.setPass(pass);
-        passValidation.setProgram(program);
-        passValidation.setValidationMethod(passValidationMethod);
+    @Override
+    public CheckInManifest getCheckInManifest(UUID programId, Long sinceVersion) {
+        if (!programRepository.existsById(programId)) {
+            throw new ProgramNotFoundException(
+                    String.format("Program with ID %s was not found", programId)
+            );
+        }
+
+        long version = toVersion(LocalDateTime.now());
+        List<ManifestEntry> entries = sinceVersion == null
+                ? passRepository.findManifestEntries(programId)
+                : passRepository.findManifestEntriesChangedSince(programId, toTimestamp(sinceVersion).minus(DELTA_OVERLAP));
+        return new CheckInManifest(version, sinceVersion != null, entries);
+    }
+
+    @Override
+    public List<ScanResult> validatePasses(List<ValidatePassCommand> scans) {
+        Map<UUID, CheckInCandidate> byQrCode = resolveQrCodes(scans);
+        Map<String, CheckInCandidate> byManualCode = resolveManualCodes(scans);
+        Set<UUID> existingPrograms = resolveMismatchedPrograms(scans, byQrCode, byManualCode);
+        Set<UUID> admittablePasses = admitPasses(scans, byQrCode, byManualCode);
+
+        // Scans are decided in request order, so the first scan of a pass in the batch is the one admitted
+        Set<UUID> admittedPasses = new HashSet<>();
+        List<PassValidation> passValidations = new ArrayList<>(scans.size());
+        List<ScanResult> results = new ArrayList<>(scans.size());
+        for (ValidatePassCommand scan : scans) {
+            CheckInCandidate candidate = lookup(scan, byQrCode, byManualCode);
+            if (candidate == null) {
+                results.add(ScanResult.rejected(isManual(scan) ? "Code not found" : "QR Code not found"));
+            } else if (!candidate.programId().equals(scan.getProgramId())) {
+                results.add(ScanResult.rejected(existingPrograms.contains(scan.getProgramId())
+                        ? "Pass does not belong to program"
+                        : "Program not found"));
+            } else {
+                boolean alreadyValidated = !admittablePasses.contains(candidate.passId())
+                        || !admittedPasses.add(candidate.passId());
+                PassValidation passValidation = newPassValidation(candidate, scan.getMethod(), alreadyValidated);
+                passValidations.add(passValidation);
+                if (!alreadyValidated) {
+                    admissionCache.recordAdmissionAfterCommit(candidate, scan.getQrCodeId(), scan.getManualCode());
+                }
+                checkInCounters.recordAfterCommit(
+                        candidate.programId(), candidate.passTypeId(), passValidation.getPassStatus());
+                results.add(ScanResult.recorded(candidate.passId(), passValidation.getPassStatus()));
+            }
+        }
+
+        // Ids are generated in memory, so the inserts go out as JDBC batches
+        passValidationRepository.saveAll(passValidations);
+        return results;
+    }
 
-        PassValidationStatus passValidationStatus = pass.getPassValidations().stream()
-                .filter(v -> PassValidationStatus.VALID.equals(v.getPassStatus()))
-                .findFirst().map(v -> PassValidationStatus.INVALID)
-                .orElse(PassValidationStatus.VALID);
+    private Map<UUID, CheckInCandidate> resolveQrCodes(List<ValidatePassCommand> scans) {
+        Set<UUID> qrCodeIds = scans.stream()
+                .filter(scan -> !isManual(scan))
+                .map(ValidatePassCommand::getQrCodeId)
+                .collect(Collectors.toSet());
+        if (qrCodeIds.isEmpty()) {
+            return Map.of();
+        }
+        return passRepository.findCheckInCandidatesByQrCodeIds(qrCodeIds).stream()
+                .collect(Collectors.toMap(QrCodeCheckInCandidate::qrCodeId, QrCodeCheckInCandidate::toCandidate));
+    }
 
-        passValidation.setPassStatus(passValidationStatus);
+    private Map<String, CheckInCandidate> resolveManualCodes(List<ValidatePassCommand> scans) {
+        Set<String> manualCodes = scans.stream()
+                .filter(PassValidationServiceImpl::isManual)
+                .map(ValidatePassCommand::getManualCode)
+                .collect(Collectors.toSet());
+        if (manualCodes.isEmpty()) {
+            return Map.of();
+        }
+        return passRepository.findCheckInCandidatesByManualCodes(manualCodes).stream()
+                .collect(Collectors.toMap(ManualCodeCheckInCandidate::manualCode, ManualCodeCheckInCandidate::toCandidate));
+    }
+
+    // As with single scans, only rejected scans pay for telling an unknown program apart from a pass for another program
+    private Set<UUID> resolveMismatchedPrograms(List<ValidatePassCommand> scans,
+                                                Map<UUID, CheckInCandidate> byQrCode,
+                                                Map<String, CheckInCandidate> byManualCode) {
+        Set<UUID> programIds = new HashSet<>();
+        for (ValidatePassCommand scan : scans) {
+            CheckInCandidate candidate = lookup(scan, byQrCode, byManualCode);
+            if (candidate != null && !candidate.programId().equals(scan.getProgramId())) {
+                programIds.add(scan.getProgramId());
+            }
+        }
+        return programIds.isEmpty() ? Set.of() : programRepository.findExistingIds(programIds);
+    }
 
-        return passValidationRepository.save(passValidation);
+    // Locks the passes that still look unvalidated and stamps them, so a concurrent check-in cannot admit them too
+    private Set<UUID> admitPasses(List<ValidatePassCommand> scans,
+                                  Map<UUID, CheckInCandidate> byQrCode,
+                                  Map<String, CheckInCandidate> byManualCode) {
+        Set<UUID> passIds = new HashSet<>();
+        for (ValidatePassCommand scan : scans) {
+            CheckInCandidate candidate = lookup(scan, byQrCode, byManualCode);
+            if (candidate != null && !candidate.alreadyValidated() && candidate.programId().equals(scan.getProgramId())) {
+                passIds.add(candidate.passId());
+            }
+        }
+        if (passIds.isEmpty()) {
+            return Set.of();
+        }
+
+        LocalDateTime validatedAt = LocalDateTime.now();
+        Set<UUID> admitted = new HashSet<>();
+        for (Pass pass : passRepository.findUnvalidatedByIdsWithLock(passIds)) {
+            pass.setFirstValidatedAt(validatedAt);
+            admitted.add(pass.getId());
+        }
+        return admitted;
+    }
+
+    private static CheckInCandidate lookup(ValidatePassCommand scan,
+                                           Map<UUID, CheckInCandidate> byQrCode,
+                                           Map<String, CheckInCandidate> byManualCode) {
+        return isManual(scan) ? byManualCode.get(scan.getManualCode()) : byQrCode.get(scan.getQrCodeId());
+    }
+
+    private static boolean isManual(ValidatePassCommand scan) {
+        return PassValidationMethod.MANUAL.equals(scan.getMethod());
+    }
+
+    static long toVersion(LocalDateTime timestamp) {
+        return timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    static LocalDateTime toTimestamp(long version) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(version), ZoneOffset.UTC);
+    }
+
+    private void validatePassBelongsToProgram(CheckInCandidate candidate, UUID programId) {
+        if (candidate.programId().equals(programId)) {
+            return;
+        }
+        // Only the rejection path pays for telling an unknown program apart from a pass for another program
+        if (!programRepository.existsById(programId)) {
+            throw new ProgramNotFoundException(
+                    String.format("Program with ID %s was not found", programId)
+            );
+        }
+        throw new ProgramPassException(
+                String.format("Pass does not belong to program with ID %s", programId)
+        );
+    }
+
+    private @NonNull PassValidation getPassValidation(CheckInCandidate candidate, PassValidationMethod passValidationMethod,
+                                                      UUID qrCodeId, String manualCode) {
+        // The conditional update admits the pass at most once, however many gates scan it at the same moment
+        boolean admitted = !candidate.alreadyValidated()
+                && passRepository.markFirstValidated(candidate.passId(), LocalDateTime.now()) == 1;
+        if (admitted) {
+            admissionCache.recordAdmissionAfterCommit(candidate, qrCodeId, manualCode);
+        }
+        PassValidation passValidation = passValidationRepository.save(
+                newPassValidation(candidate, passValidationMethod, !admitted)
+        );
+        checkInCounters.recordAfterCommit(candidate.programId(), candidate.passTypeId(), passValidation.getPassStatus());
+        return passValidation;
+    }
+
+    // Re-scans of an admitted pass are answered from memory outside any transaction; the INVALID audit row is
+    // written behind, or saved in the repository's own transaction when the queue is full
+    private PassValidation recordDuplicateScan(CheckInCandidate admitted, PassValidationMethod passValidationMethod) {
+        PassValidation passValidation = newPassValidation(admitted, passValidationMethod, true);
+        checkInCounters.recordAfterCommit(admitted.programId(), admitted.passTypeId(), PassValidationStatus.INVALID);
+        if (!duplicateScanRecorder.enqueue(admitted.passId(), admitted.programId(), passValidationMethod)) {
+            return passValidationRepository.save(passValidation);
+        }
+        return passValidation;
+    }
+
+    private PassValidation newPassValidation(CheckInCandidate candidate, PassValidationMethod passValidationMethod,
+                                             boolean alreadyValidated) {
+        PassValidation passValidation = new PassValidation();
+        passValidation.setPass(passRepository.getReferenceById(candidate.passId()));
+        passValidation.setProgram(programRepository.getReferenceById(candidate.programId()));
+        passValidation.setValidationMethod(passValidationMethod);
+        passValidation.setPassStatus(alreadyValidated
+                ? PassValidationStatus.INVALID
+                : PassValidationStatus.VALID);
+        return passValidation;
     }
 }
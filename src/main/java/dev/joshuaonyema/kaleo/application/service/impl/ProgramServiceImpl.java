@@ -5,6 +5,9 @@ import dev.joshuaonyema.kaleo.application.command.UpdatePassTypeCommand;
 import dev.joshuaonyema.kaleo.application.command.UpdateProgramCommand;
 import dev.joshuaonyema.kaleo.application.command.common.PassTypeUpsertCommand;
 import dev.joshuaonyema.kaleo.application.command.common.ProgramUpsertCommand;
+import dev.joshuaonyema.kaleo.application.event.ProgramChangedEvent;
+import dev.joshuaonyema.kaleo.application.search.ProgramSearchIndex;
+import dev.joshuaonyema.kaleo.application.search.ProgramSuggestions;
 import dev.joshuaonyema.kaleo.application.security.CurrentUserService;
 import dev.joshuaonyema.kaleo.application.service.ProgramService;
 import dev.joshuaonyema.kaleo.domain.entity.PassType;
@@ -14,10 +17,18 @@ import dev.joshuaonyema.kaleo.domain.entity.User;
 import dev.joshuaonyema.kaleo.exception.PassTypeNotFoundException;
 import dev.joshuaonyema.kaleo.exception.ProgramNotFoundException;
 import dev.joshuaonyema.kaleo.repository.ProgramRepository;
+import dev.joshuaonyema.kaleo.repository.projection.ProgramSearchDocument;
+import dev.joshuaonyema.kaleo.repository.projection.ProgramSummary;
+import dev.joshuaonyema.kaleo.repository.projection.ResourceVersion;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -30,11 +41,14 @@ public class ProgramServiceImpl implements ProgramService {
 
     private final CurrentUserService currentUserService;
     private final ProgramRepository programRepository;
+    private final ProgramSearchIndex programSearchIndex;
+    private final ProgramSuggestions programSuggestions;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
     public Program createProgram(CreateProgramCommand command) {
-        User currentUser = currentUserService.getCurrentUser();
+        User currentUser = currentUserService.getCurrentUserReference();
         Program program = new Program();
         program.setOrganizer(currentUser);
         applyProgramFields(program, command);
@@ -44,13 +58,30 @@ public class ProgramServiceImpl implements ProgramService {
                     .toList();
             program.setPassTypes(passTypes);
         }
-        return programRepository.save(program);
+        Program savedProgram = programRepository.save(program);
+        programSearchIndex.indexAfterCommit(savedProgram);
+        programSuggestions.indexAfterCommit(savedProgram);
+        eventPublisher.publishEvent(new ProgramChangedEvent(savedProgram.getId()));
+        return savedProgram;
     }
 
     @Override
+    @Transactional
     public Page<Program> listProgramsForOrganizer(Pageable pageable) {
         UUID currentUserId = currentUserService.getCurrentUserId();
-        return programRepository.findByOrganizerId(currentUserId, pageable);
+        Page<Program> programs = programRepository.findByOrganizerId(currentUserId, pageable);
+        fetchPassTypes(programs.getContent());
+        return programs;
+    }
+
+    @Override
+    @Transactional
+    public Window<Program> scrollProgramsForOrganizer(ScrollPosition position, int size) {
+        UUID currentUserId = currentUserService.getCurrentUserId();
+        Window<Program> programs = programRepository.findByOrganizerIdOrderByCreatedAtDescIdDesc(
+                currentUserId, position, Limit.of(size));
+        fetchPassTypes(programs.getContent());
+        return programs;
     }
 
     @Override
@@ -59,6 +90,20 @@ public class ProgramServiceImpl implements ProgramService {
         return programRepository.findByIdAndOrganizerId(id, currentUserId);
     }
 
+    @Override
+    public ResourceVersion getProgramsVersionForOrganizer() {
+        UUID currentUserId = currentUserService.getCurrentUserId();
+        return programRepository.findVersionByOrganizerId(currentUserId);
+    }
+
+    @Override
+    public Optional<ResourceVersion> getProgramVersionForOrganizer(UUID id) {
+        UUID currentUserId = currentUserService.getCurrentUserId();
+        // The aggregate always returns a row; no rows counted means no such program for this organizer
+        return Optional.of(programRepository.findVersionByIdAndOrganizerId(id, currentUserId))
+                .filter(version -> version.rows() > 0);
+    }
+
     @Override
     @Transactional
     public Program updateProgramForOrganizer(UUID id, UpdateProgramCommand command) {
@@ -68,7 +113,11 @@ public class ProgramServiceImpl implements ProgramService {
         if (command.getPassTypes() != null) {
             syncPassTypes(program, command.getPassTypes());
         }
-        return programRepository.save(program);
+        Program savedProgram = programRepository.save(program);
+        programSearchIndex.indexAfterCommit(savedProgram);
+        programSuggestions.indexAfterCommit(savedProgram);
+        eventPublisher.publishEvent(new ProgramChangedEvent(savedProgram.getId()));
+        return savedProgram;
     }
 
     @Override
@@ -76,6 +125,9 @@ public class ProgramServiceImpl implements ProgramService {
     public void deleteProgramForOrganizer(UUID id) {
         Program program = getOwnedProgram(id);
         programRepository.delete(program);
+        programSearchIndex.removeAfterCommit(id);
+        programSuggestions.removeAfterCommit(id);
+        eventPublisher.publishEvent(new ProgramChangedEvent(id));
     }
 
     @Override
@@ -84,9 +136,32 @@ public class ProgramServiceImpl implements ProgramService {
         return programRepository.findByStatus(ProgramStatus.PUBLISHED, pageable);
     }
 
+    @Override
+    @Transactional
+    public Window<Program> scrollPublishedPrograms(ScrollPosition position, int size) {
+        return programRepository.findByStatusOrderByCreatedAtDescIdDesc(ProgramStatus.PUBLISHED, position, Limit.of(size));
+    }
+
     @Override
     public Page<Program> searchPublishedPrograms(String query, Pageable pageable) {
-        return programRepository.searchPrograms(query, pageable);
+        Page<UUID> programIds = programSearchIndex.search(query, pageable);
+        if (programIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, programIds.getTotalElements());
+        }
+        // Loaded by id in one query, then put back in relevance order
+        Map<UUID, Program> programsById = programRepository.findAllById(programIds.getContent()).stream()
+                .collect(Collectors.toMap(Program::getId, Function.identity()));
+        List<Program> programs = programIds.getContent().stream()
+                .map(programsById::get)
+                // Another node may have unpublished or deleted a program this node's index still holds
+                .filter(program -> program != null && ProgramStatus.PUBLISHED.equals(program.getStatus()))
+                .toList();
+        return new PageImpl<>(programs, pageable, programIds.getTotalElements());
+    }
+
+    @Override
+    public List<ProgramSearchDocument> suggestPublishedPrograms(String prefix, int limit) {
+        return programSuggestions.suggest(prefix, limit);
     }
 
     @Override
@@ -95,8 +170,21 @@ public class ProgramServiceImpl implements ProgramService {
     }
 
     @Override
-    public Page<Program> listProgramsForStaff(Pageable pageable) {
-        return programRepository.findAll(pageable);
+    public Page<ProgramSummary> listProgramsForStaff(Pageable pageable) {
+        return programRepository.findAllProjectedBy(pageable);
+    }
+
+    @Override
+    public Window<Program> scrollProgramsForStaff(ScrollPosition position, int size) {
+        return programRepository.findAllByOrderByCreatedAtDescIdDesc(position, Limit.of(size));
+    }
+
+    // Organizer listings show every program's pass types. A join fetch cannot be paged in the database, so the
+    // page is read first and its pass types filled in with one more select, whatever the page size
+    private void fetchPassTypes(List<Program> programs) {
+        if (!programs.isEmpty()) {
+            programRepository.findWithPassTypesByIdIn(programs.stream().map(Program::getId).toList());
+        }
     }
 
     private Program getOwnedProgram(UUID id) {
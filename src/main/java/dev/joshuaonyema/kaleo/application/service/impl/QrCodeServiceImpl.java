@@ -1,27 +1,25 @@
 package dev.joshuaonyema.kaleo.application.service.impl;
 
-import com.google.zxing.BarcodeFormat;
-import com.google.zxing.WriterException;
-import com.google.zxing.client.j2se.MatrixToImageWriter;
-import com.google.zxing.common.BitMatrix;
-import com.google.zxing.qrcode.QRCodeWriter;
+import dev.joshuaonyema.kaleo.application.qrcode.QrCodeImage;
+import dev.joshuaonyema.kaleo.application.qrcode.QrCodeImageCache;
+import dev.joshuaonyema.kaleo.application.qrcode.QrCodeImageFormat;
+import dev.joshuaonyema.kaleo.application.qrcode.QrCodeImageRenderer;
+import dev.joshuaonyema.kaleo.application.qrcode.QrCodeRenderQueue;
 import dev.joshuaonyema.kaleo.application.security.CurrentUserService;
 import dev.joshuaonyema.kaleo.application.service.QrCodeService;
 import dev.joshuaonyema.kaleo.domain.entity.Pass;
 import dev.joshuaonyema.kaleo.domain.entity.QrCode;
+import dev.joshuaonyema.kaleo.domain.entity.QrCodeImageStatus;
 import dev.joshuaonyema.kaleo.domain.entity.QrCodeStatus;
-import dev.joshuaonyema.kaleo.exception.QrCodeGenerationException;
 import dev.joshuaonyema.kaleo.exception.QrCodeNotFoundException;
 import dev.joshuaonyema.kaleo.repository.QrCodeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.util.Base64;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -29,60 +27,62 @@ import java.util.UUID;
 @Slf4j
 public class QrCodeServiceImpl implements QrCodeService {
 
-    private static final int QR_HEIGHT = 300;
-    private static final int QR_WIDTH = 300;
-
-    private final QRCodeWriter qrCodeWriter;
     private final QrCodeRepository qrCodeRepository;
     private final CurrentUserService currentUserService;
+    private final QrCodeImageCache qrCodeImageCache;
+    private final QrCodeRenderQueue qrCodeRenderQueue;
+
+    // When false only the QR code id is persisted and images are rendered on request
+    @Value("${kaleo.qr-code.store-images:true}")
+    private boolean storeImages;
 
     @Override
     public QrCode generateQrCode(Pass pass) {
-        try {
-            UUID uniqueId = UUID.randomUUID();
-            String qrCodeImage = generateQrCodeImage(uniqueId);
-
-            QrCode qrCode = new QrCode();
-            qrCode.setId(uniqueId);
-            qrCode.setStatus(QrCodeStatus.ACTIVE);
-            qrCode.setValue(qrCodeImage);
-            qrCode.setPass(pass);
+        QrCode qrCode = qrCodeRepository.saveAndFlush(newQrCode(pass));
+        if (storeImages) {
+            qrCodeRenderQueue.submitAfterCommit(List.of(qrCode.getId()));
+        }
+        return qrCode;
+    }
 
-            return qrCodeRepository.saveAndFlush(qrCode);
-        }catch (WriterException | IOException exception){
-            throw new QrCodeGenerationException("Failed to generate QR Code", exception);
+    @Override
+    public List<QrCode> generateQrCodes(List<Pass> passes) {
+        List<QrCode> qrCodes = passes.stream()
+                .map(this::newQrCode)
+                .toList();
+        List<QrCode> savedQrCodes = qrCodeRepository.saveAll(qrCodes);
+        if (storeImages) {
+            qrCodeRenderQueue.submitAfterCommit(savedQrCodes.stream().map(QrCode::getId).toList());
         }
+        return savedQrCodes;
     }
 
     @Override
-    public byte[] getQrCodeImageForUserAndPass(UUID passId) {
+    public QrCodeImage getQrCodeImageForUserAndPass(UUID passId, QrCodeImageFormat format, int size) {
         UUID currentUserId = currentUserService.getCurrentUserId();
         QrCode qrCode = qrCodeRepository.findByPassIdAndPassRegistrantId(passId, currentUserId)
                 .orElseThrow(QrCodeNotFoundException::new);
 
+        // Stored images only exist as the default-size PNG
+        boolean storedImageMatches = format == QrCodeImageFormat.PNG && size == QrCodeImageRenderer.DEFAULT_SIZE;
+        if (!storedImageMatches || qrCode.getValue() == null || QrCodeImageStatus.PENDING.equals(qrCode.getImageStatus())) {
+            return qrCodeImageCache.get(qrCode.getId(), format, size);
+        }
+
         try {
-            return Base64.getDecoder().decode(qrCode.getValue());
+            return QrCodeImage.of(format, Base64.getDecoder().decode(qrCode.getValue()));
         }catch (IllegalArgumentException exception){
             log.error("Invalid base64 QR Code for ticket ID: {}", passId, exception);
             throw  new QrCodeNotFoundException();
         }
     }
 
-    private String generateQrCodeImage(UUID uniqueId) throws WriterException, IOException {
-        BitMatrix bitMatrix = qrCodeWriter.encode(
-                uniqueId.toString(),
-                BarcodeFormat.QR_CODE,
-                QR_WIDTH,
-                QR_HEIGHT
-        );
-
-        BufferedImage qrCodeImage = MatrixToImageWriter.toBufferedImage(bitMatrix);
-
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            ImageIO.write(qrCodeImage, "PNG", baos);
-            byte[] imageBytes = baos.toByteArray();
-
-            return Base64.getEncoder().encodeToString(imageBytes);
-        }
+    private QrCode newQrCode(Pass pass) {
+        QrCode qrCode = new QrCode();
+        qrCode.setId(UUID.randomUUID());
+        qrCode.setStatus(QrCodeStatus.ACTIVE);
+        qrCode.setImageStatus(storeImages ? QrCodeImageStatus.PENDING : QrCodeImageStatus.READY);
+        qrCode.setPass(pass);
+        return qrCode;
     }
 }
@@ -0,0 +1,78 @@
+package dev.joshuaonyema.kaleo.config.jpa;
+
+import dev.joshuaonyema.kaleo.application.manualcode.PermutedManualCodeAllocator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Applies the schema changes that {@code ddl-auto: update} cannot make on an existing database,
+ * such as relaxing a constraint on a column that already exists. Every statement must be safe to re-run.
+ * Data backfills only run with {@code kaleo.schema.run-backfills} enabled.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SchemaMigrations implements SmartInitializingSingleton {
+
+    private static final List<String> STATEMENTS = List.of(
+            // QR images are rendered after the purchase commits, so the value starts out empty
+            "ALTER TABLE qr_codes ALTER COLUMN value DROP NOT NULL",
+            // Each nextval reserves a whole block of manual code sequence numbers for one node
+            "CREATE SEQUENCE IF NOT EXISTS manual_code_seq START WITH 1 INCREMENT BY " + PermutedManualCodeAllocator.BLOCK_SIZE,
+            // Stored search text for the postgres search engine; databases without tsvector skip these two
+            "ALTER TABLE programs ADD COLUMN IF NOT EXISTS search_vector tsvector " +
+                    "GENERATED ALWAYS AS (to_tsvector('english', " +
+                    "COALESCE(name, '') || ' ' || COALESCE(venue, ''))) STORED",
+            "CREATE INDEX IF NOT EXISTS idx_programs_search_vector ON programs USING GIN (search_vector)"
+    );
+
+    // One-time data backfills for databases written by an older version. They scan whole tables and count
+    // history that other running nodes may still hold as unflushed check-in counts, so they only run when asked
+    // for, on a single node, for one startup after upgrading
+    private static final List<String> BACKFILLS = List.of(
+            // Passes admitted before first_validated_at existed take the time of their first VALID scan
+            "UPDATE registration_passes SET first_validated_at = (" +
+                    "SELECT MIN(v.created_at) FROM pass_validations v " +
+                    "WHERE v.pass_id = registration_passes.id AND v.status = 'VALID') " +
+                    "WHERE first_validated_at IS NULL AND EXISTS (" +
+                    "SELECT 1 FROM pass_validations v " +
+                    "WHERE v.pass_id = registration_passes.id AND v.status = 'VALID')",
+            // Pass types without persisted check-in counts start from what the validation history already holds
+            "INSERT INTO check_in_counters (program_id, pass_type_id, admitted, invalid) " +
+                    "SELECT pt.program_id, pt.id, " +
+                    "(SELECT COUNT(*) FROM registration_passes p " +
+                    "WHERE p.pass_type_id = pt.id AND p.first_validated_at IS NOT NULL), " +
+                    "(SELECT COUNT(*) FROM pass_validations v JOIN registration_passes p ON p.id = v.pass_id " +
+                    "WHERE p.pass_type_id = pt.id AND v.status = 'INVALID') " +
+                    "FROM pass_types pt WHERE pt.program_id IS NOT NULL AND NOT EXISTS (" +
+                    "SELECT 1 FROM check_in_counters c WHERE c.pass_type_id = pt.id)"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${kaleo.schema.run-backfills:false}")
+    private boolean runBackfills;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        STATEMENTS.forEach(this::execute);
+        if (runBackfills) {
+            BACKFILLS.forEach(this::execute);
+        }
+    }
+
+    private void execute(String statement) {
+        try {
+            jdbcTemplate.execute(statement);
+        } catch (DataAccessException exception) {
+            log.warn("Skipped schema migration '{}': {}", statement, exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package dev.joshuaonyema.kaleo.config.jpa;
+
+import dev.joshuaonyema.kaleo.domain.entity.PassType;
+import dev.joshuaonyema.kaleo.domain.entity.Program;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Component;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.List;
+
+/**
+ * Publishes the Hibernate second-level cache regions holding programs and pass types the same way the other
+ * Caffeine caches are published: as the {@code cache.gets} metric with {@code result=hit} or {@code result=miss},
+ * tagged with the region name, and {@code cache=default-query-results-region} for cached query results.
+ * Counts are recorded by Caffeine for each region, so Hibernate statistics can stay switched off.
+ */
+@Component
+public class SecondLevelCacheMetrics {
+
+    static final List<String> REGIONS = List.of(
+            Program.CACHE_REGION,
+            Program.PASS_TYPES_CACHE_REGION,
+            PassType.CACHE_REGION,
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME
+    );
+
+    public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getCache()
+                .getRegionFactory();
+        // Nothing to publish when the second-level cache is switched off
+        if (!(regionFactory instanceof JCacheRegionFactory jCacheRegionFactory)) {
+            return;
+        }
+        CacheManager cacheManager = jCacheRegionFactory.getCacheManager();
+        for (String region : REGIONS) {
+            Cache<Object, Object> cache = cacheManager.getCache(region);
+            if (cache != null) {
+                CaffeineCacheMetrics.monitor(meterRegistry,
+                        cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class), region);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package dev.joshuaonyema.kaleo.config.manualcode;
+
+import dev.joshuaonyema.kaleo.util.StripedSecureRandom;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.security.SecureRandom;
+import java.util.random.RandomGenerator;
+
+@Configuration
+public class ManualCodeConfig {
+
+    // Entropy for randomly drawn manual codes: "striped" spreads callers over a DRBG pool, "shared" uses one SecureRandom
+    @Bean
+    public RandomGenerator manualCodeRandom(
+            @Value("${kaleo.manual-code.entropy:striped}") String entropy,
+            @Value("${kaleo.manual-code.entropy-stripes:0}") int stripes){
+        if ("shared".equals(entropy)) {
+            return new SecureRandom();
+        }
+        return new StripedSecureRandom(stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -24,7 +24,7 @@ public class HttpSecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/v1/published-programs/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/swagger-ui.html", "/swagger-ui/oauth2-redirect.html").permitAll()
                         .requestMatchers("/v3/api-docs/**", "/v3/api-docs").permitAll()
-                        .requestMatchers("/api/v1/programs").hasRole("ORGANIZER")
+                        .requestMatchers("/api/v1/programs", "/api/v1/programs/scroll").hasRole("ORGANIZER")
                         .requestMatchers("/api/v1/pass-validations/**").hasRole("STAFF")
                         .anyRequest().authenticated())
                 .csrf(AbstractHttpConfigurer::disable)
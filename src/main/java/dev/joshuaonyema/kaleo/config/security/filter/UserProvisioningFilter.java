@@ -1,6 +1,6 @@
 package dev.joshuaonyema.kaleo.config.security.filter;
 
-import dev.joshuaonyema.kaleo.domain.entity.User;
+import dev.joshuaonyema.kaleo.application.security.ProvisionedUserCache;
 import dev.joshuaonyema.kaleo.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -23,6 +23,7 @@ import java.util.UUID;
 public class UserProvisioningFilter extends OncePerRequestFilter {
 
     private final UserRepository userRepository;
+    private final ProvisionedUserCache provisionedUserCache;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
@@ -36,12 +37,13 @@ public class UserProvisioningFilter extends OncePerRequestFilter {
                 && authentication.getPrincipal() instanceof Jwt jwt){
             UUID keyCloakId = UUID.fromString(jwt.getSubject());
 
-            if (!userRepository.existsById(keyCloakId)){
-                User user = new User();
-                user.setId(keyCloakId);
-                user.setName(jwt.getClaimAsString("preferred_username"));
-                user.setEmail(jwt.getClaimAsString("email"));
-                userRepository.save(user);
+            if (!provisionedUserCache.isProvisioned(keyCloakId)){
+                userRepository.insertIfAbsent(
+                        keyCloakId,
+                        jwt.getClaimAsString("preferred_username"),
+                        jwt.getClaimAsString("email")
+                );
+                provisionedUserCache.markProvisioned(keyCloakId);
             }
         }
         filterChain.doFilter(request, response);
@@ -0,0 +1,41 @@
+package dev.joshuaonyema.kaleo.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Objects;
+
+/**
+ * Persisted check-in totals for one pass type. The live counts are kept in memory and added here periodically.
+ */
+@Entity
+@Table(name = "check_in_counters")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class CheckInCounter {
+    @EmbeddedId
+    private CheckInCounterId id;
+
+    @Column(name = "admitted", nullable = false)
+    private long admitted;
+
+    @Column(name = "invalid", nullable = false)
+    private long invalid;
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        CheckInCounter that = (CheckInCounter) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+}
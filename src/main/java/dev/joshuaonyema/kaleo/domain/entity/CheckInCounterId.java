@@ -0,0 +1,37 @@
+package dev.joshuaonyema.kaleo.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+
+@Embeddable
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class CheckInCounterId implements Serializable {
+    @Column(name = "program_id", nullable = false)
+    private UUID programId;
+
+    @Column(name = "pass_type_id", nullable = false)
+    private UUID passTypeId;
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        CheckInCounterId that = (CheckInCounterId) o;
+        return Objects.equals(programId, that.programId) && Objects.equals(passTypeId, that.passTypeId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(programId, passTypeId);
+    }
+}
@@ -6,13 +6,16 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
 @Entity
-@Table(name = "registration_passes")
+@Table(name = "registration_passes", indexes = {
+        @Index(name = "idx_passes_registrant_created", columnList = "registrant_id, created_at, id")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
@@ -30,6 +33,10 @@ public class Pass extends TimestampedEntity {
     @Column(name = "manual_code", unique = true, length = 6)
     private String manualCode;
 
+    // Set once, by the check-in that admits the pass; later scans are recorded as INVALID
+    @Column(name = "first_validated_at")
+    private LocalDateTime firstValidatedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "pass_type_id")
     private PassType passType;
@@ -5,6 +5,9 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -14,11 +17,17 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "pass_types")
+// Seat reservations evict only the pass type they change, so a sale does not empty the region
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = PassType.CACHE_REGION)
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
 @Setter
 public class PassType extends TimestampedEntity {
+    public static final String CACHE_REGION = "passTypes";
+    // Query space of seat reservations; it matches no table, so a reservation invalidates no cache region
+    public static final String SEATS_QUERY_SPACE = "pass_type_seats";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     @Column(name = "id", updatable = false, nullable = false)
@@ -36,6 +45,10 @@ public class PassType extends TimestampedEntity {
     @Column(name = "total_available")
     private Integer totalAvailable;
 
+    @ColumnDefault("0")
+    @Column(name = "sold_count", nullable = false)
+    private Integer soldCount = 0;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "program_id")
     private Program program;
@@ -6,6 +6,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -14,12 +16,21 @@ import java.util.Objects;
 import java.util.UUID;
 
 @Entity
-@Table(name = "programs")
+// Keyset listings page on (created_at, id) within each filter, see ProgramRepository
+@Table(name = "programs", indexes = {
+        @Index(name = "idx_programs_organizer_created", columnList = "organizer_id, created_at, id"),
+        @Index(name = "idx_programs_status_created", columnList = "status, created_at, id"),
+        @Index(name = "idx_programs_created", columnList = "created_at, id")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Program.CACHE_REGION)
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
 @Setter
 public class Program extends TimestampedEntity {
+    public static final String CACHE_REGION = "programs";
+    public static final String PASS_TYPES_CACHE_REGION = "programPassTypes";
+
     @Id
     @Column(name = "id", updatable = false, nullable = false)
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -57,6 +68,7 @@ public class Program extends TimestampedEntity {
     @ManyToMany(mappedBy = "staffingProgram")
     private  List<User> staff = new ArrayList<>();
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Program.PASS_TYPES_CACHE_REGION)
     @OneToMany(mappedBy = "program", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<PassType> passTypes = new ArrayList<>();
 
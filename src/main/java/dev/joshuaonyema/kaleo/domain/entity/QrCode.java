@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.springframework.data.domain.Persistable;
 
 import java.util.Objects;
 import java.util.UUID;
@@ -15,7 +17,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @Getter
 @Setter
-public class QrCode extends TimestampedEntity {
+public class QrCode extends TimestampedEntity implements Persistable<UUID> {
     @Id
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
@@ -24,13 +26,24 @@ public class QrCode extends TimestampedEntity {
     @Column(name = "status", nullable = false)
     private QrCodeStatus status;
 
-    @Column(name = "value", columnDefinition = "TEXT", nullable = false)
+    @Column(name = "value", columnDefinition = "TEXT")
     private String value;
 
+    @Enumerated(EnumType.STRING)
+    @ColumnDefault("'READY'")
+    @Column(name = "image_status", nullable = false)
+    private QrCodeImageStatus imageStatus;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "pass_id")
     private Pass pass;
 
+    // The id is assigned before saving, so the audit timestamp tells an insert from an update
+    @Override
+    public boolean isNew() {
+        return getCreatedAt() == null;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
@@ -0,0 +1,6 @@
+package dev.joshuaonyema.kaleo.domain.entity;
+
+public enum QrCodeImageStatus {
+    PENDING,
+    READY
+}
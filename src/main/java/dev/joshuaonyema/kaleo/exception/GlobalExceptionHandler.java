@@ -5,9 +5,11 @@ import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 
 @RestControllerAdvice
@@ -78,6 +80,15 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDto, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(InvalidContinuationTokenException.class)
+    public  ResponseEntity<ErrorDto> handleInvalidContinuationTokenException(InvalidContinuationTokenException invalidTokenException){
+        log.error("Caught InvalidContinuationTokenException: {}", String.valueOf(invalidTokenException));
+
+        ErrorDto errorDto = new ErrorDto();
+        errorDto.setError("Invalid continuation token");
+        return new ResponseEntity<>(errorDto, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(UserNotFoundException.class)
     public  ResponseEntity<ErrorDto> handleUserNotFoundException(UserNotFoundException notFoundException){
         log.error("Caught UserNotFoundException: {}", String.valueOf(notFoundException));
@@ -120,6 +131,29 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDto, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<ErrorDto> handleHandlerMethodValidation(HandlerMethodValidationException validationException){
+        log.error("Caught HandlerMethodValidationException: {}", String.valueOf(validationException));
+        ErrorDto errorDto = new ErrorDto();
+
+        String errorMessage = validationException.getParameterValidationResults()
+                .stream().findFirst()
+                .map(result -> result.getMethodParameter().getParameterName() + ": "
+                        + result.getResolvableErrors().getFirst().getDefaultMessage())
+                .orElse("Validation error occurred");
+
+        errorDto.setError(errorMessage);
+        return new ResponseEntity<>(errorDto, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(HttpMediaTypeNotAcceptableException.class)
+    public ResponseEntity<Void> handleHttpMediaTypeNotAcceptable(HttpMediaTypeNotAcceptableException notAcceptableException){
+        log.error("Caught HttpMediaTypeNotAcceptableException: {}", String.valueOf(notAcceptableException));
+
+        // The client accepts none of the types an ErrorDto could be written as, so the response has no body
+        return new ResponseEntity<>(HttpStatus.NOT_ACCEPTABLE);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorDto> handleException(Exception exception){
         log.error("Caught Exception: {}", String.valueOf(exception));
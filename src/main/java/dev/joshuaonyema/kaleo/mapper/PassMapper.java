@@ -3,6 +3,8 @@ package dev.joshuaonyema.kaleo.mapper;
 import dev.joshuaonyema.kaleo.api.dto.response.GetPassResponseDto;
 import dev.joshuaonyema.kaleo.api.dto.response.ListPassResponseDto;
 import dev.joshuaonyema.kaleo.domain.entity.Pass;
+import dev.joshuaonyema.kaleo.repository.projection.PassDetails;
+import dev.joshuaonyema.kaleo.repository.projection.PassSummary;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.ReportingPolicy;
@@ -27,4 +29,8 @@ public interface PassMapper {
     @Mapping(source = "passType.program.endTime", target = "programEndTime")
     @Mapping(source = "passType.program.venue", target = "programVenue")
     GetPassResponseDto toGetPassResponseDto(Pass pass);
+
+    ListPassResponseDto toListPassResponseDto(PassSummary summary);
+
+    GetPassResponseDto toGetPassResponseDto(PassDetails details);
 }
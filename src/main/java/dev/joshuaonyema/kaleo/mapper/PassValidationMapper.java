@@ -1,16 +1,30 @@
 package dev.joshuaonyema.kaleo.mapper;
 
+import dev.joshuaonyema.kaleo.api.dto.request.PassValidationRequestDto;
 import dev.joshuaonyema.kaleo.api.dto.response.PassValidationResponseDto;
+import dev.joshuaonyema.kaleo.api.dto.response.ScanResultResponseDto;
+import dev.joshuaonyema.kaleo.application.checkin.ScanResult;
+import dev.joshuaonyema.kaleo.application.command.ValidatePassCommand;
 import dev.joshuaonyema.kaleo.domain.entity.PassValidation;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.ReportingPolicy;
 
+import java.util.List;
+
 @Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
 public interface PassValidationMapper {
 
     @Mapping(source = "pass.id", target = "passId")
     @Mapping(source = "passStatus", target = "status")
     PassValidationResponseDto toDto(PassValidation passValidation);
+
+    ValidatePassCommand fromDto(PassValidationRequestDto dto);
+
+    List<ValidatePassCommand> fromDtos(List<PassValidationRequestDto> dtos);
+
+    ScanResultResponseDto toScanResultDto(ScanResult scanResult);
+
+    List<ScanResultResponseDto> toScanResultDtos(List<ScanResult> scanResults);
 }
 
@@ -11,6 +11,8 @@ import dev.joshuaonyema.kaleo.application.command.UpdatePassTypeCommand;
 import dev.joshuaonyema.kaleo.application.command.UpdateProgramCommand;
 import dev.joshuaonyema.kaleo.domain.entity.PassType;
 import dev.joshuaonyema.kaleo.domain.entity.Program;
+import dev.joshuaonyema.kaleo.repository.projection.ProgramSearchDocument;
+import dev.joshuaonyema.kaleo.repository.projection.ProgramSummary;
 import org.mapstruct.Mapper;
 import org.mapstruct.ReportingPolicy;
 
@@ -45,5 +47,9 @@ public interface ProgramMapper {
 
     GetPublishedProgramDetailsResponseDto toGetPublishedProgramDetailsResponseDto(Program program);
 
+    ProgramSuggestionResponseDto toProgramSuggestionResponseDto(ProgramSearchDocument document);
+
     StaffProgramResponseDto toStaffProgramResponseDto(Program program);
+
+    StaffProgramResponseDto toStaffProgramResponseDto(ProgramSummary summary);
 }
@@ -0,0 +1,37 @@
+package dev.joshuaonyema.kaleo.repository;
+
+import dev.joshuaonyema.kaleo.domain.entity.CheckInCounter;
+import dev.joshuaonyema.kaleo.domain.entity.CheckInCounterId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface CheckInCounterRepository extends JpaRepository<CheckInCounter, CheckInCounterId> {
+    List<CheckInCounter> findByIdProgramId(UUID programId);
+
+    // Naming the table keeps Hibernate from dropping the whole second-level cache on every counter flush
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "check_in_counters"))
+    @Query(value = "INSERT INTO check_in_counters (program_id, pass_type_id, admitted, invalid) " +
+            "VALUES (:programId, :passTypeId, 0, 0) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("programId") UUID programId, @Param("passTypeId") UUID passTypeId);
+
+    // Adds rather than overwrites, so every node can flush its own counts into the same row
+    @Modifying
+    @Query("UPDATE CheckInCounter c SET c.admitted = c.admitted + :admitted, c.invalid = c.invalid + :invalid " +
+            "WHERE c.id.programId = :programId AND c.id.passTypeId = :passTypeId")
+    int addCounts(@Param("programId") UUID programId,
+                  @Param("passTypeId") UUID passTypeId,
+                  @Param("admitted") long admitted,
+                  @Param("invalid") long invalid);
+}
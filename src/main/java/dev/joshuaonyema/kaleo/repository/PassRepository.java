@@ -1,18 +1,130 @@
 package dev.joshuaonyema.kaleo.repository;
 
 import dev.joshuaonyema.kaleo.domain.entity.Pass;
+import dev.joshuaonyema.kaleo.repository.projection.AdmittedCode;
+import dev.joshuaonyema.kaleo.repository.projection.CheckInCandidate;
+import dev.joshuaonyema.kaleo.repository.projection.ManifestEntry;
+import dev.joshuaonyema.kaleo.repository.projection.ManualCodeCheckInCandidate;
+import dev.joshuaonyema.kaleo.repository.projection.PassDetails;
+import dev.joshuaonyema.kaleo.repository.projection.PassSummary;
+import dev.joshuaonyema.kaleo.repository.projection.QrCodeCheckInCandidate;
+import dev.joshuaonyema.kaleo.repository.projection.ResourceVersion;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface PassRepository extends JpaRepository<Pass, UUID> {
     int countByPassTypeId(UUID ticketTypeId);
-    Page<Pass> findByRegistrantId(UUID RegistrantId, Pageable pageable);
-    Optional<Pass> findByIdAndRegistrantId(UUID id,  UUID Registrant);
+
+    // Listing rows with their pass type and program joined in, so a page is one select and one count
+    @Query(value = "SELECT new dev.joshuaonyema.kaleo.repository.projection.PassSummary(p.id, p.status, p.createdAt, " +
+            "pt.name, pt.price, pr.name, pr.startTime, pr.endTime, pr.venue) " +
+            "FROM Pass p JOIN p.passType pt JOIN pt.program pr WHERE p.registrant.id = :registrantId",
+            countQuery = "SELECT count(p) FROM Pass p WHERE p.registrant.id = :registrantId")
+    Page<PassSummary> findSummariesByRegistrantId(@Param("registrantId") UUID registrantId, Pageable pageable);
+
+    // Keyset window, newest first, served by idx_passes_registrant_created. Keyset scrolling needs entities,
+    // so the pass type and program are joined into the same select instead
+    @EntityGraph(attributePaths = {"passType", "passType.program"})
+    Window<Pass> findByRegistrantIdOrderByCreatedAtDescIdDesc(UUID registrantId, ScrollPosition position, Limit limit);
+
+    @Query("SELECT new dev.joshuaonyema.kaleo.repository.projection.PassDetails(p.status, p.manualCode, p.createdAt, " +
+            "pt.name, pt.price, pt.description, pr.id, pr.name, pr.startTime, pr.endTime, pr.venue) " +
+            "FROM Pass p JOIN p.passType pt JOIN pt.program pr WHERE p.id = :id AND p.registrant.id = :registrantId")
+    Optional<PassDetails> findDetailsByIdAndRegistrantId(@Param("id") UUID id, @Param("registrantId") UUID registrantId);
     Optional<Pass> findByManualCode(String manualCode);
+
+    // Validators for conditional GETs: pass responses also show their pass type and program
+    @Query("SELECT new dev.joshuaonyema.kaleo.repository.projection.ResourceVersion(" +
+            "count(p.id), max(p.updatedAt), count(DISTINCT pt.id), " +
+            "max(CASE WHEN pt.updatedAt > pr.updatedAt THEN pt.updatedAt ELSE pr.updatedAt END)) " +
+            "FROM Pass p JOIN p.passType pt JOIN pt.program pr WHERE p.registrant.id = :registrantId")
+    ResourceVersion findVersionByRegistrantId(@Param("registrantId") UUID registrantId);
+
+    @Query("SELECT new dev.joshuaonyema.kaleo.repository.projection.ResourceVersion(" +
+            "count(p.id), max(p.updatedAt), count(DISTINCT pt.id), " +
+            "max(CASE WHEN pt.updatedAt > pr.updatedAt THEN pt.updatedAt ELSE pr.updatedAt END)) " +
+            "FROM Pass p JOIN p.passType pt JOIN pt.program pr WHERE p.id = :id AND p.registrant.id = :registrantId")
+    ResourceVersion findVersionByIdAndRegistrantId(@Param("id") UUID id, @Param("registrantId") UUID registrantId);
+
+    @Query("SELECT new dev.joshuaonyema.kaleo.repository.projection.CheckInCandidate(p.id, pt.id, pt.program.id, " +
+            "CASE WHEN p.firstValidatedAt IS NOT NULL THEN true ELSE false END) " +
+            "FROM QrCode q JOIN q.pass p JOIN p.passType pt " +
+            "WHERE q.id = :qrCodeId AND q.status = dev.joshuaonyema.kaleo.domain.entity.QrCodeStatus.ACTIVE")
+    Optional<CheckInCandidate> findCheckInCandidateByQrCodeId(@Param("qrCodeId") UUID qrCodeId);
+
+    @Query("SELECT new dev.joshuaonyema.kaleo.repository.projection.CheckInCandidate(p.id, pt.id, pt.program.id, " +
+            "CASE WHEN p.firstValidatedAt IS NOT NULL THEN true ELSE false END) " +
+            "FROM Pass p JOIN p.passType pt " +
+            "WHERE p.manualCode = :manualCode")
+    Optional<CheckInCandidate> findCheckInCandidateByManualCode(@Param("manualCode") String manualCode);
+
+    @Query("SELECT new dev.joshuaonyema.kaleo.repository.projection.QrCodeCheckInCandidate(q.id, p.id, pt.id, pt.program.id, " +
+            "CASE WHEN p.firstValidatedAt IS NOT NULL THEN true ELSE false END) " +
+            "FROM QrCode q JOIN q.pass p JOIN p.passType pt " +
+            "WHERE q.id IN :qrCodeIds AND q.status = dev.joshuaonyema.kaleo.domain.entity.QrCodeStatus.ACTIVE")
+    List<QrCodeCheckInCandidate> findCheckInCandidatesByQrCodeIds(@Param("qrCodeIds") Collection<UUID> qrCodeIds);
+
+    @Query("SELECT new dev.joshuaonyema.kaleo.repository.projection.ManualCodeCheckInCandidate(p.manualCode, p.id, pt.id, pt.program.id, " +
+            "CASE WHEN p.firstValidatedAt IS NOT NULL THEN true ELSE false END) " +
+            "FROM Pass p JOIN p.passType pt " +
+            "WHERE p.manualCode IN :manualCodes")
+    List<ManualCodeCheckInCandidate> findCheckInCandidatesByManualCodes(@Param("manualCodes") Collection<String> manualCodes);
+
+    @Query("SELECT new dev.joshuaonyema.kaleo.repository.projection.ManifestEntry(q.id, p.id, p.manualCode, " +
+            "CASE WHEN q.status = dev.joshuaonyema.kaleo.domain.entity.QrCodeStatus.ACTIVE " +
+            "AND p.status = dev.joshuaonyema.kaleo.domain.entity.PassStatus.ACTIVE THEN true ELSE false END, " +
+            "CASE WHEN p.firstValidatedAt IS NOT NULL THEN true ELSE false END) " +
+            "FROM QrCode q JOIN q.pass p JOIN p.passType pt " +
+            "WHERE pt.program.id = :programId")
+    List<ManifestEntry> findManifestEntries(@Param("programId") UUID programId);
+
+    @Query("SELECT new dev.joshuaonyema.kaleo.repository.projection.AdmittedCode(q.id, " +
+            "CASE WHEN q.status = dev.joshuaonyema.kaleo.domain.entity.QrCodeStatus.ACTIVE THEN true ELSE false END, " +
+            "p.manualCode, p.id, pt.id) " +
+            "FROM QrCode q JOIN q.pass p JOIN p.passType pt " +
+            "WHERE pt.program.id = :programId AND p.firstValidatedAt IS NOT NULL")
+    List<AdmittedCode> findAdmittedCodes(@Param("programId") UUID programId);
+
+    @Query("SELECT new dev.joshuaonyema.kaleo.repository.projection.ManifestEntry(q.id, p.id, p.manualCode, " +
+            "CASE WHEN q.status = dev.joshuaonyema.kaleo.domain.entity.QrCodeStatus.ACTIVE " +
+            "AND p.status = dev.joshuaonyema.kaleo.domain.entity.PassStatus.ACTIVE THEN true ELSE false END, " +
+            "CASE WHEN p.firstValidatedAt IS NOT NULL THEN true ELSE false END) " +
+            "FROM QrCode q JOIN q.pass p JOIN p.passType pt " +
+            "WHERE pt.program.id = :programId " +
+            "AND (q.updatedAt >= :since OR p.updatedAt >= :since)")
+    List<ManifestEntry> findManifestEntriesChangedSince(@Param("programId") UUID programId,
+                                                       @Param("since") LocalDateTime since);
+
+    // Returns 1 for the check-in that admits the pass and 0 for every later or concurrent one
+    @Modifying
+    @Query("UPDATE Pass p SET p.firstValidatedAt = :validatedAt, p.updatedAt = :validatedAt " +
+            "WHERE p.id = :id AND p.firstValidatedAt IS NULL")
+    int markFirstValidated(@Param("id") UUID id, @Param("validatedAt") LocalDateTime validatedAt);
+
+    // Locks in id order so concurrent batches sharing passes cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Pass p WHERE p.id IN :ids AND p.firstValidatedAt IS NULL ORDER BY p.id")
+    List<Pass> findUnvalidatedByIdsWithLock(@Param("ids") Collection<UUID> ids);
+
+    // Returns the first value of a fresh block; the sequence increments by PermutedManualCodeAllocator.BLOCK_SIZE
+    @Query(value = "SELECT nextval('manual_code_seq')", nativeQuery = true)
+    long reserveManualCodeBlock();
 }
@@ -2,9 +2,15 @@ package dev.joshuaonyema.kaleo.repository;
 
 import dev.joshuaonyema.kaleo.domain.entity.PassType;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import jakarta.transaction.Transactional;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,7 +19,31 @@ import java.util.UUID;
 
 @Repository
 public interface PassTypeRepository extends JpaRepository<PassType, UUID> {
+    // The locked row must be the one in the database, never a second-level cache copy
     @Query("SELECT pt FROM PassType pt WHERE pt.id = :id")
     @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, value = "BYPASS"))
     Optional<PassType> findByIdWithLock(@Param("id") UUID id);
+
+    // Returns 1 when the seats were taken and 0 when the pass type is sold out.
+    // The space names no mapped table, so Hibernate keeps every cache region; callers evict the one row they changed
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = PassType.SEATS_QUERY_SPACE))
+    @Query(value = "UPDATE pass_types SET sold_count = sold_count + :quantity " +
+            "WHERE id = :id " +
+            "AND (total_available IS NULL OR sold_count + :quantity <= total_available)",
+            nativeQuery = true)
+    int reserveSeats(@Param("id") UUID id, @Param("quantity") int quantity);
+
+    // Only ever raises a count: reservations commit sold_count before their passes, so lowering it could oversell.
+    // Native writes name their table, otherwise Hibernate drops every second-level cache region
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "pass_types"))
+    @Query(value = "UPDATE pass_types SET sold_count = " +
+            "(SELECT COUNT(*) FROM registration_passes p WHERE p.pass_type_id = pass_types.id) " +
+            "WHERE sold_count < " +
+            "(SELECT COUNT(*) FROM registration_passes p WHERE p.pass_type_id = pass_types.id)",
+            nativeQuery = true)
+    int backfillSoldCounts();
 }
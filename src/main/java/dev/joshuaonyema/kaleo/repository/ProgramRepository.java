@@ -2,14 +2,26 @@ package dev.joshuaonyema.kaleo.repository;
 
 import dev.joshuaonyema.kaleo.domain.entity.Program;
 import dev.joshuaonyema.kaleo.domain.entity.ProgramStatus;
+import dev.joshuaonyema.kaleo.repository.projection.ProgramSearchDocument;
+import dev.joshuaonyema.kaleo.repository.projection.ProgramSummary;
+import dev.joshuaonyema.kaleo.repository.projection.ResourceVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
@@ -17,25 +29,52 @@ public interface ProgramRepository extends JpaRepository<Program, UUID> {
     Page<Program> findByOrganizerId(UUID organizerId, Pageable pageable);
     Optional<Program> findByIdAndOrganizerId(UUID id, UUID organizerId);
     Page<Program> findByStatus(ProgramStatus status, Pageable pageable);
+    Page<ProgramSummary> findAllProjectedBy(Pageable pageable);
 
-    // This query is particular to PostgreSQL, might add room for upgrade to ElasticSearch
+    // Fills in the pass types of programs already loaded by a listing in one select, instead of one per program
+    @Query("SELECT DISTINCT p FROM Program p LEFT JOIN FETCH p.passTypes WHERE p.id IN :ids")
+    List<Program> findWithPassTypesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Keyset windows, newest first; each filter has a matching (..., created_at, id) index on programs
+    Window<Program> findByOrganizerIdOrderByCreatedAtDescIdDesc(UUID organizerId, ScrollPosition position, Limit limit);
+    Window<Program> findByStatusOrderByCreatedAtDescIdDesc(ProgramStatus status, ScrollPosition position, Limit limit);
+    Window<Program> findAllByOrderByCreatedAtDescIdDesc(ScrollPosition position, Limit limit);
+
+    // Ranks against the generated search_vector column and its GIN index, see SchemaMigrations
     @Query(
             value =
-                    "SELECT * FROM programs " +
+                    "SELECT id FROM programs " +
                             "WHERE status = 'PUBLISHED' " +
-                            "AND to_tsvector('english', " +
-                            "COALESCE(name, '') || ' ' || COALESCE(venue, '')) " +
-                            "@@ plainto_tsquery('english', :searchTerm)",
+                            "AND search_vector @@ plainto_tsquery('english', :searchTerm) " +
+                            "ORDER BY ts_rank(search_vector, plainto_tsquery('english', :searchTerm)) DESC, id",
             countQuery =
                     "SELECT count(*) FROM programs " +
                             "WHERE status = 'PUBLISHED' " +
-                            "AND to_tsvector('english', " +
-                            "COALESCE(name, '') || ' ' || COALESCE(venue, '')) " +
-                            "@@ plainto_tsquery('english', :searchTerm)",
+                            "AND search_vector @@ plainto_tsquery('english', :searchTerm)",
             nativeQuery = true
     )
-    Page<Program> searchPrograms(@Param("searchTerm") String searchTerm, Pageable pageable);
+    Page<UUID> searchPublishedProgramIds(@Param("searchTerm") String searchTerm, Pageable pageable);
+
+    @Query("SELECT new dev.joshuaonyema.kaleo.repository.projection.ProgramSearchDocument(p.id, p.name, p.venue) " +
+            "FROM Program p WHERE p.status = dev.joshuaonyema.kaleo.domain.entity.ProgramStatus.PUBLISHED")
+    List<ProgramSearchDocument> findPublishedSearchDocuments();
 
+    // Cached result; any write to programs made through Hibernate on this node invalidates it
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Program> findByIdAndStatus(UUID id, ProgramStatus status);
+
+    // Validators for conditional GETs: programs plus their pass types, which change without touching the program row
+    @Query("SELECT new dev.joshuaonyema.kaleo.repository.projection.ResourceVersion(" +
+            "count(DISTINCT p.id), max(p.updatedAt), count(pt.id), max(pt.updatedAt)) " +
+            "FROM Program p LEFT JOIN p.passTypes pt WHERE p.organizer.id = :organizerId")
+    ResourceVersion findVersionByOrganizerId(@Param("organizerId") UUID organizerId);
+
+    @Query("SELECT new dev.joshuaonyema.kaleo.repository.projection.ResourceVersion(" +
+            "count(DISTINCT p.id), max(p.updatedAt), count(pt.id), max(pt.updatedAt)) " +
+            "FROM Program p LEFT JOIN p.passTypes pt WHERE p.id = :id AND p.organizer.id = :organizerId")
+    ResourceVersion findVersionByIdAndOrganizerId(@Param("id") UUID id, @Param("organizerId") UUID organizerId);
+
+    @Query("SELECT p.id FROM Program p WHERE p.id IN :ids")
+    Set<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
     
 }
@@ -2,7 +2,11 @@ package dev.joshuaonyema.kaleo.repository;
 
 import dev.joshuaonyema.kaleo.domain.entity.QrCode;
 import dev.joshuaonyema.kaleo.domain.entity.QrCodeStatus;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -12,4 +16,19 @@ import java.util.UUID;
 public interface QrCodeRepository extends JpaRepository<QrCode, UUID> {
     Optional<QrCode> findByPassIdAndPassRegistrantId(UUID passId, UUID registrantID);
     Optional<QrCode> findByIdAndStatus(UUID id, QrCodeStatus status);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE QrCode q SET q.value = :value, " +
+            "q.imageStatus = dev.joshuaonyema.kaleo.domain.entity.QrCodeImageStatus.READY " +
+            "WHERE q.id = :id " +
+            "AND q.imageStatus = dev.joshuaonyema.kaleo.domain.entity.QrCodeImageStatus.PENDING")
+    int storeRenderedImage(@Param("id") UUID id, @Param("value") String value);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE QrCode q SET q.value = NULL, " +
+            "q.imageStatus = dev.joshuaonyema.kaleo.domain.entity.QrCodeImageStatus.READY " +
+            "WHERE q.value IS NOT NULL")
+    int clearStoredImages();
 }
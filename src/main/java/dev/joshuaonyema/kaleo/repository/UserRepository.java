@@ -1,11 +1,28 @@
 package dev.joshuaonyema.kaleo.repository;
 
 import dev.joshuaonyema.kaleo.domain.entity.User;
+import jakarta.persistence.QueryHint;
+import jakarta.transaction.Transactional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.UUID;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
+
+    // Idempotent provisioning: concurrent first requests for the same subject insert at most one row.
+    // Naming the table keeps Hibernate from dropping the whole second-level cache on every new user
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"))
+    @Query(value = "INSERT INTO users (id, name, email, created_at, updated_at) " +
+            "VALUES (:id, :name, :email, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("id") UUID id, @Param("name") String name, @Param("email") String email);
 }
@@ -0,0 +1,9 @@
+package dev.joshuaonyema.kaleo.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * The codes of an admitted pass, used to warm the check-in admission cache.
+ */
+public record AdmittedCode(UUID qrCodeId, boolean qrCodeActive, String manualCode, UUID passId, UUID passTypeId) {
+}
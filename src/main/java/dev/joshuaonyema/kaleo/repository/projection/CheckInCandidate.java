@@ -0,0 +1,9 @@
+package dev.joshuaonyema.kaleo.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Everything a door scan needs to decide admission, read in a single query.
+ */
+public record CheckInCandidate(UUID passId, UUID passTypeId, UUID programId, boolean alreadyValidated) {
+}
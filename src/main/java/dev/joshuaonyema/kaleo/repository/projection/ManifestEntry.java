@@ -0,0 +1,9 @@
+package dev.joshuaonyema.kaleo.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * One scannable QR code of a program as a door scanner needs it offline.
+ */
+public record ManifestEntry(UUID qrCodeId, UUID passId, String manualCode, boolean active, boolean validated) {
+}
@@ -0,0 +1,14 @@
+package dev.joshuaonyema.kaleo.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * A {@link CheckInCandidate} keyed by the manual code it was looked up with, for resolving many scans at once.
+ */
+public record ManualCodeCheckInCandidate(String manualCode, UUID passId, UUID passTypeId, UUID programId,
+                                         boolean alreadyValidated) {
+
+    public CheckInCandidate toCandidate() {
+        return new CheckInCandidate(passId, passTypeId, programId, alreadyValidated);
+    }
+}
@@ -0,0 +1,16 @@
+package dev.joshuaonyema.kaleo.repository.projection;
+
+import dev.joshuaonyema.kaleo.domain.entity.PassStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A pass with the pass type and program fields its detail view shows, read in one joined query.
+ */
+public record PassDetails(PassStatus status, String manualCode, LocalDateTime createdAt,
+                          String passTypeName, BigDecimal passTypePrice, String passTypeDescription,
+                          UUID programId, String programName, LocalDateTime programStartTime,
+                          LocalDateTime programEndTime, String programVenue) {
+}
@@ -0,0 +1,16 @@
+package dev.joshuaonyema.kaleo.repository.projection;
+
+import dev.joshuaonyema.kaleo.domain.entity.PassStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A pass with the pass type and program fields its listing shows, read in one joined query.
+ */
+public record PassSummary(UUID id, PassStatus status, LocalDateTime createdAt,
+                          String passTypeName, BigDecimal passTypePrice,
+                          String programName, LocalDateTime programStartTime, LocalDateTime programEndTime,
+                          String programVenue) {
+}
@@ -0,0 +1,9 @@
+package dev.joshuaonyema.kaleo.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * The searchable text of a published program.
+ */
+public record ProgramSearchDocument(UUID id, String name, String venue) {
+}
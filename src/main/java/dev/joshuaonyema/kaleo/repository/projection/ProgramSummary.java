@@ -0,0 +1,9 @@
+package dev.joshuaonyema.kaleo.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * The id and name of a program, read without loading the entity, for listings that show nothing else.
+ */
+public record ProgramSummary(UUID id, String name) {
+}
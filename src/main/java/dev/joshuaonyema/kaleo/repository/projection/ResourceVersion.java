@@ -0,0 +1,11 @@
+package dev.joshuaonyema.kaleo.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row counts and latest update times of the rows a response is built from, read without loading them.
+ * The same numbers mean the response would come out the same. Times are null when there are no rows.
+ */
+public record ResourceVersion(long rows, LocalDateTime lastModified,
+                              long relatedRows, LocalDateTime relatedLastModified) {
+}
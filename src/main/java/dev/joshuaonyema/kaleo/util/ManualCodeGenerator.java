@@ -1,22 +1,32 @@
 package dev.joshuaonyema.kaleo.util;
 
-import java.security.SecureRandom;
+import java.util.random.RandomGenerator;
 
 public final class ManualCodeGenerator {
 
     private static final String ALPHANUMERIC = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
     private static final int CODE_LENGTH = 6;
-    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int BITS_PER_CHARACTER = 5;
 
     private ManualCodeGenerator() {
     }
 
-    public static String generate() {
-        StringBuilder code = new StringBuilder(CODE_LENGTH);
-        for (int i = 0; i < CODE_LENGTH; i++) {
-            code.append(ALPHANUMERIC.charAt(RANDOM.nextInt(ALPHANUMERIC.length())));
+    // One draw covers all six characters, since the alphabet size is a power of two
+    public static String generate(RandomGenerator random) {
+        return encode(random.nextLong());
+    }
+
+    /**
+     * Spells out the low 30 bits of {@code bits} as a code, five bits per character.
+     * Distinct 30-bit values always give distinct codes.
+     */
+    public static String encode(long bits) {
+        char[] code = new char[CODE_LENGTH];
+        for (int i = CODE_LENGTH - 1; i >= 0; i--) {
+            code[i] = ALPHANUMERIC.charAt((int) (bits & (ALPHANUMERIC.length() - 1)));
+            bits >>>= BITS_PER_CHARACTER;
         }
-        return code.toString();
+        return new String(code);
     }
 }
 
@@ -0,0 +1,84 @@
+package dev.joshuaonyema.kaleo.util;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * Keyed bijection over the 30-bit manual code space, built as a balanced Feistel network on two 15-bit halves.
+ * Every round function is an AES-derived lookup table, so consecutive inputs map to unrelated-looking outputs
+ * and cannot be predicted without the key, while distinct inputs can never produce the same output.
+ */
+public final class ManualCodePermutation {
+
+    public static final int DOMAIN_BITS = 30;
+
+    private static final int HALF_BITS = DOMAIN_BITS / 2;
+    private static final int HALF_SIZE = 1 << HALF_BITS;
+    private static final int HALF_MASK = HALF_SIZE - 1;
+    private static final int ROUNDS = 8;
+    private static final int AES_BLOCK_SIZE = 16;
+
+    private final short[][] roundTables = new short[ROUNDS][HALF_SIZE];
+
+    public ManualCodePermutation(String secret) {
+        try {
+            byte[] key = Arrays.copyOf(
+                    MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8)),
+                    AES_BLOCK_SIZE
+            );
+            Cipher cipher = Cipher.getInstance("AES/ECB/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"));
+
+            byte[] input = new byte[HALF_SIZE * AES_BLOCK_SIZE];
+            for (int round = 0; round < ROUNDS; round++) {
+                for (int x = 0; x < HALF_SIZE; x++) {
+                    int offset = x * AES_BLOCK_SIZE;
+                    input[offset] = (byte) round;
+                    input[offset + 1] = (byte) (x >>> 8);
+                    input[offset + 2] = (byte) x;
+                }
+                byte[] output = cipher.doFinal(input);
+                for (int x = 0; x < HALF_SIZE; x++) {
+                    int offset = x * AES_BLOCK_SIZE;
+                    roundTables[round][x] = (short) ((((output[offset] & 0xFF) << 8) | (output[offset + 1] & 0xFF)) & HALF_MASK);
+                }
+            }
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException("Unable to initialise manual code permutation", exception);
+        }
+    }
+
+    public int permute(int value) {
+        checkInDomain(value);
+        int left = value >>> HALF_BITS;
+        int right = value & HALF_MASK;
+        for (int round = 0; round < ROUNDS; round++) {
+            int mixed = left ^ roundTables[round][right];
+            left = right;
+            right = mixed;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    public int invert(int value) {
+        checkInDomain(value);
+        int left = value >>> HALF_BITS;
+        int right = value & HALF_MASK;
+        for (int round = ROUNDS - 1; round >= 0; round--) {
+            int previousLeft = right ^ roundTables[round][left];
+            right = left;
+            left = previousLeft;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    private static void checkInDomain(int value) {
+        if (value < 0 || value >>> DOMAIN_BITS != 0) {
+            throw new IllegalArgumentException("Value outside the manual code space: " + value);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package dev.joshuaonyema.kaleo.util;
+
+import com.google.zxing.common.BitMatrix;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes a {@link BitMatrix} as a 1-bit grayscale PNG without going through {@code BufferedImage} or ImageIO.
+ * Set modules are written black, everything else white. The same matrix always produces the same bytes.
+ */
+public final class QrPngEncoder {
+
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] IHDR = "IHDR".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] IDAT = "IDAT".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] IEND = "IEND".getBytes(StandardCharsets.US_ASCII);
+    private static final int BIT_DEPTH = 1;
+    private static final int COLOR_TYPE_GRAYSCALE = 0;
+    private static final int FILTER_NONE = 0;
+
+    private QrPngEncoder() {
+    }
+
+    public static byte[] encode(BitMatrix matrix) {
+        int width = matrix.getWidth();
+        int height = matrix.getHeight();
+
+        byte[] header = new byte[13];
+        writeInt(header, 0, width);
+        writeInt(header, 4, height);
+        header[8] = BIT_DEPTH;
+        header[9] = COLOR_TYPE_GRAYSCALE;
+
+        // Request threads are virtual, so a per-thread Deflater is never reused; end it so its native memory goes now
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        ByteArrayOutputStream compressed;
+        try {
+            compressed = deflate(matrix, deflater);
+        } finally {
+            deflater.end();
+        }
+
+        CRC32 crc = new CRC32();
+        ByteArrayOutputStream png = new ByteArrayOutputStream(compressed.size() + 64);
+        png.writeBytes(SIGNATURE);
+        writeChunk(png, crc, IHDR, header, header.length);
+        writeChunk(png, crc, IDAT, compressed.toByteArray(), compressed.size());
+        writeChunk(png, crc, IEND, header, 0);
+        return png.toByteArray();
+    }
+
+    private static ByteArrayOutputStream deflate(BitMatrix matrix, Deflater deflater) {
+        int width = matrix.getWidth();
+        int height = matrix.getHeight();
+        int rowBytes = (width + 7) >>> 3;
+
+        byte[] scanline = new byte[rowBytes + 1];
+        byte[] buffer = new byte[4096];
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(2048);
+
+        for (int y = 0; y < height; y++) {
+            Arrays.fill(scanline, (byte) 0);
+            scanline[0] = FILTER_NONE;
+            for (int x = 0; x < width; x++) {
+                if (!matrix.get(x, y)) {
+                    scanline[1 + (x >>> 3)] |= (byte) (0x80 >>> (x & 7));
+                }
+            }
+            deflater.setInput(scanline);
+            while (!deflater.needsInput()) {
+                drain(deflater, buffer, compressed);
+            }
+        }
+        deflater.finish();
+        while (!deflater.finished()) {
+            drain(deflater, buffer, compressed);
+        }
+        return compressed;
+    }
+
+    private static void drain(Deflater deflater, byte[] buffer, ByteArrayOutputStream out) {
+        int length = deflater.deflate(buffer);
+        out.write(buffer, 0, length);
+    }
+
+    private static void writeChunk(ByteArrayOutputStream out, CRC32 crc, byte[] type, byte[] data, int length) {
+        byte[] lengthBytes = new byte[4];
+        writeInt(lengthBytes, 0, length);
+        out.writeBytes(lengthBytes);
+        out.writeBytes(type);
+        out.write(data, 0, length);
+
+        crc.reset();
+        crc.update(type);
+        crc.update(data, 0, length);
+        byte[] crcBytes = new byte[4];
+        writeInt(crcBytes, 0, (int) crc.getValue());
+        out.writeBytes(crcBytes);
+    }
+
+    private static void writeInt(byte[] target, int offset, int value) {
+        target[offset] = (byte) (value >>> 24);
+        target[offset + 1] = (byte) (value >>> 16);
+        target[offset + 2] = (byte) (value >>> 8);
+        target[offset + 3] = (byte) value;
+    }
+}
@@ -0,0 +1,54 @@
+package dev.joshuaonyema.kaleo.util;
+
+import com.google.zxing.common.BitMatrix;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes a {@link BitMatrix} as a scalable SVG with one module per user unit.
+ * Each horizontal run of set modules becomes one stroked line segment of a single path, and runs after the first
+ * in a row use relative moves, so the output stays small.
+ */
+public final class QrSvgEncoder {
+
+    private QrSvgEncoder() {
+    }
+
+    public static byte[] encode(BitMatrix matrix) {
+        int width = matrix.getWidth();
+        int height = matrix.getHeight();
+
+        StringBuilder svg = new StringBuilder(1024)
+                .append("<svg xmlns=\"http://www.w3.org/2000/svg\" viewBox=\"0 0 ")
+                .append(width).append(' ').append(height)
+                .append("\" shape-rendering=\"crispEdges\">")
+                .append("<rect width=\"100%\" height=\"100%\" fill=\"#fff\"/>")
+                .append("<path stroke=\"#000\" d=\"");
+
+        for (int y = 0; y < height; y++) {
+            int x = 0;
+            int penX = -1;
+            while (x < width) {
+                if (!matrix.get(x, y)) {
+                    x++;
+                    continue;
+                }
+                int start = x;
+                while (x < width && matrix.get(x, y)) {
+                    x++;
+                }
+                if (penX < 0) {
+                    // Strokes are centred on the line, so draw through the middle of the module row
+                    svg.append('M').append(start).append(' ').append(y).append(".5");
+                } else {
+                    svg.append('m').append(start - penX).append(" 0");
+                }
+                svg.append('h').append(x - start);
+                penX = x;
+            }
+        }
+
+        svg.append("\"/></svg>");
+        return svg.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,44 @@
+package dev.joshuaonyema.kaleo.util;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * A fixed pool of independently seeded DRBG instances. Each call picks a stripe at random,
+ * so concurrent callers rarely queue on the same generator's internal lock.
+ * A pool is used rather than one instance per thread because virtual threads are created per request.
+ */
+public final class StripedSecureRandom implements RandomGenerator {
+
+    private final SecureRandom[] stripes;
+
+    public StripedSecureRandom(int stripeCount) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("At least one stripe is required");
+        }
+        stripes = new SecureRandom[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = newDrbg();
+        }
+    }
+
+    @Override
+    public long nextLong() {
+        int stripe = stripes.length == 1 ? 0 : ThreadLocalRandom.current().nextInt(stripes.length);
+        return stripes[stripe].nextLong();
+    }
+
+    int stripeCount() {
+        return stripes.length;
+    }
+
+    private static SecureRandom newDrbg() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException exception) {
+            return new SecureRandom();
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package dev.joshuaonyema.kaleo.api.cache;
+
+import dev.joshuaonyema.kaleo.api.dto.response.GetPublishedProgramDetailsResponseDto;
+import dev.joshuaonyema.kaleo.api.dto.response.ListPublishedProgramResponseDto;
+import dev.joshuaonyema.kaleo.application.event.ProgramChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PublishedProgramResponseCacheTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private PublishedProgramResponseCache responseCache;
+
+    @BeforeEach
+    void setUp() {
+        responseCache = new PublishedProgramResponseCache(
+                jsonMapper, new SimpleMeterRegistry(), 100, 2, 100, Duration.ofMinutes(5));
+    }
+
+    // ==================== getDetails Tests ====================
+
+    @Test
+    void getDetails_whenLoaded_thenRendersJson() {
+        UUID programId = UUID.randomUUID();
+
+        RenderedResponse rendered = responseCache.getDetails(programId, () -> Optional.of(details(programId)))
+                .orElseThrow();
+
+        assertEquals(programId.toString(), jsonMapper.readTree(rendered.json()).get("id").asString());
+    }
+
+    @Test
+    void getDetails_whenCached_thenSkipsLoader() {
+        UUID programId = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+
+        RenderedResponse first = responseCache.getDetails(programId, () -> {
+            loads.incrementAndGet();
+            return Optional.of(details(programId));
+        }).orElseThrow();
+        Optional<RenderedResponse> result = responseCache.getDetails(programId, () -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+
+        assertSame(first, result.orElseThrow());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void getDetails_whenNotFound_thenDoesNotRememberIt() {
+        UUID programId = UUID.randomUUID();
+
+        assertTrue(responseCache.getDetails(programId, Optional::empty).isEmpty());
+
+        assertTrue(responseCache.getDetails(programId, () -> Optional.of(details(programId))).isPresent());
+    }
+
+    @Test
+    void getDetails_whenProgramChanged_thenDropsOnlyThatProgram() {
+        UUID changed = UUID.randomUUID();
+        UUID unchanged = UUID.randomUUID();
+        responseCache.getDetails(changed, () -> Optional.of(new GetPublishedProgramDetailsResponseDto()));
+        responseCache.getDetails(unchanged, () -> Optional.of(new GetPublishedProgramDetailsResponseDto()));
+
+        responseCache.onProgramChanged(new ProgramChangedEvent(changed));
+
+        assertTrue(responseCache.getDetails(changed, Optional::empty).isEmpty());
+        assertTrue(responseCache.getDetails(unchanged, Optional::empty).isPresent());
+    }
+
+    @Test
+    void getDetails_whenProgramChangesWhileLoading_thenDoesNotKeepStaleResponse() {
+        UUID programId = UUID.randomUUID();
+
+        responseCache.getDetails(programId, () -> {
+            responseCache.onProgramChanged(new ProgramChangedEvent(programId));
+            return Optional.of(new GetPublishedProgramDetailsResponseDto());
+        });
+
+        assertTrue(responseCache.getDetails(programId, Optional::empty).isEmpty());
+    }
+
+    // ==================== getPage Tests ====================
+
+    @Test
+    void getPage_whenLoaded_thenRendersPageWithContentAndMetadata() {
+        Pageable pageable = PageRequest.of(1, 10);
+
+        JsonNode json = jsonMapper.readTree(responseCache.getPage(pageable, () -> page(pageable)).json());
+
+        assertEquals(1, json.get("content").size());
+        assertEquals(1, json.get("page").get("number").asInt());
+        assertEquals(11, json.get("page").get("totalElements").asLong());
+    }
+
+    @Test
+    void getPage_whenFirstPagesCached_thenSkipsLoader() {
+        Pageable pageable = PageRequest.of(1, 10);
+
+        RenderedResponse first = responseCache.getPage(pageable, () -> page(pageable));
+
+        assertSame(first, responseCache.getPage(pageable, () -> fail("Loaded a cached page")));
+    }
+
+    @Test
+    void getPage_whenBeyondCachedPages_thenAlwaysLoads() {
+        Pageable pageable = PageRequest.of(2, 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        responseCache.getPage(pageable, () -> {
+            loads.incrementAndGet();
+            return page(pageable);
+        });
+        responseCache.getPage(pageable, () -> {
+            loads.incrementAndGet();
+            return page(pageable);
+        });
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getPage_whenAnyProgramChanged_thenDropsEveryPage() {
+        Pageable first = PageRequest.of(0, 10);
+        Pageable second = PageRequest.of(1, 10);
+        responseCache.getPage(first, () -> page(first));
+        responseCache.getPage(second, () -> page(second));
+
+        responseCache.onProgramChanged(new ProgramChangedEvent(UUID.randomUUID()));
+
+        AtomicInteger loads = new AtomicInteger();
+        responseCache.getPage(first, () -> {
+            loads.incrementAndGet();
+            return page(first);
+        });
+        responseCache.getPage(second, () -> {
+            loads.incrementAndGet();
+            return page(second);
+        });
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getPage_whenProgramChangesWhileLoading_thenDoesNotKeepStalePage() {
+        Pageable pageable = PageRequest.of(0, 10);
+
+        responseCache.getPage(pageable, () -> {
+            responseCache.onProgramChanged(new ProgramChangedEvent(UUID.randomUUID()));
+            return page(pageable);
+        });
+
+        AtomicInteger loads = new AtomicInteger();
+        responseCache.getPage(pageable, () -> {
+            loads.incrementAndGet();
+            return page(pageable);
+        });
+        assertEquals(1, loads.get());
+    }
+
+    // ==================== RenderedResponse Tests ====================
+
+    @Test
+    void renderPage_whenSameContent_thenSameETag() {
+        Pageable pageable = PageRequest.of(3, 10);
+
+        RenderedResponse first = responseCache.renderPage(new PageImpl<>(List.of(), pageable, 0));
+        RenderedResponse second = responseCache.renderPage(new PageImpl<>(List.of(), pageable, 0));
+
+        assertEquals(first.etag(false), second.etag(false));
+        assertNotEquals(first.etag(false), first.etag(true));
+    }
+
+    @Test
+    void matches_whenIfNoneMatchNamesEitherEncoding_thenMatches() {
+        RenderedResponse rendered = RenderedResponse.of("{}".getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(rendered.matches("\"" + rendered.etag(false) + "\""));
+        assertTrue(rendered.matches("\"other\", W/\"" + rendered.etag(true) + "\""));
+        assertTrue(rendered.matches("*"));
+        assertFalse(rendered.matches("\"other\""));
+        assertFalse(rendered.matches(null));
+    }
+
+    private static GetPublishedProgramDetailsResponseDto details(UUID programId) {
+        GetPublishedProgramDetailsResponseDto details = new GetPublishedProgramDetailsResponseDto();
+        details.setId(programId);
+        return details;
+    }
+
+    private static Page<ListPublishedProgramResponseDto> page(Pageable pageable) {
+        return new PageImpl<>(List.of(new ListPublishedProgramResponseDto()), pageable, 11);
+    }
+}
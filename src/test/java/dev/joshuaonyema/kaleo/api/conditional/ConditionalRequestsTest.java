@@ -0,0 +1,79 @@
+package dev.joshuaonyema.kaleo.api.conditional;
+
+import dev.joshuaonyema.kaleo.repository.projection.ResourceVersion;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConditionalRequestsTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2026, 1, 7, 10, 30);
+
+    // ==================== etag Tests ====================
+
+    @Test
+    void etag_whenSameVersion_thenSameTag() {
+        assertEquals(ConditionalRequests.etag(new ResourceVersion(2, UPDATED_AT, 3, UPDATED_AT)),
+                ConditionalRequests.etag(new ResourceVersion(2, UPDATED_AT, 3, UPDATED_AT)));
+    }
+
+    @Test
+    void etag_whenRowRemovedWithoutNewerUpdate_thenTagChanges() {
+        assertNotEquals(ConditionalRequests.etag(new ResourceVersion(2, UPDATED_AT, 3, UPDATED_AT)),
+                ConditionalRequests.etag(new ResourceVersion(2, UPDATED_AT, 2, UPDATED_AT)));
+    }
+
+    // ==================== checkNotModified Tests ====================
+
+    @Test
+    void checkNotModified_whenNoVersion_thenLeavesResponseAlone() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(ConditionalRequests.checkNotModified(
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/"), response), null));
+        assertTrue(response.getHeaderNames().isEmpty());
+    }
+
+    @Test
+    void checkNotModified_whenNoConditionalHeaders_thenWritesValidators() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ResourceVersion version = new ResourceVersion(1, UPDATED_AT, 0, null);
+
+        assertFalse(ConditionalRequests.checkNotModified(
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/"), response), version));
+        assertEquals("\"" + ConditionalRequests.etag(version) + "\"", response.getHeader(HttpHeaders.ETAG));
+        assertNull(response.getHeader(HttpHeaders.LAST_MODIFIED));
+        assertEquals("no-cache, private", response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void checkNotModified_whenEtagMatches_thenReturnsNotModified() {
+        ResourceVersion version = new ResourceVersion(1, UPDATED_AT, 0, null);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + ConditionalRequests.etag(version) + "\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(ConditionalRequests.checkNotModified(new ServletWebRequest(request, response), version));
+        assertEquals(304, response.getStatus());
+    }
+
+    @Test
+    void checkNotModified_whenOnlyIfModifiedSinceSent_thenReturnsFalse() {
+        // A pass type deleted since then leaves every update time where it was
+        ResourceVersion version = new ResourceVersion(1, UPDATED_AT, 1, UPDATED_AT);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE,
+                UPDATED_AT.plusHours(1).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(ConditionalRequests.checkNotModified(new ServletWebRequest(request, response), version));
+        assertNotNull(response.getHeader(HttpHeaders.ETAG));
+    }
+}
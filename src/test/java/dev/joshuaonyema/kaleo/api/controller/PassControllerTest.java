@@ -2,13 +2,20 @@ package dev.joshuaonyema.kaleo.api.controller;
 
 import dev.joshuaonyema.kaleo.api.dto.response.GetPassResponseDto;
 import dev.joshuaonyema.kaleo.api.dto.response.ListPassResponseDto;
+import dev.joshuaonyema.kaleo.api.dto.response.ScrollResponseDto;
+import dev.joshuaonyema.kaleo.application.qrcode.QrCodeImage;
+import dev.joshuaonyema.kaleo.application.qrcode.QrCodeImageFormat;
 import dev.joshuaonyema.kaleo.application.service.PassService;
 import dev.joshuaonyema.kaleo.application.service.QrCodeService;
 import dev.joshuaonyema.kaleo.domain.entity.Pass;
 import dev.joshuaonyema.kaleo.domain.entity.PassStatus;
 import dev.joshuaonyema.kaleo.domain.entity.PassType;
 import dev.joshuaonyema.kaleo.domain.entity.Program;
+import dev.joshuaonyema.kaleo.exception.GlobalExceptionHandler;
 import dev.joshuaonyema.kaleo.mapper.PassMapper;
+import dev.joshuaonyema.kaleo.repository.projection.PassDetails;
+import dev.joshuaonyema.kaleo.repository.projection.PassSummary;
+import dev.joshuaonyema.kaleo.repository.projection.ResourceVersion;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,19 +26,31 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
 class PassControllerTest {
@@ -51,12 +70,21 @@ class PassControllerTest {
     private UUID passId;
     private UUID programId;
     private Pass pass;
+    private PassSummary passSummary;
+    private PassDetails passDetails;
     private ListPassResponseDto listPassResponseDto;
     private GetPassResponseDto getPassResponseDto;
     private LocalDateTime now;
+    private MockHttpServletRequest servletRequest;
+    private MockHttpServletResponse servletResponse;
+    private ServletWebRequest request;
 
     @BeforeEach
     void setUp() {
+        servletRequest = new MockHttpServletRequest("GET", "/api/v1/passes");
+        servletResponse = new MockHttpServletResponse();
+        request = new ServletWebRequest(servletRequest, servletResponse);
+
         passId = UUID.randomUUID();
         programId = UUID.randomUUID();
         now = LocalDateTime.now();
@@ -81,6 +109,12 @@ class PassControllerTest {
         pass.setManualCode("ABC123");
         pass.setPassType(passType);
 
+        passSummary = new PassSummary(passId, PassStatus.ACTIVE, now, "General Admission", BigDecimal.TEN,
+                "Sunday Service", now.plusDays(1), now.plusDays(1).plusHours(2), "Main Hall");
+        passDetails = new PassDetails(PassStatus.ACTIVE, "ABC123", now, "General Admission", BigDecimal.TEN,
+                "Standard entry", programId, "Sunday Service", now.plusDays(1), now.plusDays(1).plusHours(2),
+                "Main Hall");
+
         listPassResponseDto = new ListPassResponseDto();
         listPassResponseDto.setStatus(PassStatus.ACTIVE);
         listPassResponseDto.setPassTypeName("General Admission");
@@ -108,112 +142,265 @@ class PassControllerTest {
     @Test
     void listPasses_whenCalled_thenReturnsPageOfPasses() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Pass> passPage = new PageImpl<>(List.of(pass), pageable, 1);
+        Page<PassSummary> passPage = new PageImpl<>(List.of(passSummary), pageable, 1);
 
         when(passService.listPassesForUser(pageable)).thenReturn(passPage);
-        when(passMapper.toListPassResponseDto(pass)).thenReturn(listPassResponseDto);
+        when(passMapper.toListPassResponseDto(passSummary)).thenReturn(listPassResponseDto);
 
-        Page<ListPassResponseDto> result = passController.listPasses(pageable);
+        Page<ListPassResponseDto> result = passController.listPasses(pageable, request).getBody();
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
         assertEquals(listPassResponseDto, result.getContent().getFirst());
         verify(passService).listPassesForUser(pageable);
-        verify(passMapper).toListPassResponseDto(pass);
+        verify(passMapper).toListPassResponseDto(passSummary);
     }
 
     @Test
     void listPasses_whenNoPasses_thenReturnsEmptyPage() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Pass> emptyPage = new PageImpl<>(List.of(), pageable, 0);
+        Page<PassSummary> emptyPage = new PageImpl<>(List.of(), pageable, 0);
 
         when(passService.listPassesForUser(pageable)).thenReturn(emptyPage);
 
-        Page<ListPassResponseDto> result = passController.listPasses(pageable);
+        Page<ListPassResponseDto> result = passController.listPasses(pageable, request).getBody();
 
         assertNotNull(result);
         assertTrue(result.getContent().isEmpty());
         assertEquals(0, result.getTotalElements());
         verify(passService).listPassesForUser(pageable);
-        verify(passMapper, never()).toListPassResponseDto(any());
+        verify(passMapper, never()).toListPassResponseDto(any(PassSummary.class));
     }
 
     @Test
     void listPasses_whenMultiplePasses_thenReturnsAllPasses() {
         Pageable pageable = PageRequest.of(0, 10);
-        Pass pass2 = new Pass();
-        pass2.setId(UUID.randomUUID());
-        pass2.setStatus(PassStatus.ACTIVE);
+        PassSummary pass2 = new PassSummary(UUID.randomUUID(), PassStatus.ACTIVE, now, "VIP", BigDecimal.ONE,
+                "Sunday Service", now.plusDays(1), now.plusDays(1).plusHours(2), "Main Hall");
 
         ListPassResponseDto listDto2 = new ListPassResponseDto();
         listDto2.setStatus(PassStatus.ACTIVE);
 
-        Page<Pass> passPage = new PageImpl<>(List.of(pass, pass2), pageable, 2);
+        Page<PassSummary> passPage = new PageImpl<>(List.of(passSummary, pass2), pageable, 2);
 
         when(passService.listPassesForUser(pageable)).thenReturn(passPage);
-        when(passMapper.toListPassResponseDto(pass)).thenReturn(listPassResponseDto);
+        when(passMapper.toListPassResponseDto(passSummary)).thenReturn(listPassResponseDto);
         when(passMapper.toListPassResponseDto(pass2)).thenReturn(listDto2);
 
-        Page<ListPassResponseDto> result = passController.listPasses(pageable);
+        Page<ListPassResponseDto> result = passController.listPasses(pageable, request).getBody();
 
         assertEquals(2, result.getTotalElements());
-        verify(passMapper, times(2)).toListPassResponseDto(any(Pass.class));
+        verify(passMapper, times(2)).toListPassResponseDto(any(PassSummary.class));
+    }
+
+    @Test
+    void listPasses_whenEtagMatches_thenReturnsNotModifiedWithoutLoading() {
+        ResourceVersion version = new ResourceVersion(1, now, 1, now);
+        when(passService.getPassesVersionForUser()).thenReturn(version);
+        when(passService.listPassesForUser(any())).thenReturn(Page.empty());
+        passController.listPasses(PageRequest.of(0, 10), request);
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, servletResponse.getHeader(HttpHeaders.ETAG));
+        MockHttpServletResponse conditionalResponse = new MockHttpServletResponse();
+
+        ResponseEntity<Page<ListPassResponseDto>> response = passController.listPasses(
+                PageRequest.of(0, 10), new ServletWebRequest(servletRequest, conditionalResponse));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        verify(passService, times(1)).listPassesForUser(any());
+    }
+
+    @Test
+    void listPasses_whenPassAdded_thenEtagChanges() {
+        when(passService.listPassesForUser(any())).thenReturn(Page.empty());
+        when(passService.getPassesVersionForUser()).thenReturn(new ResourceVersion(1, now, 1, now));
+        passController.listPasses(PageRequest.of(0, 10), request);
+        String etag = servletResponse.getHeader(HttpHeaders.ETAG);
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        when(passService.getPassesVersionForUser()).thenReturn(new ResourceVersion(2, now, 1, now));
+        MockHttpServletResponse conditionalResponse = new MockHttpServletResponse();
+
+        ResponseEntity<Page<ListPassResponseDto>> response = passController.listPasses(
+                PageRequest.of(0, 10), new ServletWebRequest(servletRequest, conditionalResponse));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotEquals(etag, conditionalResponse.getHeader(HttpHeaders.ETAG));
+    }
+
+    // ==================== scrollPasses Tests ====================
+
+    @Test
+    void scrollPasses_whenMoreRemain_thenReturnsMappedPassesAndNextToken() {
+        ScrollPosition last = ScrollPosition.forward(Map.of("createdAt", now, "id", passId));
+        when(passService.scrollPassesForUser(ScrollPosition.keyset(), 1))
+                .thenReturn(Window.from(List.of(pass), index -> last, true));
+        when(passMapper.toListPassResponseDto(pass)).thenReturn(listPassResponseDto);
+
+        ScrollResponseDto<ListPassResponseDto> result = passController.scrollPasses(null, 1);
+
+        assertEquals(List.of(listPassResponseDto), result.getContent());
+        assertNotNull(result.getNextToken());
+    }
+
+    @Test
+    void scrollPasses_whenLastWindow_thenReturnsNoNextToken() {
+        when(passService.scrollPassesForUser(ScrollPosition.keyset(), 20))
+                .thenReturn(Window.from(List.of(), index -> ScrollPosition.keyset()));
+
+        ScrollResponseDto<ListPassResponseDto> result = passController.scrollPasses("", 20);
+
+        assertTrue(result.getContent().isEmpty());
+        assertNull(result.getNextToken());
     }
 
     // ==================== getPass Tests ====================
 
     @Test
     void getPass_whenPassExists_thenReturnsPass() {
-        when(passService.getPassForUser(passId)).thenReturn(Optional.of(pass));
-        when(passMapper.toGetPassResponseDto(pass)).thenReturn(getPassResponseDto);
+        when(passService.getPassForUser(passId)).thenReturn(Optional.of(passDetails));
+        when(passMapper.toGetPassResponseDto(passDetails)).thenReturn(getPassResponseDto);
 
-        ResponseEntity<GetPassResponseDto> response = passController.getPass(passId);
+        ResponseEntity<GetPassResponseDto> response = passController.getPass(passId, request);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(PassStatus.ACTIVE, response.getBody().getStatus());
         verify(passService).getPassForUser(passId);
-        verify(passMapper).toGetPassResponseDto(pass);
+        verify(passMapper).toGetPassResponseDto(passDetails);
     }
 
     @Test
     void getPass_whenPassNotFound_thenReturnsNotFound() {
         when(passService.getPassForUser(passId)).thenReturn(Optional.empty());
 
-        ResponseEntity<GetPassResponseDto> response = passController.getPass(passId);
+        ResponseEntity<GetPassResponseDto> response = passController.getPass(passId, request);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertNull(response.getBody());
         verify(passService).getPassForUser(passId);
-        verify(passMapper, never()).toGetPassResponseDto(any());
+        verify(passMapper, never()).toGetPassResponseDto(any(PassDetails.class));
+    }
+
+    @Test
+    void getPass_whenEtagMatches_thenReturnsNotModifiedWithoutLoading() {
+        LocalDateTime updatedAt = LocalDateTime.of(2026, 1, 7, 10, 30);
+        ResourceVersion version = new ResourceVersion(1, updatedAt, 1, updatedAt.minusDays(1));
+        when(passService.getPassVersionForUser(passId)).thenReturn(Optional.of(version));
+        passController.getPass(passId, request);
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, servletResponse.getHeader(HttpHeaders.ETAG));
+        clearInvocations(passService);
+
+        ResponseEntity<GetPassResponseDto> response = passController.getPass(
+                passId, new ServletWebRequest(servletRequest, new MockHttpServletResponse()));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        verify(passService, never()).getPassForUser(any());
     }
 
     // ==================== getPassQrCode Tests ====================
 
     @Test
-    void getPassQrCode_whenCalled_thenReturnsQrCodeImage() {
-        byte[] qrCodeImage = new byte[]{1, 2, 3, 4, 5};
-        when(qrCodeService.getQrCodeImageForUserAndPass(passId)).thenReturn(qrCodeImage);
+    void getPassQrCode_whenCalled_thenReturnsQrCodeImage() throws Exception {
+        QrCodeImage qrCodeImage = QrCodeImage.of(QrCodeImageFormat.PNG, new byte[]{1, 2, 3, 4, 5});
+        when(qrCodeService.getQrCodeImageForUserAndPass(passId, QrCodeImageFormat.PNG, 300)).thenReturn(qrCodeImage);
 
-        ResponseEntity<byte[]> response = passController.getPassQrCode(passId);
+        ResponseEntity<byte[]> response = passController.getPassQrCode(passId, null, 300);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertArrayEquals(qrCodeImage, response.getBody());
+        assertArrayEquals(qrCodeImage.content(), response.getBody());
         assertEquals(MediaType.IMAGE_PNG, response.getHeaders().getContentType());
-        assertEquals(qrCodeImage.length, response.getHeaders().getContentLength());
-        verify(qrCodeService).getQrCodeImageForUserAndPass(passId);
+        assertEquals(qrCodeImage.content().length, response.getHeaders().getContentLength());
+        verify(qrCodeService).getQrCodeImageForUserAndPass(passId, QrCodeImageFormat.PNG, 300);
     }
 
     @Test
-    void getPassQrCode_whenCalled_thenSetsCorrectHeaders() {
-        byte[] qrCodeImage = new byte[100];
-        when(qrCodeService.getQrCodeImageForUserAndPass(passId)).thenReturn(qrCodeImage);
+    void getPassQrCode_whenCalled_thenSetsCachingHeaders() throws Exception {
+        QrCodeImage qrCodeImage = QrCodeImage.of(QrCodeImageFormat.PNG, new byte[100]);
+        when(qrCodeService.getQrCodeImageForUserAndPass(passId, QrCodeImageFormat.PNG, 300)).thenReturn(qrCodeImage);
 
-        ResponseEntity<byte[]> response = passController.getPassQrCode(passId);
+        ResponseEntity<byte[]> response = passController.getPassQrCode(passId, "image/png", 300);
 
-        assertEquals(MediaType.IMAGE_PNG, response.getHeaders().getContentType());
         assertEquals(100, response.getHeaders().getContentLength());
+        assertEquals("\"" + qrCodeImage.etag() + "\"", response.getHeaders().getETag());
+        String cacheControl = response.getHeaders().getCacheControl();
+        assertNotNull(cacheControl);
+        assertTrue(cacheControl.contains("private"));
+        assertTrue(cacheControl.contains("immutable"));
+        assertTrue(response.getHeaders().getVary().contains(HttpHeaders.ACCEPT));
     }
-}
 
+    @Test
+    void getPassQrCode_whenSvgAccepted_thenReturnsSvg() throws Exception {
+        QrCodeImage qrCodeImage = QrCodeImage.of(QrCodeImageFormat.SVG, "<svg/>".getBytes());
+        when(qrCodeService.getQrCodeImageForUserAndPass(passId, QrCodeImageFormat.SVG, 300)).thenReturn(qrCodeImage);
+
+        ResponseEntity<byte[]> response = passController.getPassQrCode(passId, "image/svg+xml", 300);
+
+        assertEquals(MediaType.parseMediaType("image/svg+xml"), response.getHeaders().getContentType());
+        assertArrayEquals(qrCodeImage.content(), response.getBody());
+    }
+
+    @Test
+    void getPassQrCode_whenPngPreferredByQuality_thenReturnsPng() throws Exception {
+        QrCodeImage qrCodeImage = QrCodeImage.of(QrCodeImageFormat.PNG, new byte[]{1});
+        when(qrCodeService.getQrCodeImageForUserAndPass(passId, QrCodeImageFormat.PNG, 600)).thenReturn(qrCodeImage);
+
+        ResponseEntity<byte[]> response = passController.getPassQrCode(passId, "image/svg+xml;q=0.5, image/png", 600);
+
+        assertEquals(MediaType.IMAGE_PNG, response.getHeaders().getContentType());
+        verify(qrCodeService).getQrCodeImageForUserAndPass(passId, QrCodeImageFormat.PNG, 600);
+    }
+
+    @Test
+    void getPassQrCode_whenWildcardAccepted_thenDefaultsToPng() throws Exception {
+        QrCodeImage qrCodeImage = QrCodeImage.of(QrCodeImageFormat.PNG, new byte[]{1});
+        when(qrCodeService.getQrCodeImageForUserAndPass(passId, QrCodeImageFormat.PNG, 300)).thenReturn(qrCodeImage);
+
+        ResponseEntity<byte[]> response = passController.getPassQrCode(passId, "*/*", 300);
+
+        assertEquals(MediaType.IMAGE_PNG, response.getHeaders().getContentType());
+    }
+
+    @Test
+    void getPassQrCode_whenSvgRefusedNextToWildcard_thenReturnsPng() throws Exception {
+        QrCodeImage qrCodeImage = QrCodeImage.of(QrCodeImageFormat.PNG, new byte[]{1});
+        when(qrCodeService.getQrCodeImageForUserAndPass(passId, QrCodeImageFormat.PNG, 300)).thenReturn(qrCodeImage);
+
+        ResponseEntity<byte[]> response = passController.getPassQrCode(passId, "image/svg+xml;q=0, */*;q=0.5", 300);
+
+        assertEquals(MediaType.IMAGE_PNG, response.getHeaders().getContentType());
+    }
+
+    @Test
+    void getPassQrCode_whenOnlyImageFormatRefused_thenThrowsNotAcceptable() {
+        assertThrows(HttpMediaTypeNotAcceptableException.class,
+                () -> passController.getPassQrCode(passId, "image/svg+xml;q=0, text/html", 300));
+        verifyNoInteractions(qrCodeService);
+    }
+
+    @Test
+    void getPassQrCode_whenSvgRefusedWithQualityZero_thenReturnsNotAcceptable() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(passController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        mockMvc.perform(get("/api/v1/passes/{passId}/qr-codes", passId)
+                        .header(HttpHeaders.ACCEPT, "image/svg+xml;q=0, text/html"))
+                .andExpect(status().isNotAcceptable());
+
+        verifyNoInteractions(qrCodeService);
+    }
+
+    @Test
+    void getPassQrCode_whenNoImageAccepted_thenReturnsNotAcceptable() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(passController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        mockMvc.perform(get("/api/v1/passes/{passId}/qr-codes", passId).accept(MediaType.TEXT_HTML))
+                .andExpect(status().isNotAcceptable());
+
+        verifyNoInteractions(qrCodeService);
+    }
+}
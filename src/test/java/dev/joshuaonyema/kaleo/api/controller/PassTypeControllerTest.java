@@ -1,6 +1,9 @@
 package dev.joshuaonyema.kaleo.api.controller;
 
+import dev.joshuaonyema.kaleo.api.dto.request.PurchasePassesRequestDto;
+import dev.joshuaonyema.kaleo.api.dto.response.PurchasePassesResponseDto;
 import dev.joshuaonyema.kaleo.application.service.PassService;
+import dev.joshuaonyema.kaleo.domain.entity.Pass;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -9,6 +12,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -83,4 +87,35 @@ class PassTypeControllerTest {
 
         assertEquals(204, response.getStatusCode().value());
     }
+
+    // ==================== purchasePasses Tests ====================
+
+    @Test
+    void purchasePasses_whenValidRequest_thenReturnsCreatedWithAllPassIds() {
+        UUID programId = UUID.randomUUID();
+        UUID passTypeId = UUID.randomUUID();
+        Pass first = new Pass();
+        first.setId(UUID.randomUUID());
+        Pass second = new Pass();
+        second.setId(UUID.randomUUID());
+        when(passService.purchasePasses(passTypeId, 2)).thenReturn(List.of(first, second));
+
+        ResponseEntity<PurchasePassesResponseDto> response = passTypeController.purchasePasses(
+                programId, passTypeId, new PurchasePassesRequestDto(2));
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(List.of(first.getId(), second.getId()), response.getBody().getPassIds());
+    }
+
+    @Test
+    void purchasePasses_whenServiceThrowsException_thenExceptionPropagates() {
+        UUID programId = UUID.randomUUID();
+        UUID passTypeId = UUID.randomUUID();
+        when(passService.purchasePasses(passTypeId, 5)).thenThrow(new RuntimeException("Service error"));
+
+        assertThrows(RuntimeException.class, () ->
+            passTypeController.purchasePasses(programId, passTypeId, new PurchasePassesRequestDto(5))
+        );
+    }
 }
@@ -0,0 +1,126 @@
+package dev.joshuaonyema.kaleo.api.controller;
+
+import dev.joshuaonyema.kaleo.application.checkin.CheckInCounters;
+import dev.joshuaonyema.kaleo.application.checkin.CheckInLiveStream;
+import dev.joshuaonyema.kaleo.application.service.PassValidationService;
+import dev.joshuaonyema.kaleo.application.service.ProgramService;
+import dev.joshuaonyema.kaleo.domain.entity.PassValidationStatus;
+import dev.joshuaonyema.kaleo.mapper.PassValidationMapper;
+import dev.joshuaonyema.kaleo.mapper.ProgramMapper;
+import dev.joshuaonyema.kaleo.repository.CheckInCounterRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Holds a thousand live attendance streams open at once and checks every one of them sees the final counts.
+ */
+@ExtendWith(MockitoExtension.class)
+class PassValidationControllerLiveStreamLoadTest {
+
+    private static final int CLIENTS = 1000;
+    private static final int SCANS = 1000;
+
+    @Mock
+    private PassValidationService passValidationService;
+
+    @Mock
+    private PassValidationMapper passValidationMapper;
+
+    @Mock
+    private ProgramService programService;
+
+    @Mock
+    private ProgramMapper programMapper;
+
+    @Mock
+    private CheckInCounterRepository checkInCounterRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private CheckInCounters checkInCounters;
+    private CheckInLiveStream checkInLiveStream;
+    private MockMvc mockMvc;
+
+    private UUID programId;
+    private UUID passTypeId;
+
+    @BeforeEach
+    void setUp() {
+        programId = UUID.randomUUID();
+        passTypeId = UUID.randomUUID();
+        checkInCounters = new CheckInCounters(checkInCounterRepository, transactionTemplate, Duration.ofHours(1));
+        checkInLiveStream = new CheckInLiveStream(checkInCounters, Duration.ofMillis(50), Duration.ofMinutes(5));
+
+        when(checkInCounterRepository.findByIdProgramId(programId)).thenReturn(List.of());
+        when(passValidationService.streamCheckInCounts(programId))
+                .thenAnswer(invocation -> checkInLiveStream.subscribe(programId));
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new PassValidationController(
+                passValidationService, passValidationMapper, programService, programMapper)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        checkInLiveStream.destroy();
+        checkInCounters.destroy();
+    }
+
+    @Test
+    void streamCheckInCounts_whenThousandClientsSubscribed_thenEveryClientReceivesFinalCounts() throws Exception {
+        List<MvcResult> streams = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            streams.add(mockMvc.perform(get("/api/v1/pass-validations/{programId}/live", programId)
+                            .accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(request().asyncStarted())
+                    .andReturn());
+        }
+
+        for (int i = 0; i < SCANS; i++) {
+            checkInCounters.recordAfterCommit(programId, passTypeId,
+                    i % 10 == 0 ? PassValidationStatus.INVALID : PassValidationStatus.VALID);
+        }
+
+        String finalCounts = "\"admitted\":" + (SCANS - SCANS / 10) + ",\"invalid\":" + SCANS / 10;
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        List<MvcResult> waiting = new ArrayList<>(streams);
+        while (!waiting.isEmpty() && System.nanoTime() < deadline) {
+            waiting.removeIf(stream -> contentOf(stream).contains(finalCounts));
+            if (!waiting.isEmpty()) {
+                Thread.sleep(50);
+            }
+        }
+
+        assertTrue(waiting.isEmpty(), waiting.size() + " of " + CLIENTS + " clients never saw the final counts");
+        for (MvcResult stream : streams) {
+            assertTrue(contentOf(stream).startsWith("event:check-in-counts"));
+        }
+    }
+
+    private static String contentOf(MvcResult stream) {
+        try {
+            return stream.getResponse().getContentAsString();
+        } catch (Exception exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -5,12 +5,15 @@ import dev.joshuaonyema.kaleo.api.dto.request.CreateProgramRequestDto;
 import dev.joshuaonyema.kaleo.api.dto.response.CreateProgramResponseDto;
 import dev.joshuaonyema.kaleo.api.dto.response.GetProgramDetailsResponseDto;
 import dev.joshuaonyema.kaleo.api.dto.response.ListProgramResponseDto;
+import dev.joshuaonyema.kaleo.api.dto.response.ScrollResponseDto;
+import dev.joshuaonyema.kaleo.api.pagination.ContinuationTokens;
 import dev.joshuaonyema.kaleo.application.command.CreateProgramCommand;
 import dev.joshuaonyema.kaleo.application.service.ProgramService;
 import dev.joshuaonyema.kaleo.domain.entity.Program;
 import dev.joshuaonyema.kaleo.domain.entity.ProgramStatus;
 import dev.joshuaonyema.kaleo.domain.entity.User;
 import dev.joshuaonyema.kaleo.mapper.ProgramMapper;
+import dev.joshuaonyema.kaleo.repository.projection.ResourceVersion;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,12 +24,19 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -52,9 +62,16 @@ class ProgramControllerTest {
     private CreateProgramResponseDto createProgramResponseDto;
     private ListProgramResponseDto listProgramResponseDto;
     private GetProgramDetailsResponseDto getProgramDetailsResponseDto;
+    private MockHttpServletRequest servletRequest;
+    private MockHttpServletResponse servletResponse;
+    private ServletWebRequest request;
 
     @BeforeEach
     void setUp() {
+        servletRequest = new MockHttpServletRequest("GET", "/api/v1/programs");
+        servletResponse = new MockHttpServletResponse();
+        request = new ServletWebRequest(servletRequest, servletResponse);
+
         programId = UUID.randomUUID();
         UUID userId = UUID.randomUUID();
 
@@ -160,7 +177,7 @@ class ProgramControllerTest {
         when(programService.listProgramsForOrganizer(pageable)).thenReturn(programPage);
         when(programMapper.toListProgramResponseDto(any(Program.class))).thenReturn(listProgramResponseDto);
 
-        ResponseEntity<Page<ListProgramResponseDto>> response = programController.listPrograms(pageable);
+        ResponseEntity<Page<ListProgramResponseDto>> response = programController.listPrograms(pageable, request);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
@@ -174,7 +191,7 @@ class ProgramControllerTest {
         Pageable pageable = PageRequest.of(0, 10);
         when(programService.listProgramsForOrganizer(pageable)).thenReturn(emptyPage);
 
-        ResponseEntity<Page<ListProgramResponseDto>> response = programController.listPrograms(pageable);
+        ResponseEntity<Page<ListProgramResponseDto>> response = programController.listPrograms(pageable, request);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
@@ -189,7 +206,7 @@ class ProgramControllerTest {
         when(programService.listProgramsForOrganizer(pageable)).thenReturn(programPage);
         when(programMapper.toListProgramResponseDto(any(Program.class))).thenReturn(listProgramResponseDto);
 
-        ResponseEntity<Page<ListProgramResponseDto>> response = programController.listPrograms(pageable);
+        ResponseEntity<Page<ListProgramResponseDto>> response = programController.listPrograms(pageable, request);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
@@ -214,12 +231,47 @@ class ProgramControllerTest {
         when(programMapper.toListProgramResponseDto(program)).thenReturn(listProgramResponseDto);
         when(programMapper.toListProgramResponseDto(program2)).thenReturn(listDto2);
 
-        ResponseEntity<Page<ListProgramResponseDto>> response = programController.listPrograms(pageable);
+        ResponseEntity<Page<ListProgramResponseDto>> response = programController.listPrograms(pageable, request);
 
         assertEquals(2, response.getBody().getTotalElements());
         verify(programMapper, times(2)).toListProgramResponseDto(any(Program.class));
     }
 
+    @Test
+    void listPrograms_whenEtagMatches_thenReturnsNotModifiedWithoutLoading() {
+        ResourceVersion version = new ResourceVersion(1, LocalDateTime.of(2026, 1, 7, 10, 30), 0, null);
+        when(programService.getProgramsVersionForOrganizer()).thenReturn(version);
+        when(programService.listProgramsForOrganizer(any())).thenReturn(Page.empty());
+        programController.listPrograms(PageRequest.of(0, 10), request);
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, servletResponse.getHeader(HttpHeaders.ETAG));
+
+        ResponseEntity<Page<ListProgramResponseDto>> response = programController.listPrograms(
+                PageRequest.of(0, 10), new ServletWebRequest(servletRequest, new MockHttpServletResponse()));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        verify(programService, times(1)).listProgramsForOrganizer(any());
+    }
+
+    // ==================== scrollPrograms Tests ====================
+
+    @Test
+    void scrollPrograms_whenTokenGiven_thenContinuesFromItsPosition() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 7, 10, 30);
+        ScrollPosition position = ScrollPosition.forward(Map.of("createdAt", createdAt, "id", programId));
+        String token = ContinuationTokens.nextToken(Window.from(List.of(program), index -> position, true));
+        when(programService.scrollProgramsForOrganizer(position, 10))
+                .thenReturn(Window.from(List.of(program), index -> position));
+        when(programMapper.toListProgramResponseDto(program)).thenReturn(listProgramResponseDto);
+
+        ResponseEntity<ScrollResponseDto<ListProgramResponseDto>> response = programController.scrollPrograms(token, 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(List.of(listProgramResponseDto), response.getBody().getContent());
+        assertNull(response.getBody().getNextToken());
+    }
+
     // ==================== getProgram Tests ====================
 
     @Test
@@ -227,7 +279,7 @@ class ProgramControllerTest {
         when(programService.getProgramForOrganizer(programId)).thenReturn(Optional.of(program));
         when(programMapper.toGetProgramDetailsResponseDto(program)).thenReturn(getProgramDetailsResponseDto);
 
-        ResponseEntity<GetProgramDetailsResponseDto> response = programController.getProgram(programId);
+        ResponseEntity<GetProgramDetailsResponseDto> response = programController.getProgram(programId, request);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
@@ -240,19 +292,50 @@ class ProgramControllerTest {
     void getProgram_whenProgramNotFound_thenReturnsNotFound() {
         when(programService.getProgramForOrganizer(programId)).thenReturn(Optional.empty());
 
-        ResponseEntity<GetProgramDetailsResponseDto> response = programController.getProgram(programId);
+        ResponseEntity<GetProgramDetailsResponseDto> response = programController.getProgram(programId, request);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertNull(response.getBody());
         verify(programMapper, never()).toGetProgramDetailsResponseDto(any());
     }
 
+    @Test
+    void getProgram_whenVersionKnown_thenSetsValidators() {
+        ResourceVersion version = new ResourceVersion(1, LocalDateTime.of(2026, 1, 7, 10, 30),
+                2, LocalDateTime.of(2026, 1, 8, 9, 0));
+        when(programService.getProgramVersionForOrganizer(programId)).thenReturn(Optional.of(version));
+        when(programService.getProgramForOrganizer(programId)).thenReturn(Optional.of(program));
+        when(programMapper.toGetProgramDetailsResponseDto(program)).thenReturn(getProgramDetailsResponseDto);
+
+        ResponseEntity<GetProgramDetailsResponseDto> response = programController.getProgram(programId, request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(servletResponse.getHeader(HttpHeaders.ETAG));
+        assertNull(servletResponse.getHeader(HttpHeaders.LAST_MODIFIED));
+        assertEquals("no-cache, private", servletResponse.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void getProgram_whenEtagMatches_thenReturnsNotModifiedWithoutLoading() {
+        ResourceVersion version = new ResourceVersion(1, LocalDateTime.of(2026, 1, 7, 10, 30), 0, null);
+        when(programService.getProgramVersionForOrganizer(programId)).thenReturn(Optional.of(version));
+        programController.getProgram(programId, request);
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, servletResponse.getHeader(HttpHeaders.ETAG));
+        clearInvocations(programService);
+
+        ResponseEntity<GetProgramDetailsResponseDto> response = programController.getProgram(
+                programId, new ServletWebRequest(servletRequest, new MockHttpServletResponse()));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        verify(programService, never()).getProgramForOrganizer(any());
+    }
+
     @Test
     void getProgram_whenCalled_thenCallsServiceWithCorrectId() {
         UUID specificId = UUID.randomUUID();
         when(programService.getProgramForOrganizer(specificId)).thenReturn(Optional.empty());
 
-        programController.getProgram(specificId);
+        programController.getProgram(specificId, request);
 
         verify(programService).getProgramForOrganizer(specificId);
     }
@@ -262,7 +345,7 @@ class ProgramControllerTest {
         when(programService.getProgramForOrganizer(programId)).thenReturn(Optional.of(program));
         when(programMapper.toGetProgramDetailsResponseDto(program)).thenReturn(getProgramDetailsResponseDto);
 
-        programController.getProgram(programId);
+        programController.getProgram(programId, request);
 
         verify(programService).getProgramForOrganizer(programId);
         verify(programMapper).toGetProgramDetailsResponseDto(program);
@@ -1,27 +1,44 @@
 package dev.joshuaonyema.kaleo.api.controller;
 
+import dev.joshuaonyema.kaleo.api.cache.PublishedProgramResponseCache;
+import dev.joshuaonyema.kaleo.api.dto.response.GetPublishedProgramDetailsResponseDto;
 import dev.joshuaonyema.kaleo.api.dto.response.ListPublishedProgramResponseDto;
+import dev.joshuaonyema.kaleo.api.dto.response.ProgramSuggestionResponseDto;
+import dev.joshuaonyema.kaleo.api.dto.response.ScrollResponseDto;
+import dev.joshuaonyema.kaleo.application.event.ProgramChangedEvent;
 import dev.joshuaonyema.kaleo.application.service.ProgramService;
 import dev.joshuaonyema.kaleo.domain.entity.Program;
 import dev.joshuaonyema.kaleo.domain.entity.ProgramStatus;
 import dev.joshuaonyema.kaleo.domain.entity.User;
 import dev.joshuaonyema.kaleo.mapper.ProgramMapper;
+import dev.joshuaonyema.kaleo.repository.projection.ProgramSearchDocument;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -36,7 +53,8 @@ class PublishedProgramControllerTest {
     @Mock
     private ProgramService programService;
 
-    @InjectMocks
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private PublishedProgramResponseCache responseCache;
     private PublishedProgramController publishedProgramController;
 
     private UUID programId;
@@ -45,6 +63,10 @@ class PublishedProgramControllerTest {
 
     @BeforeEach
     void setUp() {
+        responseCache = new PublishedProgramResponseCache(
+                jsonMapper, new SimpleMeterRegistry(), 100, 5, 100, Duration.ofMinutes(5));
+        publishedProgramController = new PublishedProgramController(programMapper, programService, responseCache);
+
         programId = UUID.randomUUID();
         UUID userId = UUID.randomUUID();
 
@@ -82,19 +104,19 @@ class PublishedProgramControllerTest {
         when(programService.listPublishedPrograms(any(Pageable.class))).thenReturn(programPage);
         when(programMapper.toListPublishedProgramResponseDto(program)).thenReturn(listPublishedProgramResponseDto);
 
-        ResponseEntity<Page<ListPublishedProgramResponseDto>> response =
-                publishedProgramController.listPublishedPrograms(null, pageable);
+        ResponseEntity<byte[]> response =
+                publishedProgramController.listPublishedPrograms(null, pageable, null, null);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(1, response.getBody().getTotalElements());
-        assertEquals(1, response.getBody().getContent().size());
+        assertEquals(1, json(response).get("page").get("totalElements").asLong());
+        assertEquals(1, json(response).get("content").size());
 
-        ListPublishedProgramResponseDto dto = response.getBody().getContent().getFirst();
-        assertEquals(programId, dto.getId());
-        assertEquals("Sunday Service", dto.getName());
-        assertEquals("Main Hall", dto.getVenue());
+        JsonNode dto = json(response).get("content").get(0);
+        assertEquals(programId.toString(), dto.get("id").asString());
+        assertEquals("Sunday Service", dto.get("name").asString());
+        assertEquals("Main Hall", dto.get("venue").asString());
 
         verify(programService).listPublishedPrograms(pageable);
         verify(programMapper).toListPublishedProgramResponseDto(program);
@@ -107,14 +129,14 @@ class PublishedProgramControllerTest {
 
         when(programService.listPublishedPrograms(any(Pageable.class))).thenReturn(emptyPage);
 
-        ResponseEntity<Page<ListPublishedProgramResponseDto>> response =
-                publishedProgramController.listPublishedPrograms(null, pageable);
+        ResponseEntity<byte[]> response =
+                publishedProgramController.listPublishedPrograms(null, pageable, null, null);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(0, response.getBody().getTotalElements());
-        assertTrue(response.getBody().getContent().isEmpty());
+        assertEquals(0, json(response).get("page").get("totalElements").asLong());
+        assertTrue(json(response).get("content").isEmpty());
 
         verify(programService).listPublishedPrograms(pageable);
         verify(programMapper, never()).toListPublishedProgramResponseDto(any());
@@ -146,14 +168,14 @@ class PublishedProgramControllerTest {
         when(programMapper.toListPublishedProgramResponseDto(program)).thenReturn(listPublishedProgramResponseDto);
         when(programMapper.toListPublishedProgramResponseDto(program2)).thenReturn(dto2);
 
-        ResponseEntity<Page<ListPublishedProgramResponseDto>> response =
-                publishedProgramController.listPublishedPrograms(null, pageable);
+        ResponseEntity<byte[]> response =
+                publishedProgramController.listPublishedPrograms(null, pageable, null, null);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(2, response.getBody().getTotalElements());
-        assertEquals(2, response.getBody().getContent().size());
+        assertEquals(2, json(response).get("page").get("totalElements").asLong());
+        assertEquals(2, json(response).get("content").size());
 
         verify(programService).listPublishedPrograms(pageable);
         verify(programMapper, times(2)).toListPublishedProgramResponseDto(any());
@@ -167,15 +189,15 @@ class PublishedProgramControllerTest {
         when(programService.listPublishedPrograms(customPageable)).thenReturn(programPage);
         when(programMapper.toListPublishedProgramResponseDto(program)).thenReturn(listPublishedProgramResponseDto);
 
-        ResponseEntity<Page<ListPublishedProgramResponseDto>> response =
-                publishedProgramController.listPublishedPrograms(null, customPageable);
+        ResponseEntity<byte[]> response =
+                publishedProgramController.listPublishedPrograms(null, customPageable, null, null);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(10, response.getBody().getTotalElements());
-        assertEquals(1, response.getBody().getNumber());
-        assertEquals(5, response.getBody().getSize());
+        assertEquals(10, json(response).get("page").get("totalElements").asLong());
+        assertEquals(1, json(response).get("page").get("number").asInt());
+        assertEquals(5, json(response).get("page").get("size").asInt());
 
         verify(programService).listPublishedPrograms(customPageable);
     }
@@ -189,8 +211,8 @@ class PublishedProgramControllerTest {
         when(programMapper.toListPublishedProgramResponseDto(any(Program.class)))
                 .thenReturn(listPublishedProgramResponseDto);
 
-        ResponseEntity<Page<ListPublishedProgramResponseDto>> response =
-                publishedProgramController.listPublishedPrograms(null, pageable);
+        ResponseEntity<byte[]> response =
+                publishedProgramController.listPublishedPrograms(null, pageable, null, null);
 
         assertNotNull(response);
         verify(programMapper, times(1)).toListPublishedProgramResponseDto(program);
@@ -207,13 +229,13 @@ class PublishedProgramControllerTest {
         when(programService.searchPublishedPrograms(searchQuery, pageable)).thenReturn(programPage);
         when(programMapper.toListPublishedProgramResponseDto(program)).thenReturn(listPublishedProgramResponseDto);
 
-        ResponseEntity<Page<ListPublishedProgramResponseDto>> response =
-                publishedProgramController.listPublishedPrograms(searchQuery, pageable);
+        ResponseEntity<byte[]> response =
+                publishedProgramController.listPublishedPrograms(searchQuery, pageable, null, null);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(1, response.getBody().getTotalElements());
+        assertEquals(1, json(response).get("page").get("totalElements").asLong());
 
         verify(programService).searchPublishedPrograms(searchQuery, pageable);
         verify(programService, never()).listPublishedPrograms(any());
@@ -228,8 +250,8 @@ class PublishedProgramControllerTest {
         when(programService.listPublishedPrograms(pageable)).thenReturn(programPage);
         when(programMapper.toListPublishedProgramResponseDto(program)).thenReturn(listPublishedProgramResponseDto);
 
-        ResponseEntity<Page<ListPublishedProgramResponseDto>> response =
-                publishedProgramController.listPublishedPrograms("", pageable);
+        ResponseEntity<byte[]> response =
+                publishedProgramController.listPublishedPrograms("", pageable, null, null);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -246,8 +268,8 @@ class PublishedProgramControllerTest {
         when(programService.listPublishedPrograms(pageable)).thenReturn(programPage);
         when(programMapper.toListPublishedProgramResponseDto(program)).thenReturn(listPublishedProgramResponseDto);
 
-        ResponseEntity<Page<ListPublishedProgramResponseDto>> response =
-                publishedProgramController.listPublishedPrograms("   ", pageable);
+        ResponseEntity<byte[]> response =
+                publishedProgramController.listPublishedPrograms("   ", pageable, null, null);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -264,16 +286,228 @@ class PublishedProgramControllerTest {
 
         when(programService.searchPublishedPrograms(searchQuery, pageable)).thenReturn(emptyPage);
 
-        ResponseEntity<Page<ListPublishedProgramResponseDto>> response =
-                publishedProgramController.listPublishedPrograms(searchQuery, pageable);
+        ResponseEntity<byte[]> response =
+                publishedProgramController.listPublishedPrograms(searchQuery, pageable, null, null);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(0, response.getBody().getTotalElements());
-        assertTrue(response.getBody().getContent().isEmpty());
+        assertEquals(0, json(response).get("page").get("totalElements").asLong());
+        assertTrue(json(response).get("content").isEmpty());
 
         verify(programService).searchPublishedPrograms(searchQuery, pageable);
         verify(programMapper, never()).toListPublishedProgramResponseDto(any());
     }
+
+    // ==================== Response Cache Tests ====================
+
+    @Test
+    void listPublishedPrograms_whenFirstPageRequestedTwice_thenQueriesAndMapsOnce() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(programService.listPublishedPrograms(pageable)).thenReturn(new PageImpl<>(List.of(program), pageable, 1));
+        when(programMapper.toListPublishedProgramResponseDto(program)).thenReturn(listPublishedProgramResponseDto);
+
+        publishedProgramController.listPublishedPrograms(null, pageable, null, null);
+        ResponseEntity<byte[]> response =
+                publishedProgramController.listPublishedPrograms(null, pageable, null, null);
+
+        assertEquals(programId.toString(), json(response).get("content").get(0).get("id").asString());
+        verify(programService, times(1)).listPublishedPrograms(pageable);
+        verify(programMapper, times(1)).toListPublishedProgramResponseDto(program);
+    }
+
+    @Test
+    void listPublishedPrograms_whenSearchRepeated_thenSearchesEachTime() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(programService.searchPublishedPrograms("Sunday", pageable))
+                .thenReturn(new PageImpl<>(List.of(), pageable, 0));
+
+        publishedProgramController.listPublishedPrograms("Sunday", pageable, null, null);
+        publishedProgramController.listPublishedPrograms("Sunday", pageable, null, null);
+
+        verify(programService, times(2)).searchPublishedPrograms("Sunday", pageable);
+    }
+
+    @Test
+    void getPublishedProgramDetails_whenRequestedTwice_thenQueriesAndMapsOnce() {
+        GetPublishedProgramDetailsResponseDto details = new GetPublishedProgramDetailsResponseDto();
+        details.setId(programId);
+        when(programService.getPublishedProgram(programId)).thenReturn(Optional.of(program));
+        when(programMapper.toGetPublishedProgramDetailsResponseDto(program)).thenReturn(details);
+
+        publishedProgramController.getPublishedProgramDetails(programId, null, null);
+        ResponseEntity<byte[]> response =
+                publishedProgramController.getPublishedProgramDetails(programId, null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(programId.toString(), json(response).get("id").asString());
+        verify(programService, times(1)).getPublishedProgram(programId);
+        verify(programMapper, times(1)).toGetPublishedProgramDetailsResponseDto(program);
+    }
+
+    @Test
+    void getPublishedProgramDetails_whenProgramChanged_thenLoadsAgain() {
+        when(programService.getPublishedProgram(programId)).thenReturn(Optional.of(program));
+        when(programMapper.toGetPublishedProgramDetailsResponseDto(program))
+                .thenReturn(new GetPublishedProgramDetailsResponseDto());
+
+        publishedProgramController.getPublishedProgramDetails(programId, null, null);
+        responseCache.onProgramChanged(new ProgramChangedEvent(programId));
+        publishedProgramController.getPublishedProgramDetails(programId, null, null);
+
+        verify(programService, times(2)).getPublishedProgram(programId);
+    }
+
+    @Test
+    void getPublishedProgramDetails_whenNotFound_thenReturnsNotFoundEachTime() {
+        when(programService.getPublishedProgram(programId)).thenReturn(Optional.empty());
+
+        publishedProgramController.getPublishedProgramDetails(programId, null, null);
+        ResponseEntity<byte[]> response =
+                publishedProgramController.getPublishedProgramDetails(programId, null, null);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        verify(programService, times(2)).getPublishedProgram(programId);
+    }
+
+    // ==================== Pre-rendered Response Tests ====================
+
+    @Test
+    void getPublishedProgramDetails_whenCalled_thenWritesJsonWithStrongETag() {
+        when(programService.getPublishedProgram(programId)).thenReturn(Optional.of(program));
+        when(programMapper.toGetPublishedProgramDetailsResponseDto(program))
+                .thenReturn(new GetPublishedProgramDetailsResponseDto());
+
+        ResponseEntity<byte[]> response = publishedProgramController.getPublishedProgramDetails(programId, null, null);
+
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertNotNull(response.getHeaders().getETag());
+        assertFalse(response.getHeaders().getETag().startsWith("W/"));
+        assertEquals("no-cache, public", response.getHeaders().getCacheControl());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void getPublishedProgramDetails_whenETagMatchesCachedResponse_thenReturnsNotModifiedWithoutServiceCall() {
+        when(programService.getPublishedProgram(programId)).thenReturn(Optional.of(program));
+        when(programMapper.toGetPublishedProgramDetailsResponseDto(program))
+                .thenReturn(new GetPublishedProgramDetailsResponseDto());
+        String etag = publishedProgramController.getPublishedProgramDetails(programId, null, null)
+                .getHeaders().getETag();
+
+        ResponseEntity<byte[]> response = publishedProgramController.getPublishedProgramDetails(programId, etag, null);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(etag, response.getHeaders().getETag());
+        verify(programService, times(1)).getPublishedProgram(programId);
+    }
+
+    @Test
+    void getPublishedProgramDetails_whenETagStale_thenReturnsBody() {
+        when(programService.getPublishedProgram(programId)).thenReturn(Optional.of(program));
+        when(programMapper.toGetPublishedProgramDetailsResponseDto(program))
+                .thenReturn(new GetPublishedProgramDetailsResponseDto());
+
+        ResponseEntity<byte[]> response =
+                publishedProgramController.getPublishedProgramDetails(programId, "\"stale\"", null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+    }
+
+    @Test
+    void listPublishedPrograms_whenGzipAccepted_thenWritesGzipBytesWithTheirOwnETag() throws IOException {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(programService.listPublishedPrograms(pageable)).thenReturn(new PageImpl<>(List.of(program), pageable, 1));
+        when(programMapper.toListPublishedProgramResponseDto(program)).thenReturn(listPublishedProgramResponseDto);
+
+        ResponseEntity<byte[]> plain = publishedProgramController.listPublishedPrograms(null, pageable, null, null);
+        ResponseEntity<byte[]> gzipped =
+                publishedProgramController.listPublishedPrograms(null, pageable, null, "br, gzip;q=0.8");
+
+        assertEquals("gzip", gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), gzipped.getHeaders().getVary());
+        assertNotEquals(plain.getHeaders().getETag(), gzipped.getHeaders().getETag());
+        try (GZIPInputStream gunzip = new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody()))) {
+            assertArrayEquals(plain.getBody(), gunzip.readAllBytes());
+        }
+    }
+
+    @Test
+    void listPublishedPrograms_whenGzipRefused_thenWritesPlainJson() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(programService.listPublishedPrograms(pageable)).thenReturn(new PageImpl<>(List.of(), pageable, 0));
+
+        ResponseEntity<byte[]> response =
+                publishedProgramController.listPublishedPrograms(null, pageable, null, "gzip;q=0, identity");
+
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(0, json(response).get("page").get("totalElements").asLong());
+    }
+
+    @Test
+    void listPublishedPrograms_whenETagMatchesCachedPage_thenReturnsNotModifiedWithoutServiceCall() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(programService.listPublishedPrograms(pageable)).thenReturn(new PageImpl<>(List.of(program), pageable, 1));
+        when(programMapper.toListPublishedProgramResponseDto(program)).thenReturn(listPublishedProgramResponseDto);
+        String etag = publishedProgramController.listPublishedPrograms(null, pageable, null, "gzip")
+                .getHeaders().getETag();
+
+        ResponseEntity<byte[]> response =
+                publishedProgramController.listPublishedPrograms(null, pageable, "W/" + etag, "gzip");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        verify(programService, times(1)).listPublishedPrograms(pageable);
+    }
+
+    // ==================== Scroll Published Programs Tests ====================
+
+    @Test
+    void scrollPublishedPrograms_whenCalled_thenReturnsMappedWindow() {
+        when(programService.scrollPublishedPrograms(ScrollPosition.keyset(), 20))
+                .thenReturn(Window.from(List.of(program), index -> ScrollPosition.keyset()));
+        when(programMapper.toListPublishedProgramResponseDto(program)).thenReturn(listPublishedProgramResponseDto);
+
+        ResponseEntity<ScrollResponseDto<ListPublishedProgramResponseDto>> response =
+                publishedProgramController.scrollPublishedPrograms(null, 20);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(listPublishedProgramResponseDto), response.getBody().getContent());
+        assertNull(response.getBody().getNextToken());
+    }
+
+    // ==================== Suggest Published Programs Tests ====================
+
+    @Test
+    void suggestPublishedPrograms_whenMatches_thenReturnsSuggestions() {
+        ProgramSearchDocument document = new ProgramSearchDocument(programId, "Sunday Service", "Main Hall");
+        ProgramSuggestionResponseDto dto = new ProgramSuggestionResponseDto(programId, "Sunday Service", "Main Hall");
+        when(programService.suggestPublishedPrograms("sun", 10)).thenReturn(List.of(document));
+        when(programMapper.toProgramSuggestionResponseDto(document)).thenReturn(dto);
+
+        ResponseEntity<List<ProgramSuggestionResponseDto>> response =
+                publishedProgramController.suggestPublishedPrograms("sun", 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(dto), response.getBody());
+    }
+
+    @Test
+    void suggestPublishedPrograms_whenNoMatches_thenReturnsEmptyList() {
+        when(programService.suggestPublishedPrograms("zzz", 10)).thenReturn(List.of());
+
+        ResponseEntity<List<ProgramSuggestionResponseDto>> response =
+                publishedProgramController.suggestPublishedPrograms("zzz", 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertTrue(response.getBody().isEmpty());
+        verify(programMapper, never()).toProgramSuggestionResponseDto(any());
+    }
+
+    private JsonNode json(ResponseEntity<byte[]> response) {
+        assertNotNull(response.getBody());
+        return jsonMapper.readTree(response.getBody());
+    }
 }
@@ -0,0 +1,92 @@
+package dev.joshuaonyema.kaleo.api.pagination;
+
+import dev.joshuaonyema.kaleo.exception.InvalidContinuationTokenException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContinuationTokensTest {
+
+    // ==================== nextToken Tests ====================
+
+    @Test
+    void nextToken_whenMoreRemain_thenDecodesToLastPosition() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 7, 10, 30, 15, 123_456_000);
+        UUID id = UUID.randomUUID();
+        ScrollPosition last = ScrollPosition.forward(Map.of("createdAt", createdAt, "id", id));
+
+        String token = ContinuationTokens.nextToken(Window.from(List.of("a", "b"), index -> last, true));
+
+        assertEquals(last, ContinuationTokens.decode(token));
+    }
+
+    @Test
+    void nextToken_whenTokenIssued_thenIsUrlSafe() {
+        ScrollPosition last = ScrollPosition.forward(Map.of("createdAt", LocalDateTime.now(), "id", UUID.randomUUID()));
+
+        String token = ContinuationTokens.nextToken(Window.from(List.of("a"), index -> last, true));
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void nextToken_whenLastWindow_thenReturnsNull() {
+        assertNull(ContinuationTokens.nextToken(Window.from(List.of("a"), index -> ScrollPosition.keyset(), false)));
+        assertNull(ContinuationTokens.nextToken(Window.from(List.of(), index -> ScrollPosition.keyset(), true)));
+    }
+
+    @Test
+    void nextToken_whenOffsetWindow_thenThrowsIllegalArgument() {
+        Window<String> window = Window.from(List.of("a"), ScrollPosition::offset, true);
+
+        assertThrows(IllegalArgumentException.class, () -> ContinuationTokens.nextToken(window));
+    }
+
+    // ==================== decode Tests ====================
+
+    @Test
+    void decode_whenNoToken_thenStartsFromTheBeginning() {
+        assertEquals(ScrollPosition.keyset(), ContinuationTokens.decode(null));
+        assertEquals(ScrollPosition.keyset(), ContinuationTokens.decode("  "));
+    }
+
+    @Test
+    void decode_whenTokenValid_thenScrollsForward() {
+        ScrollPosition position = ContinuationTokens.decode(encode("2026-01-07T10:30|" + UUID.randomUUID()));
+
+        assertInstanceOf(KeysetScrollPosition.class, position);
+        assertEquals(ScrollPosition.Direction.FORWARD, ((KeysetScrollPosition) position).getDirection());
+    }
+
+    @Test
+    void decode_whenNotBase64_thenThrowsInvalidToken() {
+        assertThrows(InvalidContinuationTokenException.class, () -> ContinuationTokens.decode("not a token!"));
+    }
+
+    @Test
+    void decode_whenNoSeparator_thenThrowsInvalidToken() {
+        assertThrows(InvalidContinuationTokenException.class, () -> ContinuationTokens.decode(encode("2026-01-07T10:30")));
+    }
+
+    @Test
+    void decode_whenTimestampOrIdMalformed_thenThrowsInvalidToken() {
+        assertThrows(InvalidContinuationTokenException.class,
+                () -> ContinuationTokens.decode(encode("yesterday|" + UUID.randomUUID())));
+        assertThrows(InvalidContinuationTokenException.class,
+                () -> ContinuationTokens.decode(encode("2026-01-07T10:30|not-a-uuid")));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
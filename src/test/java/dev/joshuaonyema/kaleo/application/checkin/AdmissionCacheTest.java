@@ -0,0 +1,151 @@
+package dev.joshuaonyema.kaleo.application.checkin;
+
+import dev.joshuaonyema.kaleo.repository.PassRepository;
+import dev.joshuaonyema.kaleo.repository.projection.AdmittedCode;
+import dev.joshuaonyema.kaleo.repository.projection.CheckInCandidate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdmissionCacheTest {
+
+    @Mock
+    private PassRepository passRepository;
+
+    private AdmissionCache admissionCache;
+
+    private UUID programId;
+    private UUID passId;
+    private UUID passTypeId;
+    private UUID qrCodeId;
+    private CheckInCandidate admitted;
+
+    @BeforeEach
+    void setUp() {
+        admissionCache = new AdmissionCache(passRepository);
+        programId = UUID.randomUUID();
+        passId = UUID.randomUUID();
+        passTypeId = UUID.randomUUID();
+        qrCodeId = UUID.randomUUID();
+        admitted = new CheckInCandidate(passId, passTypeId, programId, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    // ==================== warm Tests ====================
+
+    @Test
+    void warm_whenProgramRunning_thenLoadsAdmittedPasses() {
+        when(passRepository.findAdmittedCodes(programId))
+                .thenReturn(List.of(new AdmittedCode(qrCodeId, true, "ABC234", passId, passTypeId)));
+
+        admissionCache.warm(programId, LocalDateTime.now().plusHours(2));
+
+        assertTrue(admissionCache.isWarm(programId));
+        assertEquals(admitted, admissionCache.findAdmittedByQrCode(programId, qrCodeId));
+        assertEquals(admitted, admissionCache.findAdmittedByManualCode(programId, "ABC234"));
+    }
+
+    @Test
+    void warm_whenQrCodeInactive_thenOnlyCachesManualCode() {
+        when(passRepository.findAdmittedCodes(programId))
+                .thenReturn(List.of(new AdmittedCode(qrCodeId, false, "ABC234", passId, passTypeId)));
+
+        admissionCache.warm(programId, LocalDateTime.now().plusHours(2));
+
+        assertNull(admissionCache.findAdmittedByQrCode(programId, qrCodeId));
+        assertEquals(admitted, admissionCache.findAdmittedByManualCode(programId, "ABC234"));
+    }
+
+    @Test
+    void warm_whenProgramEnded_thenDoesNotTrackIt() {
+        admissionCache.warm(programId, LocalDateTime.now().minusMinutes(1));
+
+        assertFalse(admissionCache.isWarm(programId));
+        verifyNoInteractions(passRepository);
+    }
+
+    @Test
+    void warm_whenAlreadyWarm_thenDoesNotReload() {
+        when(passRepository.findAdmittedCodes(programId)).thenReturn(List.of());
+
+        admissionCache.warm(programId, LocalDateTime.now().plusHours(2));
+        admissionCache.warm(programId, LocalDateTime.now().plusHours(2));
+
+        verify(passRepository, times(1)).findAdmittedCodes(programId);
+    }
+
+    // ==================== find Tests ====================
+
+    @Test
+    void findAdmittedByQrCode_whenProgramNotWarm_thenReturnsNull() {
+        assertNull(admissionCache.findAdmittedByQrCode(programId, qrCodeId));
+    }
+
+    @Test
+    void findAdmittedByQrCode_whenProgramEnded_thenEvictsProgram() throws InterruptedException {
+        when(passRepository.findAdmittedCodes(programId))
+                .thenReturn(List.of(new AdmittedCode(qrCodeId, true, "ABC234", passId, passTypeId)));
+        admissionCache.warm(programId, LocalDateTime.now().plusNanos(50_000_000));
+
+        Thread.sleep(100);
+
+        assertNull(admissionCache.findAdmittedByQrCode(programId, qrCodeId));
+        assertFalse(admissionCache.isWarm(programId));
+    }
+
+    // ==================== recordAdmissionAfterCommit Tests ====================
+
+    @Test
+    void recordAdmissionAfterCommit_whenNoTransaction_thenRecordsImmediately() {
+        when(passRepository.findAdmittedCodes(programId)).thenReturn(List.of());
+        admissionCache.warm(programId, LocalDateTime.now().plusHours(2));
+
+        admissionCache.recordAdmissionAfterCommit(
+                new CheckInCandidate(passId, passTypeId, programId, false), qrCodeId, null);
+
+        assertEquals(admitted, admissionCache.findAdmittedByQrCode(programId, qrCodeId));
+        assertNull(admissionCache.findAdmittedByManualCode(programId, "ABC234"));
+    }
+
+    @Test
+    void recordAdmissionAfterCommit_whenTransactionActive_thenWaitsForCommit() {
+        when(passRepository.findAdmittedCodes(programId)).thenReturn(List.of());
+        admissionCache.warm(programId, LocalDateTime.now().plusHours(2));
+        TransactionSynchronizationManager.initSynchronization();
+
+        admissionCache.recordAdmissionAfterCommit(
+                new CheckInCandidate(passId, passTypeId, programId, false), null, "ABC234");
+
+        assertNull(admissionCache.findAdmittedByManualCode(programId, "ABC234"));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(admitted, admissionCache.findAdmittedByManualCode(programId, "ABC234"));
+    }
+
+    @Test
+    void recordAdmissionAfterCommit_whenProgramNotWarm_thenIgnoresAdmission() {
+        admissionCache.recordAdmissionAfterCommit(
+                new CheckInCandidate(passId, passTypeId, programId, false), qrCodeId, "ABC234");
+
+        assertFalse(admissionCache.isWarm(programId));
+        assertNull(admissionCache.findAdmittedByQrCode(programId, qrCodeId));
+    }
+}
@@ -0,0 +1,264 @@
+package dev.joshuaonyema.kaleo.application.checkin;
+
+import dev.joshuaonyema.kaleo.domain.entity.CheckInCounter;
+import dev.joshuaonyema.kaleo.domain.entity.CheckInCounterId;
+import dev.joshuaonyema.kaleo.domain.entity.PassValidationStatus;
+import dev.joshuaonyema.kaleo.repository.CheckInCounterRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CheckInCountersTest {
+
+    @Mock
+    private CheckInCounterRepository checkInCounterRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private CheckInCounters checkInCounters;
+
+    private UUID programId;
+    private UUID passTypeId;
+
+    @BeforeEach
+    void setUp() {
+        // The scheduled flush never fires during a test; flush() is called directly
+        checkInCounters = new CheckInCounters(checkInCounterRepository, transactionTemplate, Duration.ofHours(1));
+        programId = UUID.randomUUID();
+        passTypeId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        checkInCounters.destroy();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    // ==================== getCounts Tests ====================
+
+    @Test
+    void getCounts_whenTracked_thenAddsUnflushedScansToPersistedCounts() {
+        when(checkInCounterRepository.findByIdProgramId(programId))
+                .thenReturn(List.of(new CheckInCounter(new CheckInCounterId(programId, passTypeId), 10, 2)));
+        checkInCounters.track(programId);
+
+        checkInCounters.record(programId, passTypeId, PassValidationStatus.VALID);
+        checkInCounters.record(programId, passTypeId, PassValidationStatus.INVALID);
+
+        CheckInCounts counts = checkInCounters.getCounts(programId);
+        assertEquals(11, counts.admitted());
+        assertEquals(3, counts.invalid());
+        assertEquals(List.of(new CheckInCounts.PassTypeCounts(passTypeId, 11, 3)), counts.passTypes());
+    }
+
+    @Test
+    void getCounts_whenOtherProgramScanned_thenIgnoresIt() {
+        when(checkInCounterRepository.findByIdProgramId(programId)).thenReturn(List.of());
+        checkInCounters.track(programId);
+
+        checkInCounters.record(UUID.randomUUID(), passTypeId, PassValidationStatus.VALID);
+
+        CheckInCounts counts = checkInCounters.getCounts(programId);
+        assertEquals(0, counts.admitted());
+        assertTrue(counts.passTypes().isEmpty());
+    }
+
+    @Test
+    void track_whenAlreadyTracked_thenDoesNotReload() {
+        when(checkInCounterRepository.findByIdProgramId(programId)).thenReturn(List.of());
+
+        checkInCounters.track(programId);
+        checkInCounters.track(programId);
+
+        verify(checkInCounterRepository, times(1)).findByIdProgramId(programId);
+    }
+
+    // ==================== flush Tests ====================
+
+    @Test
+    void flush_whenScansRecorded_thenAddsDeltasOnce() {
+        stubTransaction();
+        checkInCounters.record(programId, passTypeId, PassValidationStatus.VALID);
+        checkInCounters.record(programId, passTypeId, PassValidationStatus.VALID);
+        checkInCounters.record(programId, passTypeId, PassValidationStatus.INVALID);
+
+        checkInCounters.flush();
+        checkInCounters.flush();
+
+        verify(checkInCounterRepository, times(1)).insertIfAbsent(programId, passTypeId);
+        verify(checkInCounterRepository, times(1)).addCounts(programId, passTypeId, 2, 1);
+    }
+
+    @Test
+    void flush_whenProgramTracked_thenKeepsCountsUnchanged() {
+        stubTransaction();
+        when(checkInCounterRepository.findByIdProgramId(programId)).thenReturn(List.of());
+        checkInCounters.track(programId);
+        checkInCounters.record(programId, passTypeId, PassValidationStatus.VALID);
+
+        checkInCounters.flush();
+
+        assertEquals(1, checkInCounters.getCounts(programId).admitted());
+    }
+
+    @Test
+    void flush_whenWriteFails_thenRetriesOnNextFlush() {
+        stubTransaction();
+        when(checkInCounterRepository.addCounts(programId, passTypeId, 1, 0))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenReturn(1);
+        checkInCounters.record(programId, passTypeId, PassValidationStatus.VALID);
+
+        checkInCounters.flush();
+        checkInCounters.flush();
+
+        verify(checkInCounterRepository, times(2)).addCounts(programId, passTypeId, 1, 0);
+    }
+
+    @Test
+    void flush_whenWriteInProgress_thenReadersCountScansOnceWithoutWaiting() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(checkInCounterRepository.findByIdProgramId(programId)).thenReturn(List.of());
+        checkInCounters.track(programId);
+        checkInCounters.record(programId, passTypeId, PassValidationStatus.VALID);
+
+        Thread flusher = Thread.ofPlatform().start(checkInCounters::flush);
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        long admittedDuringWrite = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> checkInCounters.getCounts(programId).admitted());
+        release.countDown();
+        flusher.join();
+
+        assertEquals(1, admittedDuringWrite);
+        assertEquals(1, checkInCounters.getCounts(programId).admitted());
+    }
+
+    @Test
+    void flush_whenDeltaWritten_thenDropsItsEntry() {
+        stubTransaction();
+        checkInCounters.record(programId, passTypeId, PassValidationStatus.VALID);
+
+        checkInCounters.flush();
+        assertEquals(0, checkInCounters.unflushedPassTypes());
+
+        checkInCounters.record(programId, passTypeId, PassValidationStatus.VALID);
+        checkInCounters.flush();
+
+        verify(checkInCounterRepository, times(2)).addCounts(programId, passTypeId, 1, 0);
+    }
+
+    @Test
+    void flush_whenScansRecordedConcurrently_thenWritesEveryScanOnce() throws Exception {
+        int threads = 4;
+        int scansPerThread = 20_000;
+        AtomicLong written = new AtomicLong();
+        doAnswer(invocation -> {
+            written.addAndGet(invocation.<Long>getArgument(2));
+            return 1;
+        }).when(checkInCounterRepository).addCounts(eq(programId), eq(passTypeId), anyLong(), anyLong());
+        stubTransaction();
+
+        AtomicBoolean recording = new AtomicBoolean(true);
+        Thread flusher = Thread.ofPlatform().start(() -> {
+            while (recording.get()) {
+                checkInCounters.flush();
+            }
+        });
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int i = 0; i < threads; i++) {
+                executor.submit(() -> {
+                    for (int scan = 0; scan < scansPerThread; scan++) {
+                        checkInCounters.record(programId, passTypeId, PassValidationStatus.VALID);
+                    }
+                });
+            }
+        }
+        recording.set(false);
+        flusher.join();
+        checkInCounters.flush();
+
+        assertEquals((long) threads * scansPerThread, written.get());
+        assertEquals(0, checkInCounters.unflushedPassTypes());
+    }
+
+    // ==================== recordAfterCommit Tests ====================
+
+    @Test
+    void recordAfterCommit_whenTransactionActive_thenWaitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        checkInCounters.recordAfterCommit(programId, passTypeId, PassValidationStatus.VALID);
+
+        assertEquals(0, checkInCounters.getCounts(programId).admitted());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1, checkInCounters.getCounts(programId).admitted());
+    }
+
+    // ==================== drainChangedPrograms Tests ====================
+
+    @Test
+    void drainChangedPrograms_whenTrackedProgramScanned_thenReturnsItOnce() {
+        when(checkInCounterRepository.findByIdProgramId(programId)).thenReturn(List.of());
+        checkInCounters.track(programId);
+        checkInCounters.record(programId, passTypeId, PassValidationStatus.VALID);
+        checkInCounters.record(UUID.randomUUID(), passTypeId, PassValidationStatus.VALID);
+
+        assertEquals(Set.of(programId), checkInCounters.drainChangedPrograms());
+        assertTrue(checkInCounters.drainChangedPrograms().isEmpty());
+    }
+
+    @Test
+    void drainChangedPrograms_whenUntracked_thenStopsReportingProgram() {
+        when(checkInCounterRepository.findByIdProgramId(programId)).thenReturn(List.of());
+        checkInCounters.track(programId);
+        checkInCounters.untrack(programId);
+
+        checkInCounters.record(programId, passTypeId, PassValidationStatus.VALID);
+
+        assertTrue(checkInCounters.drainChangedPrograms().isEmpty());
+    }
+
+    private void stubTransaction() {
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+}
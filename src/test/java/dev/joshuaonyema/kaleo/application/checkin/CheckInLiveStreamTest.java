@@ -0,0 +1,80 @@
+package dev.joshuaonyema.kaleo.application.checkin;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CheckInLiveStreamTest {
+
+    @Mock
+    private CheckInCounters checkInCounters;
+
+    private CheckInLiveStream checkInLiveStream;
+
+    private UUID programId;
+
+    @BeforeEach
+    void setUp() {
+        // The scheduled publish never fires during a test; publish() is called directly
+        checkInLiveStream = new CheckInLiveStream(checkInCounters, Duration.ofHours(1), Duration.ofMinutes(5));
+        programId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        checkInLiveStream.destroy();
+    }
+
+    // ==================== subscribe Tests ====================
+
+    @Test
+    void subscribe_whenSeveralSubscribers_thenTracksProgramOnce() {
+        when(checkInCounters.getCounts(programId)).thenReturn(emptyCounts());
+
+        assertNotNull(checkInLiveStream.subscribe(programId));
+        assertNotNull(checkInLiveStream.subscribe(programId));
+
+        assertEquals(2, checkInLiveStream.subscriberCount(programId));
+        verify(checkInCounters, times(1)).track(programId);
+    }
+
+    // ==================== publish Tests ====================
+
+    @Test
+    void publish_whenChangedProgramHasSubscribers_thenReadsCountsOnce() {
+        when(checkInCounters.getCounts(programId)).thenReturn(emptyCounts());
+        checkInLiveStream.subscribe(programId);
+        checkInLiveStream.subscribe(programId);
+        when(checkInCounters.drainChangedPrograms()).thenReturn(Set.of(programId));
+
+        checkInLiveStream.publish();
+
+        // Once per subscriber for the initial snapshot, then once for the whole fan-out
+        verify(checkInCounters, times(3)).getCounts(programId);
+    }
+
+    @Test
+    void publish_whenChangedProgramHasNoSubscribers_thenSkipsIt() {
+        when(checkInCounters.drainChangedPrograms()).thenReturn(Set.of(programId));
+
+        checkInLiveStream.publish();
+
+        verify(checkInCounters, never()).getCounts(programId);
+    }
+
+    private CheckInCounts emptyCounts() {
+        return new CheckInCounts(programId, 0, 0, List.of());
+    }
+}
@@ -0,0 +1,97 @@
+package dev.joshuaonyema.kaleo.application.checkin;
+
+import dev.joshuaonyema.kaleo.repository.projection.ManifestEntry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckInManifestEncoderTest {
+
+    @Test
+    void write_whenCalled_thenWritesHeader() throws IOException {
+        CheckInManifest manifest = new CheckInManifest(1_750_000_000_000L, true, List.of(entry(UUID.randomUUID())));
+
+        DataInputStream in = read(manifest);
+
+        byte[] magic = in.readNBytes(4);
+        assertArrayEquals(CheckInManifestEncoder.MAGIC, magic);
+        assertEquals(1_750_000_000_000L, in.readLong());
+        assertEquals(1, in.readByte());
+        assertEquals(1, in.readInt());
+    }
+
+    @Test
+    void write_whenCalled_thenUsesFixedWidthRecords() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<ManifestEntry> entries = List.of(entry(UUID.randomUUID()), entry(UUID.randomUUID()), entry(UUID.randomUUID()));
+
+        CheckInManifestEncoder.write(new CheckInManifest(1L, false, entries), out);
+
+        assertEquals(CheckInManifestEncoder.HEADER_BYTES + 3 * CheckInManifestEncoder.ENTRY_BYTES, out.size());
+    }
+
+    @Test
+    void write_whenEntriesUnordered_thenSortsByUnsignedQrCodeId() throws IOException {
+        UUID high = new UUID(0x8000_0000_0000_0000L, 0L);
+        UUID low = new UUID(0x7000_0000_0000_0000L, 0L);
+        UUID lowest = new UUID(0L, 5L);
+
+        DataInputStream in = read(new CheckInManifest(1L, false, List.of(entry(high), entry(lowest), entry(low))));
+        in.skipNBytes(CheckInManifestEncoder.HEADER_BYTES);
+
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(new UUID(in.readLong(), in.readLong()));
+            in.skipNBytes(CheckInManifestEncoder.ENTRY_BYTES - 16);
+        }
+        assertEquals(List.of(lowest, low, high), ids);
+    }
+
+    @Test
+    void write_whenEntryWritten_thenRecordsPassCodeAndFlags() throws IOException {
+        UUID qrCodeId = UUID.randomUUID();
+        UUID passId = UUID.randomUUID();
+        ManifestEntry entry = new ManifestEntry(qrCodeId, passId, "ABC234", true, true);
+
+        DataInputStream in = read(new CheckInManifest(1L, false, List.of(entry)));
+        in.skipNBytes(CheckInManifestEncoder.HEADER_BYTES);
+
+        assertEquals(qrCodeId, new UUID(in.readLong(), in.readLong()));
+        assertEquals(passId, new UUID(in.readLong(), in.readLong()));
+        assertEquals("ABC234", new String(in.readNBytes(CheckInManifestEncoder.MANUAL_CODE_BYTES), StandardCharsets.US_ASCII));
+        assertEquals(CheckInManifestEncoder.FLAG_ACTIVE | CheckInManifestEncoder.FLAG_VALIDATED, in.readByte());
+    }
+
+    @Test
+    void write_whenManualCodeMissing_thenPadsWithZeros() throws IOException {
+        ManifestEntry entry = new ManifestEntry(UUID.randomUUID(), UUID.randomUUID(), null, false, false);
+
+        DataInputStream in = read(new CheckInManifest(1L, false, List.of(entry)));
+        in.skipNBytes(CheckInManifestEncoder.HEADER_BYTES + 32);
+
+        assertArrayEquals(new byte[CheckInManifestEncoder.MANUAL_CODE_BYTES],
+                in.readNBytes(CheckInManifestEncoder.MANUAL_CODE_BYTES));
+        assertEquals(0, in.readByte());
+    }
+
+    // ==================== Helper Methods ====================
+
+    private static ManifestEntry entry(UUID qrCodeId) {
+        return new ManifestEntry(qrCodeId, UUID.randomUUID(), "ABC234", true, false);
+    }
+
+    private static DataInputStream read(CheckInManifest manifest) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CheckInManifestEncoder.write(manifest, out);
+        return new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+    }
+}
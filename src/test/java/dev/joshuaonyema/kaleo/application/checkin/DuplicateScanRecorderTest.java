@@ -0,0 +1,122 @@
+package dev.joshuaonyema.kaleo.application.checkin;
+
+import dev.joshuaonyema.kaleo.domain.entity.*;
+import dev.joshuaonyema.kaleo.repository.PassRepository;
+import dev.joshuaonyema.kaleo.repository.PassValidationRepository;
+import dev.joshuaonyema.kaleo.repository.ProgramRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DuplicateScanRecorderTest {
+
+    @Mock
+    private PassValidationRepository passValidationRepository;
+
+    @Mock
+    private PassRepository passRepository;
+
+    @Mock
+    private ProgramRepository programRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private DuplicateScanRecorder duplicateScanRecorder;
+
+    private UUID passId;
+    private UUID programId;
+    private Pass pass;
+    private Program program;
+
+    @BeforeEach
+    void setUp() {
+        passId = UUID.randomUUID();
+        programId = UUID.randomUUID();
+        pass = new Pass();
+        pass.setId(passId);
+        program = new Program();
+        program.setId(programId);
+
+        when(passRepository.getReferenceById(passId)).thenReturn(pass);
+        when(programRepository.getReferenceById(programId)).thenReturn(program);
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        duplicateScanRecorder.destroy();
+    }
+
+    @Test
+    void enqueue_whenQueued_thenWritesInvalidAuditRow() {
+        duplicateScanRecorder = new DuplicateScanRecorder(
+                passValidationRepository, passRepository, programRepository, transactionTemplate, 10);
+
+        assertTrue(duplicateScanRecorder.enqueue(passId, programId, PassValidationMethod.QR_SCAN));
+
+        ArgumentCaptor<List<PassValidation>> captor = ArgumentCaptor.captor();
+        verify(passValidationRepository, timeout(5000)).saveAll(captor.capture());
+        PassValidation passValidation = captor.getValue().getFirst();
+        assertEquals(PassValidationStatus.INVALID, passValidation.getPassStatus());
+        assertEquals(PassValidationMethod.QR_SCAN, passValidation.getValidationMethod());
+        assertSame(pass, passValidation.getPass());
+        assertSame(program, passValidation.getProgram());
+    }
+
+    @Test
+    void enqueue_whenQueueFull_thenReturnsFalse() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(passValidationRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return invocation.getArgument(0);
+        });
+        duplicateScanRecorder = new DuplicateScanRecorder(
+                passValidationRepository, passRepository, programRepository, transactionTemplate, 1);
+
+        duplicateScanRecorder.enqueue(passId, programId, PassValidationMethod.MANUAL);
+        writing.await();
+        assertTrue(duplicateScanRecorder.enqueue(passId, programId, PassValidationMethod.MANUAL));
+
+        assertFalse(duplicateScanRecorder.enqueue(passId, programId, PassValidationMethod.MANUAL));
+        release.countDown();
+    }
+
+    @Test
+    void enqueue_whenWriteFails_thenKeepsWriting() {
+        when(passValidationRepository.saveAll(anyList()))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        duplicateScanRecorder = new DuplicateScanRecorder(
+                passValidationRepository, passRepository, programRepository, transactionTemplate, 10);
+
+        duplicateScanRecorder.enqueue(passId, programId, PassValidationMethod.QR_SCAN);
+        verify(passValidationRepository, timeout(5000)).saveAll(anyList());
+        duplicateScanRecorder.enqueue(passId, programId, PassValidationMethod.QR_SCAN);
+
+        verify(passValidationRepository, timeout(5000).times(2)).saveAll(anyList());
+    }
+}
@@ -0,0 +1,232 @@
+package dev.joshuaonyema.kaleo.application.inventory;
+
+import dev.joshuaonyema.kaleo.domain.entity.PassType;
+import dev.joshuaonyema.kaleo.repository.PassTypeRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PassInventoryTest {
+
+    @Mock
+    private PassTypeRepository passTypeRepository;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache cache;
+
+    @InjectMocks
+    private PassInventory passInventory;
+
+    private UUID passTypeId;
+    private PassType passType;
+
+    @BeforeEach
+    void setUp() {
+        passTypeId = UUID.randomUUID();
+        passType = new PassType();
+        passType.setId(passTypeId);
+        passType.setTotalAvailable(100);
+        passType.setSoldCount(0);
+        lenient().when(entityManagerFactory.getCache()).thenReturn(cache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    // ==================== tryReserve Tests ====================
+
+    @Test
+    void tryReserve_whenSeatsAvailable_thenUpdatesSoldCountInDatabase() {
+        passType.setSoldCount(10);
+        when(passTypeRepository.reserveSeats(passTypeId, 1)).thenReturn(1);
+
+        assertTrue(passInventory.tryReserve(passType, 1));
+        assertEquals(11, passInventory.getSoldCount(passTypeId));
+        verify(passTypeRepository).reserveSeats(passTypeId, 1);
+    }
+
+    @Test
+    void tryReserve_whenSoldOutInMemory_thenRejectsWithoutTouchingDatabase() {
+        passType.setSoldCount(100);
+
+        assertFalse(passInventory.tryReserve(passType, 1));
+        verify(passTypeRepository, never()).reserveSeats(any(), anyInt());
+    }
+
+    @Test
+    void tryReserve_whenQuantityExceedsRemaining_thenRejectsWholeRequest() {
+        passType.setSoldCount(95);
+
+        assertFalse(passInventory.tryReserve(passType, 10));
+        assertEquals(95, passInventory.getSoldCount(passTypeId));
+    }
+
+    @Test
+    void tryReserve_whenDatabaseRejects_thenReseedsOnNextAttempt() {
+        passType.setSoldCount(50);
+        when(passTypeRepository.reserveSeats(passTypeId, 1)).thenReturn(0);
+
+        assertFalse(passInventory.tryReserve(passType, 1));
+
+        passType.setSoldCount(100);
+        assertFalse(passInventory.tryReserve(passType, 1));
+        verify(passTypeRepository, times(1)).reserveSeats(passTypeId, 1);
+    }
+
+    @Test
+    void tryReserve_whenNoCapacityConfigured_thenDefersToDatabase() {
+        passType.setTotalAvailable(null);
+        passType.setSoldCount(1_000_000);
+        when(passTypeRepository.reserveSeats(passTypeId, 1)).thenReturn(1);
+
+        assertTrue(passInventory.tryReserve(passType, 1));
+    }
+
+    @Test
+    void tryReserve_whenThousandsOfConcurrentPurchases_thenNeverOversells() throws Exception {
+        int capacity = 500;
+        int purchasers = 10_000;
+        passType.setTotalAvailable(capacity);
+        when(passTypeRepository.reserveSeats(eq(passTypeId), eq(1))).thenReturn(1);
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>(purchasers);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < purchasers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return passInventory.tryReserve(passType, 1);
+                }));
+            }
+            start.countDown();
+        }
+
+        int accepted = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                accepted++;
+            }
+        }
+
+        assertEquals(capacity, accepted);
+        assertEquals(capacity, passInventory.getSoldCount(passTypeId));
+        verify(passTypeRepository, times(capacity)).reserveSeats(passTypeId, 1);
+    }
+
+    // ==================== Rollback Tests ====================
+
+    @Test
+    void tryReserve_whenTransactionRollsBack_thenReleasesReservation() {
+        passType.setTotalAvailable(1);
+        when(passTypeRepository.reserveSeats(passTypeId, 1)).thenReturn(1);
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertTrue(passInventory.tryReserve(passType, 1));
+        assertFalse(passInventory.tryReserve(passType, 1));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(0, passInventory.getSoldCount(passTypeId));
+    }
+
+    @Test
+    void tryReserve_whenTransactionCommits_thenKeepsReservation() {
+        when(passTypeRepository.reserveSeats(passTypeId, 2)).thenReturn(1);
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertTrue(passInventory.tryReserve(passType, 2));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertEquals(2, passInventory.getSoldCount(passTypeId));
+    }
+
+    @Test
+    void tryReserve_whenDatabaseFails_thenReleasesReservation() {
+        when(passTypeRepository.reserveSeats(passTypeId, 1)).thenThrow(new IllegalStateException("boom"));
+
+        assertThrows(IllegalStateException.class, () -> passInventory.tryReserve(passType, 1));
+        assertEquals(0, passInventory.getSoldCount(passTypeId));
+    }
+
+    // ==================== Cache Eviction Tests ====================
+
+    @Test
+    void tryReserve_whenTransactionCommits_thenEvictsOnlyReservedPassType() {
+        when(passTypeRepository.reserveSeats(passTypeId, 1)).thenReturn(1);
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertTrue(passInventory.tryReserve(passType, 1));
+        verify(cache, never()).evict(any(), any());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(cache).evict(PassType.class, passTypeId);
+        verifyNoMoreInteractions(cache);
+    }
+
+    @Test
+    void tryReserve_whenDatabaseRejects_thenEvictsNothing() {
+        when(passTypeRepository.reserveSeats(passTypeId, 1)).thenReturn(0);
+
+        assertFalse(passInventory.tryReserve(passType, 1));
+
+        verifyNoInteractions(cache);
+    }
+
+    // ==================== reconcile Tests ====================
+
+    @Test
+    void reconcile_whenBackfillEnabled_thenBackfillsAndClearsCounters() {
+        ReflectionTestUtils.setField(passInventory, "backfillSoldCounts", true);
+        when(passTypeRepository.reserveSeats(passTypeId, 3)).thenReturn(1);
+        passInventory.tryReserve(passType, 3);
+
+        passInventory.reconcile();
+
+        verify(passTypeRepository).backfillSoldCounts();
+        assertEquals(0, passInventory.getSoldCount(passTypeId));
+    }
+
+    @Test
+    void reconcile_whenBackfillDisabled_thenSkipsBackfill() {
+        ReflectionTestUtils.setField(passInventory, "backfillSoldCounts", false);
+
+        passInventory.reconcile();
+
+        verify(passTypeRepository, never()).backfillSoldCounts();
+    }
+}
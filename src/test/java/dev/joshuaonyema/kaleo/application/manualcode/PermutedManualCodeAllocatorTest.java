@@ -0,0 +1,112 @@
+package dev.joshuaonyema.kaleo.application.manualcode;
+
+import dev.joshuaonyema.kaleo.repository.PassRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PermutedManualCodeAllocatorTest {
+
+    @Mock
+    private PassRepository passRepository;
+
+    private PermutedManualCodeAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        allocator = new PermutedManualCodeAllocator(passRepository, "test-key");
+    }
+
+    @Test
+    void allocate_whenCalled_thenReturnsSixCharacterCode() {
+        when(passRepository.reserveManualCodeBlock()).thenReturn(1L);
+
+        String code = allocator.allocate();
+
+        assertEquals(6, code.length());
+        assertTrue(code.matches("^[A-HJ-NP-Z2-9]+$"));
+        verify(passRepository, never()).findByManualCode(anyString());
+    }
+
+    @Test
+    void allocate_whenBlockUsedUp_thenReservesNextBlock() {
+        when(passRepository.reserveManualCodeBlock())
+                .thenReturn(1L)
+                .thenReturn(1L + PermutedManualCodeAllocator.BLOCK_SIZE);
+
+        Set<String> codes = new HashSet<>();
+        for (int i = 0; i < PermutedManualCodeAllocator.BLOCK_SIZE + 1; i++) {
+            codes.add(allocator.allocate());
+        }
+
+        assertEquals(PermutedManualCodeAllocator.BLOCK_SIZE + 1, codes.size());
+        verify(passRepository, times(2)).reserveManualCodeBlock();
+    }
+
+    @Test
+    void allocate_whenNodesShareSequence_thenCodesNeverCollide() {
+        PermutedManualCodeAllocator otherNode = new PermutedManualCodeAllocator(passRepository, "test-key");
+        when(passRepository.reserveManualCodeBlock())
+                .thenReturn(1L)
+                .thenReturn(1L + PermutedManualCodeAllocator.BLOCK_SIZE);
+
+        Set<String> codes = new HashSet<>();
+        for (int i = 0; i < PermutedManualCodeAllocator.BLOCK_SIZE; i++) {
+            codes.add(allocator.allocate());
+            codes.add(otherNode.allocate());
+        }
+
+        assertEquals(2 * PermutedManualCodeAllocator.BLOCK_SIZE, codes.size());
+    }
+
+    @Test
+    void allocate_whenCalledConcurrently_thenCodesAreUnique() throws Exception {
+        long[] nextBlock = {1L};
+        when(passRepository.reserveManualCodeBlock()).thenAnswer(invocation -> {
+            long blockStart = nextBlock[0];
+            nextBlock[0] += PermutedManualCodeAllocator.BLOCK_SIZE;
+            return blockStart;
+        });
+
+        Set<String> codes = ConcurrentHashMap.newKeySet();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 10_000; i++) {
+                futures.add(executor.submit(() -> codes.add(allocator.allocate())));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertEquals(10_000, codes.size());
+    }
+
+    @Test
+    void allocate_whenSequenceExhausted_thenThrowsIllegalStateException() {
+        when(passRepository.reserveManualCodeBlock()).thenReturn(1L << 30);
+
+        assertThrows(IllegalStateException.class, () -> allocator.allocate());
+    }
+
+    @Test
+    void constructor_whenKeyMissing_thenFailsFast() {
+        assertThrows(IllegalStateException.class, () -> new PermutedManualCodeAllocator(passRepository, ""));
+        assertThrows(IllegalStateException.class, () -> new PermutedManualCodeAllocator(passRepository, "  "));
+    }
+}
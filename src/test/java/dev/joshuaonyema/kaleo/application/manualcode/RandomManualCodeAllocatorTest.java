@@ -0,0 +1,52 @@
+package dev.joshuaonyema.kaleo.application.manualcode;
+
+import dev.joshuaonyema.kaleo.domain.entity.Pass;
+import dev.joshuaonyema.kaleo.repository.PassRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RandomManualCodeAllocatorTest {
+
+    @Mock
+    private PassRepository passRepository;
+
+    private RandomManualCodeAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        allocator = new RandomManualCodeAllocator(passRepository, new SplittableRandom(42));
+    }
+
+    @Test
+    void allocate_whenCodeUnused_thenReturnsIt() {
+        when(passRepository.findByManualCode(anyString())).thenReturn(Optional.empty());
+
+        String code = allocator.allocate();
+
+        assertEquals(6, code.length());
+        verify(passRepository, times(1)).findByManualCode(code);
+    }
+
+    @Test
+    void allocate_whenCodeCollides_thenDrawsAgain() {
+        // First code collides, second one is unique
+        when(passRepository.findByManualCode(anyString()))
+                .thenReturn(Optional.of(new Pass()))
+                .thenReturn(Optional.empty());
+
+        allocator.allocate();
+
+        verify(passRepository, times(2)).findByManualCode(anyString());
+    }
+}
@@ -0,0 +1,78 @@
+package dev.joshuaonyema.kaleo.application.qrcode;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QrCodeImageCacheTest {
+
+    @Mock
+    private QrCodeImageRenderer qrCodeImageRenderer;
+
+    private SimpleMeterRegistry meterRegistry;
+    private QrCodeImageCache qrCodeImageCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        qrCodeImageCache = new QrCodeImageCache(qrCodeImageRenderer, meterRegistry, 1024);
+    }
+
+    @Test
+    void get_whenCalledTwice_thenRendersOnce() {
+        UUID qrCodeId = UUID.randomUUID();
+        byte[] image = {1, 2, 3};
+        when(qrCodeImageRenderer.render(qrCodeId, QrCodeImageFormat.PNG, 300)).thenReturn(image);
+
+        assertArrayEquals(image, qrCodeImageCache.get(qrCodeId, QrCodeImageFormat.PNG, 300).content());
+        assertArrayEquals(image, qrCodeImageCache.get(qrCodeId, QrCodeImageFormat.PNG, 300).content());
+
+        verify(qrCodeImageRenderer, times(1)).render(qrCodeId, QrCodeImageFormat.PNG, 300);
+    }
+
+    @Test
+    void get_whenDifferentSizes_thenCachesEachPngSeparately() {
+        UUID qrCodeId = UUID.randomUUID();
+        when(qrCodeImageRenderer.render(qrCodeId, QrCodeImageFormat.PNG, 300)).thenReturn(new byte[]{1});
+        when(qrCodeImageRenderer.render(qrCodeId, QrCodeImageFormat.PNG, 600)).thenReturn(new byte[]{2});
+
+        assertArrayEquals(new byte[]{1}, qrCodeImageCache.get(qrCodeId, QrCodeImageFormat.PNG, 300).content());
+        assertArrayEquals(new byte[]{2}, qrCodeImageCache.get(qrCodeId, QrCodeImageFormat.PNG, 600).content());
+    }
+
+    @Test
+    void get_whenSvgRequestedAtDifferentSizes_thenSharesOneEntry() {
+        UUID qrCodeId = UUID.randomUUID();
+        when(qrCodeImageRenderer.render(qrCodeId, QrCodeImageFormat.SVG, 0)).thenReturn("<svg/>".getBytes());
+
+        QrCodeImage first = qrCodeImageCache.get(qrCodeId, QrCodeImageFormat.SVG, 300);
+        QrCodeImage second = qrCodeImageCache.get(qrCodeId, QrCodeImageFormat.SVG, 900);
+
+        assertSame(first, second);
+        verify(qrCodeImageRenderer, times(1)).render(qrCodeId, QrCodeImageFormat.SVG, 0);
+    }
+
+    @Test
+    void get_whenCalled_thenPublishesHitAndMissMetrics() {
+        UUID qrCodeId = UUID.randomUUID();
+        when(qrCodeImageRenderer.render(qrCodeId, QrCodeImageFormat.PNG, 300)).thenReturn(new byte[]{1});
+
+        qrCodeImageCache.get(qrCodeId, QrCodeImageFormat.PNG, 300);
+        qrCodeImageCache.get(qrCodeId, QrCodeImageFormat.PNG, 300);
+        qrCodeImageCache.get(qrCodeId, QrCodeImageFormat.PNG, 300);
+
+        assertEquals(2.0, meterRegistry.get("cache.gets")
+                .tags("cache", "qrCodeImages", "result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tags("cache", "qrCodeImages", "result", "miss").functionCounter().count());
+    }
+}
@@ -0,0 +1,88 @@
+package dev.joshuaonyema.kaleo.application.qrcode;
+
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import dev.joshuaonyema.kaleo.exception.QrCodeGenerationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QrCodeImageRendererTest {
+
+    @Mock
+    private QRCodeWriter qrCodeWriter;
+
+    @InjectMocks
+    private QrCodeImageRenderer qrCodeImageRenderer;
+
+    @Test
+    void renderPng_whenCalled_thenReturnsPngBytes() throws Exception {
+        when(qrCodeWriter.encode(anyString(), any(), anyInt(), anyInt()))
+            .thenReturn(new BitMatrix(300, 300));
+
+        byte[] image = qrCodeImageRenderer.renderPng(UUID.randomUUID());
+
+        assertTrue(image.length > 8);
+        assertEquals((byte) 0x89, image[0]);
+        assertEquals('P', image[1]);
+        assertEquals('N', image[2]);
+        assertEquals('G', image[3]);
+    }
+
+    @Test
+    void renderPng_whenCalled_thenEncodesQrCodeIdWithCorrectDimensions() throws Exception {
+        UUID qrCodeId = UUID.randomUUID();
+        when(qrCodeWriter.encode(eq(qrCodeId.toString()), any(), eq(300), eq(300)))
+            .thenReturn(new BitMatrix(300, 300));
+
+        qrCodeImageRenderer.renderPng(qrCodeId);
+
+        verify(qrCodeWriter).encode(eq(qrCodeId.toString()), any(), eq(300), eq(300));
+    }
+
+    @Test
+    void renderPng_whenWriterFails_thenThrowsQrCodeGenerationException() throws Exception {
+        when(qrCodeWriter.encode(anyString(), any(), anyInt(), anyInt()))
+            .thenThrow(new WriterException("Encoding failed"));
+
+        QrCodeGenerationException exception = assertThrows(
+            QrCodeGenerationException.class,
+            () -> qrCodeImageRenderer.renderPng(UUID.randomUUID())
+        );
+
+        assertEquals("Failed to generate QR Code", exception.getMessage());
+    }
+
+    @Test
+    void renderPng_whenSizeGiven_thenEncodesWithThatSize() throws Exception {
+        UUID qrCodeId = UUID.randomUUID();
+        when(qrCodeWriter.encode(eq(qrCodeId.toString()), any(), eq(600), eq(600)))
+            .thenReturn(new BitMatrix(600, 600));
+
+        qrCodeImageRenderer.renderPng(qrCodeId, 600);
+
+        verify(qrCodeWriter).encode(eq(qrCodeId.toString()), any(), eq(600), eq(600));
+    }
+
+    @Test
+    void renderSvg_whenCalled_thenEncodesOnePixelPerModule() throws Exception {
+        UUID qrCodeId = UUID.randomUUID();
+        when(qrCodeWriter.encode(eq(qrCodeId.toString()), any(), eq(0), eq(0)))
+            .thenReturn(new BitMatrix(37, 37));
+
+        String svg = new String(qrCodeImageRenderer.renderSvg(qrCodeId));
+
+        assertTrue(svg.startsWith("<svg"));
+        assertTrue(svg.contains("viewBox=\"0 0 37 37\""));
+    }
+}
@@ -0,0 +1,93 @@
+package dev.joshuaonyema.kaleo.application.qrcode;
+
+import dev.joshuaonyema.kaleo.exception.QrCodeGenerationException;
+import dev.joshuaonyema.kaleo.repository.QrCodeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QrCodeRenderQueueTest {
+
+    @Mock
+    private QrCodeImageRenderer qrCodeImageRenderer;
+
+    @Mock
+    private QrCodeRepository qrCodeRepository;
+
+    private QrCodeRenderQueue qrCodeRenderQueue;
+
+    @BeforeEach
+    void setUp() {
+        qrCodeRenderQueue = new QrCodeRenderQueue(qrCodeImageRenderer, qrCodeRepository, 1, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        qrCodeRenderQueue.destroy();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void submitAfterCommit_whenNoTransaction_thenRendersAndStoresImage() {
+        UUID qrCodeId = UUID.randomUUID();
+        byte[] image = {1, 2, 3};
+        when(qrCodeImageRenderer.renderPng(qrCodeId)).thenReturn(image);
+
+        qrCodeRenderQueue.submitAfterCommit(List.of(qrCodeId));
+
+        verify(qrCodeRepository, timeout(5000))
+                .storeRenderedImage(qrCodeId, Base64.getEncoder().encodeToString(image));
+    }
+
+    @Test
+    void submitAfterCommit_whenTransactionActive_thenWaitsForCommit() {
+        UUID qrCodeId = UUID.randomUUID();
+        when(qrCodeImageRenderer.renderPng(qrCodeId)).thenReturn(new byte[]{1});
+        TransactionSynchronizationManager.initSynchronization();
+
+        qrCodeRenderQueue.submitAfterCommit(List.of(qrCodeId));
+        verifyNoInteractions(qrCodeImageRenderer);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(qrCodeRepository, timeout(5000)).storeRenderedImage(eq(qrCodeId), anyString());
+    }
+
+    @Test
+    void submitAfterCommit_whenTransactionRollsBack_thenNeverRenders() {
+        UUID qrCodeId = UUID.randomUUID();
+        TransactionSynchronizationManager.initSynchronization();
+
+        qrCodeRenderQueue.submitAfterCommit(List.of(qrCodeId));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verifyNoInteractions(qrCodeImageRenderer, qrCodeRepository);
+    }
+
+    @Test
+    void submitAfterCommit_whenRenderingFails_thenLeavesImagePending() {
+        UUID qrCodeId = UUID.randomUUID();
+        when(qrCodeImageRenderer.renderPng(qrCodeId)).thenThrow(new QrCodeGenerationException("boom"));
+
+        qrCodeRenderQueue.submitAfterCommit(List.of(qrCodeId));
+
+        verify(qrCodeImageRenderer, timeout(5000)).renderPng(qrCodeId);
+        verify(qrCodeRepository, after(200).never()).storeRenderedImage(any(), anyString());
+    }
+}
@@ -0,0 +1,35 @@
+package dev.joshuaonyema.kaleo.application.search;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Starts with the dev data seed, which saves its programs from a startup runner, and checks that the
+ * in-memory search and suggestions see them without a restart.
+ */
+@SpringBootTest(properties = "kaleo.qr-code.store-images=false")
+@ActiveProfiles({"test", "dev"})
+class DevDataSearchIntegrationTest {
+
+    @Autowired
+    private InMemoryProgramSearchIndex searchIndex;
+
+    @Autowired
+    private ProgramSuggestions programSuggestions;
+
+    @Test
+    void search_whenDevDataSeeded_thenFindsSeededPrograms() {
+        assertEquals(1, searchIndex.search("youth fire conference", PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    void suggest_whenDevDataSeeded_thenSuggestsSeededPrograms() {
+        assertFalse(programSuggestions.suggest("youth", 10).isEmpty());
+    }
+}
@@ -0,0 +1,200 @@
+package dev.joshuaonyema.kaleo.application.search;
+
+import dev.joshuaonyema.kaleo.domain.entity.Program;
+import dev.joshuaonyema.kaleo.domain.entity.ProgramStatus;
+import dev.joshuaonyema.kaleo.repository.ProgramRepository;
+import dev.joshuaonyema.kaleo.repository.projection.ProgramSearchDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryProgramSearchIndexTest {
+
+    @Mock
+    private ProgramRepository programRepository;
+
+    private InMemoryProgramSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new InMemoryProgramSearchIndex(programRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    // ==================== tokenize Tests ====================
+
+    @Test
+    void tokenize_whenTextHasPunctuationAndStopWords_thenKeepsLowerCaseTerms() {
+        assertEquals(List.of("youth", "camp", "abuja", "main", "hall"),
+                InMemoryProgramSearchIndex.tokenize("Youth Camps at the Abuja Main-Hall!"));
+    }
+
+    @Test
+    void tokenize_whenNull_thenReturnsNoTerms() {
+        assertTrue(InMemoryProgramSearchIndex.tokenize(null).isEmpty());
+    }
+
+    // ==================== search Tests ====================
+
+    @Test
+    void search_whenEveryTermMatches_thenReturnsProgram() {
+        UUID programId = index("Sunday Service", "Main Hall");
+
+        Page<UUID> result = searchIndex.search("sunday hall", PageRequest.of(0, 10));
+
+        assertEquals(List.of(programId), result.getContent());
+        assertEquals(1, result.getTotalElements());
+    }
+
+    @Test
+    void search_whenOneTermMissing_thenReturnsNothing() {
+        index("Sunday Service", "Main Hall");
+
+        assertTrue(searchIndex.search("sunday choir", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void search_whenQueryOnlyStopWords_thenReturnsNothing() {
+        index("Sunday Service", "Main Hall");
+
+        assertTrue(searchIndex.search("the and", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void search_whenTermRepeatedInShorterText_thenRanksItFirst() {
+        UUID weaker = index("Worship Night With Friends And Family", "Community Centre");
+        UUID stronger = index("Worship Worship", "Chapel");
+
+        Page<UUID> result = searchIndex.search("worship", PageRequest.of(0, 10));
+
+        assertEquals(List.of(stronger, weaker), result.getContent());
+    }
+
+    @Test
+    void search_whenPaged_thenReturnsRequestedSlice() {
+        for (int i = 0; i < 5; i++) {
+            index("Prayer Meeting " + i, "Room " + i);
+        }
+
+        Page<UUID> all = searchIndex.search("prayer", PageRequest.of(0, 5));
+        Page<UUID> second = searchIndex.search("prayer", PageRequest.of(1, 2));
+
+        assertEquals(5, second.getTotalElements());
+        assertEquals(all.getContent().subList(2, 4), second.getContent());
+    }
+
+    // ==================== Index Maintenance Tests ====================
+
+    @Test
+    void indexAfterCommit_whenProgramUnpublished_thenRemovesIt() {
+        UUID programId = index("Sunday Service", "Main Hall");
+        Program program = program(programId, "Sunday Service", ProgramStatus.DRAFT);
+
+        searchIndex.indexAfterCommit(program);
+
+        assertTrue(searchIndex.search("sunday", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void indexAfterCommit_whenProgramRenamed_thenFindsOnlyNewName() {
+        UUID programId = index("Sunday Service", "Main Hall");
+
+        searchIndex.indexAfterCommit(program(programId, "Evening Service", ProgramStatus.PUBLISHED));
+
+        assertTrue(searchIndex.search("sunday", PageRequest.of(0, 10)).isEmpty());
+        assertEquals(List.of(programId), searchIndex.search("evening", PageRequest.of(0, 10)).getContent());
+    }
+
+    @Test
+    void indexAfterCommit_whenTransactionActive_thenWaitsForCommit() {
+        UUID programId = UUID.randomUUID();
+        TransactionSynchronizationManager.initSynchronization();
+
+        searchIndex.indexAfterCommit(program(programId, "Sunday Service", ProgramStatus.PUBLISHED));
+
+        assertTrue(searchIndex.search("sunday", PageRequest.of(0, 10)).isEmpty());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(List.of(programId), searchIndex.search("sunday", PageRequest.of(0, 10)).getContent());
+    }
+
+    @Test
+    void removeAfterCommit_whenIndexed_thenRemovesProgram() {
+        UUID programId = index("Sunday Service", "Main Hall");
+
+        searchIndex.removeAfterCommit(programId);
+
+        assertTrue(searchIndex.search("service", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void load_whenProgramsPublished_thenIndexesThem() {
+        UUID programId = UUID.randomUUID();
+        when(programRepository.findPublishedSearchDocuments())
+                .thenReturn(List.of(new ProgramSearchDocument(programId, "Sunday Service", "Main Hall")));
+
+        searchIndex.load();
+
+        assertEquals(List.of(programId), searchIndex.search("main hall", PageRequest.of(0, 10)).getContent());
+    }
+
+    // ==================== Scale Tests ====================
+
+    @Test
+    void search_whenHundredThousandPrograms_thenRanksRareMatchesFirst() {
+        String[] venues = {"Main Hall", "Chapel", "Youth Centre", "Conference Room", "Open Field"};
+        String[] kinds = {"Service", "Prayer Meeting", "Bible Study", "Conference", "Retreat", "Concert"};
+        for (int i = 0; i < 100_000; i++) {
+            index(kinds[i % kinds.length] + " " + i, venues[i % venues.length]);
+        }
+        List<UUID> expected = new ArrayList<>();
+        expected.add(index("Harvest Concert", "Chapel"));
+        expected.add(index("Harvest Thanksgiving Concert Night", "Chapel Annex Building"));
+
+        Pageable pageable = PageRequest.of(0, 20);
+        Page<UUID> rare = searchIndex.search("harvest concert", pageable);
+        Page<UUID> common = searchIndex.search("concert chapel", pageable);
+
+        assertEquals(expected, rare.getContent());
+        // Every thirtieth generated program is a concert in the chapel, plus the two added above
+        assertEquals(3335, common.getTotalElements());
+        assertEquals(20, common.getContent().size());
+        assertFalse(common.getContent().contains(expected.getLast()));
+    }
+
+    private UUID index(String name, String venue) {
+        UUID programId = UUID.randomUUID();
+        searchIndex.index(new ProgramSearchDocument(programId, name, venue));
+        return programId;
+    }
+
+    private Program program(UUID programId, String name, ProgramStatus status) {
+        Program program = new Program();
+        program.setId(programId);
+        program.setName(name);
+        program.setVenue("Main Hall");
+        program.setStatus(status);
+        return program;
+    }
+}
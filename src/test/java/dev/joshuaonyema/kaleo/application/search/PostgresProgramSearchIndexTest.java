@@ -0,0 +1,40 @@
+package dev.joshuaonyema.kaleo.application.search;
+
+import dev.joshuaonyema.kaleo.repository.ProgramRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostgresProgramSearchIndexTest {
+
+    @Mock
+    private ProgramRepository programRepository;
+
+    @InjectMocks
+    private PostgresProgramSearchIndex searchIndex;
+
+    // ==================== search Tests ====================
+
+    @Test
+    void search_whenSortRequested_thenKeepsRelevanceOrder() {
+        Page<UUID> ids = new PageImpl<>(List.of(UUID.randomUUID()));
+        when(programRepository.searchPublishedProgramIds("youth", PageRequest.of(1, 20))).thenReturn(ids);
+
+        Page<UUID> result = searchIndex.search("youth", PageRequest.of(1, 20, Sort.by("name")));
+
+        assertSame(ids, result);
+    }
+}
@@ -0,0 +1,218 @@
+package dev.joshuaonyema.kaleo.application.search;
+
+import dev.joshuaonyema.kaleo.domain.entity.Program;
+import dev.joshuaonyema.kaleo.domain.entity.ProgramStatus;
+import dev.joshuaonyema.kaleo.repository.ProgramRepository;
+import dev.joshuaonyema.kaleo.repository.projection.ProgramSearchDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProgramSuggestionsTest {
+
+    @Mock
+    private ProgramRepository programRepository;
+
+    private ProgramSuggestions programSuggestions;
+
+    @BeforeEach
+    void setUp() {
+        programSuggestions = new ProgramSuggestions(programRepository, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        programSuggestions.destroy();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    // ==================== suggest Tests ====================
+
+    @Test
+    void suggest_whenPrefixStartsName_thenReturnsProgram() {
+        ProgramSearchDocument document = index("Youth Camp", "Main Hall");
+
+        assertEquals(List.of(document), programSuggestions.suggest("You", 10));
+    }
+
+    @Test
+    void suggest_whenPrefixStartsLaterWordOrVenue_thenReturnsProgram() {
+        ProgramSearchDocument document = index("Youth Camp", "Main Hall");
+
+        assertEquals(List.of(document), programSuggestions.suggest("camp", 10));
+        assertEquals(List.of(document), programSuggestions.suggest("main h", 10));
+    }
+
+    @Test
+    void suggest_whenPrefixInsideWord_thenReturnsNothing() {
+        index("Youth Camp", "Main Hall");
+
+        assertTrue(programSuggestions.suggest("outh", 10).isEmpty());
+    }
+
+    @Test
+    void suggest_whenPunctuationAndCaseDiffer_thenStillMatches() {
+        ProgramSearchDocument document = index("Youth-Camp 2026", "Main Hall");
+
+        assertEquals(List.of(document), programSuggestions.suggest("  YOUTH camp ", 10));
+    }
+
+    @Test
+    void suggest_whenNameAndVenueBothMatch_thenReturnsProgramOnce() {
+        ProgramSearchDocument document = index("Chapel Service", "Chapel");
+
+        assertEquals(List.of(document), programSuggestions.suggest("chap", 10));
+    }
+
+    @Test
+    void suggest_whenManyMatches_thenReturnsShortestCompletionsFirstUpToLimit() {
+        ProgramSearchDocument exact = index("Prayer", "Room 1");
+        index("Prayer Meeting", "Room 2");
+        index("Prayer Night", "Room 3");
+
+        List<ProgramSearchDocument> result = programSuggestions.suggest("pray", 2);
+
+        assertEquals(2, result.size());
+        assertEquals(exact, result.getFirst());
+    }
+
+    @Test
+    void suggest_whenLimitAboveMaximum_thenCapsResults() {
+        for (int i = 0; i < ProgramSuggestions.MAX_LIMIT + 5; i++) {
+            index("Concert " + i, "Hall");
+        }
+
+        assertEquals(ProgramSuggestions.MAX_LIMIT, programSuggestions.suggest("concert", 100).size());
+    }
+
+    @Test
+    void suggest_whenPrefixBlank_thenReturnsNothing() {
+        index("Youth Camp", "Main Hall");
+
+        assertTrue(programSuggestions.suggest(" - ", 10).isEmpty());
+    }
+
+    // ==================== Index Maintenance Tests ====================
+
+    @Test
+    void indexAfterCommit_whenProgramUnpublished_thenDropsSuggestions() {
+        ProgramSearchDocument document = index("Youth Camp", "Main Hall");
+
+        programSuggestions.indexAfterCommit(program(document.id(), "Youth Camp", ProgramStatus.DRAFT));
+
+        assertTrue(programSuggestions.suggest("youth", 10).isEmpty());
+    }
+
+    @Test
+    void indexAfterCommit_whenProgramRenamed_thenSuggestsOnlyNewName() {
+        ProgramSearchDocument document = index("Youth Camp", "Main Hall");
+
+        programSuggestions.indexAfterCommit(program(document.id(), "Family Retreat", ProgramStatus.PUBLISHED));
+
+        assertTrue(programSuggestions.suggest("youth", 10).isEmpty());
+        assertEquals(document.id(), programSuggestions.suggest("family", 10).getFirst().id());
+    }
+
+    @Test
+    void indexAfterCommit_whenTransactionActive_thenWaitsForCommit() {
+        UUID programId = UUID.randomUUID();
+        TransactionSynchronizationManager.initSynchronization();
+
+        programSuggestions.indexAfterCommit(program(programId, "Youth Camp", ProgramStatus.PUBLISHED));
+
+        assertTrue(programSuggestions.suggest("youth", 10).isEmpty());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(programId, programSuggestions.suggest("youth", 10).getFirst().id());
+    }
+
+    @Test
+    void removeAfterCommit_whenIndexed_thenDropsSuggestions() {
+        ProgramSearchDocument document = index("Youth Camp", "Main Hall");
+
+        programSuggestions.removeAfterCommit(document.id());
+
+        assertTrue(programSuggestions.suggest("main", 10).isEmpty());
+    }
+
+    @Test
+    void load_whenProgramsPublished_thenLoadsThem() {
+        ProgramSearchDocument document = new ProgramSearchDocument(UUID.randomUUID(), "Youth Camp", "Main Hall");
+        when(programRepository.findPublishedSearchDocuments()).thenReturn(List.of(document));
+
+        programSuggestions.load();
+
+        assertEquals(List.of(document), programSuggestions.suggest("youth", 10));
+    }
+
+    // ==================== refresh Tests ====================
+
+    @Test
+    void refresh_whenChangedOnAnotherNode_thenReplacesSuggestions() {
+        ProgramSearchDocument unpublished = index("Youth Camp", "Main Hall");
+        ProgramSearchDocument published = new ProgramSearchDocument(UUID.randomUUID(), "Choir Night", "Chapel");
+        when(programRepository.findPublishedSearchDocuments()).thenReturn(List.of(published));
+
+        programSuggestions.refresh();
+
+        assertTrue(programSuggestions.suggest("youth", 10).isEmpty());
+        assertEquals(List.of(published), programSuggestions.suggest("choir", 10));
+        assertFalse(programSuggestions.suggest("main", 10).contains(unpublished));
+    }
+
+    @Test
+    void refresh_whenWritesCommitDuringRebuild_thenKeepsThem() {
+        ProgramSearchDocument removed = new ProgramSearchDocument(UUID.randomUUID(), "Youth Camp", "Main Hall");
+        ProgramSearchDocument added = new ProgramSearchDocument(UUID.randomUUID(), "Choir Night", "Chapel");
+        when(programRepository.findPublishedSearchDocuments()).thenAnswer(invocation -> {
+            // The database was read before these writes committed
+            programSuggestions.index(added);
+            programSuggestions.remove(removed.id());
+            return List.of(removed);
+        });
+
+        programSuggestions.refresh();
+
+        assertTrue(programSuggestions.suggest("youth", 10).isEmpty());
+        assertEquals(List.of(added), programSuggestions.suggest("choir", 10));
+    }
+
+    @Test
+    void refresh_whenRepositoryFails_thenKeepsCurrentSuggestions() {
+        ProgramSearchDocument document = index("Youth Camp", "Main Hall");
+        when(programRepository.findPublishedSearchDocuments()).thenThrow(new IllegalStateException("down"));
+
+        assertThrows(IllegalStateException.class, () -> programSuggestions.refresh());
+
+        assertEquals(List.of(document), programSuggestions.suggest("youth", 10));
+    }
+
+    private ProgramSearchDocument index(String name, String venue) {
+        ProgramSearchDocument document = new ProgramSearchDocument(UUID.randomUUID(), name, venue);
+        programSuggestions.index(document);
+        return document;
+    }
+
+    private Program program(UUID programId, String name, ProgramStatus status) {
+        Program program = new Program();
+        program.setId(programId);
+        program.setName(name);
+        program.setVenue("Main Hall");
+        program.setStatus(status);
+        return program;
+    }
+}
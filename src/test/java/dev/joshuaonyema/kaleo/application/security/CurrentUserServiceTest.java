@@ -10,11 +10,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -55,6 +58,7 @@ class CurrentUserServiceTest {
     @AfterEach
     void tearDown() {
         SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
     }
 
     // ==================== getCurrentUser Tests ====================
@@ -102,6 +106,32 @@ class CurrentUserServiceTest {
         verify(userRepository, never()).findById(any());
     }
 
+    // ==================== getCurrentUserReference Tests ====================
+
+    @Test
+    void getCurrentUserReference_whenAuthenticated_thenReturnsReferenceWithoutLoading() {
+        setupSecurityContext();
+        when(jwt.getSubject()).thenReturn(userId.toString());
+        when(userRepository.getReferenceById(userId)).thenReturn(user);
+
+        User result = currentUserService.getCurrentUserReference();
+
+        assertSame(user, result);
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void getCurrentUserReference_whenNotAuthenticated_thenThrowsAuthenticationCredentialsNotFoundException() {
+        SecurityContextHolder.clearContext();
+
+        assertThrows(
+                AuthenticationCredentialsNotFoundException.class,
+                () -> currentUserService.getCurrentUserReference()
+        );
+
+        verifyNoInteractions(userRepository);
+    }
+
     // ==================== getCurrentUserId Tests ====================
 
     @Test
@@ -185,6 +215,31 @@ class CurrentUserServiceTest {
         assertEquals(userId, result1);
     }
 
+    @Test
+    void getCurrentUserId_whenInsideRequest_thenResolvesSubjectOnce() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        setupSecurityContext();
+        when(jwt.getSubject()).thenReturn(userId.toString());
+
+        UUID result1 = currentUserService.getCurrentUserId();
+        UUID result2 = currentUserService.getCurrentUserId();
+
+        assertEquals(userId, result1);
+        assertEquals(userId, result2);
+        verify(jwt, times(1)).getSubject();
+    }
+
+    @Test
+    void getCurrentUserId_whenOutsideRequest_thenResolvesSubjectEachTime() {
+        setupSecurityContext();
+        when(jwt.getSubject()).thenReturn(userId.toString());
+
+        currentUserService.getCurrentUserId();
+        currentUserService.getCurrentUserId();
+
+        verify(jwt, times(2)).getSubject();
+    }
+
     // ==================== Helper Methods ====================
 
     private void setupSecurityContext() {
@@ -0,0 +1,62 @@
+package dev.joshuaonyema.kaleo.application.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProvisionedUserCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProvisionedUserCache provisionedUserCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        provisionedUserCache = new ProvisionedUserCache(meterRegistry, 100, Duration.ofMinutes(30));
+    }
+
+    @Test
+    void isProvisioned_whenUnknownUser_thenReturnsFalse() {
+        assertFalse(provisionedUserCache.isProvisioned(UUID.randomUUID()));
+    }
+
+    @Test
+    void isProvisioned_whenMarked_thenReturnsTrue() {
+        UUID userId = UUID.randomUUID();
+
+        provisionedUserCache.markProvisioned(userId);
+
+        assertTrue(provisionedUserCache.isProvisioned(userId));
+    }
+
+    @Test
+    void isProvisioned_whenTtlElapsed_thenReturnsFalse() throws InterruptedException {
+        ProvisionedUserCache shortLived = new ProvisionedUserCache(meterRegistry, 100, Duration.ofMillis(50));
+        UUID userId = UUID.randomUUID();
+
+        shortLived.markProvisioned(userId);
+        Thread.sleep(100);
+
+        assertFalse(shortLived.isProvisioned(userId));
+    }
+
+    @Test
+    void isProvisioned_whenCalled_thenPublishesHitAndMissMetrics() {
+        UUID userId = UUID.randomUUID();
+
+        provisionedUserCache.isProvisioned(userId);
+        provisionedUserCache.markProvisioned(userId);
+        provisionedUserCache.isProvisioned(userId);
+        provisionedUserCache.isProvisioned(userId);
+
+        assertEquals(2.0, meterRegistry.get("cache.gets")
+                .tags("cache", "provisionedUsers", "result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tags("cache", "provisionedUsers", "result", "miss").functionCounter().count());
+    }
+}
@@ -1,5 +1,7 @@
 package dev.joshuaonyema.kaleo.application.service.impl;
 
+import dev.joshuaonyema.kaleo.application.inventory.PassInventory;
+import dev.joshuaonyema.kaleo.application.manualcode.ManualCodeAllocator;
 import dev.joshuaonyema.kaleo.application.security.CurrentUserService;
 import dev.joshuaonyema.kaleo.application.service.QrCodeService;
 import dev.joshuaonyema.kaleo.domain.entity.*;
@@ -8,6 +10,9 @@ import dev.joshuaonyema.kaleo.exception.PassTypeNotFoundException;
 import dev.joshuaonyema.kaleo.repository.PassRepository;
 import dev.joshuaonyema.kaleo.repository.PassTypeRepository;
 import dev.joshuaonyema.kaleo.repository.UserRepository;
+import dev.joshuaonyema.kaleo.repository.projection.PassDetails;
+import dev.joshuaonyema.kaleo.repository.projection.PassSummary;
+import dev.joshuaonyema.kaleo.repository.projection.ResourceVersion;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,12 +20,22 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -42,6 +57,12 @@ class PassServiceImplTest {
     @Mock
     private CurrentUserService currentUserService;
 
+    @Mock
+    private PassInventory passInventory;
+
+    @Mock
+    private ManualCodeAllocator manualCodeAllocator;
+
     @InjectMocks
     private PassServiceImpl passService;
 
@@ -67,24 +88,24 @@ class PassServiceImplTest {
 
     @Test
     void purchasePass_whenValidRequest_thenCreatesPass() {
-        when(currentUserService.getCurrentUser()).thenReturn(user);
-        when(passTypeRepository.findByIdWithLock(passTypeId)).thenReturn(Optional.of(passType));
-        when(passRepository.countByPassTypeId(passTypeId)).thenReturn(50);
-        when(passRepository.findByManualCode(anyString())).thenReturn(Optional.empty());
+        when(currentUserService.getCurrentUserReference()).thenReturn(user);
+        when(passTypeRepository.findById(passTypeId)).thenReturn(Optional.of(passType));
+        when(passInventory.tryReserve(passType, 1)).thenReturn(true);
+        when(manualCodeAllocator.allocate()).thenReturn("ABC234");
         when(passRepository.save(any(Pass.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(qrCodeService.generateQrCode(any(Pass.class))).thenReturn(new QrCode());
 
         passService.purchasePass(passTypeId);
 
-        verify(passRepository, times(2)).save(any(Pass.class));
+        verify(passRepository, times(1)).save(any(Pass.class));
     }
 
     @Test
     void purchasePass_whenCalled_thenSetsCorrectPassStatus() {
-        when(currentUserService.getCurrentUser()).thenReturn(user);
-        when(passTypeRepository.findByIdWithLock(passTypeId)).thenReturn(Optional.of(passType));
-        when(passRepository.countByPassTypeId(passTypeId)).thenReturn(0);
-        when(passRepository.findByManualCode(anyString())).thenReturn(Optional.empty());
+        when(currentUserService.getCurrentUserReference()).thenReturn(user);
+        when(passTypeRepository.findById(passTypeId)).thenReturn(Optional.of(passType));
+        when(passInventory.tryReserve(passType, 1)).thenReturn(true);
+        when(manualCodeAllocator.allocate()).thenReturn("ABC234");
         when(passRepository.save(any(Pass.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(qrCodeService.generateQrCode(any(Pass.class))).thenReturn(new QrCode());
 
@@ -99,10 +120,10 @@ class PassServiceImplTest {
 
     @Test
     void purchasePass_whenCalled_thenLinksPassToPassType() {
-        when(currentUserService.getCurrentUser()).thenReturn(user);
-        when(passTypeRepository.findByIdWithLock(passTypeId)).thenReturn(Optional.of(passType));
-        when(passRepository.countByPassTypeId(passTypeId)).thenReturn(0);
-        when(passRepository.findByManualCode(anyString())).thenReturn(Optional.empty());
+        when(currentUserService.getCurrentUserReference()).thenReturn(user);
+        when(passTypeRepository.findById(passTypeId)).thenReturn(Optional.of(passType));
+        when(passInventory.tryReserve(passType, 1)).thenReturn(true);
+        when(manualCodeAllocator.allocate()).thenReturn("ABC234");
         when(passRepository.save(any(Pass.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(qrCodeService.generateQrCode(any(Pass.class))).thenReturn(new QrCode());
 
@@ -117,10 +138,10 @@ class PassServiceImplTest {
 
     @Test
     void purchasePass_whenCalled_thenLinksPassToCurrentUser() {
-        when(currentUserService.getCurrentUser()).thenReturn(user);
-        when(passTypeRepository.findByIdWithLock(passTypeId)).thenReturn(Optional.of(passType));
-        when(passRepository.countByPassTypeId(passTypeId)).thenReturn(0);
-        when(passRepository.findByManualCode(anyString())).thenReturn(Optional.empty());
+        when(currentUserService.getCurrentUserReference()).thenReturn(user);
+        when(passTypeRepository.findById(passTypeId)).thenReturn(Optional.of(passType));
+        when(passInventory.tryReserve(passType, 1)).thenReturn(true);
+        when(manualCodeAllocator.allocate()).thenReturn("ABC234");
         when(passRepository.save(any(Pass.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(qrCodeService.generateQrCode(any(Pass.class))).thenReturn(new QrCode());
 
@@ -135,10 +156,10 @@ class PassServiceImplTest {
 
     @Test
     void purchasePass_whenCalled_thenGeneratesQrCode() {
-        when(currentUserService.getCurrentUser()).thenReturn(user);
-        when(passTypeRepository.findByIdWithLock(passTypeId)).thenReturn(Optional.of(passType));
-        when(passRepository.countByPassTypeId(passTypeId)).thenReturn(0);
-        when(passRepository.findByManualCode(anyString())).thenReturn(Optional.empty());
+        when(currentUserService.getCurrentUserReference()).thenReturn(user);
+        when(passTypeRepository.findById(passTypeId)).thenReturn(Optional.of(passType));
+        when(passInventory.tryReserve(passType, 1)).thenReturn(true);
+        when(manualCodeAllocator.allocate()).thenReturn("ABC234");
         when(passRepository.save(any(Pass.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(qrCodeService.generateQrCode(any(Pass.class))).thenReturn(new QrCode());
 
@@ -152,23 +173,23 @@ class PassServiceImplTest {
     @Test
     void purchasePass_whenAtCapacityMinusOne_thenSucceeds() {
         passType.setTotalAvailable(100);
-        when(currentUserService.getCurrentUser()).thenReturn(user);
-        when(passTypeRepository.findByIdWithLock(passTypeId)).thenReturn(Optional.of(passType));
-        when(passRepository.countByPassTypeId(passTypeId)).thenReturn(99); // At 99, can still buy 1 more
-        when(passRepository.findByManualCode(anyString())).thenReturn(Optional.empty());
+        when(currentUserService.getCurrentUserReference()).thenReturn(user);
+        when(passTypeRepository.findById(passTypeId)).thenReturn(Optional.of(passType));
+        when(passInventory.tryReserve(passType, 1)).thenReturn(true); // At 99, can still buy 1 more
+        when(manualCodeAllocator.allocate()).thenReturn("ABC234");
         when(passRepository.save(any(Pass.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(qrCodeService.generateQrCode(any(Pass.class))).thenReturn(new QrCode());
 
         assertDoesNotThrow(() -> passService.purchasePass(passTypeId));
-        verify(passRepository, times(2)).save(any(Pass.class));
+        verify(passRepository, times(1)).save(any(Pass.class));
     }
 
     // ==================== purchasePass Exception Tests ====================
 
     @Test
     void purchasePass_whenPassTypeNotFound_thenThrowsException() {
-        when(currentUserService.getCurrentUser()).thenReturn(user);
-        when(passTypeRepository.findByIdWithLock(passTypeId)).thenReturn(Optional.empty());
+        when(currentUserService.getCurrentUserReference()).thenReturn(user);
+        when(passTypeRepository.findById(passTypeId)).thenReturn(Optional.empty());
 
         PassTypeNotFoundException exception = assertThrows(
             PassTypeNotFoundException.class,
@@ -181,9 +202,9 @@ class PassServiceImplTest {
     @Test
     void purchasePass_whenAtCapacity_thenThrowsSoldOutException() {
         passType.setTotalAvailable(100);
-        when(currentUserService.getCurrentUser()).thenReturn(user);
-        when(passTypeRepository.findByIdWithLock(passTypeId)).thenReturn(Optional.of(passType));
-        when(passRepository.countByPassTypeId(passTypeId)).thenReturn(100); // Already at capacity
+        when(currentUserService.getCurrentUserReference()).thenReturn(user);
+        when(passTypeRepository.findById(passTypeId)).thenReturn(Optional.of(passType));
+        when(passInventory.tryReserve(passType, 1)).thenReturn(false); // Already at capacity
 
         assertThrows(PassSoldOutException.class, () -> passService.purchasePass(passTypeId));
     }
@@ -191,9 +212,9 @@ class PassServiceImplTest {
     @Test
     void purchasePass_whenOverCapacity_thenThrowsSoldOutException() {
         passType.setTotalAvailable(50);
-        when(currentUserService.getCurrentUser()).thenReturn(user);
-        when(passTypeRepository.findByIdWithLock(passTypeId)).thenReturn(Optional.of(passType));
-        when(passRepository.countByPassTypeId(passTypeId)).thenReturn(50);
+        when(currentUserService.getCurrentUserReference()).thenReturn(user);
+        when(passTypeRepository.findById(passTypeId)).thenReturn(Optional.of(passType));
+        when(passInventory.tryReserve(passType, 1)).thenReturn(false);
 
         assertThrows(PassSoldOutException.class, () -> passService.purchasePass(passTypeId));
         verify(passRepository, never()).save(any(Pass.class));
@@ -202,42 +223,43 @@ class PassServiceImplTest {
     // ==================== purchasePass Verification Tests ====================
 
     @Test
-    void purchasePass_whenCalled_thenUsesLockingQuery() {
-        when(currentUserService.getCurrentUser()).thenReturn(user);
-        when(passTypeRepository.findByIdWithLock(passTypeId)).thenReturn(Optional.of(passType));
-        when(passRepository.countByPassTypeId(passTypeId)).thenReturn(0);
-        when(passRepository.findByManualCode(anyString())).thenReturn(Optional.empty());
+    void purchasePass_whenCalled_thenReadsPassTypeWithoutLock() {
+        when(currentUserService.getCurrentUserReference()).thenReturn(user);
+        when(passTypeRepository.findById(passTypeId)).thenReturn(Optional.of(passType));
+        when(passInventory.tryReserve(passType, 1)).thenReturn(true);
+        when(manualCodeAllocator.allocate()).thenReturn("ABC234");
         when(passRepository.save(any(Pass.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(qrCodeService.generateQrCode(any(Pass.class))).thenReturn(new QrCode());
 
         passService.purchasePass(passTypeId);
 
-        verify(passTypeRepository).findByIdWithLock(passTypeId);
-        verify(passTypeRepository, never()).findById(any());
+        verify(passTypeRepository).findById(passTypeId);
+        verify(passTypeRepository, never()).findByIdWithLock(any());
     }
 
     @Test
-    void purchasePass_whenCalled_thenCountsExistingPasses() {
-        when(currentUserService.getCurrentUser()).thenReturn(user);
-        when(passTypeRepository.findByIdWithLock(passTypeId)).thenReturn(Optional.of(passType));
-        when(passRepository.countByPassTypeId(passTypeId)).thenReturn(0);
-        when(passRepository.findByManualCode(anyString())).thenReturn(Optional.empty());
+    void purchasePass_whenCalled_thenReservesFromInventoryWithoutCounting() {
+        when(currentUserService.getCurrentUserReference()).thenReturn(user);
+        when(passTypeRepository.findById(passTypeId)).thenReturn(Optional.of(passType));
+        when(passInventory.tryReserve(passType, 1)).thenReturn(true);
+        when(manualCodeAllocator.allocate()).thenReturn("ABC234");
         when(passRepository.save(any(Pass.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(qrCodeService.generateQrCode(any(Pass.class))).thenReturn(new QrCode());
 
         passService.purchasePass(passTypeId);
 
-        verify(passRepository).countByPassTypeId(passTypeId);
+        verify(passInventory).tryReserve(passType, 1);
+        verify(passRepository, never()).countByPassTypeId(any());
     }
 
     // ==================== Manual Code Generation Tests ====================
 
     @Test
     void purchasePass_whenCalled_thenGeneratesManualCode() {
-        when(currentUserService.getCurrentUser()).thenReturn(user);
-        when(passTypeRepository.findByIdWithLock(passTypeId)).thenReturn(Optional.of(passType));
-        when(passRepository.countByPassTypeId(passTypeId)).thenReturn(0);
-        when(passRepository.findByManualCode(anyString())).thenReturn(Optional.empty());
+        when(currentUserService.getCurrentUserReference()).thenReturn(user);
+        when(passTypeRepository.findById(passTypeId)).thenReturn(Optional.of(passType));
+        when(passInventory.tryReserve(passType, 1)).thenReturn(true);
+        when(manualCodeAllocator.allocate()).thenReturn("ABC234");
         when(passRepository.save(any(Pass.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(qrCodeService.generateQrCode(any(Pass.class))).thenReturn(new QrCode());
 
@@ -251,20 +273,114 @@ class PassServiceImplTest {
         assertEquals(6, savedPass.getManualCode().length());
     }
 
+    // ==================== Read Tests ====================
+
     @Test
-    void purchasePass_whenManualCodeCollision_thenRegeneratesCode() {
-        when(currentUserService.getCurrentUser()).thenReturn(user);
-        when(passTypeRepository.findByIdWithLock(passTypeId)).thenReturn(Optional.of(passType));
-        when(passRepository.countByPassTypeId(passTypeId)).thenReturn(0);
-        // First code collides, second one is unique
-        when(passRepository.findByManualCode(anyString()))
-                .thenReturn(Optional.of(new Pass()))
-                .thenReturn(Optional.empty());
-        when(passRepository.save(any(Pass.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(qrCodeService.generateQrCode(any(Pass.class))).thenReturn(new QrCode());
+    void listPassesForUser_whenCalled_thenReadsCurrentUsersSummaries() {
+        when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+        PageRequest pageable = PageRequest.of(0, 10);
+        Page<PassSummary> page = new PageImpl<>(List.of(new PassSummary(UUID.randomUUID(), PassStatus.ACTIVE,
+                LocalDateTime.now(), "General Admission", null, "Sunday Service", null, null, "Main Hall")));
+        when(passRepository.findSummariesByRegistrantId(user.getId(), pageable)).thenReturn(page);
+
+        assertSame(page, passService.listPassesForUser(pageable));
+    }
 
-        passService.purchasePass(passTypeId);
+    @Test
+    void getPassForUser_whenPassBelongsToUser_thenReturnsDetails() {
+        when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+        UUID passId = UUID.randomUUID();
+        PassDetails details = new PassDetails(PassStatus.ACTIVE, "ABC123", LocalDateTime.now(), "General Admission",
+                null, null, UUID.randomUUID(), "Sunday Service", null, null, "Main Hall");
+        when(passRepository.findDetailsByIdAndRegistrantId(passId, user.getId())).thenReturn(Optional.of(details));
+
+        assertEquals(Optional.of(details), passService.getPassForUser(passId));
+    }
+
+    // ==================== scrollPassesForUser Tests ====================
+
+    @Test
+    void scrollPassesForUser_whenCalled_thenScrollsCurrentUsersPassesNewestFirst() {
+        when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+        ScrollPosition position = ScrollPosition.keyset();
+        Window<Pass> window = Window.from(List.of(new Pass()), index -> position, true);
+        when(passRepository.findByRegistrantIdOrderByCreatedAtDescIdDesc(user.getId(), position, Limit.of(20)))
+                .thenReturn(window);
+
+        assertSame(window, passService.scrollPassesForUser(position, 20));
+    }
+
+    // ==================== Version Tests ====================
+
+    @Test
+    void getPassVersionForUser_whenPassExists_thenReturnsVersion() {
+        when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+        UUID passId = UUID.randomUUID();
+        ResourceVersion version = new ResourceVersion(1, LocalDateTime.now(), 1, LocalDateTime.now());
+        when(passRepository.findVersionByIdAndRegistrantId(passId, user.getId())).thenReturn(version);
+
+        assertEquals(Optional.of(version), passService.getPassVersionForUser(passId));
+    }
+
+    @Test
+    void getPassVersionForUser_whenNoPassCounted_thenReturnsEmpty() {
+        when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+        UUID passId = UUID.randomUUID();
+        when(passRepository.findVersionByIdAndRegistrantId(passId, user.getId()))
+                .thenReturn(new ResourceVersion(0, null, 0, null));
+
+        assertTrue(passService.getPassVersionForUser(passId).isEmpty());
+    }
+
+    @Test
+    void getPassesVersionForUser_whenCalled_thenReadsCurrentUsersVersion() {
+        when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+        ResourceVersion version = new ResourceVersion(3, LocalDateTime.now(), 2, LocalDateTime.now());
+        when(passRepository.findVersionByRegistrantId(user.getId())).thenReturn(version);
+
+        assertSame(version, passService.getPassesVersionForUser());
+    }
+
+    // ==================== purchasePasses Tests ====================
+
+    @Test
+    void purchasePasses_whenValidRequest_thenSavesAllPassesInOneCall() {
+        when(currentUserService.getCurrentUserReference()).thenReturn(user);
+        when(passTypeRepository.findById(passTypeId)).thenReturn(Optional.of(passType));
+        when(passInventory.tryReserve(passType, 10)).thenReturn(true);
+        when(manualCodeAllocator.allocate()).thenReturn("ABC234");
+        when(passRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Pass> passes = passService.purchasePasses(passTypeId, 10);
+
+        assertEquals(10, passes.size());
+        passes.forEach(pass -> {
+            assertEquals(PassStatus.ACTIVE, pass.getStatus());
+            assertEquals(passType, pass.getPassType());
+            assertEquals(user, pass.getRegistrant());
+        });
+        verify(passRepository, times(1)).saveAll(anyList());
+        verify(passRepository, never()).save(any(Pass.class));
+        verify(qrCodeService, times(1)).generateQrCodes(passes);
+    }
+
+    @Test
+    void purchasePasses_whenNotEnoughSeats_thenThrowsSoldOutAndSavesNothing() {
+        when(currentUserService.getCurrentUserReference()).thenReturn(user);
+        when(passTypeRepository.findById(passTypeId)).thenReturn(Optional.of(passType));
+        when(passInventory.tryReserve(passType, 10)).thenReturn(false);
+
+        assertThrows(PassSoldOutException.class, () -> passService.purchasePasses(passTypeId, 10));
+        verify(passRepository, never()).saveAll(anyList());
+        verify(qrCodeService, never()).generateQrCodes(anyList());
+    }
+
+    @Test
+    void purchasePasses_whenPassTypeNotFound_thenThrowsException() {
+        when(currentUserService.getCurrentUserReference()).thenReturn(user);
+        when(passTypeRepository.findById(passTypeId)).thenReturn(Optional.empty());
 
-        verify(passRepository, times(2)).findByManualCode(anyString());
+        assertThrows(PassTypeNotFoundException.class, () -> passService.purchasePasses(passTypeId, 2));
+        verify(passInventory, never()).tryReserve(any(), anyInt());
     }
 }
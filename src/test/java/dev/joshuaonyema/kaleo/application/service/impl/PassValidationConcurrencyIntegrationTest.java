@@ -0,0 +1,115 @@
+package dev.joshuaonyema.kaleo.application.service.impl;
+
+import dev.joshuaonyema.kaleo.application.checkin.ScanResult;
+import dev.joshuaonyema.kaleo.application.command.ValidatePassCommand;
+import dev.joshuaonyema.kaleo.application.service.PassService;
+import dev.joshuaonyema.kaleo.application.service.PassValidationService;
+import dev.joshuaonyema.kaleo.application.service.ProgramService;
+import dev.joshuaonyema.kaleo.domain.entity.*;
+import dev.joshuaonyema.kaleo.repository.PassRepository;
+import dev.joshuaonyema.kaleo.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static dev.joshuaonyema.kaleo.support.IntegrationTestFixtures.newProgramCommand;
+import static dev.joshuaonyema.kaleo.support.IntegrationTestFixtures.signInNewUser;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Scans one pass from many gates at the same moment and checks that exactly one scan admits it.
+ */
+@SpringBootTest(properties = "kaleo.qr-code.store-images=false")
+@ActiveProfiles("test")
+class PassValidationConcurrencyIntegrationTest {
+
+    private static final int GATES = 8;
+    private static final int SCANS_PER_GATE = 8;
+
+    @Autowired
+    private ProgramService programService;
+
+    @Autowired
+    private PassService passService;
+
+    @Autowired
+    private PassValidationService passValidationService;
+
+    @Autowired
+    private PassRepository passRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Program program;
+    private Pass pass;
+
+    @BeforeEach
+    void setUp() {
+        signInNewUser(userRepository);
+
+        program = programService.createProgram(newProgramCommand("Sunday Service"));
+        pass = passService.purchasePasses(program.getPassTypes().getFirst().getId(), 1).getFirst();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void validatePassByManualCode_whenScannedConcurrently_thenExactlyOneScanIsValid() throws Exception {
+        List<PassValidationStatus> statuses = scanConcurrently(() ->
+                passValidationService.validatePassByManualCode(program.getId(), pass.getManualCode()).getPassStatus());
+
+        assertEquals(GATES * SCANS_PER_GATE, statuses.size());
+        assertEquals(1, statuses.stream().filter(PassValidationStatus.VALID::equals).count());
+        assertNotNull(passRepository.findById(pass.getId()).orElseThrow().getFirstValidatedAt());
+    }
+
+    @Test
+    void validatePasses_whenBatchesScannedConcurrently_thenExactlyOneScanIsValid() throws Exception {
+        ValidatePassCommand scan = new ValidatePassCommand(
+                program.getId(), null, pass.getManualCode(), PassValidationMethod.MANUAL);
+
+        List<PassValidationStatus> statuses = scanConcurrently(() ->
+                passValidationService.validatePasses(List.of(scan, scan)).stream()
+                        .map(ScanResult::status)
+                        .toList())
+                .stream()
+                .flatMap(List::stream)
+                .toList();
+
+        assertEquals(GATES * SCANS_PER_GATE * 2, statuses.size());
+        assertEquals(1, statuses.stream().filter(PassValidationStatus.VALID::equals).count());
+    }
+
+    // Releases every gate at once and collects what each scan recorded
+    private <T> List<T> scanConcurrently(Callable<T> scan) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        try (ExecutorService gates = Executors.newFixedThreadPool(GATES)) {
+            for (int i = 0; i < GATES * SCANS_PER_GATE; i++) {
+                futures.add(gates.submit(() -> {
+                    start.await();
+                    return scan.call();
+                }));
+            }
+            start.countDown();
+
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        }
+    }
+}
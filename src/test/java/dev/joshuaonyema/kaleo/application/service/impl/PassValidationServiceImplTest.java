@@ -0,0 +1,601 @@
+package dev.joshuaonyema.kaleo.application.service.impl;
+
+import dev.joshuaonyema.kaleo.application.checkin.AdmissionCache;
+import dev.joshuaonyema.kaleo.application.checkin.CheckInCounters;
+import dev.joshuaonyema.kaleo.application.checkin.CheckInLiveStream;
+import dev.joshuaonyema.kaleo.application.checkin.CheckInManifest;
+import dev.joshuaonyema.kaleo.application.checkin.DuplicateScanRecorder;
+import dev.joshuaonyema.kaleo.application.checkin.ScanResult;
+import dev.joshuaonyema.kaleo.application.command.ValidatePassCommand;
+import dev.joshuaonyema.kaleo.domain.entity.*;
+import dev.joshuaonyema.kaleo.exception.CodeNotFoundException;
+import dev.joshuaonyema.kaleo.exception.ProgramNotFoundException;
+import dev.joshuaonyema.kaleo.exception.ProgramPassException;
+import dev.joshuaonyema.kaleo.exception.QrCodeNotFoundException;
+import dev.joshuaonyema.kaleo.repository.PassRepository;
+import dev.joshuaonyema.kaleo.repository.PassValidationRepository;
+import dev.joshuaonyema.kaleo.repository.ProgramRepository;
+import dev.joshuaonyema.kaleo.repository.projection.CheckInCandidate;
+import dev.joshuaonyema.kaleo.repository.projection.ManifestEntry;
+import dev.joshuaonyema.kaleo.repository.projection.ManualCodeCheckInCandidate;
+import dev.joshuaonyema.kaleo.repository.projection.QrCodeCheckInCandidate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PassValidationServiceImplTest {
+
+    @Mock
+    private PassValidationRepository passValidationRepository;
+
+    @Mock
+    private PassRepository passRepository;
+
+    @Mock
+    private ProgramRepository programRepository;
+
+    @Mock
+    private AdmissionCache admissionCache;
+
+    @Mock
+    private DuplicateScanRecorder duplicateScanRecorder;
+
+    @Mock
+    private CheckInCounters checkInCounters;
+
+    @Mock
+    private CheckInLiveStream checkInLiveStream;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private PassValidationServiceImpl passValidationService;
+
+    private UUID programId;
+    private UUID passId;
+    private UUID passTypeId;
+    private UUID qrCodeId;
+    private Pass pass;
+    private Program program;
+
+    @BeforeEach
+    void setUp() {
+        programId = UUID.randomUUID();
+        passId = UUID.randomUUID();
+        passTypeId = UUID.randomUUID();
+        qrCodeId = UUID.randomUUID();
+
+        pass = new Pass();
+        pass.setId(passId);
+        program = new Program();
+        program.setId(programId);
+
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    // ==================== validatePassByQrCode Tests ====================
+
+    @Test
+    void validatePassByQrCode_whenFirstScan_thenRecordsValid() {
+        when(passRepository.findCheckInCandidateByQrCodeId(qrCodeId))
+                .thenReturn(Optional.of(new CheckInCandidate(passId, passTypeId, programId, false)));
+        stubReferencesAndSave();
+        stubFirstValidation(1);
+
+        PassValidation result = passValidationService.validatePassByQrCode(programId, qrCodeId);
+
+        assertEquals(PassValidationStatus.VALID, result.getPassStatus());
+        assertEquals(PassValidationMethod.QR_SCAN, result.getValidationMethod());
+        assertSame(pass, result.getPass());
+        assertSame(program, result.getProgram());
+    }
+
+    @Test
+    void validatePassByQrCode_whenAlreadyValidated_thenRecordsInvalid() {
+        when(passRepository.findCheckInCandidateByQrCodeId(qrCodeId))
+                .thenReturn(Optional.of(new CheckInCandidate(passId, passTypeId, programId, true)));
+        stubReferencesAndSave();
+
+        PassValidation result = passValidationService.validatePassByQrCode(programId, qrCodeId);
+
+        assertEquals(PassValidationStatus.INVALID, result.getPassStatus());
+    }
+
+    @Test
+    void validatePassByQrCode_whenAlreadyValidated_thenSkipsFirstAdmissionUpdate() {
+        when(passRepository.findCheckInCandidateByQrCodeId(qrCodeId))
+                .thenReturn(Optional.of(new CheckInCandidate(passId, passTypeId, programId, true)));
+        stubReferencesAndSave();
+
+        passValidationService.validatePassByQrCode(programId, qrCodeId);
+
+        verify(passRepository, never()).markFirstValidated(any(), any());
+    }
+
+    @Test
+    void validatePassByQrCode_whenConcurrentScanAdmittedPassFirst_thenRecordsInvalid() {
+        when(passRepository.findCheckInCandidateByQrCodeId(qrCodeId))
+                .thenReturn(Optional.of(new CheckInCandidate(passId, passTypeId, programId, false)));
+        stubReferencesAndSave();
+        stubFirstValidation(0);
+
+        PassValidation result = passValidationService.validatePassByQrCode(programId, qrCodeId);
+
+        assertEquals(PassValidationStatus.INVALID, result.getPassStatus());
+    }
+
+    @Test
+    void validatePassByQrCode_whenCalled_thenNeverLoadsEntities() {
+        when(passRepository.findCheckInCandidateByQrCodeId(qrCodeId))
+                .thenReturn(Optional.of(new CheckInCandidate(passId, passTypeId, programId, false)));
+        stubReferencesAndSave();
+        stubFirstValidation(1);
+
+        passValidationService.validatePassByQrCode(programId, qrCodeId);
+
+        verify(programRepository, never()).findById(any());
+        verify(passRepository, never()).findById(any());
+        verify(programRepository, never()).existsById(any());
+    }
+
+    @Test
+    void validatePassByQrCode_whenQrCodeUnknown_thenThrowsQrCodeNotFoundException() {
+        when(passRepository.findCheckInCandidateByQrCodeId(qrCodeId)).thenReturn(Optional.empty());
+
+        assertThrows(QrCodeNotFoundException.class,
+                () -> passValidationService.validatePassByQrCode(programId, qrCodeId));
+        verify(passValidationRepository, never()).save(any());
+    }
+
+    @Test
+    void validatePassByQrCode_whenPassForOtherProgram_thenThrowsProgramPassException() {
+        when(passRepository.findCheckInCandidateByQrCodeId(qrCodeId))
+                .thenReturn(Optional.of(new CheckInCandidate(passId, passTypeId, UUID.randomUUID(), false)));
+        when(programRepository.existsById(programId)).thenReturn(true);
+
+        assertThrows(ProgramPassException.class,
+                () -> passValidationService.validatePassByQrCode(programId, qrCodeId));
+        verify(passValidationRepository, never()).save(any());
+    }
+
+    @Test
+    void validatePassByQrCode_whenProgramUnknown_thenThrowsProgramNotFoundException() {
+        when(passRepository.findCheckInCandidateByQrCodeId(qrCodeId))
+                .thenReturn(Optional.of(new CheckInCandidate(passId, passTypeId, UUID.randomUUID(), false)));
+        when(programRepository.existsById(programId)).thenReturn(false);
+
+        assertThrows(ProgramNotFoundException.class,
+                () -> passValidationService.validatePassByQrCode(programId, qrCodeId));
+    }
+
+    // ==================== validatePassByManualCode Tests ====================
+
+    @Test
+    void validatePassByManualCode_whenFirstScan_thenRecordsValid() {
+        when(passRepository.findCheckInCandidateByManualCode("ABC234"))
+                .thenReturn(Optional.of(new CheckInCandidate(passId, passTypeId, programId, false)));
+        stubReferencesAndSave();
+        stubFirstValidation(1);
+
+        PassValidation result = passValidationService.validatePassByManualCode(programId, "ABC234");
+
+        assertEquals(PassValidationStatus.VALID, result.getPassStatus());
+        assertEquals(PassValidationMethod.MANUAL, result.getValidationMethod());
+    }
+
+    @Test
+    void validatePassByManualCode_whenCodeUnknown_thenThrowsCodeNotFoundException() {
+        when(passRepository.findCheckInCandidateByManualCode("ABC234")).thenReturn(Optional.empty());
+
+        assertThrows(CodeNotFoundException.class,
+                () -> passValidationService.validatePassByManualCode(programId, "ABC234"));
+    }
+
+    // ==================== Admission Cache Tests ====================
+
+    @Test
+    void validatePassByQrCode_whenAdmittedPassRescanned_thenAnswersFromCache() {
+        when(admissionCache.findAdmittedByQrCode(programId, qrCodeId)).thenReturn(admitted());
+        when(duplicateScanRecorder.enqueue(passId, programId, PassValidationMethod.QR_SCAN)).thenReturn(true);
+        stubReferences();
+
+        PassValidation result = passValidationService.validatePassByQrCode(programId, qrCodeId);
+
+        assertEquals(PassValidationStatus.INVALID, result.getPassStatus());
+        assertSame(pass, result.getPass());
+        verify(passRepository, never()).findCheckInCandidateByQrCodeId(any());
+        verify(passValidationRepository, never()).save(any());
+    }
+
+    @Test
+    void validatePassByManualCode_whenAdmittedPassRescanned_thenStartsNoTransaction() {
+        when(admissionCache.findAdmittedByManualCode(programId, "ABC234")).thenReturn(admitted());
+        when(duplicateScanRecorder.enqueue(passId, programId, PassValidationMethod.MANUAL)).thenReturn(true);
+        stubReferences();
+
+        passValidationService.validatePassByManualCode(programId, "ABC234");
+
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void validatePassByManualCode_whenWriteBehindQueueFull_thenSavesInline() {
+        when(admissionCache.findAdmittedByManualCode(programId, "ABC234")).thenReturn(admitted());
+        when(duplicateScanRecorder.enqueue(passId, programId, PassValidationMethod.MANUAL)).thenReturn(false);
+        stubReferencesAndSave();
+
+        PassValidation result = passValidationService.validatePassByManualCode(programId, "ABC234");
+
+        assertEquals(PassValidationStatus.INVALID, result.getPassStatus());
+        verify(passValidationRepository).save(result);
+        verify(passRepository, never()).findCheckInCandidateByManualCode(any());
+    }
+
+    @Test
+    void validatePassByManualCode_whenAdmitted_thenRecordsAdmissionInCache() {
+        when(passRepository.findCheckInCandidateByManualCode("ABC234"))
+                .thenReturn(Optional.of(new CheckInCandidate(passId, passTypeId, programId, false)));
+        stubReferencesAndSave();
+        stubFirstValidation(1);
+
+        passValidationService.validatePassByManualCode(programId, "ABC234");
+
+        verify(admissionCache).recordAdmissionAfterCommit(
+                new CheckInCandidate(passId, passTypeId, programId, false), null, "ABC234");
+    }
+
+    @Test
+    void validatePassByQrCode_whenNotAdmitted_thenDoesNotRecordAdmission() {
+        when(passRepository.findCheckInCandidateByQrCodeId(qrCodeId))
+                .thenReturn(Optional.of(new CheckInCandidate(passId, passTypeId, programId, true)));
+        stubReferencesAndSave();
+
+        passValidationService.validatePassByQrCode(programId, qrCodeId);
+
+        verify(admissionCache, never()).recordAdmissionAfterCommit(any(), any(), any());
+    }
+
+    @Test
+    void validatePasses_whenPassAdmitted_thenRecordsAdmissionInCache() {
+        when(passRepository.findCheckInCandidatesByQrCodeIds(Set.of(qrCodeId)))
+                .thenReturn(List.of(new QrCodeCheckInCandidate(qrCodeId, passId, passTypeId, programId, false)));
+        stubReferences();
+        stubAdmission(List.of(pass));
+
+        passValidationService.validatePasses(List.of(
+                new ValidatePassCommand(programId, qrCodeId, null, PassValidationMethod.QR_SCAN),
+                new ValidatePassCommand(programId, qrCodeId, null, PassValidationMethod.QR_SCAN)
+        ));
+
+        verify(admissionCache, times(1)).recordAdmissionAfterCommit(
+                new CheckInCandidate(passId, passTypeId, programId, false), qrCodeId, null);
+    }
+
+    // ==================== Check-In Counter Tests ====================
+
+    @Test
+    void validatePassByQrCode_whenAdmitted_thenCountsAdmission() {
+        when(passRepository.findCheckInCandidateByQrCodeId(qrCodeId))
+                .thenReturn(Optional.of(new CheckInCandidate(passId, passTypeId, programId, false)));
+        stubReferencesAndSave();
+        stubFirstValidation(1);
+
+        passValidationService.validatePassByQrCode(programId, qrCodeId);
+
+        verify(checkInCounters).recordAfterCommit(programId, passTypeId, PassValidationStatus.VALID);
+    }
+
+    @Test
+    void validatePassByQrCode_whenAdmittedPassRescanned_thenCountsInvalidScan() {
+        when(admissionCache.findAdmittedByQrCode(programId, qrCodeId)).thenReturn(admitted());
+        when(duplicateScanRecorder.enqueue(passId, programId, PassValidationMethod.QR_SCAN)).thenReturn(true);
+        stubReferences();
+
+        passValidationService.validatePassByQrCode(programId, qrCodeId);
+
+        verify(checkInCounters).recordAfterCommit(programId, passTypeId, PassValidationStatus.INVALID);
+    }
+
+    @Test
+    void validatePasses_whenPassScannedTwice_thenCountsEachRecordedScan() {
+        when(passRepository.findCheckInCandidatesByQrCodeIds(Set.of(qrCodeId)))
+                .thenReturn(List.of(new QrCodeCheckInCandidate(qrCodeId, passId, passTypeId, programId, false)));
+        stubReferences();
+        stubAdmission(List.of(pass));
+
+        passValidationService.validatePasses(List.of(
+                new ValidatePassCommand(programId, qrCodeId, null, PassValidationMethod.QR_SCAN),
+                new ValidatePassCommand(programId, qrCodeId, null, PassValidationMethod.QR_SCAN)
+        ));
+
+        verify(checkInCounters).recordAfterCommit(programId, passTypeId, PassValidationStatus.VALID);
+        verify(checkInCounters).recordAfterCommit(programId, passTypeId, PassValidationStatus.INVALID);
+        verifyNoMoreInteractions(checkInCounters);
+    }
+
+    // ==================== streamCheckInCounts Tests ====================
+
+    @Test
+    void streamCheckInCounts_whenProgramExists_thenSubscribes() {
+        SseEmitter emitter = new SseEmitter();
+        when(programRepository.existsById(programId)).thenReturn(true);
+        when(checkInLiveStream.subscribe(programId)).thenReturn(emitter);
+
+        assertSame(emitter, passValidationService.streamCheckInCounts(programId));
+    }
+
+    @Test
+    void streamCheckInCounts_whenProgramUnknown_thenThrowsProgramNotFoundException() {
+        when(programRepository.existsById(programId)).thenReturn(false);
+
+        assertThrows(ProgramNotFoundException.class, () -> passValidationService.streamCheckInCounts(programId));
+        verifyNoInteractions(checkInLiveStream);
+    }
+
+    // ==================== openCheckIn Tests ====================
+
+    @Test
+    void openCheckIn_whenProgramExists_thenWarmsAdmissionCacheUntilProgramEnds() {
+        LocalDateTime endTime = LocalDateTime.now().plusHours(3);
+        program.setEndTime(endTime);
+        when(programRepository.findById(programId)).thenReturn(Optional.of(program));
+
+        passValidationService.openCheckIn(programId);
+
+        verify(admissionCache).warm(programId, endTime);
+    }
+
+    @Test
+    void openCheckIn_whenProgramUnknown_thenThrowsProgramNotFoundException() {
+        when(programRepository.findById(programId)).thenReturn(Optional.empty());
+
+        assertThrows(ProgramNotFoundException.class, () -> passValidationService.openCheckIn(programId));
+        verifyNoInteractions(admissionCache);
+    }
+
+    // ==================== getCheckInManifest Tests ====================
+
+    @Test
+    void getCheckInManifest_whenNoVersion_thenReturnsFullManifest() {
+        ManifestEntry entry = new ManifestEntry(qrCodeId, passId, "ABC234", true, false);
+        when(programRepository.existsById(programId)).thenReturn(true);
+        when(passRepository.findManifestEntries(programId)).thenReturn(List.of(entry));
+
+        long before = PassValidationServiceImpl.toVersion(LocalDateTime.now());
+        CheckInManifest result = passValidationService.getCheckInManifest(programId, null);
+
+        assertFalse(result.delta());
+        assertEquals(List.of(entry), result.entries());
+        assertTrue(result.version() >= before);
+        verify(passRepository, never()).findManifestEntriesChangedSince(any(), any());
+    }
+
+    @Test
+    void getCheckInManifest_whenVersionGiven_thenReturnsChangesSinceVersionWithOverlap() {
+        LocalDateTime since = LocalDateTime.of(2026, 6, 1, 18, 30);
+        long sinceVersion = PassValidationServiceImpl.toVersion(since);
+        when(programRepository.existsById(programId)).thenReturn(true);
+        when(passRepository.findManifestEntriesChangedSince(programId, since.minus(PassValidationServiceImpl.DELTA_OVERLAP)))
+                .thenReturn(List.of());
+
+        CheckInManifest result = passValidationService.getCheckInManifest(programId, sinceVersion);
+
+        assertTrue(result.delta());
+        assertTrue(result.entries().isEmpty());
+        verify(passRepository, never()).findManifestEntries(any());
+    }
+
+    @Test
+    void getCheckInManifest_whenProgramUnknown_thenThrowsProgramNotFoundException() {
+        when(programRepository.existsById(programId)).thenReturn(false);
+
+        assertThrows(ProgramNotFoundException.class,
+                () -> passValidationService.getCheckInManifest(programId, null));
+        verifyNoInteractions(passRepository);
+    }
+
+    @Test
+    void toTimestamp_whenVersionFromTimestamp_thenRoundTrips() {
+        LocalDateTime timestamp = LocalDateTime.of(2026, 6, 1, 18, 30, 15, 123_000_000);
+
+        assertEquals(timestamp, PassValidationServiceImpl.toTimestamp(PassValidationServiceImpl.toVersion(timestamp)));
+    }
+
+    // ==================== validatePasses Tests ====================
+
+    @Test
+    void validatePasses_whenScansMixed_thenResolvesEachKindWithOneQuery() {
+        when(passRepository.findCheckInCandidatesByQrCodeIds(Set.of(qrCodeId)))
+                .thenReturn(List.of(new QrCodeCheckInCandidate(qrCodeId, passId, passTypeId, programId, false)));
+        when(passRepository.findCheckInCandidatesByManualCodes(Set.of("ZZZ999"))).thenReturn(List.of());
+        stubReferences();
+        stubAdmission(List.of(pass));
+
+        List<ScanResult> results = passValidationService.validatePasses(List.of(
+                new ValidatePassCommand(programId, qrCodeId, null, PassValidationMethod.QR_SCAN),
+                new ValidatePassCommand(programId, null, "ZZZ999", PassValidationMethod.MANUAL)
+        ));
+
+        assertEquals(List.of(
+                ScanResult.recorded(passId, PassValidationStatus.VALID),
+                ScanResult.rejected("Code not found")
+        ), results);
+        verify(passRepository, never()).findCheckInCandidateByQrCodeId(any());
+        verify(passRepository, never()).findCheckInCandidateByManualCode(any());
+    }
+
+    @Test
+    void validatePasses_whenPassScannedTwiceInBatch_thenFirstScanWins() {
+        when(passRepository.findCheckInCandidatesByQrCodeIds(Set.of(qrCodeId)))
+                .thenReturn(List.of(new QrCodeCheckInCandidate(qrCodeId, passId, passTypeId, programId, false)));
+        when(passRepository.findCheckInCandidatesByManualCodes(Set.of("ABC234")))
+                .thenReturn(List.of(new ManualCodeCheckInCandidate("ABC234", passId, passTypeId, programId, false)));
+        stubReferences();
+        stubAdmission(List.of(pass));
+
+        List<ScanResult> results = passValidationService.validatePasses(List.of(
+                new ValidatePassCommand(programId, null, "ABC234", PassValidationMethod.MANUAL),
+                new ValidatePassCommand(programId, qrCodeId, null, PassValidationMethod.QR_SCAN),
+                new ValidatePassCommand(programId, null, "ABC234", PassValidationMethod.MANUAL)
+        ));
+
+        assertEquals(List.of(PassValidationStatus.VALID, PassValidationStatus.INVALID, PassValidationStatus.INVALID),
+                results.stream().map(ScanResult::status).toList());
+    }
+
+    @Test
+    void validatePasses_whenPassAdmitted_thenStampsFirstValidation() {
+        when(passRepository.findCheckInCandidatesByQrCodeIds(Set.of(qrCodeId)))
+                .thenReturn(List.of(new QrCodeCheckInCandidate(qrCodeId, passId, passTypeId, programId, false)));
+        stubReferences();
+        stubAdmission(List.of(pass));
+
+        passValidationService.validatePasses(List.of(
+                new ValidatePassCommand(programId, qrCodeId, null, PassValidationMethod.QR_SCAN)
+        ));
+
+        assertNotNull(pass.getFirstValidatedAt());
+    }
+
+    @Test
+    void validatePasses_whenConcurrentCheckInAdmittedPassFirst_thenRecordsInvalid() {
+        when(passRepository.findCheckInCandidatesByQrCodeIds(Set.of(qrCodeId)))
+                .thenReturn(List.of(new QrCodeCheckInCandidate(qrCodeId, passId, passTypeId, programId, false)));
+        stubReferences();
+        stubAdmission(List.of());
+
+        List<ScanResult> results = passValidationService.validatePasses(List.of(
+                new ValidatePassCommand(programId, qrCodeId, null, PassValidationMethod.QR_SCAN)
+        ));
+
+        assertEquals(List.of(ScanResult.recorded(passId, PassValidationStatus.INVALID)), results);
+    }
+
+    @Test
+    void validatePasses_whenPassAlreadyValidated_thenRecordsInvalid() {
+        when(passRepository.findCheckInCandidatesByQrCodeIds(Set.of(qrCodeId)))
+                .thenReturn(List.of(new QrCodeCheckInCandidate(qrCodeId, passId, passTypeId, programId, true)));
+        stubReferences();
+
+        List<ScanResult> results = passValidationService.validatePasses(List.of(
+                new ValidatePassCommand(programId, qrCodeId, null, PassValidationMethod.QR_SCAN)
+        ));
+
+        assertEquals(List.of(ScanResult.recorded(passId, PassValidationStatus.INVALID)), results);
+        verify(passRepository, never()).findUnvalidatedByIdsWithLock(any());
+    }
+
+    @Test
+    void validatePasses_whenCalled_thenSavesAllValidationsAtOnce() {
+        when(passRepository.findCheckInCandidatesByQrCodeIds(Set.of(qrCodeId)))
+                .thenReturn(List.of(new QrCodeCheckInCandidate(qrCodeId, passId, passTypeId, programId, false)));
+        stubReferences();
+        stubAdmission(List.of(pass));
+
+        passValidationService.validatePasses(List.of(
+                new ValidatePassCommand(programId, qrCodeId, null, PassValidationMethod.QR_SCAN),
+                new ValidatePassCommand(programId, qrCodeId, null, PassValidationMethod.QR_SCAN)
+        ));
+
+        ArgumentCaptor<List<PassValidation>> captor = ArgumentCaptor.captor();
+        verify(passValidationRepository).saveAll(captor.capture());
+        verify(passValidationRepository, never()).save(any());
+        assertEquals(2, captor.getValue().size());
+    }
+
+    @Test
+    void validatePasses_whenPassBelongsToOtherProgram_thenRejectsOnlyThatScan() {
+        UUID otherProgramId = UUID.randomUUID();
+        UUID unknownProgramId = UUID.randomUUID();
+        when(passRepository.findCheckInCandidatesByQrCodeIds(Set.of(qrCodeId)))
+                .thenReturn(List.of(new QrCodeCheckInCandidate(qrCodeId, passId, passTypeId, programId, false)));
+        when(programRepository.findExistingIds(Set.of(otherProgramId, unknownProgramId)))
+                .thenReturn(Set.of(otherProgramId));
+        stubReferences();
+        stubAdmission(List.of(pass));
+
+        List<ScanResult> results = passValidationService.validatePasses(List.of(
+                new ValidatePassCommand(otherProgramId, qrCodeId, null, PassValidationMethod.QR_SCAN),
+                new ValidatePassCommand(unknownProgramId, qrCodeId, null, PassValidationMethod.QR_SCAN),
+                new ValidatePassCommand(programId, qrCodeId, null, PassValidationMethod.QR_SCAN)
+        ));
+
+        assertEquals(List.of(
+                ScanResult.rejected("Pass does not belong to program"),
+                ScanResult.rejected("Program not found"),
+                ScanResult.recorded(passId, PassValidationStatus.VALID)
+        ), results);
+    }
+
+    @Test
+    void validatePasses_whenEveryScanMatchesProgram_thenDoesNotCheckPrograms() {
+        when(passRepository.findCheckInCandidatesByQrCodeIds(Set.of(qrCodeId)))
+                .thenReturn(List.of(new QrCodeCheckInCandidate(qrCodeId, passId, passTypeId, programId, false)));
+        stubReferences();
+        stubAdmission(List.of(pass));
+
+        passValidationService.validatePasses(List.of(
+                new ValidatePassCommand(programId, qrCodeId, null, PassValidationMethod.QR_SCAN)
+        ));
+
+        verify(programRepository, never()).findExistingIds(any());
+        verify(passRepository, never()).findCheckInCandidatesByManualCodes(any());
+    }
+
+    @Test
+    void validatePasses_whenQrCodeUnknown_thenRejectsScan() {
+        when(passRepository.findCheckInCandidatesByQrCodeIds(Set.of(qrCodeId))).thenReturn(List.of());
+
+        List<ScanResult> results = passValidationService.validatePasses(List.of(
+                new ValidatePassCommand(programId, qrCodeId, null, PassValidationMethod.QR_SCAN)
+        ));
+
+        assertEquals(List.of(ScanResult.rejected("QR Code not found")), results);
+    }
+
+    // ==================== Helper Methods ====================
+
+    private CheckInCandidate admitted() {
+        return new CheckInCandidate(passId, passTypeId, programId, true);
+    }
+
+    private void stubReferencesAndSave() {
+        stubReferences();
+        when(passValidationRepository.save(any(PassValidation.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private void stubFirstValidation(int updatedRows) {
+        when(passRepository.markFirstValidated(eq(passId), any(LocalDateTime.class))).thenReturn(updatedRows);
+    }
+
+    private void stubAdmission(List<Pass> unvalidatedPasses) {
+        when(passRepository.findUnvalidatedByIdsWithLock(Set.of(passId))).thenReturn(unvalidatedPasses);
+    }
+
+    private void stubReferences() {
+        when(passRepository.getReferenceById(passId)).thenReturn(pass);
+        when(programRepository.getReferenceById(programId)).thenReturn(program);
+    }
+}
@@ -2,12 +2,19 @@ package dev.joshuaonyema.kaleo.application.service.impl;
 
 import dev.joshuaonyema.kaleo.application.command.CreatePassTypeCommand;
 import dev.joshuaonyema.kaleo.application.command.CreateProgramCommand;
+import dev.joshuaonyema.kaleo.application.command.UpdateProgramCommand;
+import dev.joshuaonyema.kaleo.application.event.ProgramChangedEvent;
+import dev.joshuaonyema.kaleo.application.search.ProgramSearchIndex;
+import dev.joshuaonyema.kaleo.application.search.ProgramSuggestions;
 import dev.joshuaonyema.kaleo.application.security.CurrentUserService;
 import dev.joshuaonyema.kaleo.domain.entity.PassType;
 import dev.joshuaonyema.kaleo.domain.entity.Program;
 import dev.joshuaonyema.kaleo.domain.entity.ProgramStatus;
 import dev.joshuaonyema.kaleo.domain.entity.User;
 import dev.joshuaonyema.kaleo.repository.ProgramRepository;
+import dev.joshuaonyema.kaleo.repository.projection.ProgramSearchDocument;
+import dev.joshuaonyema.kaleo.repository.projection.ProgramSummary;
+import dev.joshuaonyema.kaleo.repository.projection.ResourceVersion;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,10 +22,14 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -39,6 +50,15 @@ class ProgramServiceImplTest {
     @Mock
     private CurrentUserService currentUserService;
 
+    @Mock
+    private ProgramSearchIndex programSearchIndex;
+
+    @Mock
+    private ProgramSuggestions programSuggestions;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ProgramServiceImpl programService;
 
@@ -67,7 +87,7 @@ class ProgramServiceImplTest {
 
     @Test
     void createProgram_whenValidRequest_thenSavesAndReturnsProgram() {
-        when(currentUserService.getCurrentUser()).thenReturn(user);
+        when(currentUserService.getCurrentUserReference()).thenReturn(user);
         when(programRepository.save(any(Program.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Program result = programService.createProgram(validRequest);
@@ -88,7 +108,7 @@ class ProgramServiceImplTest {
     @Test
     void createProgram_whenValidRequest_thenCreatesPassTypes() {
         // Security context setup no longer needed
-        when(currentUserService.getCurrentUser()).thenReturn(user);
+        when(currentUserService.getCurrentUserReference()).thenReturn(user);
         when(programRepository.save(any(Program.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Program result = programService.createProgram(validRequest);
@@ -107,7 +127,7 @@ class ProgramServiceImplTest {
     @Test
     void createProgram_whenMultiplePassTypes_thenCreatesAll() {
         // Security context setup no longer needed
-        when(currentUserService.getCurrentUser()).thenReturn(user);
+        when(currentUserService.getCurrentUserReference()).thenReturn(user);
         when(programRepository.save(any(Program.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         validRequest.setPassTypes(List.of(
@@ -129,7 +149,7 @@ class ProgramServiceImplTest {
     @Test
     void createProgram_whenCalled_thenSavesProgramWithCorrectData() {
         // Security context setup no longer needed
-        when(currentUserService.getCurrentUser()).thenReturn(user);
+        when(currentUserService.getCurrentUserReference()).thenReturn(user);
         when(programRepository.save(any(Program.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         programService.createProgram(validRequest);
@@ -147,7 +167,7 @@ class ProgramServiceImplTest {
     @Test
     void createProgram_whenOptionalFieldsNull_thenCreatesSuccessfully() {
         // Security context setup no longer needed
-        when(currentUserService.getCurrentUser()).thenReturn(user);
+        when(currentUserService.getCurrentUserReference()).thenReturn(user);
         when(programRepository.save(any(Program.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         validRequest.setRegistrationStart(null);
@@ -163,7 +183,7 @@ class ProgramServiceImplTest {
     @Test
     void createProgram_whenPassTypeHasNullOptionalFields_thenCreatesSuccessfully() {
         // Security context setup no longer needed
-        when(currentUserService.getCurrentUser()).thenReturn(user);
+        when(currentUserService.getCurrentUserReference()).thenReturn(user);
         when(programRepository.save(any(Program.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         validRequest.setPassTypes(List.of(
@@ -183,7 +203,7 @@ class ProgramServiceImplTest {
     @Test
     void createProgram_whenDifferentStatuses_thenSetsCorrectStatus() {
         // Security context setup no longer needed
-        when(currentUserService.getCurrentUser()).thenReturn(user);
+        when(currentUserService.getCurrentUserReference()).thenReturn(user);
         when(programRepository.save(any(Program.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         for (ProgramStatus status : ProgramStatus.values()) {
@@ -198,19 +218,19 @@ class ProgramServiceImplTest {
     @Test
     void createProgram_whenCalled_thenCallsRepositorySaveOnce() {
         // Security context setup no longer needed
-        when(currentUserService.getCurrentUser()).thenReturn(user);
+        when(currentUserService.getCurrentUserReference()).thenReturn(user);
         when(programRepository.save(any(Program.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         programService.createProgram(validRequest);
 
         verify(programRepository, times(1)).save(any(Program.class));
-        verify(currentUserService, times(1)).getCurrentUser();
+        verify(currentUserService, times(1)).getCurrentUserReference();
     }
 
     @Test
     void createProgram_whenCalled_thenPassTypesAreLinkedToProgram() {
         // Security context setup no longer needed
-        when(currentUserService.getCurrentUser()).thenReturn(user);
+        when(currentUserService.getCurrentUserReference()).thenReturn(user);
         when(programRepository.save(any(Program.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         validRequest.setPassTypes(List.of(
@@ -280,6 +300,76 @@ class ProgramServiceImplTest {
         assertEquals(15, result.getTotalElements());
     }
 
+    @Test
+    void listProgramsForOrganizer_whenPageLoaded_thenFetchesPassTypesOfWholePageAtOnce() {
+        when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+        Program program1 = createTestProgram("Program 1");
+        Program program2 = createTestProgram("Program 2");
+        Pageable pageable = PageRequest.of(0, 10);
+        when(programRepository.findByOrganizerId(user.getId(), pageable))
+                .thenReturn(new PageImpl<>(List.of(program1, program2)));
+
+        programService.listProgramsForOrganizer(pageable);
+
+        verify(programRepository).findWithPassTypesByIdIn(List.of(program1.getId(), program2.getId()));
+    }
+
+    @Test
+    void listProgramsForOrganizer_whenPageEmpty_thenSkipsPassTypeFetch() {
+        when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+        Pageable pageable = PageRequest.of(0, 10);
+        when(programRepository.findByOrganizerId(user.getId(), pageable)).thenReturn(Page.empty());
+
+        programService.listProgramsForOrganizer(pageable);
+
+        verify(programRepository, never()).findWithPassTypesByIdIn(any());
+    }
+
+    // ==================== listProgramsForStaff Tests ====================
+
+    @Test
+    void listProgramsForStaff_whenCalled_thenReadsSummariesOnly() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<ProgramSummary> summaries = new PageImpl<>(List.of(new ProgramSummary(UUID.randomUUID(), "Program 1")));
+        when(programRepository.findAllProjectedBy(pageable)).thenReturn(summaries);
+
+        assertSame(summaries, programService.listProgramsForStaff(pageable));
+        verifyNoInteractions(currentUserService);
+    }
+
+    // ==================== Scroll Tests ====================
+
+    @Test
+    void scrollProgramsForOrganizer_whenCalled_thenScrollsOwnProgramsNewestFirst() {
+        when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+        ScrollPosition position = ScrollPosition.keyset();
+        Window<Program> window = Window.from(List.of(createTestProgram("Program 1")), index -> position, true);
+        when(programRepository.findByOrganizerIdOrderByCreatedAtDescIdDesc(user.getId(), position, Limit.of(10)))
+                .thenReturn(window);
+
+        assertSame(window, programService.scrollProgramsForOrganizer(position, 10));
+    }
+
+    @Test
+    void scrollPublishedPrograms_whenCalled_thenScrollsOnlyPublishedPrograms() {
+        ScrollPosition position = ScrollPosition.keyset();
+        Window<Program> window = Window.from(List.of(), index -> position);
+        when(programRepository.findByStatusOrderByCreatedAtDescIdDesc(ProgramStatus.PUBLISHED, position, Limit.of(20)))
+                .thenReturn(window);
+
+        assertSame(window, programService.scrollPublishedPrograms(position, 20));
+    }
+
+    @Test
+    void scrollProgramsForStaff_whenCalled_thenScrollsAllPrograms() {
+        ScrollPosition position = ScrollPosition.keyset();
+        Window<Program> window = Window.from(List.of(createTestProgram("Program 1")), index -> position);
+        when(programRepository.findAllByOrderByCreatedAtDescIdDesc(position, Limit.of(5))).thenReturn(window);
+
+        assertSame(window, programService.scrollProgramsForStaff(position, 5));
+        verifyNoInteractions(currentUserService);
+    }
+
     // ==================== getProgramForOrganizer Tests ====================
 
     @Test
@@ -324,6 +414,160 @@ class ProgramServiceImplTest {
         verify(programRepository).findByIdAndOrganizerId(programId, user.getId());
     }
 
+    // ==================== Version Tests ====================
+
+    @Test
+    void getProgramVersionForOrganizer_whenProgramExists_thenReturnsVersion() {
+        when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+        UUID programId = UUID.randomUUID();
+        ResourceVersion version = new ResourceVersion(1, LocalDateTime.now(), 2, LocalDateTime.now());
+        when(programRepository.findVersionByIdAndOrganizerId(programId, user.getId())).thenReturn(version);
+
+        assertEquals(Optional.of(version), programService.getProgramVersionForOrganizer(programId));
+    }
+
+    @Test
+    void getProgramVersionForOrganizer_whenNoProgramCounted_thenReturnsEmpty() {
+        when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+        UUID programId = UUID.randomUUID();
+        when(programRepository.findVersionByIdAndOrganizerId(programId, user.getId()))
+                .thenReturn(new ResourceVersion(0, null, 0, null));
+
+        assertTrue(programService.getProgramVersionForOrganizer(programId).isEmpty());
+    }
+
+    @Test
+    void getProgramsVersionForOrganizer_whenCalled_thenReadsCurrentOrganizersVersion() {
+        when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+        ResourceVersion version = new ResourceVersion(0, null, 0, null);
+        when(programRepository.findVersionByOrganizerId(user.getId())).thenReturn(version);
+
+        assertSame(version, programService.getProgramsVersionForOrganizer());
+    }
+
+    // ==================== Search Index Tests ====================
+
+    @Test
+    void createProgram_whenSaved_thenIndexesProgramAfterCommit() {
+        when(currentUserService.getCurrentUserReference()).thenReturn(user);
+        when(programRepository.save(any(Program.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Program result = programService.createProgram(validRequest);
+
+        verify(programSearchIndex).indexAfterCommit(result);
+        verify(programSuggestions).indexAfterCommit(result);
+    }
+
+    @Test
+    void deleteProgramForOrganizer_whenOwned_thenRemovesProgramAfterCommit() {
+        when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+        Program program = createTestProgram("Test Program");
+        when(programRepository.findByIdAndOrganizerId(program.getId(), user.getId())).thenReturn(Optional.of(program));
+
+        programService.deleteProgramForOrganizer(program.getId());
+
+        verify(programRepository).delete(program);
+        verify(programSearchIndex).removeAfterCommit(program.getId());
+        verify(programSuggestions).removeAfterCommit(program.getId());
+    }
+
+    // ==================== Change Event Tests ====================
+
+    @Test
+    void createProgram_whenSaved_thenPublishesProgramChanged() {
+        when(currentUserService.getCurrentUserReference()).thenReturn(user);
+        when(programRepository.save(any(Program.class))).thenAnswer(invocation -> {
+            Program saved = invocation.getArgument(0);
+            saved.setId(UUID.randomUUID());
+            return saved;
+        });
+
+        Program result = programService.createProgram(validRequest);
+
+        verify(eventPublisher).publishEvent(new ProgramChangedEvent(result.getId()));
+    }
+
+    @Test
+    void updateProgramForOrganizer_whenSaved_thenPublishesProgramChanged() {
+        when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+        Program program = createTestProgram("Test Program");
+        when(programRepository.findByIdAndOrganizerId(program.getId(), user.getId())).thenReturn(Optional.of(program));
+        when(programRepository.save(program)).thenReturn(program);
+        var now = LocalDateTime.now();
+        UpdateProgramCommand command = new UpdateProgramCommand(program.getId(), "Renamed Program",
+                now.plusDays(1), now.plusDays(1).plusHours(2), "Main Hall",
+                null, null, ProgramStatus.PUBLISHED, null);
+
+        programService.updateProgramForOrganizer(program.getId(), command);
+
+        verify(eventPublisher).publishEvent(new ProgramChangedEvent(program.getId()));
+    }
+
+    @Test
+    void deleteProgramForOrganizer_whenOwned_thenPublishesProgramChanged() {
+        when(currentUserService.getCurrentUserId()).thenReturn(user.getId());
+        Program program = createTestProgram("Test Program");
+        when(programRepository.findByIdAndOrganizerId(program.getId(), user.getId())).thenReturn(Optional.of(program));
+
+        programService.deleteProgramForOrganizer(program.getId());
+
+        verify(eventPublisher).publishEvent(new ProgramChangedEvent(program.getId()));
+    }
+
+    // ==================== searchPublishedPrograms Tests ====================
+
+    @Test
+    void searchPublishedPrograms_whenMatches_thenReturnsProgramsInRelevanceOrder() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Program first = createTestProgram("Youth Camp");
+        Program second = createTestProgram("Youth Night");
+        first.setStatus(ProgramStatus.PUBLISHED);
+        second.setStatus(ProgramStatus.PUBLISHED);
+        when(programSearchIndex.search("youth", pageable))
+                .thenReturn(new PageImpl<>(List.of(first.getId(), second.getId()), pageable, 2));
+        when(programRepository.findAllById(List.of(first.getId(), second.getId()))).thenReturn(List.of(second, first));
+
+        Page<Program> result = programService.searchPublishedPrograms("youth", pageable);
+
+        assertEquals(List.of(first, second), result.getContent());
+        assertEquals(2, result.getTotalElements());
+    }
+
+    @Test
+    void searchPublishedPrograms_whenIndexedProgramNoLongerPublished_thenSkipsIt() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Program unpublished = createTestProgram("Youth Camp");
+        when(programSearchIndex.search("youth", pageable))
+                .thenReturn(new PageImpl<>(List.of(unpublished.getId()), pageable, 1));
+        when(programRepository.findAllById(List.of(unpublished.getId()))).thenReturn(List.of(unpublished));
+
+        Page<Program> result = programService.searchPublishedPrograms("youth", pageable);
+
+        assertTrue(result.getContent().isEmpty());
+    }
+
+    @Test
+    void searchPublishedPrograms_whenNoMatches_thenSkipsProgramLookup() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(programSearchIndex.search("nothing", pageable)).thenReturn(Page.empty(pageable));
+
+        Page<Program> result = programService.searchPublishedPrograms("nothing", pageable);
+
+        assertTrue(result.isEmpty());
+        verify(programRepository, never()).findAllById(any());
+    }
+
+    // ==================== suggestPublishedPrograms Tests ====================
+
+    @Test
+    void suggestPublishedPrograms_whenCalled_thenAnswersFromSuggestions() {
+        List<ProgramSearchDocument> suggestions =
+                List.of(new ProgramSearchDocument(UUID.randomUUID(), "Youth Camp", "Main Hall"));
+        when(programSuggestions.suggest("you", 5)).thenReturn(suggestions);
+
+        assertEquals(suggestions, programService.suggestPublishedPrograms("you", 5));
+        verifyNoInteractions(programRepository);
+    }
 
     // ==================== Helper Methods ====================
 
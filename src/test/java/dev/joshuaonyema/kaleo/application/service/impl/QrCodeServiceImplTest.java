@@ -1,11 +1,15 @@
 package dev.joshuaonyema.kaleo.application.service.impl;
 
-import com.google.zxing.WriterException;
-import com.google.zxing.qrcode.QRCodeWriter;
+import dev.joshuaonyema.kaleo.application.qrcode.QrCodeImage;
+import dev.joshuaonyema.kaleo.application.qrcode.QrCodeImageCache;
+import dev.joshuaonyema.kaleo.application.qrcode.QrCodeImageFormat;
+import dev.joshuaonyema.kaleo.application.qrcode.QrCodeRenderQueue;
+import dev.joshuaonyema.kaleo.application.security.CurrentUserService;
 import dev.joshuaonyema.kaleo.domain.entity.Pass;
 import dev.joshuaonyema.kaleo.domain.entity.QrCode;
+import dev.joshuaonyema.kaleo.domain.entity.QrCodeImageStatus;
 import dev.joshuaonyema.kaleo.domain.entity.QrCodeStatus;
-import dev.joshuaonyema.kaleo.exception.QrCodeGenerationException;
+import dev.joshuaonyema.kaleo.exception.QrCodeNotFoundException;
 import dev.joshuaonyema.kaleo.repository.QrCodeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,7 +17,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -24,10 +32,16 @@ import static org.mockito.Mockito.*;
 class QrCodeServiceImplTest {
 
     @Mock
-    private QRCodeWriter qrCodeWriter;
+    private QrCodeRepository qrCodeRepository;
 
     @Mock
-    private QrCodeRepository qrCodeRepository;
+    private CurrentUserService currentUserService;
+
+    @Mock
+    private QrCodeImageCache qrCodeImageCache;
+
+    @Mock
+    private QrCodeRenderQueue qrCodeRenderQueue;
 
     @InjectMocks
     private QrCodeServiceImpl qrCodeService;
@@ -38,14 +52,13 @@ class QrCodeServiceImplTest {
     void setUp() {
         pass = new Pass();
         pass.setId(UUID.randomUUID());
+        ReflectionTestUtils.setField(qrCodeService, "storeImages", true);
     }
 
     // ==================== generateQrCode Success Tests ====================
 
     @Test
-    void generateQrCode_whenValidPass_thenReturnsQrCode() throws Exception {
-        when(qrCodeWriter.encode(anyString(), any(), anyInt(), anyInt()))
-            .thenReturn(new com.google.zxing.common.BitMatrix(300, 300));
+    void generateQrCode_whenValidPass_thenReturnsQrCode() {
         when(qrCodeRepository.saveAndFlush(any(QrCode.class)))
             .thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -55,9 +68,7 @@ class QrCodeServiceImplTest {
     }
 
     @Test
-    void generateQrCode_whenCalled_thenSetsActiveStatus() throws Exception {
-        when(qrCodeWriter.encode(anyString(), any(), anyInt(), anyInt()))
-            .thenReturn(new com.google.zxing.common.BitMatrix(300, 300));
+    void generateQrCode_whenCalled_thenSetsActiveStatus() {
         when(qrCodeRepository.saveAndFlush(any(QrCode.class)))
             .thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -67,9 +78,7 @@ class QrCodeServiceImplTest {
     }
 
     @Test
-    void generateQrCode_whenCalled_thenSetsUniqueId() throws Exception {
-        when(qrCodeWriter.encode(anyString(), any(), anyInt(), anyInt()))
-            .thenReturn(new com.google.zxing.common.BitMatrix(300, 300));
+    void generateQrCode_whenCalled_thenSetsUniqueId() {
         when(qrCodeRepository.saveAndFlush(any(QrCode.class)))
             .thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -79,9 +88,7 @@ class QrCodeServiceImplTest {
     }
 
     @Test
-    void generateQrCode_whenCalled_thenLinksToPass() throws Exception {
-        when(qrCodeWriter.encode(anyString(), any(), anyInt(), anyInt()))
-            .thenReturn(new com.google.zxing.common.BitMatrix(300, 300));
+    void generateQrCode_whenCalled_thenLinksToPass() {
         when(qrCodeRepository.saveAndFlush(any(QrCode.class)))
             .thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -91,22 +98,29 @@ class QrCodeServiceImplTest {
     }
 
     @Test
-    void generateQrCode_whenCalled_thenGeneratesBase64Value() throws Exception {
-        when(qrCodeWriter.encode(anyString(), any(), anyInt(), anyInt()))
-            .thenReturn(new com.google.zxing.common.BitMatrix(300, 300));
+    void generateQrCode_whenCalled_thenLeavesImagePendingWithoutRendering() {
+        when(qrCodeRepository.saveAndFlush(any(QrCode.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        QrCode result = qrCodeService.generateQrCode(pass);
+
+        assertEquals(QrCodeImageStatus.PENDING, result.getImageStatus());
+        assertNull(result.getValue());
+        verifyNoInteractions(qrCodeImageCache);
+    }
+
+    @Test
+    void generateQrCode_whenCalled_thenQueuesRenderingAfterCommit() {
         when(qrCodeRepository.saveAndFlush(any(QrCode.class)))
             .thenAnswer(invocation -> invocation.getArgument(0));
 
         QrCode result = qrCodeService.generateQrCode(pass);
 
-        assertNotNull(result.getValue());
-        assertFalse(result.getValue().isEmpty());
+        verify(qrCodeRenderQueue).submitAfterCommit(List.of(result.getId()));
     }
 
     @Test
-    void generateQrCode_whenCalled_thenSavesToRepository() throws Exception {
-        when(qrCodeWriter.encode(anyString(), any(), anyInt(), anyInt()))
-            .thenReturn(new com.google.zxing.common.BitMatrix(300, 300));
+    void generateQrCode_whenCalled_thenSavesToRepository() {
         when(qrCodeRepository.saveAndFlush(any(QrCode.class)))
             .thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -115,55 +129,119 @@ class QrCodeServiceImplTest {
         verify(qrCodeRepository, times(1)).saveAndFlush(any(QrCode.class));
     }
 
-    // ==================== generateQrCode Exception Tests ====================
-
     @Test
-    void generateQrCode_whenWriterFails_thenThrowsQrCodeGenerationException() throws Exception {
-        when(qrCodeWriter.encode(anyString(), any(), anyInt(), anyInt()))
-            .thenThrow(new WriterException("Encoding failed"));
+    void generateQrCode_whenCalledMultipleTimes_thenGeneratesUniqueIds() {
+        when(qrCodeRepository.saveAndFlush(any(QrCode.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
 
-        QrCodeGenerationException exception = assertThrows(
-            QrCodeGenerationException.class,
-            () -> qrCodeService.generateQrCode(pass)
-        );
+        QrCode result1 = qrCodeService.generateQrCode(pass);
+        QrCode result2 = qrCodeService.generateQrCode(pass);
 
-        assertEquals("Failed to generate QR Code", exception.getMessage());
+        assertNotEquals(result1.getId(), result2.getId());
     }
 
+    // ==================== generateQrCodes Tests ====================
+
     @Test
-    void generateQrCode_whenWriterFails_thenDoesNotSaveToRepository() throws Exception {
-        when(qrCodeWriter.encode(anyString(), any(), anyInt(), anyInt()))
-            .thenThrow(new WriterException("Encoding failed"));
+    void generateQrCodes_whenCalled_thenSavesAllWithoutFlushing() {
+        Pass secondPass = new Pass();
+        secondPass.setId(UUID.randomUUID());
+        when(qrCodeRepository.saveAll(anyList()))
+            .thenAnswer(invocation -> invocation.getArgument(0));
 
-        assertThrows(QrCodeGenerationException.class, () -> qrCodeService.generateQrCode(pass));
+        List<QrCode> result = qrCodeService.generateQrCodes(List.of(pass, secondPass));
 
+        assertEquals(2, result.size());
+        assertEquals(pass, result.get(0).getPass());
+        assertEquals(secondPass, result.get(1).getPass());
+        assertNotEquals(result.get(0).getId(), result.get(1).getId());
+        verify(qrCodeRepository, times(1)).saveAll(anyList());
         verify(qrCodeRepository, never()).saveAndFlush(any());
+        verify(qrCodeRenderQueue).submitAfterCommit(List.of(result.get(0).getId(), result.get(1).getId()));
     }
 
-    // ==================== generateQrCode Verification Tests ====================
+    // ==================== getQrCodeImageForUserAndPass Tests ====================
+
+    @Test
+    void getQrCodeImage_whenImageReady_thenDecodesStoredValue() {
+        UUID userId = UUID.randomUUID();
+        byte[] image = {1, 2, 3};
+        QrCode qrCode = new QrCode();
+        qrCode.setId(UUID.randomUUID());
+        qrCode.setImageStatus(QrCodeImageStatus.READY);
+        qrCode.setValue(Base64.getEncoder().encodeToString(image));
+        when(currentUserService.getCurrentUserId()).thenReturn(userId);
+        when(qrCodeRepository.findByPassIdAndPassRegistrantId(pass.getId(), userId)).thenReturn(Optional.of(qrCode));
+
+        assertArrayEquals(image, qrCodeService.getQrCodeImageForUserAndPass(pass.getId(), QrCodeImageFormat.PNG, 300).content());
+        verifyNoInteractions(qrCodeImageCache);
+    }
 
     @Test
-    void generateQrCode_whenCalled_thenUsesCorrectDimensions() throws Exception {
-        when(qrCodeWriter.encode(anyString(), any(), eq(300), eq(300)))
-            .thenReturn(new com.google.zxing.common.BitMatrix(300, 300));
+    void generateQrCode_whenImagesNotStored_thenPersistsIdOnlyAndQueuesNothing() {
+        ReflectionTestUtils.setField(qrCodeService, "storeImages", false);
         when(qrCodeRepository.saveAndFlush(any(QrCode.class)))
             .thenAnswer(invocation -> invocation.getArgument(0));
 
-        qrCodeService.generateQrCode(pass);
+        QrCode result = qrCodeService.generateQrCode(pass);
 
-        verify(qrCodeWriter).encode(anyString(), any(), eq(300), eq(300));
+        assertNull(result.getValue());
+        assertEquals(QrCodeImageStatus.READY, result.getImageStatus());
+        verifyNoInteractions(qrCodeRenderQueue);
     }
 
     @Test
-    void generateQrCode_whenCalledMultipleTimes_thenGeneratesUniqueIds() throws Exception {
-        when(qrCodeWriter.encode(anyString(), any(), anyInt(), anyInt()))
-            .thenReturn(new com.google.zxing.common.BitMatrix(300, 300));
-        when(qrCodeRepository.saveAndFlush(any(QrCode.class)))
-            .thenAnswer(invocation -> invocation.getArgument(0));
+    void getQrCodeImage_whenNothingStored_thenServesFromImageCache() {
+        UUID userId = UUID.randomUUID();
+        byte[] image = {7, 8, 9};
+        QrCode qrCode = new QrCode();
+        qrCode.setId(UUID.randomUUID());
+        qrCode.setImageStatus(QrCodeImageStatus.READY);
+        when(currentUserService.getCurrentUserId()).thenReturn(userId);
+        when(qrCodeRepository.findByPassIdAndPassRegistrantId(pass.getId(), userId)).thenReturn(Optional.of(qrCode));
+        when(qrCodeImageCache.get(qrCode.getId(), QrCodeImageFormat.PNG, 300)).thenReturn(QrCodeImage.of(QrCodeImageFormat.PNG, image));
+
+        assertArrayEquals(image, qrCodeService.getQrCodeImageForUserAndPass(pass.getId(), QrCodeImageFormat.PNG, 300).content());
+    }
 
-        QrCode result1 = qrCodeService.generateQrCode(pass);
-        QrCode result2 = qrCodeService.generateQrCode(pass);
+    @Test
+    void getQrCodeImage_whenImagePending_thenRendersOnDemand() {
+        UUID userId = UUID.randomUUID();
+        byte[] image = {4, 5, 6};
+        QrCode qrCode = new QrCode();
+        qrCode.setId(UUID.randomUUID());
+        qrCode.setImageStatus(QrCodeImageStatus.PENDING);
+        when(currentUserService.getCurrentUserId()).thenReturn(userId);
+        when(qrCodeRepository.findByPassIdAndPassRegistrantId(pass.getId(), userId)).thenReturn(Optional.of(qrCode));
+        when(qrCodeImageCache.get(qrCode.getId(), QrCodeImageFormat.PNG, 300)).thenReturn(QrCodeImage.of(QrCodeImageFormat.PNG, image));
+
+        assertArrayEquals(image, qrCodeService.getQrCodeImageForUserAndPass(pass.getId(), QrCodeImageFormat.PNG, 300).content());
+    }
 
-        assertNotEquals(result1.getId(), result2.getId());
+    @Test
+    void getQrCodeImage_whenNotFound_thenThrowsQrCodeNotFoundException() {
+        UUID userId = UUID.randomUUID();
+        when(currentUserService.getCurrentUserId()).thenReturn(userId);
+        when(qrCodeRepository.findByPassIdAndPassRegistrantId(pass.getId(), userId)).thenReturn(Optional.empty());
+
+        assertThrows(QrCodeNotFoundException.class, () -> qrCodeService.getQrCodeImageForUserAndPass(pass.getId(), QrCodeImageFormat.PNG, 300));
+    }
+
+    @Test
+    void getQrCodeImage_whenOtherFormatOrSize_thenIgnoresStoredValue() {
+        UUID userId = UUID.randomUUID();
+        QrCode qrCode = new QrCode();
+        qrCode.setId(UUID.randomUUID());
+        qrCode.setImageStatus(QrCodeImageStatus.READY);
+        qrCode.setValue(Base64.getEncoder().encodeToString(new byte[]{1, 2, 3}));
+        QrCodeImage svg = QrCodeImage.of(QrCodeImageFormat.SVG, "<svg/>".getBytes());
+        QrCodeImage largePng = QrCodeImage.of(QrCodeImageFormat.PNG, new byte[]{9});
+        when(currentUserService.getCurrentUserId()).thenReturn(userId);
+        when(qrCodeRepository.findByPassIdAndPassRegistrantId(pass.getId(), userId)).thenReturn(Optional.of(qrCode));
+        when(qrCodeImageCache.get(qrCode.getId(), QrCodeImageFormat.SVG, 300)).thenReturn(svg);
+        when(qrCodeImageCache.get(qrCode.getId(), QrCodeImageFormat.PNG, 600)).thenReturn(largePng);
+
+        assertSame(svg, qrCodeService.getQrCodeImageForUserAndPass(pass.getId(), QrCodeImageFormat.SVG, 300));
+        assertSame(largePng, qrCodeService.getQrCodeImageForUserAndPass(pass.getId(), QrCodeImageFormat.PNG, 600));
     }
 }
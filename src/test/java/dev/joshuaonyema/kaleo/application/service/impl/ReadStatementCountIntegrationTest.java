@@ -0,0 +1,212 @@
+package dev.joshuaonyema.kaleo.application.service.impl;
+
+import dev.joshuaonyema.kaleo.api.dto.response.GetPassResponseDto;
+import dev.joshuaonyema.kaleo.api.dto.response.ListPassResponseDto;
+import dev.joshuaonyema.kaleo.api.dto.response.ListProgramResponseDto;
+import dev.joshuaonyema.kaleo.api.dto.response.ListPublishedProgramResponseDto;
+import dev.joshuaonyema.kaleo.api.dto.response.StaffProgramResponseDto;
+import dev.joshuaonyema.kaleo.application.service.PassService;
+import dev.joshuaonyema.kaleo.application.service.ProgramService;
+import dev.joshuaonyema.kaleo.domain.entity.Pass;
+import dev.joshuaonyema.kaleo.domain.entity.Program;
+import dev.joshuaonyema.kaleo.mapper.PassMapper;
+import dev.joshuaonyema.kaleo.mapper.ProgramMapper;
+import dev.joshuaonyema.kaleo.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static dev.joshuaonyema.kaleo.support.IntegrationTestFixtures.newProgramCommand;
+import static dev.joshuaonyema.kaleo.support.IntegrationTestFixtures.signInNewUser;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the number of SQL statements issued by the program and pass listings, mapping included, so a page
+ * costs the same few statements however many rows it holds. Mapping runs outside any transaction here, so
+ * anything a listing forgets to fetch fails the test instead of loading lazily.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "kaleo.qr-code.store-images=false",
+        "kaleo.check-in.counters.flush-interval=1h"
+})
+@ActiveProfiles("test")
+class ReadStatementCountIntegrationTest {
+
+    private static final int PROGRAMS = 25;
+
+    // Every program gets two passes for the current user, so the largest size is a full listing
+    private static final int[] PAGE_SIZES = {1, 10, 2 * PROGRAMS};
+
+    // Page select, count and one select for the pass types of the whole page
+    private static final long ORGANIZER_PAGE_MAX_STATEMENTS = 3;
+
+    // Window select and one select for the pass types of the whole window
+    private static final long ORGANIZER_WINDOW_MAX_STATEMENTS = 2;
+
+    // Page select and count
+    private static final long PUBLISHED_PAGE_MAX_STATEMENTS = 2;
+
+    // Page select and count, reading only ids and names
+    private static final long STAFF_PAGE_MAX_STATEMENTS = 2;
+
+    // One joined select and a count
+    private static final long PASS_PAGE_MAX_STATEMENTS = 2;
+
+    // One joined select
+    private static final long PASS_WINDOW_MAX_STATEMENTS = 1;
+    private static final long PASS_DETAILS_MAX_STATEMENTS = 1;
+
+    @Autowired
+    private ProgramService programService;
+
+    @Autowired
+    private ProgramMapper programMapper;
+
+    @Autowired
+    private PassService passService;
+
+    @Autowired
+    private PassMapper passMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private final List<Pass> passes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        signInNewUser(userRepository);
+
+        for (int i = 0; i < PROGRAMS; i++) {
+            Program program = programService.createProgram(newProgramCommand("Program " + i));
+            passes.add(passService.purchasePasses(program.getPassTypes().getFirst().getId(), 2).getFirst());
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void listProgramsForOrganizer_whenPageMapped_thenStaysWithinStatementBudget() {
+        statistics.clear();
+
+        List<ListProgramResponseDto> programs = programService.listProgramsForOrganizer(PageRequest.of(0, PROGRAMS))
+                .map(programMapper::toListProgramResponseDto)
+                .getContent();
+
+        assertEquals(PROGRAMS, programs.size());
+        assertTrue(programs.stream().allMatch(program -> program.getPassTypes().size() == 2));
+        assertTrue(statistics.getPrepareStatementCount() <= ORGANIZER_PAGE_MAX_STATEMENTS,
+                "organizer listing issued " + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    @Test
+    void scrollProgramsForOrganizer_whenWindowMapped_thenStaysWithinStatementBudget() {
+        statistics.clear();
+
+        List<ListProgramResponseDto> programs = programService.scrollProgramsForOrganizer(ScrollPosition.keyset(), 20)
+                .map(programMapper::toListProgramResponseDto)
+                .getContent();
+
+        assertEquals(20, programs.size());
+        assertTrue(programs.stream().allMatch(program -> program.getPassTypes().size() == 2));
+        assertTrue(statistics.getPrepareStatementCount() <= ORGANIZER_WINDOW_MAX_STATEMENTS,
+                "organizer scroll issued " + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    @Test
+    void listPublishedPrograms_whenPageMapped_thenStaysWithinStatementBudget() {
+        statistics.clear();
+
+        List<ListPublishedProgramResponseDto> programs = programService.listPublishedPrograms(PageRequest.of(0, PROGRAMS))
+                .map(programMapper::toListPublishedProgramResponseDto)
+                .getContent();
+
+        assertFalse(programs.isEmpty());
+        assertTrue(statistics.getPrepareStatementCount() <= PUBLISHED_PAGE_MAX_STATEMENTS,
+                "published listing issued " + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    @Test
+    void listProgramsForStaff_whenPageMapped_thenStaysWithinStatementBudget() {
+        statistics.clear();
+
+        List<StaffProgramResponseDto> programs = programService.listProgramsForStaff(PageRequest.of(0, PROGRAMS))
+                .map(programMapper::toStaffProgramResponseDto)
+                .getContent();
+
+        assertEquals(PROGRAMS, programs.size());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertTrue(statistics.getPrepareStatementCount() <= STAFF_PAGE_MAX_STATEMENTS,
+                "staff listing issued " + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    @Test
+    void listPassesForUser_whenPageMapped_thenStatementCountDoesNotGrowWithPageSize() {
+        // Each pass comes from a different program, so lazy loading would cost two selects per pass
+        for (int size : PAGE_SIZES) {
+            statistics.clear();
+
+            List<ListPassResponseDto> result = passService.listPassesForUser(PageRequest.of(0, size))
+                    .map(passMapper::toListPassResponseDto)
+                    .getContent();
+
+            assertEquals(size, result.size());
+            assertTrue(result.stream().allMatch(pass -> pass.getProgramName() != null && pass.getPassTypeName() != null));
+            assertEquals(0, statistics.getEntityLoadCount());
+            assertTrue(statistics.getPrepareStatementCount() <= PASS_PAGE_MAX_STATEMENTS,
+                    "pass listing of " + size + " issued " + statistics.getPrepareStatementCount() + " statements");
+        }
+    }
+
+    @Test
+    void scrollPassesForUser_whenWindowMapped_thenStatementCountDoesNotGrowWithWindowSize() {
+        for (int size : PAGE_SIZES) {
+            statistics.clear();
+
+            List<ListPassResponseDto> result = passService.scrollPassesForUser(ScrollPosition.keyset(), size)
+                    .map(passMapper::toListPassResponseDto)
+                    .getContent();
+
+            assertEquals(size, result.size());
+            assertTrue(result.stream().allMatch(pass -> pass.getProgramName() != null));
+            assertTrue(statistics.getPrepareStatementCount() <= PASS_WINDOW_MAX_STATEMENTS,
+                    "pass scroll of " + size + " issued " + statistics.getPrepareStatementCount() + " statements");
+        }
+    }
+
+    @Test
+    void getPassForUser_whenMapped_thenStaysWithinStatementBudget() {
+        statistics.clear();
+
+        GetPassResponseDto result = passService.getPassForUser(passes.getFirst().getId())
+                .map(passMapper::toGetPassResponseDto)
+                .orElseThrow();
+
+        assertEquals("Program 0", result.getProgramName());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertTrue(statistics.getPrepareStatementCount() <= PASS_DETAILS_MAX_STATEMENTS,
+                "pass details issued " + statistics.getPrepareStatementCount() + " statements");
+    }
+}
@@ -0,0 +1,148 @@
+package dev.joshuaonyema.kaleo.application.service.impl;
+
+import dev.joshuaonyema.kaleo.application.checkin.ScanResult;
+import dev.joshuaonyema.kaleo.application.command.ValidatePassCommand;
+import dev.joshuaonyema.kaleo.application.service.PassService;
+import dev.joshuaonyema.kaleo.application.service.PassValidationService;
+import dev.joshuaonyema.kaleo.application.service.ProgramService;
+import dev.joshuaonyema.kaleo.domain.entity.Pass;
+import dev.joshuaonyema.kaleo.domain.entity.PassValidationMethod;
+import dev.joshuaonyema.kaleo.domain.entity.PassValidationStatus;
+import dev.joshuaonyema.kaleo.domain.entity.Program;
+import dev.joshuaonyema.kaleo.domain.entity.User;
+import dev.joshuaonyema.kaleo.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static dev.joshuaonyema.kaleo.support.IntegrationTestFixtures.newProgramCommand;
+import static dev.joshuaonyema.kaleo.support.IntegrationTestFixtures.signInNewUser;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the number of SQL statements issued by the hot write paths. Writes only need the current user
+ * as a foreign key, so they must never load the user row.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // Keeps background QR rendering from adding statements while counting
+        "kaleo.qr-code.store-images=false",
+        // Keeps the periodic check-in counter flush from adding statements while counting
+        "kaleo.check-in.counters.flush-interval=1h"
+})
+@ActiveProfiles("test")
+class WriteStatementCountIntegrationTest {
+
+    // Program insert plus one batched pass type insert
+    private static final long CREATE_PROGRAM_MAX_STATEMENTS = 2;
+
+    // Pass type select, sold_count update, pass insert and QR code insert
+    private static final long PURCHASE_PASS_MAX_STATEMENTS = 4;
+
+    // One check-in lookup, the first-admission update and the validation insert
+    private static final long CHECK_IN_MAX_STATEMENTS = 3;
+
+    // One manual code lookup, one locking select, one batched pass update and one batched validation insert
+    private static final long BATCH_CHECK_IN_MAX_STATEMENTS = 4;
+
+    @Autowired
+    private ProgramService programService;
+
+    @Autowired
+    private PassService passService;
+
+    @Autowired
+    private PassValidationService passValidationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        signInNewUser(userRepository);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void createProgram_whenCalled_thenDoesNotLoadUserAndStaysWithinStatementBudget() {
+        statistics.clear();
+
+        programService.createProgram(newProgramCommand("Sunday Service"));
+
+        assertEquals(0, statistics.getEntityStatistics(User.class.getName()).getLoadCount());
+        assertTrue(statistics.getPrepareStatementCount() <= CREATE_PROGRAM_MAX_STATEMENTS,
+                "createProgram issued " + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    @Test
+    void purchasePass_whenCalled_thenDoesNotLoadUserAndStaysWithinStatementBudget() {
+        Program program = programService.createProgram(newProgramCommand("Sunday Service"));
+        UUID passTypeId = program.getPassTypes().getFirst().getId();
+        // The first purchase also reserves a block of manual codes
+        passService.purchasePass(passTypeId);
+        statistics.clear();
+
+        passService.purchasePass(passTypeId);
+
+        assertEquals(0, statistics.getEntityStatistics(User.class.getName()).getLoadCount());
+        assertTrue(statistics.getPrepareStatementCount() <= PURCHASE_PASS_MAX_STATEMENTS,
+                "purchasePass issued " + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    @Test
+    void validatePassByManualCode_whenScanned_thenStaysWithinStatementBudget() {
+        Program program = programService.createProgram(newProgramCommand("Sunday Service"));
+        Pass pass = passService.purchasePasses(program.getPassTypes().getFirst().getId(), 1).getFirst();
+        statistics.clear();
+
+        PassValidationStatus first = passValidationService
+                .validatePassByManualCode(program.getId(), pass.getManualCode()).getPassStatus();
+
+        assertEquals(PassValidationStatus.VALID, first);
+        assertTrue(statistics.getPrepareStatementCount() <= CHECK_IN_MAX_STATEMENTS,
+                "check-in issued " + statistics.getPrepareStatementCount() + " statements");
+        assertEquals(PassValidationStatus.INVALID, passValidationService
+                .validatePassByManualCode(program.getId(), pass.getManualCode()).getPassStatus());
+    }
+
+    @Test
+    void validatePasses_whenBatchScanned_thenStaysWithinStatementBudget() {
+        Program program = programService.createProgram(newProgramCommand("Sunday Service"));
+        List<Pass> passes = passService.purchasePasses(program.getPassTypes().getFirst().getId(), 3);
+        List<ValidatePassCommand> scans = new ArrayList<>();
+        for (Pass pass : passes) {
+            scans.add(new ValidatePassCommand(program.getId(), null, pass.getManualCode(), PassValidationMethod.MANUAL));
+        }
+        scans.add(new ValidatePassCommand(program.getId(), null, passes.getFirst().getManualCode(), PassValidationMethod.MANUAL));
+        statistics.clear();
+
+        List<ScanResult> results = passValidationService.validatePasses(scans);
+
+        assertEquals(List.of(PassValidationStatus.VALID, PassValidationStatus.VALID, PassValidationStatus.VALID,
+                PassValidationStatus.INVALID), results.stream().map(ScanResult::status).toList());
+        assertTrue(statistics.getPrepareStatementCount() <= BATCH_CHECK_IN_MAX_STATEMENTS,
+                "batch check-in issued " + statistics.getPrepareStatementCount() + " statements");
+    }
+}
@@ -0,0 +1,76 @@
+package dev.joshuaonyema.kaleo.application.transaction;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TransactionCallbacksTest {
+
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    // ==================== afterCommit Tests ====================
+
+    @Test
+    void afterCommit_whenNoTransaction_thenRunsImmediately() {
+        TransactionCallbacks.afterCommit(runs::incrementAndGet);
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void afterCommit_whenTransactionCommits_thenRunsOnCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        TransactionCallbacks.afterCommit(runs::incrementAndGet);
+        assertEquals(0, runs.get());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1, runs.get());
+    }
+
+    // ==================== afterRollback Tests ====================
+
+    @Test
+    void afterRollback_whenNoTransaction_thenNeverRuns() {
+        TransactionCallbacks.afterRollback(runs::incrementAndGet);
+
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    void afterRollback_whenTransactionRollsBack_thenRuns() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        TransactionCallbacks.afterRollback(runs::incrementAndGet);
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void afterRollback_whenTransactionCommits_thenDoesNotRun() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        TransactionCallbacks.afterRollback(runs::incrementAndGet);
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(0, runs.get());
+    }
+
+    private static void complete(int status) {
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
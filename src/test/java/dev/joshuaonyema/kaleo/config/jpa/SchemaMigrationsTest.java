@@ -0,0 +1,64 @@
+package dev.joshuaonyema.kaleo.config.jpa;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SchemaMigrationsTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SchemaMigrations schemaMigrations;
+
+    @BeforeEach
+    void setUp() {
+        schemaMigrations = new SchemaMigrations(jdbcTemplate);
+    }
+
+    // ==================== afterSingletonsInstantiated Tests ====================
+
+    @Test
+    void afterSingletonsInstantiated_whenBackfillsDisabled_thenOnlyChangesSchema() {
+        schemaMigrations.afterSingletonsInstantiated();
+
+        verify(jdbcTemplate).execute(startsWith("ALTER TABLE qr_codes"));
+        verify(jdbcTemplate, never()).execute(contains("first_validated_at"));
+        verify(jdbcTemplate, never()).execute(contains("check_in_counters"));
+    }
+
+    @Test
+    void afterSingletonsInstantiated_whenBackfillsEnabled_thenRunsThemInOrder() {
+        ReflectionTestUtils.setField(schemaMigrations, "runBackfills", true);
+
+        schemaMigrations.afterSingletonsInstantiated();
+
+        // Counters count admissions by first_validated_at, so it has to be filled in first
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute(startsWith("UPDATE registration_passes SET first_validated_at"));
+        inOrder.verify(jdbcTemplate).execute(startsWith("INSERT INTO check_in_counters"));
+    }
+
+    @Test
+    void afterSingletonsInstantiated_whenStatementFails_thenRunsTheRest() {
+        doThrow(new DataAccessResourceFailureException("unsupported"))
+                .when(jdbcTemplate).execute(startsWith("ALTER TABLE qr_codes"));
+
+        schemaMigrations.afterSingletonsInstantiated();
+
+        verify(jdbcTemplate, atLeast(2)).execute(anyString());
+        verify(jdbcTemplate).execute(startsWith("CREATE SEQUENCE"));
+    }
+}
@@ -0,0 +1,204 @@
+package dev.joshuaonyema.kaleo.config.jpa;
+
+import dev.joshuaonyema.kaleo.application.inventory.PassInventory;
+import dev.joshuaonyema.kaleo.application.service.ProgramService;
+import dev.joshuaonyema.kaleo.domain.entity.PassType;
+import dev.joshuaonyema.kaleo.domain.entity.Program;
+import dev.joshuaonyema.kaleo.domain.entity.ProgramStatus;
+import dev.joshuaonyema.kaleo.repository.PassTypeRepository;
+import dev.joshuaonyema.kaleo.repository.ProgramRepository;
+import dev.joshuaonyema.kaleo.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static dev.joshuaonyema.kaleo.support.IntegrationTestFixtures.newProgramCommand;
+import static dev.joshuaonyema.kaleo.support.IntegrationTestFixtures.signInNewUser;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that programs and pass types are served from the second-level cache once loaded, and that every
+ * kind of write, bulk seat reservations included, is visible to the next read.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "kaleo.qr-code.store-images=false",
+        "kaleo.check-in.counters.flush-interval=1h"
+})
+@ActiveProfiles("test")
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private ProgramService programService;
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private PassTypeRepository passTypeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PassInventory passInventory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private Program program;
+    private UUID passTypeId;
+
+    @BeforeEach
+    void setUp() {
+        signInNewUser(userRepository);
+
+        program = programService.createProgram(newProgramCommand("Youth Camp"));
+        passTypeId = program.getPassTypes().getFirst().getId();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // ==================== Entity Cache Tests ====================
+
+    @Test
+    void findById_whenProgramAlreadyLoaded_thenIssuesNoStatement() {
+        programRepository.findById(program.getId()).orElseThrow();
+        statistics.clear();
+
+        Program cached = programRepository.findById(program.getId()).orElseThrow();
+
+        assertEquals("Youth Camp", cached.getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getDomainDataRegionStatistics(Program.CACHE_REGION).getHitCount() > 0);
+    }
+
+    @Test
+    void passTypes_whenProgramAlreadyLoaded_thenServedFromCollectionCache() {
+        transactionTemplate.execute(status ->
+                programRepository.findById(program.getId()).orElseThrow().getPassTypes().size());
+        statistics.clear();
+
+        Integer passTypes = transactionTemplate.execute(status ->
+                programRepository.findById(program.getId()).orElseThrow().getPassTypes().size());
+
+        assertEquals(2, passTypes);
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getDomainDataRegionStatistics(Program.PASS_TYPES_CACHE_REGION).getHitCount() > 0);
+    }
+
+    @Test
+    void findById_whenPassTypeUpdated_thenReturnsCommittedChange() {
+        passTypeRepository.findById(passTypeId).orElseThrow();
+
+        transactionTemplate.executeWithoutResult(status ->
+                passTypeRepository.findById(passTypeId).orElseThrow().setName("Early Bird"));
+
+        assertEquals("Early Bird", passTypeRepository.findById(passTypeId).orElseThrow().getName());
+    }
+
+    @Test
+    void findById_whenSeatsReserved_thenReturnsNewSoldCount() {
+        PassType passType = passTypeRepository.findById(passTypeId).orElseThrow();
+        int soldBefore = passType.getSoldCount();
+
+        transactionTemplate.executeWithoutResult(status -> passInventory.tryReserve(passType, 3));
+
+        assertEquals(soldBefore + 3, passTypeRepository.findById(passTypeId).orElseThrow().getSoldCount());
+    }
+
+    @Test
+    void findById_whenSeatsReservedOnAnotherPassType_thenStillServedFromCache() {
+        UUID otherPassTypeId = program.getPassTypes().get(1).getId();
+        PassType passType = passTypeRepository.findById(passTypeId).orElseThrow();
+        passTypeRepository.findById(otherPassTypeId).orElseThrow();
+        transactionTemplate.execute(status ->
+                programRepository.findById(program.getId()).orElseThrow().getPassTypes().size());
+
+        transactionTemplate.executeWithoutResult(status -> passInventory.tryReserve(passType, 1));
+        statistics.clear();
+
+        passTypeRepository.findById(otherPassTypeId).orElseThrow();
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getDomainDataRegionStatistics(PassType.CACHE_REGION).getHitCount() > 0);
+
+        // Only the reserved pass type itself is reloaded, the program's list of pass types stays cached
+        transactionTemplate.execute(status ->
+                programRepository.findById(program.getId()).orElseThrow().getPassTypes().size());
+
+        assertTrue(statistics.getDomainDataRegionStatistics(Program.PASS_TYPES_CACHE_REGION).getHitCount() > 0);
+    }
+
+    @Test
+    void findByIdWithLock_whenPassTypeCached_thenReadsDatabase() {
+        passTypeRepository.findById(passTypeId).orElseThrow();
+        statistics.clear();
+
+        transactionTemplate.executeWithoutResult(status -> passTypeRepository.findByIdWithLock(passTypeId));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getDomainDataRegionStatistics(PassType.CACHE_REGION).getHitCount());
+    }
+
+    // ==================== Query Cache Tests ====================
+
+    @Test
+    void findByIdAndStatus_whenRepeated_thenServedFromQueryCache() {
+        programRepository.findByIdAndStatus(program.getId(), ProgramStatus.PUBLISHED).orElseThrow();
+        statistics.clear();
+
+        programRepository.findByIdAndStatus(program.getId(), ProgramStatus.PUBLISHED).orElseThrow();
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getQueryCacheHitCount() > 0);
+    }
+
+    @Test
+    void findByIdAndStatus_whenProgramUnpublished_thenDropsCachedResult() {
+        programRepository.findByIdAndStatus(program.getId(), ProgramStatus.PUBLISHED).orElseThrow();
+
+        transactionTemplate.executeWithoutResult(status ->
+                programRepository.findById(program.getId()).orElseThrow().setStatus(ProgramStatus.DRAFT));
+
+        assertTrue(programRepository.findByIdAndStatus(program.getId(), ProgramStatus.PUBLISHED).isEmpty());
+    }
+
+    // ==================== Metrics Tests ====================
+
+    @Test
+    void cacheGets_whenProgramReadFromCache_thenCountsHit() {
+        programRepository.findById(program.getId()).orElseThrow();
+        programRepository.findById(program.getId()).orElseThrow();
+
+        double hits = meterRegistry.get("cache.gets")
+                .tag("cache", Program.CACHE_REGION)
+                .tag("result", "hit")
+                .functionCounter()
+                .count();
+
+        assertTrue(hits > 0);
+    }
+}
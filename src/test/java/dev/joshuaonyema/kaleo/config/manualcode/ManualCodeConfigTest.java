@@ -0,0 +1,28 @@
+package dev.joshuaonyema.kaleo.config.manualcode;
+
+import dev.joshuaonyema.kaleo.util.StripedSecureRandom;
+import org.junit.jupiter.api.Test;
+
+import java.security.SecureRandom;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ManualCodeConfigTest {
+
+    private final ManualCodeConfig manualCodeConfig = new ManualCodeConfig();
+
+    @Test
+    void manualCodeRandom_whenStriped_thenReturnsStripedSecureRandom() {
+        RandomGenerator result = manualCodeConfig.manualCodeRandom("striped", 4);
+
+        assertInstanceOf(StripedSecureRandom.class, result);
+    }
+
+    @Test
+    void manualCodeRandom_whenShared_thenReturnsSingleSecureRandom() {
+        RandomGenerator result = manualCodeConfig.manualCodeRandom("shared", 0);
+
+        assertInstanceOf(SecureRandom.class, result);
+    }
+}
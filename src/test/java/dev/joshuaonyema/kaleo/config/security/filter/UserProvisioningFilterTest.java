@@ -1,6 +1,6 @@
 package dev.joshuaonyema.kaleo.config.security.filter;
 
-import dev.joshuaonyema.kaleo.domain.entity.User;
+import dev.joshuaonyema.kaleo.application.security.ProvisionedUserCache;
 import dev.joshuaonyema.kaleo.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -8,7 +8,6 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -22,9 +21,10 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import java.io.IOException;
 import java.util.UUID;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +33,9 @@ class UserProvisioningFilterTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ProvisionedUserCache provisionedUserCache;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -67,40 +70,36 @@ class UserProvisioningFilterTest {
     // ==================== User Provisioning Tests ====================
 
     @Test
-    void doFilter_whenNewUser_thenCreatesUser() throws ServletException, IOException {
+    void doFilter_whenNewUser_thenInsertsUserAndRemembersIt() throws ServletException, IOException {
         setupSecurityContext();
         when(jwt.getSubject()).thenReturn(userId.toString());
         when(jwt.getClaimAsString("preferred_username")).thenReturn("testuser");
         when(jwt.getClaimAsString("email")).thenReturn("test@example.com");
-        when(userRepository.existsById(userId)).thenReturn(false);
+        when(provisionedUserCache.isProvisioned(userId)).thenReturn(false);
 
         userProvisioningFilter.doFilter(request, response, filterChain);
 
-        ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
-        verify(userRepository).save(userCaptor.capture());
-
-        User savedUser = userCaptor.getValue();
-        assertEquals(userId, savedUser.getId());
-        assertEquals("testuser", savedUser.getName());
-        assertEquals("test@example.com", savedUser.getEmail());
+        verify(userRepository).insertIfAbsent(userId, "testuser", "test@example.com");
+        verify(provisionedUserCache).markProvisioned(userId);
     }
 
     @Test
-    void doFilter_whenExistingUser_thenDoesNotCreateUser() throws ServletException, IOException {
+    void doFilter_whenUserKnown_thenDoesNotTouchDatabase() throws ServletException, IOException {
         setupSecurityContext();
         when(jwt.getSubject()).thenReturn(userId.toString());
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(provisionedUserCache.isProvisioned(userId)).thenReturn(true);
 
         userProvisioningFilter.doFilter(request, response, filterChain);
 
-        verify(userRepository, never()).save(any(User.class));
+        verifyNoInteractions(userRepository);
+        verify(provisionedUserCache, never()).markProvisioned(any());
     }
 
     @Test
     void doFilter_whenCalled_thenAlwaysContinuesFilterChain() throws ServletException, IOException {
         setupSecurityContext();
         when(jwt.getSubject()).thenReturn(userId.toString());
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(provisionedUserCache.isProvisioned(userId)).thenReturn(true);
 
         userProvisioningFilter.doFilter(request, response, filterChain);
 
@@ -108,17 +107,31 @@ class UserProvisioningFilterTest {
     }
 
     @Test
-    void doFilter_whenNewUser_thenContinuesFilterChainAfterSave() throws ServletException, IOException {
+    void doFilter_whenNewUser_thenContinuesFilterChainAfterInsert() throws ServletException, IOException {
         setupSecurityContext();
         when(jwt.getSubject()).thenReturn(userId.toString());
         when(jwt.getClaimAsString("preferred_username")).thenReturn("testuser");
         when(jwt.getClaimAsString("email")).thenReturn("test@example.com");
-        when(userRepository.existsById(userId)).thenReturn(false);
+        when(provisionedUserCache.isProvisioned(userId)).thenReturn(false);
 
         userProvisioningFilter.doFilter(request, response, filterChain);
 
-        verify(userRepository).save(any(User.class));
-        verify(filterChain).doFilter(request, response);
+        var inOrder = inOrder(userRepository, filterChain);
+        inOrder.verify(userRepository).insertIfAbsent(userId, "testuser", "test@example.com");
+        inOrder.verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void doFilter_whenInsertFails_thenDoesNotRememberUser() {
+        setupSecurityContext();
+        when(jwt.getSubject()).thenReturn(userId.toString());
+        when(provisionedUserCache.isProvisioned(userId)).thenReturn(false);
+        when(userRepository.insertIfAbsent(any(), any(), any())).thenThrow(new IllegalStateException("db down"));
+
+        assertThrows(IllegalStateException.class,
+                () -> userProvisioningFilter.doFilter(request, response, filterChain));
+
+        verify(provisionedUserCache, never()).markProvisioned(any());
     }
 
     // ==================== No Authentication Tests ====================
@@ -130,8 +143,7 @@ class UserProvisioningFilterTest {
 
         userProvisioningFilter.doFilter(request, response, filterChain);
 
-        verify(userRepository, never()).existsById(any());
-        verify(userRepository, never()).save(any());
+        verifyNoInteractions(userRepository, provisionedUserCache);
         verify(filterChain).doFilter(request, response);
     }
 
@@ -143,8 +155,7 @@ class UserProvisioningFilterTest {
 
         userProvisioningFilter.doFilter(request, response, filterChain);
 
-        verify(userRepository, never()).existsById(any());
-        verify(userRepository, never()).save(any());
+        verifyNoInteractions(userRepository, provisionedUserCache);
         verify(filterChain).doFilter(request, response);
     }
 
@@ -157,47 +168,36 @@ class UserProvisioningFilterTest {
 
         userProvisioningFilter.doFilter(request, response, filterChain);
 
-        verify(userRepository, never()).existsById(any());
-        verify(userRepository, never()).save(any());
+        verifyNoInteractions(userRepository, provisionedUserCache);
         verify(filterChain).doFilter(request, response);
     }
 
     // ==================== JWT Claims Tests ====================
 
     @Test
-    void doFilter_whenJwtHasNullUsername_thenCreatesUserWithNullName() throws ServletException, IOException {
+    void doFilter_whenJwtHasNullUsername_thenInsertsNullName() throws ServletException, IOException {
         setupSecurityContext();
         when(jwt.getSubject()).thenReturn(userId.toString());
         when(jwt.getClaimAsString("preferred_username")).thenReturn(null);
         when(jwt.getClaimAsString("email")).thenReturn("test@example.com");
-        when(userRepository.existsById(userId)).thenReturn(false);
+        when(provisionedUserCache.isProvisioned(userId)).thenReturn(false);
 
         userProvisioningFilter.doFilter(request, response, filterChain);
 
-        ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
-        verify(userRepository).save(userCaptor.capture());
-
-        User savedUser = userCaptor.getValue();
-        assertNull(savedUser.getName());
-        assertEquals("test@example.com", savedUser.getEmail());
+        verify(userRepository).insertIfAbsent(eq(userId), isNull(), eq("test@example.com"));
     }
 
     @Test
-    void doFilter_whenJwtHasNullEmail_thenCreatesUserWithNullEmail() throws ServletException, IOException {
+    void doFilter_whenJwtHasNullEmail_thenInsertsNullEmail() throws ServletException, IOException {
         setupSecurityContext();
         when(jwt.getSubject()).thenReturn(userId.toString());
         when(jwt.getClaimAsString("preferred_username")).thenReturn("testuser");
         when(jwt.getClaimAsString("email")).thenReturn(null);
-        when(userRepository.existsById(userId)).thenReturn(false);
+        when(provisionedUserCache.isProvisioned(userId)).thenReturn(false);
 
         userProvisioningFilter.doFilter(request, response, filterChain);
 
-        ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
-        verify(userRepository).save(userCaptor.capture());
-
-        User savedUser = userCaptor.getValue();
-        assertEquals("testuser", savedUser.getName());
-        assertNull(savedUser.getEmail());
+        verify(userRepository).insertIfAbsent(eq(userId), eq("testuser"), isNull());
     }
 
     // ==================== Security Context Not Set Tests ====================
@@ -208,8 +208,7 @@ class UserProvisioningFilterTest {
 
         userProvisioningFilter.doFilter(request, response, filterChain);
 
-        verify(userRepository, never()).existsById(any());
-        verify(userRepository, never()).save(any());
+        verifyNoInteractions(userRepository, provisionedUserCache);
         verify(filterChain).doFilter(request, response);
     }
 
@@ -9,9 +9,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 
 import java.util.List;
@@ -19,6 +21,7 @@ import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -59,6 +62,19 @@ class GlobalExceptionHandlerTest {
         assertEquals("User not found", response.getBody().getError());
     }
 
+    // ==================== handleInvalidContinuationTokenException Tests ====================
+
+    @Test
+    void handleInvalidContinuationTokenException_whenCalled_thenReturnsBadRequestWithErrorDto() {
+        InvalidContinuationTokenException exception = new InvalidContinuationTokenException("Malformed continuation token");
+
+        ResponseEntity<ErrorDto> response = globalExceptionHandler.handleInvalidContinuationTokenException(exception);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("Invalid continuation token", response.getBody().getError());
+    }
+
     // ==================== handleMethodArgumentNotValidException Tests ====================
 
     @Test
@@ -140,6 +156,19 @@ class GlobalExceptionHandlerTest {
         assertEquals("Constraint violation occurred", response.getBody().getError());
     }
 
+    // ==================== handleHttpMediaTypeNotAcceptable Tests ====================
+
+    @Test
+    void handleHttpMediaTypeNotAcceptable_whenCalled_thenReturnsNotAcceptableWithoutBody() {
+        HttpMediaTypeNotAcceptableException exception =
+                new HttpMediaTypeNotAcceptableException(List.of(MediaType.IMAGE_PNG));
+
+        ResponseEntity<Void> response = globalExceptionHandler.handleHttpMediaTypeNotAcceptable(exception);
+
+        assertEquals(HttpStatus.NOT_ACCEPTABLE, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
     // ==================== handleException Tests ====================
 
     @Test
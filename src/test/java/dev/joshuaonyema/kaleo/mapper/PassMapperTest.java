@@ -3,6 +3,8 @@ package dev.joshuaonyema.kaleo.mapper;
 import dev.joshuaonyema.kaleo.api.dto.response.GetPassResponseDto;
 import dev.joshuaonyema.kaleo.api.dto.response.ListPassResponseDto;
 import dev.joshuaonyema.kaleo.domain.entity.*;
+import dev.joshuaonyema.kaleo.repository.projection.PassDetails;
+import dev.joshuaonyema.kaleo.repository.projection.PassSummary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
@@ -102,7 +104,7 @@ class PassMapperTest {
 
     @Test
     void toListPassResponseDto_whenPassNull_thenReturnsNull() {
-        ListPassResponseDto result = mapper.toListPassResponseDto(null);
+        ListPassResponseDto result = mapper.toListPassResponseDto((Pass) null);
         assertNull(result);
     }
 
@@ -163,10 +165,36 @@ class PassMapperTest {
 
     @Test
     void toGetPassResponseDto_whenPassNull_thenReturnsNull() {
-        GetPassResponseDto result = mapper.toGetPassResponseDto(null);
+        GetPassResponseDto result = mapper.toGetPassResponseDto((Pass) null);
         assertNull(result);
     }
 
+    // ==================== Projection Tests ====================
+
+    @Test
+    void toListPassResponseDto_whenSummary_thenMapsAllFields() {
+        PassSummary summary = new PassSummary(passId, PassStatus.ACTIVE, now, "General Admission", BigDecimal.TEN,
+                "Sunday Service", now.plusDays(1), now.plusDays(1).plusHours(2), "Main Hall");
+
+        ListPassResponseDto result = mapper.toListPassResponseDto(summary);
+
+        assertEquals(new ListPassResponseDto(passId, PassStatus.ACTIVE, now, "General Admission", BigDecimal.TEN,
+                "Sunday Service", now.plusDays(1), now.plusDays(1).plusHours(2), "Main Hall"), result);
+    }
+
+    @Test
+    void toGetPassResponseDto_whenDetails_thenMapsAllFields() {
+        PassDetails details = new PassDetails(PassStatus.ACTIVE, "ABC123", now, "General Admission", BigDecimal.TEN,
+                "Standard entry", programId, "Sunday Service", now.plusDays(1), now.plusDays(1).plusHours(2),
+                "Main Hall");
+
+        GetPassResponseDto result = mapper.toGetPassResponseDto(details);
+
+        assertEquals(new GetPassResponseDto(PassStatus.ACTIVE, "ABC123", now, "General Admission", BigDecimal.TEN,
+                "Standard entry", programId, "Sunday Service", now.plusDays(1), now.plusDays(1).plusHours(2),
+                "Main Hall"), result);
+    }
+
     // ==================== Edge Cases ====================
 
     @Test
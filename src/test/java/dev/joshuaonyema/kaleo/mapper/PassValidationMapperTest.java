@@ -1,11 +1,16 @@
 package dev.joshuaonyema.kaleo.mapper;
 
+import dev.joshuaonyema.kaleo.api.dto.request.PassValidationRequestDto;
 import dev.joshuaonyema.kaleo.api.dto.response.PassValidationResponseDto;
+import dev.joshuaonyema.kaleo.api.dto.response.ScanResultResponseDto;
+import dev.joshuaonyema.kaleo.application.checkin.ScanResult;
+import dev.joshuaonyema.kaleo.application.command.ValidatePassCommand;
 import dev.joshuaonyema.kaleo.domain.entity.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -86,5 +91,52 @@ class PassValidationMapperTest {
         assertNull(result.getPassId());
         assertEquals(PassValidationStatus.VALID, result.getStatus());
     }
-}
 
+    // ==================== fromDto Tests ====================
+
+    @Test
+    void fromDto_whenRequestDto_thenMapsAllFields() {
+        UUID programId = UUID.randomUUID();
+        UUID qrCodeId = UUID.randomUUID();
+        PassValidationRequestDto dto = new PassValidationRequestDto(programId, qrCodeId, null, PassValidationMethod.QR_SCAN);
+
+        ValidatePassCommand result = mapper.fromDto(dto);
+
+        assertEquals(programId, result.getProgramId());
+        assertEquals(qrCodeId, result.getQrCodeId());
+        assertNull(result.getManualCode());
+        assertEquals(PassValidationMethod.QR_SCAN, result.getMethod());
+    }
+
+    @Test
+    void fromDtos_whenRequestDtos_thenKeepsOrder() {
+        PassValidationRequestDto first = new PassValidationRequestDto(UUID.randomUUID(), null, "ABC234", PassValidationMethod.MANUAL);
+        PassValidationRequestDto second = new PassValidationRequestDto(UUID.randomUUID(), null, "XYZ789", PassValidationMethod.MANUAL);
+
+        List<ValidatePassCommand> result = mapper.fromDtos(List.of(first, second));
+
+        assertEquals(2, result.size());
+        assertEquals("ABC234", result.get(0).getManualCode());
+        assertEquals("XYZ789", result.get(1).getManualCode());
+    }
+
+    // ==================== toScanResultDto Tests ====================
+
+    @Test
+    void toScanResultDto_whenRecorded_thenMapsPassIdAndStatus() {
+        ScanResultResponseDto result = mapper.toScanResultDto(ScanResult.recorded(passId, PassValidationStatus.INVALID));
+
+        assertEquals(passId, result.getPassId());
+        assertEquals(PassValidationStatus.INVALID, result.getStatus());
+        assertNull(result.getError());
+    }
+
+    @Test
+    void toScanResultDto_whenRejected_thenMapsError() {
+        ScanResultResponseDto result = mapper.toScanResultDto(ScanResult.rejected("Code not found"));
+
+        assertNull(result.getPassId());
+        assertNull(result.getStatus());
+        assertEquals("Code not found", result.getError());
+    }
+}
@@ -9,6 +9,7 @@ import dev.joshuaonyema.kaleo.domain.entity.PassType;
 import dev.joshuaonyema.kaleo.domain.entity.Program;
 import dev.joshuaonyema.kaleo.domain.entity.ProgramStatus;
 import dev.joshuaonyema.kaleo.domain.entity.User;
+import dev.joshuaonyema.kaleo.repository.projection.ProgramSummary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
@@ -274,6 +275,14 @@ class ProgramMapperTest {
         assertEquals("General Admission", result.getPassTypes().getFirst().getName());
     }
 
+    @Test
+    void toStaffProgramResponseDto_whenSummary_thenMapsIdAndName() {
+        StaffProgramResponseDto result = mapper.toStaffProgramResponseDto(new ProgramSummary(programId, "Sunday Service"));
+
+        assertEquals(programId, result.getId());
+        assertEquals("Sunday Service", result.getName());
+    }
+
     // ==================== Null Input Tests ====================
 
     @Test
@@ -0,0 +1,62 @@
+package dev.joshuaonyema.kaleo.support;
+
+import dev.joshuaonyema.kaleo.application.command.CreatePassTypeCommand;
+import dev.joshuaonyema.kaleo.application.command.CreateProgramCommand;
+import dev.joshuaonyema.kaleo.domain.entity.ProgramStatus;
+import dev.joshuaonyema.kaleo.domain.entity.User;
+import dev.joshuaonyema.kaleo.repository.UserRepository;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Shared setup for integration tests that call the services directly: a saved user signed in with a JWT,
+ * and a published program to create.
+ */
+public final class IntegrationTestFixtures {
+
+    private IntegrationTestFixtures() {
+    }
+
+    /**
+     * Saves a new user and signs it in for the current thread. Callers clear the security context afterwards.
+     */
+    public static User signInNewUser(UserRepository userRepository) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setName("organizer");
+        user.setEmail("organizer@example.com");
+        userRepository.save(user);
+
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "none")
+                .subject(user.getId().toString())
+                .build();
+        // Only the constructor taking authorities marks the token as authenticated
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt, List.of()));
+        return user;
+    }
+
+    /**
+     * A published program a week from now with a General and a VIP pass type, in that order.
+     */
+    public static CreateProgramCommand newProgramCommand(String name) {
+        LocalDateTime start = LocalDateTime.now().plusDays(7);
+        return new CreateProgramCommand(
+                name,
+                start,
+                start.plusHours(2),
+                "Main Hall",
+                null,
+                null,
+                ProgramStatus.PUBLISHED,
+                List.of(new CreatePassTypeCommand("General", BigDecimal.TEN, "Entry", 100),
+                        new CreatePassTypeCommand("VIP", BigDecimal.valueOf(50), "Front rows", 20))
+        );
+    }
+}
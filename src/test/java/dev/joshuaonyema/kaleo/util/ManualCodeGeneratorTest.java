@@ -2,16 +2,22 @@ package dev.joshuaonyema.kaleo.util;
 
 import org.junit.jupiter.api.Test;
 
+import java.security.SecureRandom;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.random.RandomGenerator;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
 
 class ManualCodeGeneratorTest {
 
+    private static final RandomGenerator RANDOM = new SecureRandom();
+
     @Test
     void generate_whenCalled_thenReturns6CharacterCode() {
-        String code = ManualCodeGenerator.generate();
+        String code = ManualCodeGenerator.generate(RANDOM);
 
         assertNotNull(code);
         assertEquals(6, code.length());
@@ -19,7 +25,7 @@ class ManualCodeGeneratorTest {
 
     @Test
     void generate_whenCalled_thenReturnsAlphanumericCode() {
-        String code = ManualCodeGenerator.generate();
+        String code = ManualCodeGenerator.generate(RANDOM);
 
         assertTrue(code.matches("^[A-Z2-9]+$"), "Code should only contain uppercase letters (except I, O) and digits (except 0, 1)");
     }
@@ -30,7 +36,7 @@ class ManualCodeGeneratorTest {
         int iterations = 1000;
 
         for (int i = 0; i < iterations; i++) {
-            codes.add(ManualCodeGenerator.generate());
+            codes.add(ManualCodeGenerator.generate(RANDOM));
         }
 
         // With 32^6 = 1 billion+ combinations, 1000 codes should all be unique
@@ -40,7 +46,7 @@ class ManualCodeGeneratorTest {
     @Test
     void generate_whenCalled_thenDoesNotContainAmbiguousCharacters() {
         for (int i = 0; i < 100; i++) {
-            String code = ManualCodeGenerator.generate();
+            String code = ManualCodeGenerator.generate(RANDOM);
 
             assertFalse(code.contains("0"), "Code should not contain '0'");
             assertFalse(code.contains("1"), "Code should not contain '1'");
@@ -52,10 +58,42 @@ class ManualCodeGeneratorTest {
     @Test
     void generate_whenCalled_thenReturnsUppercaseOnly() {
         for (int i = 0; i < 100; i++) {
-            String code = ManualCodeGenerator.generate();
+            String code = ManualCodeGenerator.generate(RANDOM);
 
             assertEquals(code.toUpperCase(), code, "Code should be uppercase");
         }
     }
-}
 
+    @Test
+    void generate_whenRandomGiven_thenDrawsOneLongPerCode() {
+        RandomGenerator random = mock(RandomGenerator.class);
+        when(random.nextLong()).thenReturn(0L);
+
+        assertEquals("AAAAAA", ManualCodeGenerator.generate(random));
+        verify(random, times(1)).nextLong();
+        verify(random, never()).nextInt(anyInt());
+    }
+
+    // ==================== encode Tests ====================
+
+    @Test
+    void encode_whenBoundaryValues_thenSpellsFirstAndLastCodes() {
+        assertEquals("AAAAAA", ManualCodeGenerator.encode(0));
+        assertEquals("999999", ManualCodeGenerator.encode((1L << 30) - 1));
+    }
+
+    @Test
+    void encode_whenHigherBitsSet_thenOnlyUsesLow30Bits() {
+        assertEquals(ManualCodeGenerator.encode(12345), ManualCodeGenerator.encode((1L << 40) | 12345));
+    }
+
+    @Test
+    void encode_whenDistinctValues_thenReturnsDistinctCodes() {
+        Set<String> codes = new HashSet<>();
+        for (int value = 0; value < 100_000; value++) {
+            codes.add(ManualCodeGenerator.encode(value * 10_007L));
+        }
+
+        assertEquals(100_000, codes.size());
+    }
+}
@@ -0,0 +1,86 @@
+package dev.joshuaonyema.kaleo.util;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ManualCodePermutationTest {
+
+    private static final int DOMAIN_SIZE = 1 << ManualCodePermutation.DOMAIN_BITS;
+
+    private static ManualCodePermutation permutation;
+
+    @BeforeAll
+    static void setUp() {
+        permutation = new ManualCodePermutation("test-key");
+    }
+
+    @Test
+    void permute_whenInverted_thenReturnsOriginalValue() {
+        for (int value = 0; value < 1_000_000; value++) {
+            assertEquals(value, permutation.invert(permutation.permute(value)));
+        }
+        assertEquals(DOMAIN_SIZE - 1, permutation.invert(permutation.permute(DOMAIN_SIZE - 1)));
+    }
+
+    @Test
+    void permute_whenSixteenMillionSequenceValues_thenAllCodesAreUnique() {
+        int count = 1 << 24;
+        int[] outputs = new int[count];
+        for (int value = 0; value < count; value++) {
+            outputs[value] = permutation.permute(value);
+        }
+
+        Arrays.parallelSort(outputs);
+
+        for (int i = 1; i < count; i++) {
+            assertNotEquals(outputs[i - 1], outputs[i], "Duplicate code for permuted value " + outputs[i]);
+        }
+        assertTrue(outputs[0] >= 0);
+        assertTrue(outputs[count - 1] < DOMAIN_SIZE);
+    }
+
+    @Test
+    void permute_whenConsecutiveValues_thenOutputsAreNotSequential() {
+        int adjacent = 0;
+        for (int value = 0; value < 1000; value++) {
+            if (Math.abs(permutation.permute(value + 1) - permutation.permute(value)) <= 1) {
+                adjacent++;
+            }
+        }
+
+        assertTrue(adjacent < 5, "Consecutive sequence values should not give neighbouring codes");
+    }
+
+    @Test
+    void permute_whenDifferentKeys_thenProducesDifferentCodes() {
+        ManualCodePermutation other = new ManualCodePermutation("other-key");
+
+        int differing = 0;
+        for (int value = 0; value < 100; value++) {
+            if (permutation.permute(value) != other.permute(value)) {
+                differing++;
+            }
+        }
+
+        assertTrue(differing > 95);
+    }
+
+    @Test
+    void permute_whenSameKey_thenIsDeterministic() {
+        ManualCodePermutation same = new ManualCodePermutation("test-key");
+
+        for (int value = 0; value < 1000; value++) {
+            assertEquals(permutation.permute(value), same.permute(value));
+        }
+    }
+
+    @Test
+    void permute_whenOutsideDomain_thenThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> permutation.permute(DOMAIN_SIZE));
+        assertThrows(IllegalArgumentException.class, () -> permutation.permute(-1));
+    }
+}
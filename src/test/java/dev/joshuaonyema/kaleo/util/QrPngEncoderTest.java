@@ -0,0 +1,70 @@
+package dev.joshuaonyema.kaleo.util;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QrPngEncoderTest {
+
+    @Test
+    void encode_whenCalled_thenWritesPngSignature() {
+        byte[] png = QrPngEncoder.encode(new BitMatrix(8, 8));
+
+        assertEquals((byte) 0x89, png[0]);
+        assertEquals('P', png[1]);
+        assertEquals('N', png[2]);
+        assertEquals('G', png[3]);
+    }
+
+    @Test
+    void encode_whenDecoded_thenPixelsMatchMatrix() throws Exception {
+        BitMatrix matrix = new BitMatrix(29, 31);
+        Random random = new Random(42);
+        for (int y = 0; y < matrix.getHeight(); y++) {
+            for (int x = 0; x < matrix.getWidth(); x++) {
+                if (random.nextBoolean()) {
+                    matrix.set(x, y);
+                }
+            }
+        }
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(QrPngEncoder.encode(matrix)));
+
+        assertEquals(29, image.getWidth());
+        assertEquals(31, image.getHeight());
+        for (int y = 0; y < matrix.getHeight(); y++) {
+            for (int x = 0; x < matrix.getWidth(); x++) {
+                boolean black = (image.getRGB(x, y) & 0xFFFFFF) == 0;
+                assertEquals(matrix.get(x, y), black, "Pixel mismatch at " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    void encode_whenCalledRepeatedly_thenReturnsIdenticalBytes() throws Exception {
+        BitMatrix matrix = new QRCodeWriter().encode(UUID.randomUUID().toString(), BarcodeFormat.QR_CODE, 300, 300);
+
+        byte[] first = QrPngEncoder.encode(matrix);
+        byte[] second = QrPngEncoder.encode(matrix);
+
+        assertArrayEquals(first, second);
+    }
+
+    @Test
+    void encode_whenQrCodeMatrix_thenIsMuchSmallerThanRawImage() throws Exception {
+        BitMatrix matrix = new QRCodeWriter().encode(UUID.randomUUID().toString(), BarcodeFormat.QR_CODE, 300, 300);
+
+        byte[] png = QrPngEncoder.encode(matrix);
+
+        assertTrue(png.length < 300 * 300 / 8, "1-bit PNG should be smaller than the raw bitmap");
+    }
+}
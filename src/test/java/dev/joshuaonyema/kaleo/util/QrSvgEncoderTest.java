@@ -0,0 +1,43 @@
+package dev.joshuaonyema.kaleo.util;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QrSvgEncoderTest {
+
+    @Test
+    void encode_whenCalled_thenUsesMatrixDimensionsAsViewBox() {
+        String svg = new String(QrSvgEncoder.encode(new BitMatrix(21, 21)), StandardCharsets.UTF_8);
+
+        assertTrue(svg.startsWith("<svg xmlns=\"http://www.w3.org/2000/svg\" viewBox=\"0 0 21 21\""));
+        assertTrue(svg.endsWith("</svg>"));
+    }
+
+    @Test
+    void encode_whenRowHasRuns_thenWritesOneSegmentPerRun() {
+        BitMatrix matrix = new BitMatrix(8, 2);
+        matrix.setRegion(1, 0, 3, 1);
+        matrix.set(6, 0);
+        matrix.setRegion(0, 1, 8, 1);
+
+        String svg = new String(QrSvgEncoder.encode(matrix), StandardCharsets.UTF_8);
+
+        assertTrue(svg.contains("d=\"M1 0.5h3m2 0h1M0 1.5h8\""));
+    }
+
+    @Test
+    void encode_whenQrCodeMatrix_thenIsCompact() throws Exception {
+        BitMatrix matrix = new QRCodeWriter().encode(UUID.randomUUID().toString(), BarcodeFormat.QR_CODE, 0, 0);
+
+        byte[] svg = QrSvgEncoder.encode(matrix);
+
+        assertTrue(svg.length < 4 * 1024, "SVG should stay within a few KB");
+    }
+}
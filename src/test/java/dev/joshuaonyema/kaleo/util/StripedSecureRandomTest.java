@@ -0,0 +1,57 @@
+package dev.joshuaonyema.kaleo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedSecureRandomTest {
+
+    @Test
+    void constructor_whenStripeCountGiven_thenCreatesThatManyGenerators() {
+        assertEquals(4, new StripedSecureRandom(4).stripeCount());
+    }
+
+    @Test
+    void constructor_whenNoStripes_thenThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new StripedSecureRandom(0));
+    }
+
+    @Test
+    void nextLong_whenCalledRepeatedly_thenReturnsDistinctValues() {
+        StripedSecureRandom random = new StripedSecureRandom(4);
+
+        Set<Long> values = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < 10_000; i++) {
+            values.add(random.nextLong());
+        }
+
+        assertEquals(10_000, values.size());
+    }
+
+    @Test
+    void nextLong_whenCalledFromManyVirtualThreads_thenEveryCallerGetsAValue() throws Exception {
+        StripedSecureRandom random = new StripedSecureRandom(8);
+        Set<String> codes = ConcurrentHashMap.newKeySet();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                futures.add(executor.submit(() -> codes.add(ManualCodeGenerator.generate(random))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        // 1000 draws from 2^30 codes collide with probability below 0.05%
+        assertTrue(codes.size() >= 999);
+    }
+}